@@ -0,0 +1,103 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the single-pass splitting of the command text into arguments with the tokenizing
+ * of the text followed by the merging of the quoted parts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandArgSplitBenchmark {
+
+    private static final String DELIMITERS = " \\" + System.lineSeparator();
+    private static final String QUOTE = "\"";
+    private static final String NL = System.lineSeparator();
+
+    @Param({"qstat", "qsub"})
+    private String command;
+
+    private String commandText;
+
+    @Setup
+    public void setUp() {
+        commandText = "qstat".equals(command)
+                ? "qstat" + NL + "-u" + NL + "    sgeuser" + NL + "    anotheruser" + NL + "-s r" + NL + "-xml" + NL
+                : "qsub" + NL + "-b y" + NL + "-p 5" + NL + "        -pe make 1-4" + NL + "-N \"test job\"" + NL
+                        + "-q" + NL + "    main" + NL + "    all.q" + NL + "-wd /home/sgeuser" + NL
+                        + "-e /var/log/sge/$JOB_ID.err" + NL + "-o /var/log/sge/$JOB_ID.out" + NL
+                        + "-v ENV_VAR1=\"first value\",ENV_VAR2=second" + NL + "/usr/bin/sleep" + NL
+                        + "    10" + NL + "    \"a quoted argument\"" + NL;
+    }
+
+    @Benchmark
+    public String[] splitInSinglePass() {
+        return CommandArgUtils.splitCommandIntoArgs(commandText);
+    }
+
+    @Benchmark
+    public String[] tokenizeAndMerge() {
+        final List<String> result = new ArrayList<>();
+        final StringBuilder quotedPart = new StringBuilder();
+        for (final String commandPart : StringUtils.tokenizeToStringArray(commandText, DELIMITERS)) {
+            if (commandPart.startsWith(QUOTE)) {
+                quotedPart.append(' ').append(commandPart);
+            } else if (commandPart.endsWith(QUOTE)) {
+                quotedPart.append(' ').append(commandPart);
+                result.add(quotedPart.toString());
+                quotedPart.setLength(0);
+            } else if (quotedPart.length() != 0 && !quotedPart.toString().endsWith(QUOTE)) {
+                quotedPart.append(' ').append(commandPart);
+            } else {
+                if (quotedPart.length() > 0) {
+                    result.add(quotedPart.toString());
+                    quotedPart.setLength(0);
+                }
+                result.add(commandPart);
+            }
+        }
+        if (quotedPart.length() > 0) {
+            result.add(quotedPart.toString());
+        }
+        return Arrays.stream(result.toArray(new String[0])).map(String::trim).filter(s -> !s.isEmpty())
+                .toArray(String[]::new);
+    }
+}
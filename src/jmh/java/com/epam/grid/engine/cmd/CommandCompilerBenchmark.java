@@ -0,0 +1,96 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.QueueFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares building the command from the precompiled plan with rendering the template
+ * by Thymeleaf and splitting the rendered text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CommandCompilerBenchmark {
+
+    private static final String TEMPLATE_PATH = "templates/";
+    private static final String QSTAT = "qstat";
+
+    @Param({QSTAT, "qconf_sql"})
+    private String command;
+
+    private SpringTemplateEngine templateEngine;
+    private GridEngineCommandCompilerImpl commandCompiler;
+    private Context context;
+    private String commandFolderPath;
+
+    @Setup
+    public void setUp() {
+        final ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix(TEMPLATE_PATH);
+        resolver.setTemplateMode(TemplateMode.TEXT);
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        commandCompiler = new GridEngineCommandCompilerImpl(templateEngine,
+                new CommandMetrics(new SimpleMeterRegistry()), TEMPLATE_PATH);
+        commandCompiler.compileCommandPlans();
+        commandFolderPath = "sge/command/" + command;
+        context = new Context();
+        if (QSTAT.equals(command)) {
+            context.setVariable("filter", JobFilter.builder().owners(List.of("sgeuser", "anotheruser")).build());
+            context.setVariable("state", "r");
+        } else {
+            context.setVariable("filter", new QueueFilter(List.of("main", "all.q")));
+        }
+    }
+
+    @Benchmark
+    public String[] renderTemplate() {
+        return CommandArgUtils.splitCommandIntoArgs(templateEngine.process(commandFolderPath, context));
+    }
+
+    @Benchmark
+    public String[] buildFromPlan() {
+        return commandCompiler.compileCommand(EngineType.SGE, command, context);
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.fakesge;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Renders the outputs of the SGE commands for the benchmarks with the fake SGE cluster,
+ * so that the inputs of the parsers have realistic formats at any size.
+ */
+public final class FakeSgeOutputs {
+
+    private FakeSgeOutputs() {
+    }
+
+    /**
+     * Creates the settings of a cluster that doesn't share the state directory with the other runs.
+     *
+     * @return The default settings with a new state directory.
+     */
+    public static FakeSgeSettings settings() {
+        try {
+            return FakeSgeSettings.defaults().toBuilder()
+                    .stateDir(Files.createTempDirectory("fake-sge-benchmark"))
+                    .build();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Renders the standard output of the command.
+     *
+     * @param settings  The settings of the cluster.
+     * @param command   The name of the command, e.g. {@code qstat}.
+     * @param arguments The arguments of the command.
+     * @return The lines of the standard output.
+     */
+    public static List<String> render(final FakeSgeSettings settings, final String command,
+                                      final String... arguments) {
+        final StringWriter out = new StringWriter();
+        final StringWriter err = new StringWriter();
+        final int exitCode = new FakeSgeCommands(new FakeSgeCluster(settings))
+                .run(command, Arrays.asList(arguments), new PrintWriter(out), new PrintWriter(err));
+        if (exitCode != 0) {
+            throw new IllegalStateException("The fake " + command + " has failed: " + err);
+        }
+        return Arrays.asList(out.toString().split("\\R"));
+    }
+}
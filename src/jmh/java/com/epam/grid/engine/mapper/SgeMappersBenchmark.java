@@ -0,0 +1,130 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.mapper;
+
+import com.epam.grid.engine.entity.EntitiesRawOutput;
+import com.epam.grid.engine.entity.host.Host;
+import com.epam.grid.engine.entity.host.sge.SgeHost;
+import com.epam.grid.engine.entity.host.sge.SgeHostListing;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.sge.SgeJob;
+import com.epam.grid.engine.entity.job.sge.SgeQueueListing;
+import com.epam.grid.engine.entity.queue.Queue;
+import com.epam.grid.engine.fakesge.FakeSgeCluster;
+import com.epam.grid.engine.fakesge.FakeSgeOutputs;
+import com.epam.grid.engine.fakesge.FakeSgeSettings;
+import com.epam.grid.engine.mapper.host.sge.SgeHostMapper;
+import com.epam.grid.engine.mapper.job.sge.SgeJobMapper;
+import com.epam.grid.engine.mapper.queue.sge.SgeQueueMapper;
+import com.epam.grid.engine.provider.utils.JaxbUtils;
+import com.epam.grid.engine.provider.utils.sge.common.SgeOutputParsingUtils;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.epam.grid.engine.utils.TextConstants.NEW_LINE_DELIMITER;
+
+/**
+ * Measures the MapStruct mappers applied to the parsed SGE entities. The cluster has one host
+ * per {@value #JOBS_PER_HOST} jobs and one queue per {@value #JOBS_PER_QUEUE} jobs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SgeMappersBenchmark {
+
+    private static final int JOBS_PER_HOST = 25;
+    private static final int JOBS_PER_QUEUE = 100;
+    private static final String QUEUE_PREFIX = "qname";
+
+    private final SgeJobMapper jobMapper = Mappers.getMapper(SgeJobMapper.class);
+    private final SgeHostMapper hostMapper = Mappers.getMapper(SgeHostMapper.class);
+    private final SgeQueueMapper queueMapper = Mappers.getMapper(SgeQueueMapper.class);
+
+    @Param({"1000", "10000", "100000"})
+    private int jobs;
+
+    private List<SgeJob> sgeJobs;
+    private List<SgeHost> sgeHosts;
+    private List<Map<String, String>> queueDescriptions;
+
+    @Setup
+    public void setUp() {
+        final FakeSgeSettings settings = FakeSgeOutputs.settings().toBuilder()
+                .jobs(jobs)
+                .hosts(jobs / JOBS_PER_HOST)
+                .queues(jobs / JOBS_PER_QUEUE)
+                .build();
+        final SgeQueueListing queueListing = JaxbUtils.unmarshall(String.join(NEW_LINE_DELIMITER,
+                FakeSgeOutputs.render(settings, "qstat", "-xml")), SgeQueueListing.class);
+        sgeJobs = new ArrayList<>(queueListing.getSgeQueues());
+        sgeJobs.addAll(queueListing.getSgeJobs());
+        sgeHosts = JaxbUtils.unmarshall(String.join(NEW_LINE_DELIMITER,
+                FakeSgeOutputs.render(settings, "qhost", "-xml")), SgeHostListing.class).getSgeHost();
+        final List<String> qconfArguments = new ArrayList<>();
+        qconfArguments.add("-sq");
+        new FakeSgeCluster(settings).getQueues().forEach(queue -> qconfArguments.add(queue.getName()));
+        queueDescriptions = SgeOutputParsingUtils.splitOutputToEntities(
+                        FakeSgeOutputs.render(settings, "qconf", qconfArguments.toArray(new String[0])), QUEUE_PREFIX)
+                .stream()
+                .map(EntitiesRawOutput::getRawEntitiesList)
+                .map(SgeOutputParsingUtils::parseEntitiesToMap)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Job> mapJobs() {
+        return sgeJobs.stream()
+                .map(jobMapper::sgeJobToJob)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Host> mapHosts() {
+        return sgeHosts.stream()
+                .map(hostMapper::mapToHost)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<Queue> mapQueues() {
+        return queueDescriptions.stream()
+                .map(queueMapper::mapRawOutputToSgeQueue)
+                .map(queueMapper::sgeQueueToQueue)
+                .collect(Collectors.toList());
+    }
+}
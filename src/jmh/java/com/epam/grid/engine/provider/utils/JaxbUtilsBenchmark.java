@@ -0,0 +1,90 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.provider.utils;
+
+import com.epam.grid.engine.entity.host.sge.SgeHostListing;
+import com.epam.grid.engine.entity.job.sge.SgeQueueListing;
+import com.epam.grid.engine.fakesge.FakeSgeOutputs;
+import com.epam.grid.engine.fakesge.FakeSgeSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.grid.engine.utils.TextConstants.NEW_LINE_DELIMITER;
+
+/**
+ * Measures the unmarshalling of the {@code qstat -xml} and {@code qhost -xml} outputs, both from the joined
+ * output lines, as the host provider does, and from the output stream, as the job provider does.
+ * The cluster has one host per {@value #JOBS_PER_HOST} jobs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JaxbUtilsBenchmark {
+
+    private static final int JOBS_PER_HOST = 25;
+
+    @Param({"1000", "10000", "100000"})
+    private int jobs;
+
+    private String qstatXml;
+    private byte[] qstatBytes;
+    private String qhostXml;
+
+    @Setup
+    public void setUp() {
+        final FakeSgeSettings settings = FakeSgeOutputs.settings().toBuilder()
+                .jobs(jobs)
+                .hosts(jobs / JOBS_PER_HOST)
+                .build();
+        qstatXml = String.join(NEW_LINE_DELIMITER, FakeSgeOutputs.render(settings, "qstat", "-xml"));
+        qstatBytes = qstatXml.getBytes(StandardCharsets.UTF_8);
+        qhostXml = String.join(NEW_LINE_DELIMITER, FakeSgeOutputs.render(settings, "qhost", "-xml"));
+    }
+
+    @Benchmark
+    public SgeQueueListing unmarshallQstatText() {
+        return JaxbUtils.unmarshall(qstatXml, SgeQueueListing.class);
+    }
+
+    @Benchmark
+    public SgeQueueListing unmarshallQstatStream() {
+        return JaxbUtils.unmarshall(new ByteArrayInputStream(qstatBytes), SgeQueueListing.class);
+    }
+
+    @Benchmark
+    public SgeHostListing unmarshallQhostText() {
+        return JaxbUtils.unmarshall(qhostXml, SgeHostListing.class);
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.provider.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the conversions of the host values and the accounting values, which are done
+ * for every host and every reported job.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NumberParseUtilsBenchmark {
+
+    private static final int PRECISION = 5;
+
+    private String processors = "16";
+    private String memory = "31.3G";
+    private String load = "0.37";
+    private String accountingMemory = "3.176MB";
+    private double accountingTime = 1.2345678;
+
+    @Benchmark
+    public Integer toInt() {
+        return NumberParseUtils.toInt(processors);
+    }
+
+    @Benchmark
+    public Double toDoubleHumanReadable() {
+        return NumberParseUtils.toDouble(memory);
+    }
+
+    @Benchmark
+    public Double toDoublePlain() {
+        return NumberParseUtils.toDouble(load);
+    }
+
+    @Benchmark
+    public Long toLong() {
+        return NumberParseUtils.toLong(memory);
+    }
+
+    @Benchmark
+    public double convertHumanReadableMemoryToGbytes() {
+        return NumberParseUtils.convertHumanReadableMemoryToGbytes(accountingMemory);
+    }
+
+    @Benchmark
+    public double truncateDoubleValue() {
+        return NumberParseUtils.truncateDoubleValue(accountingTime, PRECISION);
+    }
+}
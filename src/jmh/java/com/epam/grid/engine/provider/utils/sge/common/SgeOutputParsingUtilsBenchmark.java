@@ -0,0 +1,86 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.provider.utils.sge.common;
+
+import com.epam.grid.engine.entity.EntitiesRawOutput;
+import com.epam.grid.engine.fakesge.FakeSgeCluster;
+import com.epam.grid.engine.fakesge.FakeSgeOutputs;
+import com.epam.grid.engine.fakesge.FakeSgeSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the parsing of the {@code qconf -sq} output of all queues into the maps of their descriptions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SgeOutputParsingUtilsBenchmark {
+
+    private static final String QUEUE_PREFIX = "qname";
+
+    @Param({"10", "100", "1000"})
+    private int queues;
+
+    private List<String> stdOut;
+    private List<EntitiesRawOutput> entities;
+
+    @Setup
+    public void setUp() {
+        final FakeSgeSettings settings = FakeSgeOutputs.settings().toBuilder()
+                .queues(queues)
+                .build();
+        final List<String> arguments = new ArrayList<>();
+        arguments.add("-sq");
+        new FakeSgeCluster(settings).getQueues().forEach(queue -> arguments.add(queue.getName()));
+        stdOut = FakeSgeOutputs.render(settings, "qconf", arguments.toArray(new String[0]));
+        entities = SgeOutputParsingUtils.splitOutputToEntities(stdOut, QUEUE_PREFIX);
+    }
+
+    @Benchmark
+    public List<EntitiesRawOutput> splitOutputToEntities() {
+        return SgeOutputParsingUtils.splitOutputToEntities(stdOut, QUEUE_PREFIX);
+    }
+
+    @Benchmark
+    public List<Map<String, String>> parseEntitiesToMap() {
+        return entities.stream()
+                .map(EntitiesRawOutput::getRawEntitiesList)
+                .map(SgeOutputParsingUtils::parseEntitiesToMap)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.provider.utils.sge.healthcheck;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.healthcheck.HealthCheckInfo;
+import com.epam.grid.engine.fakesge.FakeSgeOutputs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the {@code qping -info} output that every health check does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QpingCommandParserBenchmark {
+
+    private CommandResult result;
+
+    @Setup
+    public void setUp() {
+        result = new CommandResult(FakeSgeOutputs.render(FakeSgeOutputs.settings(), "qping",
+                "-info", "localhost", "6444", "qmaster", "1"), 0, Collections.emptyList());
+    }
+
+    @Benchmark
+    public HealthCheckInfo parseQpingResult() {
+        return QpingCommandParser.parseQpingResult(result);
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.provider.utils.sge.usage;
+
+import com.epam.grid.engine.entity.usage.UsageReport;
+import com.epam.grid.engine.fakesge.FakeSgeOutputs;
+import com.epam.grid.engine.fakesge.FakeSgeSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the {@code qacct -j} output that reports every matching job separately.
+ * The output of 100k jobs has 4.5M lines, so the benchmark runs with a larger heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SgeJobAccountingDataParserBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int jobs;
+
+    private List<String> stdOut;
+
+    @Setup
+    public void setUp() {
+        final FakeSgeSettings settings = FakeSgeOutputs.settings().toBuilder()
+                .accountingRecords(jobs)
+                .build();
+        stdOut = FakeSgeOutputs.render(settings, "qacct", "-j");
+    }
+
+    @Benchmark
+    public UsageReport parseAccountingData() {
+        return new SgeJobAccountingDataParser().parseAccountingDataFromStdOut(stdOut);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.provider.utils.sge.usage;
+
+import com.epam.grid.engine.entity.usage.UsageReport;
+import com.epam.grid.engine.fakesge.FakeSgeCluster;
+import com.epam.grid.engine.fakesge.FakeSgeOutputs;
+import com.epam.grid.engine.fakesge.FakeSgeSettings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of the {@code qacct} usage summary, either the total one or the one filtered
+ * by an owner, a queue or a parallel environment. The size of the summary doesn't depend on the number
+ * of the accounting records.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SgeSummaryAccountingDataParserBenchmark {
+
+    private static final String PARALLEL_ENV = "make";
+
+    @Param({"total", "owner", "queue", "parallel-env"})
+    private String filter;
+
+    private List<String> stdOut;
+    private SgeAccountingDataParser parser;
+
+    @Setup
+    public void setUp() {
+        final FakeSgeSettings settings = FakeSgeOutputs.settings();
+        final FakeSgeCluster cluster = new FakeSgeCluster(settings);
+        switch (filter) {
+            case "owner":
+                stdOut = FakeSgeOutputs.render(settings, "qacct", "-o", cluster.getUsers().get(0));
+                break;
+            case "queue":
+                stdOut = FakeSgeOutputs.render(settings, "qacct", "-q", cluster.getQueues().get(0).getName());
+                break;
+            case "parallel-env":
+                stdOut = FakeSgeOutputs.render(settings, "qacct", "-pe", PARALLEL_ENV);
+                break;
+            default:
+                stdOut = FakeSgeOutputs.render(settings, "qacct");
+        }
+        parser = "total".equals(filter)
+                ? new SgeSummaryAccountingDataParser()
+                : new SgeSummaryFilteredAccountingDataParser();
+    }
+
+    @Benchmark
+    public UsageReport parseAccountingData() {
+        return parser.parseAccountingDataFromStdOut(stdOut);
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The application started in its own JVM, so that its startup is measured from the launch of the JVM.
+ * The process inherits the environment, e.g. the {@code PATH} to the fake SGE cluster.
+ */
+@Slf4j
+final class ApplicationProcess implements AutoCloseable {
+
+    private static final Duration STOP_TIMEOUT = Duration.ofSeconds(30);
+    private static final int OK = 200;
+
+    private final Process process;
+    private final Path logFile;
+    private final String baseUrl;
+    private final long startNanos;
+
+    private ApplicationProcess(final Process process, final Path logFile, final String baseUrl,
+                               final long startNanos) {
+        this.process = process;
+        this.logFile = logFile;
+        this.baseUrl = baseUrl;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Launches the application on a free port.
+     *
+     * @param launchArgs      The arguments of the {@code java} launcher up to the main class or the jar.
+     * @param applicationArgs The arguments of the application.
+     * @param logFile         The file the output of the application is written to.
+     * @return The started application.
+     * @throws IOException If the JVM can't be launched.
+     */
+    static ApplicationProcess start(final List<String> launchArgs, final List<String> applicationArgs,
+                                    final Path logFile) throws IOException {
+        final int port = findFreePort();
+        final List<String> command = new ArrayList<>();
+        command.add(javaExecutable());
+        command.addAll(launchArgs);
+        command.addAll(applicationArgs);
+        command.add("--server.port=" + port);
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        log.debug("Starting {}", command);
+        final ProcessBuilder builder = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile());
+        final long startNanos = System.nanoTime();
+        return new ApplicationProcess(builder.start(), logFile, "http://localhost:" + port, startNanos);
+    }
+
+    /**
+     * Runs the {@code java} launcher to completion, e.g. to dump a class-data sharing archive.
+     *
+     * @param launchArgs The arguments of the launcher.
+     * @param logFile    The file the output is written to.
+     * @param timeout    The time the launcher has to complete.
+     * @throws IOException          If the JVM can't be launched.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    static void run(final List<String> launchArgs, final Path logFile, final Duration timeout)
+            throws IOException, InterruptedException {
+        final List<String> command = new ArrayList<>();
+        command.add(javaExecutable());
+        command.addAll(launchArgs);
+        Files.createDirectories(logFile.toAbsolutePath().getParent());
+        final Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+        if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            process.destroyForcibly();
+            throw new IllegalStateException("The JVM hasn't completed in " + timeout + ", see " + logFile);
+        }
+        if (process.exitValue() != 0) {
+            throw new IllegalStateException("The JVM has exited with " + process.exitValue() + ", see " + logFile);
+        }
+    }
+
+    /**
+     * Sends the request until it succeeds.
+     *
+     * @param request      The request.
+     * @param timeout      The time the application has to answer the request successfully since its launch.
+     * @param pollInterval The time between two requests.
+     * @return The time from the launch of the JVM to the first successful response.
+     * @throws IOException          If the request fails otherwise than by the application not listening yet.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    Duration awaitFirstSuccess(final RequestType request, final Duration timeout, final Duration pollInterval)
+            throws IOException, InterruptedException {
+        final HttpClient client = HttpClient.newHttpClient();
+        final HttpRequest httpRequest = HttpRequest.newBuilder(URI.create(baseUrl + request.getPath()))
+                .header("Content-Type", "application/json")
+                .timeout(timeout)
+                .POST(HttpRequest.BodyPublishers.ofString(request.getBody()))
+                .build();
+        final long deadline = startNanos + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application has exited with " + process.exitValue()
+                        + ", see " + logFile);
+            }
+            try {
+                final int status = client.send(httpRequest, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == OK) {
+                    return Duration.ofNanos(System.nanoTime() - startNanos);
+                }
+                log.debug("The application has answered {}", status);
+            } catch (final ConnectException | HttpTimeoutException e) {
+                log.trace("The application doesn't listen yet", e);
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+        throw new IllegalStateException("The application hasn't answered successfully in " + timeout
+                + ", see " + logFile);
+    }
+
+    /**
+     * Stops the application gracefully, and forcibly if it doesn't stop in time or the thread is interrupted.
+     * The interrupt status of the thread is preserved.
+     */
+    @Override
+    public void close() {
+        process.destroy();
+        try {
+            if (!process.waitFor(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("The application hasn't stopped in {}, killing it", STOP_TIMEOUT);
+                process.destroyForcibly().waitFor();
+            }
+        } catch (final InterruptedException e) {
+            log.warn("Interrupted while stopping the application, killing it");
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String javaExecutable() {
+        return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+    }
+
+    private static int findFreePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
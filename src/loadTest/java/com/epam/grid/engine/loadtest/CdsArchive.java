@@ -0,0 +1,142 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The AppCDS archive of the application, generated by the {@code cdsArchive} Gradle task. The classes nested
+ * in the boot jar can't be mapped from an archive, so the task lays the boot jar out as plain jars
+ * in the {@code lib} folder of the {@code startup.cds.dir}. Then the application is started once with the
+ * {@code prod} profile and stopped after the first successful request, the classes loaded until then
+ * are dumped into {@code app.jsa}, and the arguments launching the application with the archive are written
+ * to {@code app.args}, e.g. {@code java @build/cds/app.args --spring.profiles.active=prod}.
+ */
+@Slf4j
+public final class CdsArchive {
+
+    static final String PROD_PROFILE = "--spring.profiles.active=prod";
+
+    private static final String MAIN_CLASS = "com.epam.grid.engine.GridEngineApplication";
+    private static final String APPLICATION_JAR = "application.jar";
+
+    private final Path directory;
+
+    CdsArchive(final Path directory) {
+        this.directory = directory;
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final StartupBenchmarkSettings settings = StartupBenchmarkSettings.fromProperties(System.getProperties());
+        new CdsArchive(settings.getCdsDirectory()).generate(settings);
+        System.exit(0);
+    }
+
+    /**
+     * Checks whether the archive is generated.
+     *
+     * @return True if the archive exists.
+     */
+    boolean exists() {
+        return Files.isRegularFile(getArchiveFile());
+    }
+
+    /**
+     * Builds the arguments of the {@code java} launcher running the application from the jars the archive
+     * is generated for, the class path has to be the same when the archive is dumped and used.
+     *
+     * @param jvmArgs The JVM options.
+     * @return The launcher arguments up to the main class.
+     * @throws IOException If the jars can't be listed.
+     */
+    List<String> launchArgs(final String... jvmArgs) throws IOException {
+        final List<String> launchArgs = new ArrayList<>(Arrays.asList(jvmArgs));
+        launchArgs.add("-cp");
+        launchArgs.add(getClassPath());
+        launchArgs.add(MAIN_CLASS);
+        return launchArgs;
+    }
+
+    /**
+     * Builds the arguments of the {@code java} launcher running the application with the archive.
+     *
+     * @return The launcher arguments up to the main class.
+     * @throws IOException If the jars can't be listed.
+     */
+    List<String> archiveLaunchArgs() throws IOException {
+        return launchArgs("-XX:SharedArchiveFile=" + getArchiveFile().toAbsolutePath());
+    }
+
+    private void generate(final StartupBenchmarkSettings settings) throws IOException, InterruptedException {
+        final Path classList = directory.resolve("app.classlist");
+        final Path archive = getArchiveFile();
+        Files.deleteIfExists(archive);
+        log.info("Starting the application to list the classes loaded until the first {} request",
+                settings.getRequest());
+        final List<String> applicationArgs = new ArrayList<>(settings.getApplicationArgs());
+        applicationArgs.add(PROD_PROFILE);
+        try (ApplicationProcess application = ApplicationProcess.start(
+                launchArgs("-Xshare:off", "-XX:DumpLoadedClassList=" + classList),
+                applicationArgs, settings.getLogDirectory().resolve("cds-training.log"))) {
+            log.info("The first request has succeeded in {} ms",
+                    application.awaitFirstSuccess(settings.getRequest(), settings.getTimeout(),
+                            settings.getPollInterval()).toMillis());
+        }
+        log.info("Dumping the archive of the listed classes to {}", archive);
+        ApplicationProcess.run(Arrays.asList("-Xshare:dump", "-XX:SharedClassListFile=" + classList,
+                        "-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-cp", getClassPath()),
+                settings.getLogDirectory().resolve("cds-dump.log"), settings.getTimeout());
+        Files.write(directory.resolve("app.args"), Collections.singletonList(archiveLaunchArgs().stream()
+                .map(CdsArchive::quote)
+                .collect(Collectors.joining(" "))));
+        log.info("The application is launched with the archive by java @{}", directory.resolve("app.args"));
+    }
+
+    private Path getArchiveFile() {
+        return directory.resolve("app.jsa");
+    }
+
+    private String getClassPath() throws IOException {
+        final Path lib = directory.resolve("lib").toAbsolutePath();
+        try (Stream<Path> jars = Files.list(lib)) {
+            // The application classes go first as in the boot jar, the order of the dependencies is fixed
+            return Stream.concat(Stream.of(lib.resolve(APPLICATION_JAR)), jars
+                            .filter(jar -> !jar.getFileName().toString().equals(APPLICATION_JAR))
+                            .sorted())
+                    .map(Path::toString)
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+    }
+
+    private static String quote(final String argument) {
+        return '"' + argument.replace("\\", "/") + '"';
+    }
+}
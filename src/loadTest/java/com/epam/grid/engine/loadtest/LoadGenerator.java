@@ -0,0 +1,208 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the requests of the mix at a fixed arrival rate, i.e. an open-loop load: the requests are sent
+ * at their intended times whether or not the previous ones have completed, so that a saturated application
+ * faces a growing queue rather than a slowing client.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final String CONTENT_TYPE = "Content-Type";
+    private static final String APPLICATION_JSON = "application/json";
+    private static final long HIGHEST_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+    private static final double NANOS_IN_SECOND = 1_000_000_000.0;
+    private static final int HTTP_ERROR_STATUS = 400;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestSettings settings;
+    private final HttpClient client;
+    private final Map<RequestType, HttpRequest> requests = new EnumMap<>(RequestType.class);
+    private final List<RequestType> weightedTypes = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(1);
+
+    /**
+     * Creates the generator.
+     *
+     * @param settings The settings of the load test.
+     * @param baseUrl  The URL of the application.
+     */
+    public LoadGenerator(final LoadTestSettings settings, final String baseUrl) {
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(settings.getRequestTimeout())
+                .build();
+        settings.getMix().forEach((type, weight) -> {
+            requests.put(type, HttpRequest.newBuilder(URI.create(baseUrl + type.getPath()))
+                    .timeout(settings.getRequestTimeout())
+                    .header(CONTENT_TYPE, APPLICATION_JSON)
+                    .POST(HttpRequest.BodyPublishers.ofString(type.getBody()))
+                    .build());
+            for (int i = 0; i < weight; i++) {
+                weightedTypes.add(type);
+            }
+        });
+    }
+
+    /**
+     * Sends the requests at the rate for the duration and waits for the requests in flight to complete.
+     *
+     * @param rate     The arrival rate, in requests per second.
+     * @param duration The duration of sending.
+     * @param sampler  The sampler of the resource usage, or null if the application runs in another JVM.
+     * @return The results of the step.
+     */
+    public LoadTestReport.Step run(final int rate, final Duration duration, final ResourceSampler sampler) {
+        final Map<RequestType, Results> results = new EnumMap<>(RequestType.class);
+        requests.keySet().forEach(type -> results.put(type, new Results()));
+        final AtomicInteger inFlight = new AtomicInteger();
+        final long interval = (long) (NANOS_IN_SECOND / rate);
+        long sent = 0;
+        long rejected = 0;
+        if (sampler != null) {
+            sampler.start();
+        }
+        final long startTime = System.nanoTime();
+        final long endTime = startTime + duration.toNanos();
+        for (long intendedTime = startTime; intendedTime < endTime; intendedTime += interval) {
+            parkUntil(intendedTime);
+            final RequestType type = weightedTypes.get(random.nextInt(weightedTypes.size()));
+            if (inFlight.get() >= settings.getMaxInFlight()) {
+                rejected++;
+                continue;
+            }
+            inFlight.incrementAndGet();
+            sent++;
+            final long intended = intendedTime;
+            final Results typeResults = results.get(type);
+            client.sendAsync(requests.get(type), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        typeResults.record(System.nanoTime() - intended,
+                                error != null || response.statusCode() >= HTTP_ERROR_STATUS);
+                        if (error != null) {
+                            log.debug("The {} request has failed", type, error);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+        awaitInFlight(inFlight);
+        final double elapsedSeconds = (System.nanoTime() - startTime) / NANOS_IN_SECOND;
+        final LoadTestReport.Resources resources = sampler != null ? sampler.stop() : null;
+        return buildStep(rate, elapsedSeconds, sent, rejected, results, resources);
+    }
+
+    private void parkUntil(final long time) {
+        long remaining = time - System.nanoTime();
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            remaining = time - System.nanoTime();
+        }
+    }
+
+    private void awaitInFlight(final AtomicInteger inFlight) {
+        final long deadline = System.nanoTime() + settings.getRequestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        if (inFlight.get() > 0) {
+            log.warn("{} requests have not completed within the request timeout", inFlight.get());
+        }
+    }
+
+    private LoadTestReport.Step buildStep(final int rate, final double elapsedSeconds, final long sent,
+                                          final long rejected, final Map<RequestType, Results> results,
+                                          final LoadTestReport.Resources resources) {
+        final Map<RequestType, LoadTestReport.Requests> requestReports = new EnumMap<>(RequestType.class);
+        long completed = 0;
+        long errors = 0;
+        for (final Map.Entry<RequestType, Results> entry : results.entrySet()) {
+            final Results typeResults = entry.getValue();
+            final Histogram histogram = typeResults.latencies;
+            final long typeCompleted = histogram.getTotalCount();
+            final long typeErrors = typeResults.errors.sum();
+            completed += typeCompleted;
+            errors += typeErrors;
+            requestReports.put(entry.getKey(), LoadTestReport.Requests.builder()
+                    .completed(typeCompleted)
+                    .errors(typeErrors)
+                    .errorRate(ratio(typeErrors, typeCompleted))
+                    .meanMillis(histogram.getMean() / NANOS_IN_MILLI)
+                    .p50Millis(histogram.getValueAtPercentile(PERCENTILES[0]) / NANOS_IN_MILLI)
+                    .p90Millis(histogram.getValueAtPercentile(PERCENTILES[1]) / NANOS_IN_MILLI)
+                    .p99Millis(histogram.getValueAtPercentile(PERCENTILES[2]) / NANOS_IN_MILLI)
+                    .p999Millis(histogram.getValueAtPercentile(PERCENTILES[3]) / NANOS_IN_MILLI)
+                    .maxMillis(histogram.getMaxValue() / NANOS_IN_MILLI)
+                    .build());
+        }
+        return LoadTestReport.Step.builder()
+                .offeredRate(rate)
+                .throughput((completed - errors) / elapsedSeconds)
+                .sent(sent)
+                .completed(completed)
+                .errors(errors)
+                .rejected(rejected)
+                .errorRate(ratio(errors + rejected, sent + rejected))
+                .requests(requestReports)
+                .resources(resources)
+                .build();
+    }
+
+    private static double ratio(final long part, final long total) {
+        return total == 0 ? 0 : (double) part / total;
+    }
+
+    /**
+     * The latencies and errors of the requests of one type.
+     */
+    private static final class Results {
+
+        private final Histogram latencies = new ConcurrentHistogram(HIGHEST_LATENCY_NANOS, SIGNIFICANT_DIGITS);
+        private final LongAdder errors = new LongAdder();
+
+        private void record(final long latency, final boolean error) {
+            latencies.recordValue(Math.min(latency, HIGHEST_LATENCY_NANOS));
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.loadtest;
+
+import com.epam.grid.engine.GridEngineApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The entry point of the load test, run by the {@code loadTest} Gradle task. Unless the {@code loadtest.base.url}
+ * is set, it starts the application in its own JVM, so that the commands are executed by the fake SGE cluster
+ * put on the {@code PATH} by the task, or replayed with the {@code replay} profile. Then it sends the request mix
+ * at each of the {@code loadtest.rates} and writes the report to {@code loadtest.output}.
+ *
+ * @see LoadTestSettings
+ */
+@Slf4j
+public final class LoadTest {
+
+    private static final String RANDOM_PORT = "--server.port=0";
+    private static final String LOCAL_PORT_PROPERTY = "local.server.port";
+
+    private LoadTest() {
+    }
+
+    public static void main(final String[] args) throws IOException {
+        final LoadTestSettings settings = LoadTestSettings.fromProperties(System.getProperties());
+        final LocalDateTime startTime = LocalDateTime.now();
+        ConfigurableApplicationContext context = null;
+        String baseUrl = settings.getBaseUrl();
+        if (baseUrl.isEmpty()) {
+            final List<String> applicationArgs = new ArrayList<>();
+            applicationArgs.add(RANDOM_PORT);
+            applicationArgs.addAll(settings.getApplicationArgs());
+            context = new SpringApplicationBuilder(GridEngineApplication.class)
+                    .run(applicationArgs.toArray(new String[0]));
+            baseUrl = "http://localhost:" + context.getEnvironment().getRequiredProperty(LOCAL_PORT_PROPERTY);
+        }
+        final List<LoadTestReport.Step> steps = new ArrayList<>();
+        try (ResourceSampler sampler = new ResourceSampler()) {
+            final ResourceSampler applicationSampler = context != null ? sampler : null;
+            final LoadGenerator generator = new LoadGenerator(settings, baseUrl);
+            log.info("Warming up at {} requests per second", settings.getRates().get(0));
+            generator.run(settings.getRates().get(0), settings.getWarmup(), null);
+            for (final int rate : settings.getRates()) {
+                final LoadTestReport.Step step = generator.run(rate, settings.getStepDuration(), applicationSampler);
+                log.info("{} requests per second offered: throughput {}, error rate {}, rejected {}",
+                        rate, String.format("%.1f", step.getThroughput()), String.format("%.4f", step.getErrorRate()),
+                        step.getRejected());
+                steps.add(step);
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        writeReport(settings, LoadTestReport.builder()
+                .startTime(startTime.toString())
+                .baseUrl(baseUrl)
+                .stepDurationMillis(settings.getStepDuration().toMillis())
+                .mix(settings.getMix())
+                .steps(steps)
+                .build());
+        System.exit(0);
+    }
+
+    private static void writeReport(final LoadTestSettings settings, final LoadTestReport report) throws IOException {
+        final Path parent = settings.getOutput().toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(settings.getOutput().toFile(), report);
+        log.info("The load test report is written to {}", settings.getOutput());
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of a load test run, written as JSON so that the runs can be compared.
+ */
+@Value
+@Builder
+public class LoadTestReport {
+
+    String startTime;
+    String baseUrl;
+    long stepDurationMillis;
+    Map<RequestType, Integer> mix;
+    List<Step> steps;
+
+    /**
+     * The results of the requests sent at one arrival rate.
+     */
+    @Value
+    @Builder
+    public static class Step {
+
+        /**
+         * The arrival rate, in requests per second.
+         */
+        int offeredRate;
+
+        /**
+         * The successfully completed requests per second, it falls behind the offered rate
+         * once the application saturates.
+         */
+        double throughput;
+        long sent;
+        long completed;
+        long errors;
+
+        /**
+         * The requests that were not sent, since too many requests were in flight.
+         */
+        long rejected;
+        double errorRate;
+        Map<RequestType, Requests> requests;
+
+        /**
+         * The resource usage of the application, if it runs in the load test JVM.
+         */
+        Resources resources;
+    }
+
+    /**
+     * The results of the requests of one type. The latencies are measured from the intended send time,
+     * so that a stalled application is not hidden by the requests it delays.
+     */
+    @Value
+    @Builder
+    public static class Requests {
+        long completed;
+        long errors;
+        double errorRate;
+        double meanMillis;
+        double p50Millis;
+        double p90Millis;
+        double p99Millis;
+        double p999Millis;
+        double maxMillis;
+    }
+
+    /**
+     * The resource usage sampled during a step.
+     */
+    @Value
+    @Builder
+    public static class Resources {
+        int maxThreads;
+        double meanThreads;
+        double maxHeapUsedMb;
+        double meanHeapUsedMb;
+        long gcCount;
+        long gcTimeMillis;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * The knobs of the load test, every knob is read from the {@code loadtest.<knob>} system property,
+ * e.g. {@code -Dloadtest.rates=50,100,200}.
+ */
+@Value
+@Builder
+public class LoadTestSettings {
+
+    private static final String PREFIX = "loadtest.";
+    private static final String LIST_DELIMITER = ",";
+    private static final String WEIGHT_DELIMITER = ":";
+
+    /**
+     * The arrival rates of the steps, in requests per second. The requests are sent at these rates
+     * whether or not the previous ones have completed.
+     */
+    List<Integer> rates;
+
+    Duration stepDuration;
+
+    /**
+     * The duration of the first step which is run before the measured steps and not reported.
+     */
+    Duration warmup;
+
+    /**
+     * The weights of the request types, e.g. {@code jobs:70,submit:10,usage:20}.
+     */
+    Map<RequestType, Integer> mix;
+
+    /**
+     * The number of requests in flight above which new requests are not sent but counted as rejected,
+     * so that a saturated application doesn't exhaust the memory of the load test.
+     */
+    int maxInFlight;
+
+    Duration requestTimeout;
+
+    /**
+     * The URL of an already running application, if empty, the application is started in the load test JVM.
+     */
+    String baseUrl;
+
+    /**
+     * The arguments of the application started by the load test, e.g. {@code --spring.profiles.active=replay}.
+     */
+    List<String> applicationArgs;
+
+    Path output;
+
+    /**
+     * Reads the knobs from the system properties, the missing ones have the default values.
+     *
+     * @param properties The system properties.
+     * @return The settings.
+     */
+    public static LoadTestSettings fromProperties(final Properties properties) {
+        return LoadTestSettings.builder()
+                .rates(Arrays.stream(get(properties, "rates", "10,50,100,200").split(LIST_DELIMITER))
+                        .map(String::trim)
+                        .map(Integer::valueOf)
+                        .collect(Collectors.toList()))
+                .stepDuration(DurationStyle.detectAndParse(get(properties, "step.duration", "30s")))
+                .warmup(DurationStyle.detectAndParse(get(properties, "warmup", "10s")))
+                .mix(parseMix(get(properties, "mix", "jobs:70,submit:10,usage:20")))
+                .maxInFlight(Integer.parseInt(get(properties, "max.in.flight", "2000")))
+                .requestTimeout(DurationStyle.detectAndParse(get(properties, "request.timeout", "30s")))
+                .baseUrl(get(properties, "base.url", ""))
+                .applicationArgs(Arrays.stream(get(properties, "app.args", "").split("\\s+"))
+                        .filter(argument -> !argument.isEmpty())
+                        .collect(Collectors.toList()))
+                .output(Paths.get(get(properties, "output", "load-test-results.json")))
+                .build();
+    }
+
+    private static String get(final Properties properties, final String knob, final String defaultValue) {
+        return properties.getProperty(PREFIX + knob, defaultValue).trim();
+    }
+
+    private static Map<RequestType, Integer> parseMix(final String mix) {
+        final Map<RequestType, Integer> weights = new EnumMap<>(RequestType.class);
+        Arrays.stream(mix.split(LIST_DELIMITER))
+                .map(entry -> entry.split(WEIGHT_DELIMITER))
+                .forEach(entry -> weights.put(RequestType.of(entry[0]), Integer.parseInt(entry[1].trim())));
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("The request mix has no requests: " + mix);
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Locale;
+
+/**
+ * The requests the load test sends, all of them are {@code POST} requests with a JSON body.
+ */
+@Getter
+@AllArgsConstructor
+public enum RequestType {
+
+    /**
+     * Lists the jobs of an owner, i.e. {@code qstat}.
+     */
+    JOBS("/jobs", "{\"owners\":[\"usera\"]}"),
+
+    /**
+     * Submits a job, i.e. {@code qsub}.
+     */
+    SUBMIT("/jobs/submit", "{\"command\":\"simple.sh\",\"name\":\"load-test\",\"canBeBinary\":true}"),
+
+    /**
+     * Reports the usage of an owner during the last week, i.e. {@code qacct}.
+     */
+    USAGE("/usage", "{\"owner\":\"usera\",\"days\":7}");
+
+    private final String path;
+    private final String body;
+
+    /**
+     * Determines the request type by its name in the request mix, e.g. {@code jobs}.
+     *
+     * @param name The name of the request type.
+     * @return The request type.
+     */
+    public static RequestType of(final String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.loadtest;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples the thread count and the heap usage of the load test JVM during a step.
+ */
+public class ResourceSampler implements AutoCloseable {
+
+    private static final long SAMPLING_INTERVAL_MILLIS = 100;
+    private static final double BYTES_IN_MEGABYTE = 1024 * 1024;
+
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "load-test-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ScheduledFuture<?> sampling;
+    private long samples;
+    private int maxThreads;
+    private long totalThreads;
+    private long maxHeapUsed;
+    private long totalHeapUsed;
+    private long startGcCount;
+    private long startGcTime;
+
+    /**
+     * Starts sampling, the previous samples are discarded.
+     */
+    public synchronized void start() {
+        samples = 0;
+        maxThreads = 0;
+        totalThreads = 0;
+        maxHeapUsed = 0;
+        totalHeapUsed = 0;
+        startGcCount = getGcCount();
+        startGcTime = getGcTimeMillis();
+        sampling = scheduler.scheduleAtFixedRate(this::sample, 0, SAMPLING_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling.
+     *
+     * @return The resource usage since the start.
+     */
+    public synchronized LoadTestReport.Resources stop() {
+        sampling.cancel(false);
+        final long count = Math.max(1, samples);
+        return LoadTestReport.Resources.builder()
+                .maxThreads(maxThreads)
+                .meanThreads((double) totalThreads / count)
+                .maxHeapUsedMb(maxHeapUsed / BYTES_IN_MEGABYTE)
+                .meanHeapUsedMb(totalHeapUsed / count / BYTES_IN_MEGABYTE)
+                .gcCount(getGcCount() - startGcCount)
+                .gcTimeMillis(getGcTimeMillis() - startGcTime)
+                .build();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private synchronized void sample() {
+        final int threadCount = threads.getThreadCount();
+        final long heapUsed = memory.getHeapMemoryUsage().getUsed();
+        samples++;
+        maxThreads = Math.max(maxThreads, threadCount);
+        totalThreads += threadCount;
+        maxHeapUsed = Math.max(maxHeapUsed, heapUsed);
+        totalHeapUsed += heapUsed;
+    }
+
+    private static long getGcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+                .filter(count -> count > 0)
+                .sum();
+    }
+
+    private static long getGcTimeMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The entry point of the startup benchmark, run by the {@code startupBenchmark} Gradle task. It measures
+ * the time from the launch of the application JVM to the first successful {@code startup.request},
+ * starting the application {@code startup.runs} times in every configuration: from the boot jar with the
+ * default and the {@code prod} profiles, and, once the {@code cdsArchive} task has run, from the plain jars
+ * with the {@code prod} profile without and with the AppCDS archive. The report is written
+ * to {@code startup.output}.
+ *
+ * @see StartupBenchmarkSettings
+ * @see CdsArchive
+ */
+@Slf4j
+public final class StartupBenchmark {
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(final String[] args) throws IOException, InterruptedException {
+        final StartupBenchmarkSettings settings = StartupBenchmarkSettings.fromProperties(System.getProperties());
+        final LocalDateTime startTime = LocalDateTime.now();
+        final List<StartupReport.Configuration> configurations = new ArrayList<>();
+        for (final Launch launch : getLaunches(settings)) {
+            configurations.add(measure(settings, launch));
+        }
+        writeReport(settings, StartupReport.builder()
+                .startTime(startTime.toString())
+                .request(settings.getRequest())
+                .applicationArgs(settings.getApplicationArgs())
+                .configurations(configurations)
+                .build());
+        System.exit(0);
+    }
+
+    private static List<Launch> getLaunches(final StartupBenchmarkSettings settings) throws IOException {
+        final String bootJar = settings.getBootJar().toString();
+        final List<Launch> launches = new ArrayList<>();
+        launches.add(new Launch("boot-jar", "The boot jar with the default profile",
+                Arrays.asList("-jar", bootJar), Collections.emptyList()));
+        launches.add(new Launch("boot-jar-prod", "The boot jar with the prod profile",
+                Arrays.asList("-jar", bootJar), Collections.singletonList(CdsArchive.PROD_PROFILE)));
+        final CdsArchive archive = new CdsArchive(settings.getCdsDirectory());
+        if (archive.exists()) {
+            launches.add(new Launch("plain-jars-prod", "The plain jars with the prod profile",
+                    archive.launchArgs(), Collections.singletonList(CdsArchive.PROD_PROFILE)));
+            launches.add(new Launch("plain-jars-prod-cds",
+                    "The plain jars with the prod profile and the AppCDS archive", archive.archiveLaunchArgs(),
+                    Collections.singletonList(CdsArchive.PROD_PROFILE)));
+        } else {
+            log.info("The AppCDS archive is not found in {}, run the cdsArchive task to measure it",
+                    settings.getCdsDirectory());
+        }
+        return launches;
+    }
+
+    private static StartupReport.Configuration measure(final StartupBenchmarkSettings settings, final Launch launch)
+            throws IOException, InterruptedException {
+        final List<String> applicationArgs = new ArrayList<>(settings.getApplicationArgs());
+        applicationArgs.addAll(launch.applicationArgs);
+        final List<Long> runMillis = new ArrayList<>();
+        for (int run = 1; run <= settings.getRuns(); run++) {
+            final Path logFile = settings.getLogDirectory().resolve(launch.name + "-" + run + ".log");
+            try (ApplicationProcess application = ApplicationProcess.start(launch.launchArgs, applicationArgs,
+                    logFile)) {
+                runMillis.add(application.awaitFirstSuccess(settings.getRequest(), settings.getTimeout(),
+                        settings.getPollInterval()).toMillis());
+            }
+            log.info("{} run {}: the first request has succeeded in {} ms", launch.name, run,
+                    runMillis.get(runMillis.size() - 1));
+        }
+        final List<Long> sortedMillis = new ArrayList<>(runMillis);
+        Collections.sort(sortedMillis);
+        return StartupReport.Configuration.builder()
+                .name(launch.name)
+                .description(launch.description)
+                .runMillis(runMillis)
+                .minMillis(sortedMillis.get(0))
+                .medianMillis(sortedMillis.get(sortedMillis.size() / 2))
+                .maxMillis(sortedMillis.get(sortedMillis.size() - 1))
+                .build();
+    }
+
+    private static void writeReport(final StartupBenchmarkSettings settings, final StartupReport report)
+            throws IOException {
+        final Path parent = settings.getOutput().toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(settings.getOutput().toFile(), report);
+        log.info("The startup benchmark report is written to {}", settings.getOutput());
+    }
+
+    /**
+     * The way the application is started in a configuration.
+     */
+    @AllArgsConstructor
+    private static final class Launch {
+        private final String name;
+        private final String description;
+        private final List<String> launchArgs;
+        private final List<String> applicationArgs;
+    }
+}
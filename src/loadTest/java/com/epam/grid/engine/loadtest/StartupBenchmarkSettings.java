@@ -0,0 +1,108 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * The knobs of the startup benchmark and of the class-data sharing training run, every knob is read
+ * from the {@code startup.<knob>} system property, e.g. {@code -Dstartup.runs=10}.
+ */
+@Value
+@Builder
+public class StartupBenchmarkSettings {
+
+    private static final String PREFIX = "startup.";
+
+    /**
+     * The number of times the application is started in every configuration.
+     */
+    int runs;
+
+    /**
+     * The time the application has to answer the first request successfully.
+     */
+    Duration timeout;
+
+    /**
+     * The time between two requests until the first one succeeds.
+     */
+    Duration pollInterval;
+
+    /**
+     * The request whose first success ends the startup.
+     */
+    RequestType request;
+
+    /**
+     * The arguments of the application, e.g. {@code --grid.engine.type=SIM}.
+     */
+    List<String> applicationArgs;
+
+    Path bootJar;
+
+    /**
+     * The directory of the class-data sharing archive and of the jars it is generated for.
+     */
+    Path cdsDirectory;
+
+    /**
+     * The directory the application logs are written to.
+     */
+    Path logDirectory;
+
+    Path output;
+
+    /**
+     * Reads the knobs from the system properties, the missing ones have the default values.
+     *
+     * @param properties The system properties.
+     * @return The settings.
+     */
+    public static StartupBenchmarkSettings fromProperties(final Properties properties) {
+        return StartupBenchmarkSettings.builder()
+                .runs(Integer.parseInt(get(properties, "runs", "5")))
+                .timeout(DurationStyle.detectAndParse(get(properties, "timeout", "2m")))
+                .pollInterval(DurationStyle.detectAndParse(get(properties, "poll.interval", "20ms")))
+                .request(RequestType.of(get(properties, "request", "jobs")))
+                .applicationArgs(Arrays.stream(get(properties, "app.args", "").split("\\s+"))
+                        .filter(argument -> !argument.isEmpty())
+                        .collect(Collectors.toList()))
+                .bootJar(Paths.get(get(properties, "boot.jar", "grid-engine-api.jar")))
+                .cdsDirectory(Paths.get(get(properties, "cds.dir", "cds")))
+                .logDirectory(Paths.get(get(properties, "log.dir", "startup-logs")))
+                .output(Paths.get(get(properties, "output", "startup-results.json")))
+                .build();
+    }
+
+    private static String get(final Properties properties, final String knob, final String defaultValue) {
+        return properties.getProperty(PREFIX + knob, defaultValue).trim();
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * The results of a startup benchmark run, written as JSON so that the runs can be compared.
+ */
+@Value
+@Builder
+public class StartupReport {
+
+    String startTime;
+    RequestType request;
+    List<String> applicationArgs;
+    List<Configuration> configurations;
+
+    /**
+     * The times to the first successful request of the application started the same way.
+     */
+    @Value
+    @Builder
+    public static class Configuration {
+        String name;
+        String description;
+        List<Long> runMillis;
+        long minMillis;
+        long medianMillis;
+        long maxMillis;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine;
+
+import com.epam.grid.engine.cmd.BulkheadCmdExecutor;
+import com.epam.grid.engine.cmd.CmdExecutor;
+import com.epam.grid.engine.cmd.CoalescingCmdExecutor;
+import com.epam.grid.engine.cmd.CommandCorpus;
+import com.epam.grid.engine.cmd.CommandMetrics;
+import com.epam.grid.engine.cmd.CommandTimeoutPolicy;
+import com.epam.grid.engine.cmd.CoprocessCmdExecutor;
+import com.epam.grid.engine.cmd.HedgingCmdExecutor;
+import com.epam.grid.engine.cmd.RecordingCmdExecutor;
+import com.epam.grid.engine.cmd.ReplayingCmdExecutor;
+import com.epam.grid.engine.cmd.SimpleCmdExecutor;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.nio.file.Paths;
+
+/**
+ * This class performs the configuration of the command execution mechanism used by the providers.
+ */
+@Slf4j
+@Configuration
+public class CommandExecutorConfiguration {
+
+    /**
+     * This method selects the command executor according to the {@code cmd.executor.type} property
+     * and wraps it with the enabled execution features. The {@code replay} profile replaces the executor
+     * with the replay of a recorded command corpus, the {@code record} profile records the executed commands.
+     *
+     * @param simpleCmdExecutor    The executor that spawns a new process for every command.
+     * @param coprocessCmdExecutor The executor that reuses shell coprocesses, if enabled.
+     * @param replayingCmdExecutor The executor that replays the recorded commands, if enabled.
+     * @param commandCorpusWriter  The writer of the recorded commands, if enabled.
+     * @param timeoutPolicy        The policy which determines how long the command is allowed to run.
+     * @param environment          The environment with the command execution properties.
+     * @param commandMetrics       The command execution metrics.
+     * @param meterRegistry        The registry of the command execution metrics.
+     * @param bulkheadEnabled      Whether the command categories have separate concurrency limits.
+     * @param hedgingEnabled       Whether slow read-only commands are hedged by identical ones.
+     * @param coalescingEnabled    Whether identical concurrent read-only commands share one execution.
+     * @return The command executor to be used by the providers.
+     */
+    @Bean
+    @Primary
+    public CmdExecutor cmdExecutor(final SimpleCmdExecutor simpleCmdExecutor,
+                                   final ObjectProvider<CoprocessCmdExecutor> coprocessCmdExecutor,
+                                   final ObjectProvider<ReplayingCmdExecutor> replayingCmdExecutor,
+                                   final ObjectProvider<CommandCorpus.Writer> commandCorpusWriter,
+                                   final CommandTimeoutPolicy timeoutPolicy,
+                                   final Environment environment,
+                                   final CommandMetrics commandMetrics,
+                                   final MeterRegistry meterRegistry,
+                                   @Value("${cmd.bulkhead.enabled}") final boolean bulkheadEnabled,
+                                   @Value("${cmd.hedging.enabled}") final boolean hedgingEnabled,
+                                   @Value("${cmd.coalescing.enabled}") final boolean coalescingEnabled) {
+        final CmdExecutor replayingExecutor = replayingCmdExecutor.getIfAvailable();
+        final CmdExecutor coprocessExecutor = coprocessCmdExecutor.getIfAvailable();
+        CmdExecutor executor = coprocessExecutor != null ? coprocessExecutor : simpleCmdExecutor;
+        if (replayingExecutor != null) {
+            executor = replayingExecutor;
+        }
+        final CommandCorpus.Writer corpusWriter = commandCorpusWriter.getIfAvailable();
+        if (corpusWriter != null) {
+            executor = new RecordingCmdExecutor(executor, corpusWriter);
+        }
+        if (bulkheadEnabled) {
+            executor = new BulkheadCmdExecutor(executor, timeoutPolicy, environment, meterRegistry);
+        }
+        if (hedgingEnabled && coprocessExecutor != null && replayingExecutor == null) {
+            log.warn("The command hedging is disabled, since the coprocess executor doesn't execute commands "
+                    + "asynchronously");
+        } else if (hedgingEnabled) {
+            executor = new HedgingCmdExecutor(executor, commandMetrics, environment, meterRegistry);
+        }
+        if (coalescingEnabled) {
+            executor = new CoalescingCmdExecutor(executor, timeoutPolicy, commandMetrics);
+        }
+        return executor;
+    }
+
+    /**
+     * This method opens the corpus the executed commands are recorded to, if the {@code record} profile is active.
+     *
+     * @param file The path to the corpus file, the records are appended to the existing corpus.
+     * @return The writer of the command corpus.
+     */
+    @Bean(destroyMethod = "close")
+    @Profile("record")
+    public CommandCorpus.Writer commandCorpusWriter(@Value("${cmd.record.file}") final String file) {
+        log.info("The executed commands are recorded to {}", file);
+        return CommandCorpus.append(Paths.get(file));
+    }
+
+    /**
+     * This method creates the executor that replays the recorded command corpus instead of executing
+     * the commands, if the {@code replay} profile is active.
+     *
+     * @param file          The path to the corpus file.
+     * @param latencyFactor The factor of the recorded execution times the results are delayed by.
+     * @return The replaying command executor.
+     */
+    @Bean
+    @Profile("replay")
+    public ReplayingCmdExecutor replayingCmdExecutor(
+            @Value("${cmd.replay.file}") final String file,
+            @Value("${cmd.replay.latency.factor}") final double latencyFactor) {
+        return new ReplayingCmdExecutor(CommandCorpus.read(Paths.get(file)), latencyFactor);
+    }
+}
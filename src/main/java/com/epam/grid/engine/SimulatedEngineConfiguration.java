@@ -0,0 +1,48 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine;
+
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import com.epam.grid.engine.provider.utils.sim.SimClusterSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Clock;
+
+/**
+ * This class configures the in-memory simulated grid engine selected by {@code grid.engine.type=SIM}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "grid.engine.type", havingValue = "SIM")
+public class SimulatedEngineConfiguration {
+
+    /**
+     * Creates the simulated cluster sized according to the {@code sim.*} properties.
+     *
+     * @param environment The application environment.
+     * @return The simulated cluster.
+     */
+    @Bean
+    public SimCluster simCluster(final Environment environment) {
+        return new SimCluster(SimClusterSettings.fromEnvironment(environment), Clock.systemDefaultZone());
+    }
+}
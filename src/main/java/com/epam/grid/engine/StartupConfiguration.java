@@ -0,0 +1,49 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine;
+
+import com.epam.grid.engine.cmd.CmdExecutor;
+import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import com.epam.grid.engine.service.JobOperationProviderService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * This class configures the startup of the application with {@code spring.main.lazy-initialization=true},
+ * as in the {@code prod} profile.
+ */
+@Configuration
+public class StartupConfiguration {
+
+    /**
+     * Keeps the beans whose initialization is either a startup check or too slow for the first request
+     * initialized at startup: the command plans are compiled, the job log directory is checked,
+     * the command executor pools are started and the simulated cluster is generated.
+     *
+     * @return The filter of the beans not initialized lazily.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter eagerlyInitializedBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(GridEngineCommandCompiler.class,
+                JobOperationProviderService.class, CmdExecutor.class, SimCluster.class);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class builds the command structure from the command text in a single pass.
+ * <p>
+ * The text is split into tokens by the delimiters, each token is trimmed and empty tokens are skipped.
+ * A token starting with a quote opens a quoted argument, which takes the following tokens joined by
+ * a space up to and including a token ending with a quote. The tokens starting with a quote right
+ * after the closed one are joined to the same argument, e.g. {@code -h "host1" "host2"}. The quotes
+ * are kept in the argument, since the command is executed without a shell. Only one string is
+ * allocated for each argument of the command.
+ * </p>
+ * The text may be appended by fragments, a token may continue in the next fragment.
+ */
+class ArgvBuilder {
+
+    private static final char QUOTE = '"';
+    private static final char SPACE = ' ';
+
+    private final List<String> arguments = new ArrayList<>();
+    private final StringBuilder token = new StringBuilder();
+    private final StringBuilder quoted = new StringBuilder();
+    private int tokenLength;
+    private boolean quotedClosed;
+
+    /**
+     * Appends the text fragment to the command.
+     *
+     * @param text The text fragment.
+     * @return This builder.
+     */
+    ArgvBuilder append(final CharSequence text) {
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char character = text.charAt(i);
+            if (CommandArgUtils.isDelimiter(character)) {
+                endToken();
+            } else if (character > SPACE) {
+                token.append(character);
+                tokenLength = token.length();
+            } else if (tokenLength > 0) {
+                token.append(character);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Builds the command structure from the appended fragments.
+     *
+     * @return The command's structure that is ready for execution.
+     */
+    String[] build() {
+        endToken();
+        endQuoted();
+        return arguments.toArray(new String[0]);
+    }
+
+    private void endToken() {
+        if (tokenLength == 0) {
+            token.setLength(0);
+            return;
+        }
+        token.setLength(tokenLength);
+        final boolean startsWithQuote = token.charAt(0) == QUOTE;
+        final boolean endsWithQuote = token.charAt(tokenLength - 1) == QUOTE;
+        if (startsWithQuote || quoted.length() > 0 && (endsWithQuote || !quotedClosed)) {
+            appendQuoted(endsWithQuote);
+            if (endsWithQuote && !startsWithQuote) {
+                endQuoted();
+            }
+        } else {
+            endQuoted();
+            arguments.add(token.toString());
+        }
+        token.setLength(0);
+        tokenLength = 0;
+    }
+
+    private void appendQuoted(final boolean endsWithQuote) {
+        if (quoted.length() > 0) {
+            quoted.append(SPACE);
+        }
+        quoted.append(token);
+        quotedClosed = endsWithQuote;
+    }
+
+    private void endQuoted() {
+        if (quoted.length() > 0) {
+            arguments.add(quoted.toString());
+            quoted.setLength(0);
+        }
+    }
+}
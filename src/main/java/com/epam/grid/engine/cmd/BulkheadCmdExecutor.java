@@ -0,0 +1,384 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.StreamedCommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * This executor isolates the command categories from each other, so that e.g. heavy accounting
+ * reports cannot delay job submission. Each {@link CommandCategory} has its own limit of concurrently
+ * executed commands and its own fair wait queue with limited capacity and waiting time, configured with
+ * {@code cmd.bulkhead.<category>.max.concurrent}, {@code cmd.bulkhead.<category>.queue.capacity} and
+ * {@code cmd.bulkhead.<category>.queue.timeout} properties that fall back to the {@code default} ones,
+ * e.g. {@code cmd.bulkhead.accounting.max.concurrent=2}.
+ * Commands that cannot be admitted are rejected with {@link HttpStatus#SERVICE_UNAVAILABLE}.
+ */
+@Slf4j
+public class BulkheadCmdExecutor implements CmdExecutor {
+
+    private static final String PROPERTY_PREFIX = "cmd.bulkhead.";
+    private static final String DEFAULT_CATEGORY = "default";
+    private static final String MAX_CONCURRENT_PROPERTY = ".max.concurrent";
+    private static final String QUEUE_CAPACITY_PROPERTY = ".queue.capacity";
+    private static final String QUEUE_TIMEOUT_PROPERTY = ".queue.timeout";
+    private static final String QUEUE_TIME_METRIC = "cmd.bulkhead.queue.time";
+    private static final String REJECTIONS_METRIC = "cmd.bulkhead.rejections";
+    private static final String ACTIVE_METRIC = "cmd.bulkhead.active";
+    private static final String WAITING_METRIC = "cmd.bulkhead.waiting";
+    private static final String CATEGORY_TAG = "category";
+    private static final String REASON_TAG = "reason";
+    private static final String QUEUE_FULL = "queue_full";
+    private static final String QUEUE_TIMEOUT = "queue_timeout";
+
+    private final CmdExecutor delegate;
+    private final CommandTimeoutPolicy timeoutPolicy;
+    private final MeterRegistry meterRegistry;
+    private final Map<CommandCategory, Bulkhead> bulkheads = new EnumMap<>(CommandCategory.class);
+
+    /**
+     * Creates the bulkheads of all command categories.
+     *
+     * @param delegate      The executor of the admitted commands.
+     * @param timeoutPolicy The policy which determines how long the command is allowed to run.
+     * @param environment   The environment with the bulkhead properties.
+     * @param meterRegistry The registry of the bulkhead metrics.
+     */
+    public BulkheadCmdExecutor(final CmdExecutor delegate, final CommandTimeoutPolicy timeoutPolicy,
+                               final Environment environment, final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeoutPolicy = timeoutPolicy;
+        this.meterRegistry = meterRegistry;
+        for (final CommandCategory category : CommandCategory.values()) {
+            bulkheads.put(category, createBulkhead(category, environment));
+        }
+    }
+
+    @Override
+    public CommandResult execute(final String... arguments) {
+        return executeAdmitted(() -> delegate.execute(arguments), arguments);
+    }
+
+    @Override
+    public <T> StreamedCommandResult<T> executeStreaming(final CommandOutputHandler<T> stdOutHandler,
+                                                         final String... arguments) {
+        return executeAdmitted(() -> delegate.executeStreaming(stdOutHandler, arguments), arguments);
+    }
+
+    /**
+     * Executes the command once it is admitted, the waiting for admission doesn't occupy the calling thread.
+     * The command is executed with the deadline of the calling thread, even though it is started
+     * by the thread that releases the admission.
+     * Cancelling the returned future cancels the delegated execution, or gives up the admission
+     * if the command is still waiting.
+     *
+     * @param arguments The command structure.
+     * @return The future of the command result.
+     */
+    @Override
+    public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+        return executeAdmittedAsync(() -> delegate.executeAsync(arguments), arguments);
+    }
+
+    /**
+     * Executes the command passing its standard output to the handler once the command is admitted,
+     * as {@link #executeAsync(String...)} does.
+     *
+     * @param stdOutHandler The consumer of the standard output.
+     * @param arguments     The command structure.
+     * @param <T>           The type of the value produced from the standard output.
+     * @return The future of the value produced by the handler, the exit code and the standard error output.
+     */
+    @Override
+    public <T> CompletableFuture<StreamedCommandResult<T>> executeStreamingAsync(
+            final CommandOutputHandler<T> stdOutHandler, final String... arguments) {
+        return executeAdmittedAsync(() -> delegate.executeStreamingAsync(stdOutHandler, arguments), arguments);
+    }
+
+    /**
+     * Sums up the limits of concurrently executed commands of all categories.
+     *
+     * @param environment The environment with the bulkhead properties.
+     * @return The maximum number of commands executed at the same time.
+     */
+    public static int getMaxConcurrentTotal(final Environment environment) {
+        return Arrays.stream(CommandCategory.values())
+                .mapToInt(category -> Integer.parseInt(getProperty(environment, getCategoryName(category),
+                        MAX_CONCURRENT_PROPERTY)))
+                .sum();
+    }
+
+    private <R> R executeAdmitted(final Supplier<R> execution, final String... arguments) {
+        final Bulkhead bulkhead = bulkheads.get(CommandCategory.of(arguments));
+        bulkhead.await(bulkhead.acquire(timeoutPolicy.getTimeout(arguments), arguments), arguments);
+        try {
+            return execution.get();
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private <R> CompletableFuture<R> executeAdmittedAsync(final Supplier<CompletableFuture<R>> asyncExecution,
+                                                        final String... arguments) {
+        final Bulkhead bulkhead = bulkheads.get(CommandCategory.of(arguments));
+        final Instant deadline = CommandDeadline.capture();
+        final CompletableFuture<Void> admission;
+        try {
+            admission = bulkhead.acquire(timeoutPolicy.getTimeout(arguments), arguments);
+        } catch (final GridEngineException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final CompletableFuture<R> execution = new CompletableFuture<>();
+        execution.whenComplete((result, executionError) -> {
+            if (execution.isCancelled()) {
+                admission.cancel(false);
+            }
+        });
+        admission.whenComplete((admitted, error) -> {
+            if (error != null) {
+                execution.completeExceptionally(error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause()
+                        : error);
+                return;
+            }
+            if (execution.isDone()) {
+                bulkhead.release();
+                return;
+            }
+            final CompletableFuture<R> delegated;
+            try {
+                delegated = CommandDeadline.callWith(deadline, asyncExecution);
+            } catch (final RuntimeException e) {
+                bulkhead.release();
+                execution.completeExceptionally(e);
+                return;
+            }
+            delegated.whenComplete((result, delegatedError) -> {
+                bulkhead.release();
+                if (delegatedError != null) {
+                    execution.completeExceptionally(delegatedError);
+                } else {
+                    execution.complete(result);
+                }
+            });
+            execution.whenComplete((result, executionError) -> {
+                if (execution.isCancelled()) {
+                    delegated.cancel(true);
+                }
+            });
+        });
+        return CommandDeadline.propagate(execution);
+    }
+
+    private Bulkhead createBulkhead(final CommandCategory category, final Environment environment) {
+        final String name = getCategoryName(category);
+        final Bulkhead bulkhead = new Bulkhead(name,
+                Integer.parseInt(getProperty(environment, name, MAX_CONCURRENT_PROPERTY)),
+                Integer.parseInt(getProperty(environment, name, QUEUE_CAPACITY_PROPERTY)),
+                DurationStyle.detectAndParse(getProperty(environment, name, QUEUE_TIMEOUT_PROPERTY)),
+                Timer.builder(QUEUE_TIME_METRIC).tag(CATEGORY_TAG, name).register(meterRegistry));
+        Gauge.builder(ACTIVE_METRIC, bulkhead.active, AtomicInteger::get)
+                .tag(CATEGORY_TAG, name)
+                .register(meterRegistry);
+        Gauge.builder(WAITING_METRIC, bulkhead.waiting, AtomicInteger::get)
+                .tag(CATEGORY_TAG, name)
+                .register(meterRegistry);
+        return bulkhead;
+    }
+
+    private static String getCategoryName(final CommandCategory category) {
+        return category.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+
+    private static String getProperty(final Environment environment, final String category,
+                                      final String property) {
+        return environment.getProperty(PROPERTY_PREFIX + category + property,
+                environment.getRequiredProperty(PROPERTY_PREFIX + DEFAULT_CATEGORY + property));
+    }
+
+    /**
+     * The concurrency limit of a command category. The admission is represented by a future,
+     * so that both the blocking and the asynchronous executions share the same fair wait queue.
+     */
+    private final class Bulkhead {
+
+        private final String name;
+        private final int maxConcurrent;
+        private final int queueCapacity;
+        private final Duration queueTimeout;
+        private final Timer queueTime;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger waiting = new AtomicInteger();
+        private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+
+        private Bulkhead(final String name, final int maxConcurrent, final int queueCapacity,
+                         final Duration queueTimeout, final Timer queueTime) {
+            this.name = name;
+            this.maxConcurrent = maxConcurrent;
+            this.queueCapacity = queueCapacity;
+            this.queueTimeout = queueTimeout;
+            this.queueTime = queueTime;
+        }
+
+        /**
+         * Requests the admission of the command. Cancelling the returned future gives up the place
+         * in the wait queue, or the permit if the command has already been admitted.
+         *
+         * @return The future that completes when the command is admitted, or fails if the waiting time
+         *         is over.
+         * @throws GridEngineException if the wait queue is full.
+         */
+        private CompletableFuture<Void> acquire(final Duration commandTimeout, final String... arguments) {
+            final CompletableFuture<Void> admission = new CompletableFuture<>();
+            synchronized (this) {
+                if (waiters.isEmpty() && active.get() < maxConcurrent) {
+                    active.incrementAndGet();
+                    queueTime.record(Duration.ZERO);
+                    admission.complete(null);
+                    return admission;
+                }
+                if (waiters.size() >= queueCapacity) {
+                    throw reject(QUEUE_FULL, arguments);
+                }
+                waiters.addLast(admission);
+                waiting.incrementAndGet();
+            }
+            final long start = System.nanoTime();
+            final Duration timeout = commandTimeout.compareTo(queueTimeout) < 0 ? commandTimeout : queueTimeout;
+            final CompletableFuture<Void> result = admission.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                    .handle((admitted, error) -> {
+                        queueTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        if (error == null) {
+                            return admitted;
+                        }
+                        removeWaiter(admission);
+                        if (error instanceof TimeoutException) {
+                            throw reject(QUEUE_TIMEOUT, arguments);
+                        }
+                        throw new CompletionException(error);
+                    });
+            result.whenComplete((admitted, error) -> {
+                if (result.isCancelled()) {
+                    giveUp(admission);
+                }
+            });
+            return result;
+        }
+
+        /**
+         * Waits for the admission in the calling thread.
+         */
+        private void await(final CompletableFuture<Void> admission, final String... arguments) {
+            try {
+                admission.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                admission.thenRun(this::release);
+                throw new GridEngineException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Interrupted while waiting for admission of the command: " + String.join(SPACE, arguments), e);
+            } catch (final ExecutionException e) {
+                if (e.getCause() instanceof GridEngineException) {
+                    throw (GridEngineException) e.getCause();
+                }
+                throw new GridEngineException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Cannot admit the command: " + String.join(SPACE, arguments), e.getCause());
+            }
+        }
+
+        /**
+         * Passes the permit of the completed command to the next waiting command, if any.
+         * The waiter is completed outside the lock, since it starts the admitted command
+         * in the releasing thread.
+         */
+        private void release() {
+            while (true) {
+                final CompletableFuture<Void> next;
+                synchronized (this) {
+                    next = pollWaiter();
+                    if (next == null) {
+                        active.decrementAndGet();
+                        return;
+                    }
+                }
+                // the waiter may have timed out or given up in the meantime, then the permit goes further
+                if (next.complete(null)) {
+                    return;
+                }
+            }
+        }
+
+        // Removes the waiter from the queue, or releases the permit it has already received
+        private void giveUp(final CompletableFuture<Void> admission) {
+            removeWaiter(admission);
+            if (!admission.cancel(false) && !admission.isCompletedExceptionally()) {
+                release();
+            }
+        }
+
+        private CompletableFuture<Void> pollWaiter() {
+            final CompletableFuture<Void> waiter = waiters.pollFirst();
+            if (waiter != null) {
+                waiting.decrementAndGet();
+            }
+            return waiter;
+        }
+
+        private synchronized void removeWaiter(final CompletableFuture<Void> waiter) {
+            if (waiters.remove(waiter)) {
+                waiting.decrementAndGet();
+            }
+        }
+
+        private GridEngineException reject(final String reason, final String... arguments) {
+            final String command = String.join(SPACE, arguments);
+            log.warn("The {} command was rejected ({}): {}", name, reason, command);
+            meterRegistry.counter(REJECTIONS_METRIC, CATEGORY_TAG, name, REASON_TAG, reason).increment();
+            return new GridEngineException(HttpStatus.SERVICE_UNAVAILABLE,
+                    String.format("Too many %s commands are being executed at the moment, please try again later: %s",
+                            name, command));
+        }
+    }
+}
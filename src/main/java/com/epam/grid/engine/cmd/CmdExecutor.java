@@ -20,7 +20,59 @@
 package com.epam.grid.engine.cmd;
 
 import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.StreamedCommandResult;
+import com.epam.grid.engine.utils.FutureUtils;
+
+import java.util.concurrent.CompletableFuture;
 
 public interface CmdExecutor {
     CommandResult execute(final String... arguments);
+
+    /**
+     * Executes the command passing its standard output to the handler, so that large outputs
+     * can be parsed without being buffered. Implementations that cannot stream the output
+     * buffer it and pass it to the handler when the command completes.
+     * If the command fails, errors of the handler are ignored and the output of the result is null.
+     *
+     * @param stdOutHandler The consumer of the standard output.
+     * @param arguments     The command structure.
+     * @param <T>           The type of the value produced from the standard output.
+     * @return The value produced by the handler, the exit code and the standard error output.
+     */
+    default <T> StreamedCommandResult<T> executeStreaming(final CommandOutputHandler<T> stdOutHandler,
+                                                          final String... arguments) {
+        return stdOutHandler.handleBuffered(execute(arguments));
+    }
+
+    /**
+     * Executes the command without blocking the calling thread until the command completes.
+     * Implementations that cannot execute commands asynchronously execute them in the calling thread
+     * and return a completed future. The future never completes with an exception other than
+     * {@link com.epam.grid.engine.exception.GridEngineException}, possibly wrapped
+     * into {@link java.util.concurrent.CompletionException}. Implementations that support it stop
+     * the command when the returned future is cancelled.
+     *
+     * @param arguments The command structure.
+     * @return The future of the command result.
+     */
+    default CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+        return FutureUtils.supplyCompleted(() -> execute(arguments));
+    }
+
+    /**
+     * Executes the command passing its standard output to the handler without blocking the calling thread
+     * until the command completes. Implementations that cannot execute commands asynchronously execute them
+     * in the calling thread and return a completed future. The future completes as the one returned by
+     * {@link #executeAsync(String...)}, and the result is produced as by
+     * {@link #executeStreaming(CommandOutputHandler, String...)}.
+     *
+     * @param stdOutHandler The consumer of the standard output.
+     * @param arguments     The command structure.
+     * @param <T>           The type of the value produced from the standard output.
+     * @return The future of the value produced by the handler, the exit code and the standard error output.
+     */
+    default <T> CompletableFuture<StreamedCommandResult<T>> executeStreamingAsync(
+            final CommandOutputHandler<T> stdOutHandler, final String... arguments) {
+        return FutureUtils.supplyCompleted(() -> executeStreaming(stdOutHandler, arguments));
+    }
 }
@@ -0,0 +1,202 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.StreamedCommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * This executor deduplicates identical read-only commands that are executed concurrently.
+ * The first caller executes the command, while the callers that arrive with the same arguments
+ * before it completes wait for the same {@link CommandResult} instead of spawning their own process.
+ * Every caller receives its own result with unmodifiable views of the shared output, and waits
+ * for it no longer than its own timeout allows. A caller doesn't join the execution started with
+ * an earlier request deadline than its own, since that execution may be terminated too early for it.
+ * Commands that change the grid engine state are always executed by the delegate,
+ * as well as streaming executions, since the output stream can be consumed only once.
+ */
+@RequiredArgsConstructor
+public class CoalescingCmdExecutor implements CmdExecutor {
+
+    private final CmdExecutor delegate;
+    private final CommandTimeoutPolicy timeoutPolicy;
+    private final CommandMetrics commandMetrics;
+    private final Map<List<String>, SharedExecution> inFlight = new ConcurrentHashMap<>();
+
+    @Override
+    public CommandResult execute(final String... arguments) {
+        if (!CommandCategory.of(arguments).isReadOnly()) {
+            return delegate.execute(arguments);
+        }
+        final List<String> key = List.of(arguments);
+        final SharedExecution execution = new SharedExecution(CommandDeadline.capture());
+        final SharedExecution sharedExecution = inFlight.putIfAbsent(key, execution);
+        if (sharedExecution != null) {
+            if (!sharedExecution.canBeJoinedWith(execution.deadline)) {
+                return delegate.execute(arguments);
+            }
+            commandMetrics.recordCoalesced(arguments);
+            return toCallerResult(awaitSharedExecution(sharedExecution.result, arguments));
+        }
+        try {
+            final CommandResult result = delegate.execute(arguments);
+            execution.result.complete(result);
+            return toCallerResult(result);
+        } catch (final RuntimeException e) {
+            execution.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
+    }
+
+    @Override
+    public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+        if (!CommandCategory.of(arguments).isReadOnly()) {
+            return delegate.executeAsync(arguments);
+        }
+        final List<String> key = List.of(arguments);
+        final SharedExecution execution = new SharedExecution(CommandDeadline.capture());
+        final SharedExecution sharedExecution = inFlight.putIfAbsent(key, execution);
+        if (sharedExecution != null) {
+            if (!sharedExecution.canBeJoinedWith(execution.deadline)) {
+                return delegate.executeAsync(arguments);
+            }
+            commandMetrics.recordCoalesced(arguments);
+            return awaitSharedExecutionAsync(sharedExecution.result, arguments);
+        }
+        try {
+            delegate.executeAsync(arguments).whenComplete((result, error) -> {
+                inFlight.remove(key, execution);
+                if (error != null) {
+                    execution.result.completeExceptionally(unwrap(error));
+                } else {
+                    execution.result.complete(result);
+                }
+            });
+        } catch (final RuntimeException e) {
+            inFlight.remove(key, execution);
+            execution.result.completeExceptionally(e);
+        }
+        return execution.result.thenApply(CoalescingCmdExecutor::toCallerResult);
+    }
+
+    @Override
+    public <T> StreamedCommandResult<T> executeStreaming(final CommandOutputHandler<T> stdOutHandler,
+                                                         final String... arguments) {
+        return delegate.executeStreaming(stdOutHandler, arguments);
+    }
+
+    @Override
+    public <T> CompletableFuture<StreamedCommandResult<T>> executeStreamingAsync(
+            final CommandOutputHandler<T> stdOutHandler, final String... arguments) {
+        return delegate.executeStreamingAsync(stdOutHandler, arguments);
+    }
+
+    private CommandResult awaitSharedExecution(final CompletableFuture<CommandResult> sharedExecution,
+                                               final String... arguments) {
+        final Duration timeout = timeoutPolicy.getTimeout(arguments);
+        try {
+            return sharedExecution.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (final TimeoutException e) {
+            throw timeoutPolicy.onTimeout(timeout, arguments);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments), e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof GridEngineException) {
+                throw (GridEngineException) e.getCause();
+            }
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments),
+                    e.getCause());
+        }
+    }
+
+    private CompletableFuture<CommandResult> awaitSharedExecutionAsync(
+            final CompletableFuture<CommandResult> sharedExecution, final String... arguments) {
+        final Duration timeout;
+        try {
+            timeout = timeoutPolicy.getTimeout(arguments);
+        } catch (final GridEngineException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CommandDeadline.propagate(sharedExecution.thenApply(CoalescingCmdExecutor::toCallerResult)
+                .orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS)
+                .handle((result, error) -> {
+                    if (error == null) {
+                        return result;
+                    }
+                    if (unwrap(error) instanceof TimeoutException) {
+                        throw timeoutPolicy.onTimeout(timeout, arguments);
+                    }
+                    throw new CompletionException(unwrap(error));
+                }));
+    }
+
+    private static CommandResult toCallerResult(final CommandResult result) {
+        return new CommandResult(unmodifiable(result.getStdOut()), result.getExitCode(),
+                unmodifiable(result.getStdErr()));
+    }
+
+    private static List<String> unmodifiable(final List<String> lines) {
+        return lines == null ? null : Collections.unmodifiableList(lines);
+    }
+
+    private static Throwable unwrap(final Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * The execution of a command shared by the callers, together with the request deadline
+     * it was started with.
+     */
+    @RequiredArgsConstructor
+    private static final class SharedExecution {
+
+        private final Instant deadline;
+        private final CompletableFuture<CommandResult> result = new CompletableFuture<>();
+
+        /**
+         * Checks that the execution is not limited by an earlier deadline than the given one.
+         */
+        private boolean canBeJoinedWith(final Instant callerDeadline) {
+            return deadline == null || callerDeadline != null && !callerDeadline.isAfter(deadline);
+        }
+    }
+}
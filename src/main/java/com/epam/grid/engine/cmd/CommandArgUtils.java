@@ -21,13 +21,8 @@ package com.epam.grid.engine.cmd;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import org.springframework.util.StringUtils;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-
-import static com.epam.grid.engine.utils.TextConstants.SPACE;
+import static com.epam.grid.engine.utils.TextConstants.EMPTY_STRING;
 
 /**
  * This class performs the formation of the structure of the executed command
@@ -37,66 +32,43 @@ import static com.epam.grid.engine.utils.TextConstants.SPACE;
 public class CommandArgUtils {
 
     private static final String DELIMITERS = " \\" + System.lineSeparator();
-    private static final String APOSTROPHE = "\"";
 
     /**
-     * This method forms a command structure from a string command.
+     * This method forms a command structure from a string command. The command is split by spaces,
+     * backslashes and line separators, the quoted strings are kept as a single argument.
      *
      * @param command The command from the template.
      * @return The command's structure that is ready for execution.
      */
     public static String[] splitCommandIntoArgs(final String command) {
-        final String[] arr = checkAndMergeQuotesStrings(StringUtils.tokenizeToStringArray(command, DELIMITERS));
-        return Arrays.stream(arr).map(String::trim).filter(s -> !s.isEmpty()).toArray(String[]::new);
+        if (command == null) {
+            return new String[0];
+        }
+        return new ArgvBuilder().append(command).build();
     }
 
     /**
-     * This method searches for parts of quoted strings that are split into several strings when parsing
-     * and combines them into one string.
+     * This method determines the name of the executed command, i.e. the file name
+     * of the executable without the path to it.
      *
-     * @param commandParts The command from the template after parsing.
-     * @return The command's structure.
+     * @param arguments The command's structure.
+     * @return The command name or an empty string if the structure is empty.
      */
-    private static String[] checkAndMergeQuotesStrings(final String[] commandParts) {
-        final List<String> result = new ArrayList<>();
-        final StringBuilder quotedPart = new StringBuilder();
-
-        for (String commandPart : commandParts) {
-            if (commandPart.startsWith(APOSTROPHE)) {
-                appendCommandToBuilder(quotedPart, commandPart);
-            } else if (commandPart.endsWith(APOSTROPHE)) {
-                appendCommandToBuilder(quotedPart, commandPart);
-                dumpQuotedToResults(quotedPart, result);
-            } else {
-                addQuotedPartToBuilderOrDump(commandPart, quotedPart, result);
-            }
-        }
-        dumpQuotedToResultsIfPresent(quotedPart, result);
-        return result.toArray(new String[0]);
-    }
-
-    private static void addQuotedPartToBuilderOrDump(final String commandPart, final StringBuilder quotedPart,
-                                                     final List<String> result) {
-        if (quotedPart.length() != 0 && !quotedPart.toString().endsWith(APOSTROPHE)) {
-            appendCommandToBuilder(quotedPart, commandPart);
-        } else {
-            dumpQuotedToResultsIfPresent(quotedPart, result);
-            result.add(commandPart);
-        }
-    }
-
-    private static void dumpQuotedToResults(final StringBuilder quotedPart, final List<String> result) {
-        result.add(quotedPart.toString());
-        quotedPart.setLength(0);
-    }
-
-    private static void dumpQuotedToResultsIfPresent(final StringBuilder quotedPart, final List<String> result) {
-        if (quotedPart.length() > 0) {
-            dumpQuotedToResults(quotedPart, result);
+    public static String getCommandName(final String... arguments) {
+        if (arguments == null || arguments.length == 0 || arguments[0] == null) {
+            return EMPTY_STRING;
         }
+        final String executable = arguments[0].trim();
+        return executable.substring(Math.max(executable.lastIndexOf('/'), executable.lastIndexOf('\\')) + 1);
     }
 
-    private static void appendCommandToBuilder(final StringBuilder quotedPart, final String commandPart) {
-        quotedPart.append(SPACE).append(commandPart);
+    /**
+     * This method checks whether the character separates the command parts.
+     *
+     * @param character The character to check.
+     * @return true if the character is a delimiter.
+     */
+    static boolean isDelimiter(final char character) {
+        return DELIMITERS.indexOf(character) >= 0;
     }
 }
@@ -0,0 +1,103 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Arrays;
+
+/**
+ * This enum classifies the executed commands by their effect on the grid engine.
+ */
+@Getter
+@AllArgsConstructor
+public enum CommandCategory {
+
+    /**
+     * Job submission and deletion, e.g. {@code qsub} and {@code qdel}.
+     */
+    JOB_MANAGEMENT(false),
+
+    /**
+     * Read-only listing of jobs, hosts and configuration, e.g. {@code qstat}, {@code qhost}, {@code qconf -s*}.
+     */
+    LISTING(true),
+
+    /**
+     * Read-only accounting queries, i.e. {@code qacct}.
+     */
+    ACCOUNTING(true),
+
+    /**
+     * Configuration changes, i.e. {@code qconf} with any option other than {@code -s*}.
+     */
+    CONFIG_MUTATION(false),
+
+    /**
+     * Health check probes, i.e. {@code qping}.
+     */
+    HEALTH_CHECK(true),
+
+    /**
+     * Any other command, e.g. reading the job log files.
+     */
+    OTHER(false);
+
+    private static final String OPTION_PREFIX = "-";
+    private static final String SHOW_OPTION_PREFIX = "-s";
+
+    /**
+     * Whether the command doesn't change the grid engine state.
+     */
+    private final boolean readOnly;
+
+    /**
+     * Determines the category of the command.
+     *
+     * @param arguments The command structure.
+     * @return The command category.
+     */
+    public static CommandCategory of(final String... arguments) {
+        switch (CommandArgUtils.getCommandName(arguments)) {
+            case "qsub":
+            case "qdel":
+                return JOB_MANAGEMENT;
+            case "qstat":
+            case "qhost":
+                return LISTING;
+            case "qacct":
+                return ACCOUNTING;
+            case "qping":
+                return HEALTH_CHECK;
+            case "qconf":
+                return isShowOnly(arguments) ? LISTING : CONFIG_MUTATION;
+            default:
+                return OTHER;
+        }
+    }
+
+    private static boolean isShowOnly(final String... arguments) {
+        return Arrays.stream(arguments)
+                .skip(1)
+                .filter(argument -> argument.startsWith(OPTION_PREFIX))
+                .allMatch(option -> option.startsWith(SHOW_OPTION_PREFIX));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.RecordedCommand;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A command corpus is a gzip compressed file with one JSON encoded {@link RecordedCommand} per line.
+ * Every writer appends a new gzip member to the file, so a corpus can be recorded by several runs
+ * of the application. The writer flushes every record, so a corpus of a killed application
+ * is read up to its last complete record.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CommandCorpus {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int BUFFER_SIZE = 8192;
+    private static final byte LINE_FEED = '\n';
+
+    /**
+     * Reads all records of the corpus.
+     *
+     * @param file The corpus file.
+     * @return The records in the order of their recording.
+     */
+    public static List<RecordedCommand> read(final Path file) {
+        final List<RecordedCommand> records = new ArrayList<>();
+        // The lines are split by hand rather than by a reader, since a reader decodes ahead and loses
+        // the lines it has decoded when the last gzip member turns out to be truncated
+        try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+            final ByteArrayOutputStream line = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            int count = input.read(buffer);
+            while (count != -1) {
+                int lineStart = 0;
+                for (int index = 0; index < count; index++) {
+                    if (buffer[index] == LINE_FEED) {
+                        line.write(buffer, lineStart, index - lineStart);
+                        addRecord(records, line);
+                        lineStart = index + 1;
+                    }
+                }
+                line.write(buffer, lineStart, count - lineStart);
+                count = input.read(buffer);
+            }
+            addRecord(records, line);
+        } catch (final EOFException e) {
+            log.warn("The command corpus {} is truncated, {} records have been read", file, records.size());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Cannot read the command corpus " + file, e);
+        }
+        return records;
+    }
+
+    /**
+     * Opens the corpus for appending.
+     *
+     * @param file The corpus file, it is created if it doesn't exist.
+     * @return The writer of the corpus.
+     */
+    public static Writer append(final Path file) {
+        try {
+            final Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            return new Writer(new BufferedWriter(new OutputStreamWriter(new GZIPOutputStream(
+                    Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND), true),
+                    StandardCharsets.UTF_8)));
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Cannot open the command corpus " + file, e);
+        }
+    }
+
+    private static void addRecord(final List<RecordedCommand> records, final ByteArrayOutputStream line)
+            throws IOException {
+        final String value = line.toString(StandardCharsets.UTF_8).trim();
+        line.reset();
+        if (!value.isEmpty()) {
+            records.add(MAPPER.readValue(value, RecordedCommand.class));
+        }
+    }
+
+    /**
+     * The thread-safe writer of a command corpus.
+     */
+    public static final class Writer implements Closeable {
+
+        private final BufferedWriter writer;
+
+        private Writer(final BufferedWriter writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Appends the record to the corpus.
+         *
+         * @param record The executed command.
+         */
+        public void write(final RecordedCommand record) {
+            try {
+                final String line = MAPPER.writeValueAsString(record);
+                synchronized (writer) {
+                    writer.write(line);
+                    writer.newLine();
+                    writer.flush();
+                }
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Cannot write the command corpus", e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            synchronized (writer) {
+                writer.close();
+            }
+        }
+    }
+}
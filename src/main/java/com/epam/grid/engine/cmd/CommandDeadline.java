@@ -0,0 +1,129 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * This class holds the deadline of the request being processed by the current thread.
+ * Commands executed on behalf of the request must complete before the deadline.
+ * The executors that continue the execution in other threads capture the deadline
+ * when the command is submitted and restore it in those threads.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class CommandDeadline {
+
+    private static final ThreadLocal<Instant> DEADLINE = new ThreadLocal<>();
+
+    /**
+     * Sets the deadline for the commands executed by the current thread.
+     *
+     * @param deadline The instant after which the commands must be terminated.
+     */
+    public static void set(final Instant deadline) {
+        DEADLINE.set(deadline);
+    }
+
+    /**
+     * Removes the deadline of the current thread.
+     */
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Returns the time left until the deadline of the current thread, if any.
+     *
+     * @return The remaining time, it can be negative if the deadline has already passed.
+     */
+    public static Optional<Duration> remaining() {
+        return Optional.ofNullable(DEADLINE.get())
+                .map(deadline -> Duration.between(Instant.now(), deadline));
+    }
+
+    /**
+     * Returns the deadline of the current thread, so that it can be restored in another thread.
+     *
+     * @return The deadline, or null if the current thread has none.
+     */
+    public static Instant capture() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Performs the action with the captured deadline set for the current thread,
+     * the previous deadline of the thread is restored afterwards.
+     *
+     * @param deadline The captured deadline, null means no deadline.
+     * @param action   The action to perform.
+     * @param <T>      The type of the action result.
+     * @return The result of the action.
+     */
+    public static <T> T callWith(final Instant deadline, final Supplier<T> action) {
+        final Instant previous = DEADLINE.get();
+        setOrClear(deadline);
+        try {
+            return action.get();
+        } finally {
+            setOrClear(previous);
+        }
+    }
+
+    /**
+     * Returns the future that completes with the deadline of the current thread set, so that
+     * the commands executed by the stages depending on it have the same deadline, whatever thread
+     * completes the original future. Cancelling the returned future cancels the original one.
+     *
+     * @param future The future completed by another thread.
+     * @param <T>    The type of the future result.
+     * @return The future completed with the deadline of the current thread.
+     */
+    public static <T> CompletableFuture<T> propagate(final CompletableFuture<T> future) {
+        final Instant deadline = DEADLINE.get();
+        if (deadline == null || future.isDone()) {
+            return future;
+        }
+        final CompletableFuture<T> propagated = new CompletableFuture<>();
+        future.whenComplete((result, error) -> callWith(deadline, () -> error == null
+                ? propagated.complete(result)
+                : propagated.completeExceptionally(error)));
+        propagated.whenComplete((result, error) -> {
+            if (propagated.isCancelled()) {
+                future.cancel(true);
+            }
+        });
+        return propagated;
+    }
+
+    private static void setOrClear(final Instant deadline) {
+        if (deadline == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadline);
+        }
+    }
+}
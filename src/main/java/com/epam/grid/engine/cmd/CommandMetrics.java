@@ -0,0 +1,320 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.jfr.CommandEvent;
+import com.epam.grid.engine.jfr.CommandExecuteEvent;
+import com.epam.grid.engine.jfr.CommandReadEvent;
+import com.epam.grid.engine.jfr.CommandSpawnEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class records the command execution metrics tagged by the name of the template
+ * the command was compiled from and by the grid engine type.
+ * The commands that were not compiled from a template are tagged by the command name.
+ * The phases of the execution are also reported as Java Flight Recorder events.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommandMetrics {
+
+    private static final String SPAWN_METRIC = "cmd.execution.spawn";
+    private static final String DURATION_METRIC = "cmd.execution.duration";
+    private static final String EXIT_CODES_METRIC = "cmd.execution.exit.codes";
+    private static final String ACTIVE_METRIC = "cmd.execution.active";
+    private static final String OUTPUT_BYTES_METRIC = "cmd.output.bytes";
+    private static final String OUTPUT_LINES_METRIC = "cmd.output.lines";
+    private static final String TIMEOUTS_METRIC = "cmd.execution.timeouts";
+    private static final String COALESCED_METRIC = "cmd.execution.coalesced";
+    private static final String TEMPLATE_TAG = "template";
+    private static final String ENGINE_TAG = "engine";
+    private static final String OUTCOME_TAG = "outcome";
+    private static final String EXIT_CODE_TAG = "code";
+    private static final String STREAM_TAG = "stream";
+    private static final String STDOUT = "stdout";
+    private static final String STDERR = "stderr";
+    private static final String SUCCESS = "success";
+    private static final String FAILURE = "failure";
+    private static final String ERROR = "error";
+    private static final String CANCELLED = "cancelled";
+    private static final String UNKNOWN = "unknown";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * The templates of the compiled commands. The argument arrays are compared by identity,
+     * so an entry lives as long as the compiled command is referenced by its caller.
+     */
+    private final Map<String[], CommandTemplate> templates = Collections.synchronizedMap(new WeakHashMap<>());
+    private final Map<Tags, AtomicInteger> activeExecutions = new ConcurrentHashMap<>();
+
+    /**
+     * Remembers the template the command was compiled from.
+     *
+     * @param arguments  The compiled command structure.
+     * @param template   Name of the command template.
+     * @param engineType A grid engine type.
+     */
+    public void registerTemplate(final String[] arguments, final String template, final EngineType engineType) {
+        templates.put(arguments, new CommandTemplate(template, engineType.name()));
+    }
+
+    /**
+     * Starts recording of the command execution.
+     *
+     * @param arguments The command structure.
+     * @return The execution record which has to be finished once the command has completed.
+     */
+    public Execution start(final String... arguments) {
+        final CommandTemplate template = getTemplate(arguments);
+        final Tags tags = template.getTags();
+        final AtomicInteger active = activeExecutions.computeIfAbsent(tags, this::registerActiveGauge);
+        active.incrementAndGet();
+        return new Execution(template, tags, active);
+    }
+
+    /**
+     * Determines the name of the template the command was compiled from.
+     *
+     * @param arguments The command structure.
+     * @return The template name, or the command name if the command was not compiled from a template.
+     */
+    public String getTemplateName(final String... arguments) {
+        final CommandTemplate template = templates.get(arguments);
+        return template != null ? template.getName() : CommandArgUtils.getCommandName(arguments);
+    }
+
+    /**
+     * Records the command that was terminated or not started because of the timeout.
+     *
+     * @param arguments The command structure.
+     */
+    public void recordTimeout(final String... arguments) {
+        meterRegistry.counter(TIMEOUTS_METRIC, getTemplate(arguments).getTags()).increment();
+    }
+
+    /**
+     * Records the command that was not executed, since it has joined the identical command in flight.
+     *
+     * @param arguments The command structure.
+     */
+    public void recordCoalesced(final String... arguments) {
+        meterRegistry.counter(COALESCED_METRIC, getTemplate(arguments).getTags()).increment();
+    }
+
+    private CommandTemplate getTemplate(final String... arguments) {
+        return templates.getOrDefault(arguments,
+                new CommandTemplate(CommandArgUtils.getCommandName(arguments), UNKNOWN));
+    }
+
+    private AtomicInteger registerActiveGauge(final Tags tags) {
+        final AtomicInteger active = new AtomicInteger();
+        Gauge.builder(ACTIVE_METRIC, active, AtomicInteger::get)
+                .tags(tags)
+                .register(meterRegistry);
+        return active;
+    }
+
+    @Value
+    private static class CommandTemplate {
+        String name;
+        String engine;
+
+        Tags getTags() {
+            return Tags.of(TEMPLATE_TAG, name, ENGINE_TAG, engine);
+        }
+
+        <T extends CommandEvent> T describe(final T event) {
+            event.setTemplate(name);
+            event.setEngine(engine);
+            return event;
+        }
+    }
+
+    /**
+     * The metrics of a single command execution.
+     */
+    public final class Execution {
+
+        private final CommandTemplate template;
+        private final Tags tags;
+        private final AtomicInteger active;
+        private final long startTime = System.nanoTime();
+        private final CommandSpawnEvent spawnEvent;
+        private final CommandExecuteEvent executeEvent;
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private OutputCountingInputStream stdOut;
+        private OutputCountingInputStream stdErr;
+        private Integer exitCode;
+        private long stdOutBytes;
+        private long stdOutLines;
+        private long stdErrBytes;
+        private long stdErrLines;
+        private volatile boolean cancelled;
+
+        private Execution(final CommandTemplate template, final Tags tags, final AtomicInteger active) {
+            this.template = template;
+            this.tags = tags;
+            this.active = active;
+            this.spawnEvent = template.describe(new CommandSpawnEvent());
+            this.executeEvent = template.describe(new CommandExecuteEvent());
+            spawnEvent.begin();
+            executeEvent.begin();
+        }
+
+        /**
+         * Records the time it took to start the process.
+         */
+        void spawned() {
+            Timer.builder(SPAWN_METRIC)
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            spawnEvent.complete(SUCCESS);
+        }
+
+        InputStream countStdOut(final InputStream inputStream) {
+            stdOut = new OutputCountingInputStream(inputStream, startReadEvent(STDOUT));
+            return stdOut;
+        }
+
+        InputStream countStdErr(final InputStream inputStream) {
+            stdErr = new OutputCountingInputStream(inputStream, startReadEvent(STDERR));
+            return stdErr;
+        }
+
+        /**
+         * Takes the output volume from the collected lines, it is used when the output
+         * streams are shared by several commands and cannot be counted directly.
+         */
+        void countOutput(final List<String> stdOutLines, final List<String> stdErrLines) {
+            this.stdOutBytes = getOutputSize(stdOutLines);
+            this.stdOutLines = stdOutLines.size();
+            this.stdErrBytes = getOutputSize(stdErrLines);
+            this.stdErrLines = stdErrLines.size();
+        }
+
+        void completed(final int exitCode) {
+            this.exitCode = exitCode;
+        }
+
+        /**
+         * Records the execution that was cancelled by the caller before the command completed.
+         */
+        void cancelled() {
+            cancelled = true;
+            finish();
+        }
+
+        /**
+         * Records the wall time, the exit code and the output volume of the command.
+         * The command that has not completed is recorded as an error. Subsequent calls have no effect.
+         */
+        void finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+            active.decrementAndGet();
+            final String outcome = getOutcome();
+            Timer.builder(DURATION_METRIC)
+                    .tags(tags)
+                    .tag(OUTCOME_TAG, outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            if (exitCode == null) {
+                executeEvent.complete(outcome);
+                return;
+            }
+            meterRegistry.counter(EXIT_CODES_METRIC, tags.and(EXIT_CODE_TAG, exitCode.toString())).increment();
+            if (stdOut != null) {
+                stdOutBytes = stdOut.getBytes();
+                stdOutLines = stdOut.getLines();
+            }
+            if (stdErr != null) {
+                stdErrBytes = stdErr.getBytes();
+                stdErrLines = stdErr.getLines();
+            }
+            recordOutput(STDOUT, stdOutBytes, stdOutLines);
+            recordOutput(STDERR, stdErrBytes, stdErrLines);
+            executeEvent.setExitCode(exitCode);
+            executeEvent.setStdOutBytes(stdOutBytes);
+            executeEvent.setStdErrBytes(stdErrBytes);
+            executeEvent.complete(outcome);
+        }
+
+        private CommandReadEvent startReadEvent(final String stream) {
+            final CommandReadEvent readEvent = template.describe(new CommandReadEvent());
+            readEvent.setStream(stream);
+            readEvent.begin();
+            return readEvent;
+        }
+
+        private String getOutcome() {
+            if (cancelled) {
+                return CANCELLED;
+            }
+            if (exitCode == null) {
+                return ERROR;
+            }
+            return exitCode == 0 ? SUCCESS : FAILURE;
+        }
+
+        private void recordOutput(final String stream, final long bytes, final long lines) {
+            DistributionSummary.builder(OUTPUT_BYTES_METRIC)
+                    .tags(tags)
+                    .tag(STREAM_TAG, stream)
+                    .baseUnit("bytes")
+                    .register(meterRegistry)
+                    .record(bytes);
+            DistributionSummary.builder(OUTPUT_LINES_METRIC)
+                    .tags(tags)
+                    .tag(STREAM_TAG, stream)
+                    .register(meterRegistry)
+                    .record(lines);
+        }
+
+        private long getOutputSize(final List<String> lines) {
+            if (lines instanceof SpillableLineList) {
+                return ((SpillableLineList) lines).getTotalSize();
+            }
+            return lines.stream()
+                    .mapToLong(SpillableLineList::getEncodedSize)
+                    .sum();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.StreamedCommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static com.epam.grid.engine.utils.TextConstants.NEW_LINE_DELIMITER;
+
+/**
+ * This interface describes a consumer of the standard output of a running command.
+ *
+ * @param <T> The type of the value produced from the standard output.
+ */
+@FunctionalInterface
+public interface CommandOutputHandler<T> {
+
+    /**
+     * Consumes the standard output of the command. The stream ends when the command closes its output.
+     *
+     * @param stdOut The standard output of the command.
+     * @return The value produced from the output.
+     * @throws IOException if the output cannot be read.
+     */
+    T handle(InputStream stdOut) throws IOException;
+
+    /**
+     * Applies the handler to the output of a command that has already been buffered.
+     * If the command has failed, errors of the handler are ignored and the output is null.
+     *
+     * @param result The buffered command result.
+     * @return The result with the value produced from the standard output.
+     */
+    default StreamedCommandResult<T> handleBuffered(final CommandResult result) {
+        final byte[] stdOut = String.join(NEW_LINE_DELIMITER, result.getStdOut()).getBytes(StandardCharsets.UTF_8);
+        try (InputStream stream = new ByteArrayInputStream(stdOut)) {
+            return new StreamedCommandResult<>(handle(stream), result.getExitCode(), result.getStdErr());
+        } catch (final IOException | RuntimeException e) {
+            if (result.getExitCode() != 0) {
+                return new StreamedCommandResult<>(null, result.getExitCode(), result.getStdErr());
+            }
+            if (e instanceof GridEngineException) {
+                throw (GridEngineException) e;
+            }
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while handling command output", e);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * This class determines how much output a command is allowed to produce.
+ * The limits are configured per command name with {@code cmd.output.memory.threshold.<name>}
+ * and {@code cmd.output.limit.<name>} properties, e.g. {@code cmd.output.limit.qacct=1GB},
+ * and fall back to the {@code default} ones. The output beyond the memory threshold is spilled
+ * to a temporary file in {@code cmd.output.spill.dir}, the output beyond the limit aborts the command.
+ */
+@Component
+@RequiredArgsConstructor
+public class CommandOutputPolicy {
+
+    private static final String MEMORY_THRESHOLD_PROPERTY_PREFIX = "cmd.output.memory.threshold.";
+    private static final String LIMIT_PROPERTY_PREFIX = "cmd.output.limit.";
+    private static final String DEFAULT_PROPERTY_SUFFIX = "default";
+    private static final String SPILL_DIRECTORY_PROPERTY = "cmd.output.spill.dir";
+    private static final String TMP_DIRECTORY_PROPERTY = "java.io.tmpdir";
+
+    private final Environment environment;
+    private final Map<String, OutputLimits> limits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a list for the output lines of the command that enforces the command limits.
+     *
+     * @param arguments The command structure.
+     * @return An empty list of output lines.
+     */
+    public List<String> newOutputBuffer(final String... arguments) {
+        final OutputLimits commandLimits = limits.computeIfAbsent(CommandArgUtils.getCommandName(arguments),
+                this::resolveLimits);
+        return new SpillableLineList(commandLimits.getMemoryThreshold(), commandLimits.getMaxSize(),
+                commandLimits.getSpillDirectory(), String.join(SPACE, arguments));
+    }
+
+    private OutputLimits resolveLimits(final String commandName) {
+        return new OutputLimits(getSize(MEMORY_THRESHOLD_PROPERTY_PREFIX, commandName),
+                getSize(LIMIT_PROPERTY_PREFIX, commandName), getSpillDirectory());
+    }
+
+    private long getSize(final String propertyPrefix, final String commandName) {
+        final String value = environment.getProperty(propertyPrefix + commandName,
+                environment.getRequiredProperty(propertyPrefix + DEFAULT_PROPERTY_SUFFIX));
+        return DataSize.parse(value).toBytes();
+    }
+
+    private Path getSpillDirectory() {
+        return Paths.get(environment.getProperty(SPILL_DIRECTORY_PROPERTY, System.getProperty(TMP_DIRECTORY_PROPERTY)));
+    }
+
+    /**
+     * The output limits of a command, resolved once per command name.
+     */
+    @Value
+    private static class OutputLimits {
+        long memoryThreshold;
+        long maxSize;
+        Path spillDirectory;
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.expression.AccessException;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.spel.support.ReflectivePropertyAccessor;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.thymeleaf.context.IContext;
+import org.thymeleaf.expression.Lists;
+import org.thymeleaf.util.EvaluationUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable plan that builds the command structure from the context variables.
+ * The plan is compiled once from the command template by {@link CommandPlanParser}
+ * and gives the same result as the rendering of the template followed by
+ * {@link CommandArgUtils#splitCommandIntoArgs(String)}.
+ */
+@RequiredArgsConstructor
+class CommandPlan {
+
+    /**
+     * The expression utility objects available in the plan expressions, e.g. {@code #lists}.
+     */
+    static final Map<String, Object> EXPRESSION_OBJECTS = Map.of("lists", new Lists());
+
+    /**
+     * The evaluation context shared by all builds, the variables of a build are passed as the root object.
+     * The context is fully initialized here and only read afterwards, so it is safe for concurrent builds.
+     */
+    private static final EvaluationContext EVALUATION_CONTEXT = createEvaluationContext();
+
+    private final List<Node> nodes;
+
+    /**
+     * Builds the command structure.
+     *
+     * @param context Data for forming a command.
+     * @return The structure of the command execution.
+     */
+    String[] build(final IContext context) {
+        final Scope scope = new Scope(context);
+        final ArgvBuilder argv = new ArgvBuilder();
+        render(nodes, scope, argv);
+        return argv.build();
+    }
+
+    private static EvaluationContext createEvaluationContext() {
+        final StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setPropertyAccessors(List.of(new VariablesAccessor(), new ReflectivePropertyAccessor()));
+        EXPRESSION_OBJECTS.forEach(context::setVariable);
+        // The default resolvers and converters are created lazily, so they are created before the context is shared
+        context.getConstructorResolvers();
+        context.getMethodResolvers();
+        context.getTypeLocator();
+        context.getTypeConverter();
+        return context;
+    }
+
+    private static void render(final List<Node> nodes, final Scope scope, final ArgvBuilder argv) {
+        for (final Node node : nodes) {
+            node.render(scope, argv);
+        }
+    }
+
+    /**
+     * A part of the command template.
+     */
+    interface Node {
+        void render(Scope scope, ArgvBuilder argv);
+    }
+
+    /**
+     * The plain text of the template.
+     */
+    @RequiredArgsConstructor
+    static final class Text implements Node {
+        private final String text;
+
+        @Override
+        public void render(final Scope scope, final ArgvBuilder argv) {
+            argv.append(text);
+        }
+    }
+
+    /**
+     * The inlined expression, e.g. {@code [(${filter.owner})]}.
+     */
+    @RequiredArgsConstructor
+    static final class Value implements Node {
+        private final Expression expression;
+
+        @Override
+        public void render(final Scope scope, final ArgvBuilder argv) {
+            final Object value = scope.evaluate(expression);
+            if (value != null) {
+                argv.append(value.toString());
+            }
+        }
+    }
+
+    /**
+     * The {@code th:if} and {@code th:unless} blocks.
+     */
+    @RequiredArgsConstructor
+    static final class Condition implements Node {
+        private final Expression expression;
+        private final boolean expectedValue;
+        private final List<Node> nodes;
+
+        @Override
+        public void render(final Scope scope, final ArgvBuilder argv) {
+            if (EvaluationUtils.evaluateAsBoolean(scope.evaluate(expression)) == expectedValue) {
+                CommandPlan.render(nodes, scope, argv);
+            }
+        }
+    }
+
+    /**
+     * The {@code th:each} block.
+     */
+    @RequiredArgsConstructor
+    static final class Iteration implements Node {
+        private final String variable;
+        private final Expression expression;
+        private final List<Node> nodes;
+
+        @Override
+        public void render(final Scope scope, final ArgvBuilder argv) {
+            for (final Object item : EvaluationUtils.evaluateAsList(scope.evaluate(expression))) {
+                final Object previousValue = scope.setVariable(variable, item);
+                CommandPlan.render(nodes, scope, argv);
+                scope.restoreVariable(variable, previousValue);
+            }
+        }
+    }
+
+    /**
+     * The {@code th:with} block, the variables are assigned in the declaration order.
+     */
+    @RequiredArgsConstructor
+    static final class Assignment implements Node {
+        private final List<String> variables;
+        private final List<Expression> expressions;
+        private final List<Node> nodes;
+
+        @Override
+        public void render(final Scope scope, final ArgvBuilder argv) {
+            final Object[] previousValues = new Object[variables.size()];
+            for (int i = 0; i < variables.size(); i++) {
+                previousValues[i] = scope.setVariable(variables.get(i), scope.evaluate(expressions.get(i)));
+            }
+            CommandPlan.render(nodes, scope, argv);
+            for (int i = variables.size() - 1; i >= 0; i--) {
+                scope.restoreVariable(variables.get(i), previousValues[i]);
+            }
+        }
+    }
+
+    /**
+     * The variables visible to the expressions during a single build.
+     */
+    static final class Scope {
+        private final Variables variables = new Variables();
+
+        Scope(final IContext context) {
+            for (final String name : context.getVariableNames()) {
+                variables.put(name, context.getVariable(name));
+            }
+        }
+
+        Object evaluate(final Expression expression) {
+            return expression.getValue(EVALUATION_CONTEXT, variables);
+        }
+
+        Object setVariable(final String name, final Object value) {
+            return variables.put(name, value);
+        }
+
+        void restoreVariable(final String name, final Object previousValue) {
+            if (previousValue == null) {
+                variables.remove(name);
+            } else {
+                variables.put(name, previousValue);
+            }
+        }
+    }
+
+    /**
+     * The template variables, the missing ones are resolved to {@code null} as Thymeleaf does.
+     */
+    private static final class Variables extends HashMap<String, Object> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static final class VariablesAccessor implements PropertyAccessor {
+
+        @Override
+        public Class<?>[] getSpecificTargetClasses() {
+            return new Class<?>[]{Variables.class};
+        }
+
+        @Override
+        public boolean canRead(final EvaluationContext context, final Object target, final String name) {
+            return true;
+        }
+
+        @Override
+        public TypedValue read(final EvaluationContext context, final Object target, final String name) {
+            return new TypedValue(((Variables) target).get(name));
+        }
+
+        @Override
+        public boolean canWrite(final EvaluationContext context, final Object target, final String name) {
+            return false;
+        }
+
+        @Override
+        public void write(final EvaluationContext context, final Object target, final String name,
+                          final Object newValue) throws AccessException {
+            throw new AccessException("The template variables are read-only");
+        }
+    }
+}
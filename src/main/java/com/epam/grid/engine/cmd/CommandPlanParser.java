@@ -0,0 +1,320 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class compiles a Thymeleaf TEXT command template into a {@link CommandPlan}.
+ * The subset of the template syntax used by the command templates is supported: the plain text,
+ * the {@code [(${...})]} inlined expressions and the {@code [# ...]...[/]} blocks with a single
+ * {@code th:if}, {@code th:unless}, {@code th:each} or {@code th:with} attribute holding
+ * {@code ${...}} expressions, also named {@code [#th:block ...]...[/th:block]}. Any other syntax,
+ * including the blocks Thymeleaf itself would reject, is rejected, so that such a template is rendered
+ * by Thymeleaf.
+ */
+class CommandPlanParser {
+
+    private static final String INLINED_EXPRESSION_START = "[(";
+    private static final String INLINED_EXPRESSION_END = ")]";
+    private static final String BLOCK_START = "[#";
+    private static final String BLOCK_END = "[/";
+    private static final String ESCAPED_INLINED_EXPRESSION_START = "[[";
+    private static final String EXPRESSION_START = "${";
+    private static final String BLOCK_NAME = "th:block";
+    private static final String UNNAMED_BLOCK = "";
+    private static final Pattern ATTRIBUTE = Pattern.compile("\\s*(th:[a-z]+)=\"([^\"]*)\"\\s*");
+    private static final Pattern EACH = Pattern.compile("\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*:\\s*(.+)");
+    private static final Pattern ASSIGNMENT = Pattern.compile("\\s*([A-Za-z_][A-Za-z0-9_]*)\\s*=\\s*");
+    private static final Pattern EXPRESSION_OBJECT = Pattern.compile("#([A-Za-z_][A-Za-z0-9_]*)");
+
+    private final ExpressionParser expressionParser = new SpelExpressionParser();
+    private final String template;
+    private final Deque<Block> blocks = new ArrayDeque<>();
+    private int position;
+
+    CommandPlanParser(final String template) {
+        this.template = template;
+        this.blocks.push(new Block(null, null, null));
+    }
+
+    /**
+     * Compiles the template.
+     *
+     * @return The command plan.
+     * @throws IllegalArgumentException if the template uses unsupported syntax.
+     */
+    CommandPlan parse() {
+        while (position < template.length()) {
+            final int next = template.indexOf('[', position);
+            if (next < 0) {
+                addText(template.substring(position));
+                break;
+            }
+            addText(template.substring(position, next));
+            position = next;
+            if (template.startsWith(INLINED_EXPRESSION_START, position)) {
+                parseInlinedExpression();
+            } else if (template.startsWith(BLOCK_START, position)) {
+                parseBlockStart();
+            } else if (template.startsWith(BLOCK_END, position)) {
+                parseBlockEnd();
+            } else if (template.startsWith(ESCAPED_INLINED_EXPRESSION_START, position)) {
+                throw unsupported("escaped inlined expression");
+            } else {
+                addText("[");
+                position++;
+            }
+        }
+        if (blocks.size() != 1) {
+            throw unsupported("unclosed block");
+        }
+        return new CommandPlan(blocks.pop().nodes);
+    }
+
+    private void parseInlinedExpression() {
+        position += INLINED_EXPRESSION_START.length();
+        skipWhitespaces();
+        final int expressionEnd = findExpressionEnd(position);
+        final Expression expression = parseExpression(template.substring(position, expressionEnd));
+        position = expressionEnd;
+        skipWhitespaces();
+        if (!template.startsWith(INLINED_EXPRESSION_END, position)) {
+            throw unsupported("inlined expression");
+        }
+        position += INLINED_EXPRESSION_END.length();
+        blocks.peek().nodes.add(new CommandPlan.Value(expression));
+    }
+
+    /**
+     * Parses the block start. As in Thymeleaf, a block is named by the text right after {@code [#},
+     * while the block starting with a whitespace is unnamed, e.g. {@code [# th:block th:if="..."]}
+     * is an unnamed block with the {@code th:block} attribute.
+     */
+    private void parseBlockStart() {
+        final int end = findBlockTagEnd(position);
+        final String tag = template.substring(position + BLOCK_START.length(), end);
+        position = end + 1;
+        final String name;
+        final String attributes;
+        if (!tag.isEmpty() && Character.isWhitespace(tag.charAt(0))) {
+            name = UNNAMED_BLOCK;
+            attributes = tag;
+        } else if (tag.startsWith(BLOCK_NAME) && tag.length() > BLOCK_NAME.length()
+                && Character.isWhitespace(tag.charAt(BLOCK_NAME.length()))) {
+            name = BLOCK_NAME;
+            attributes = tag.substring(BLOCK_NAME.length());
+        } else {
+            throw unsupported("block " + tag);
+        }
+        final Matcher attribute = ATTRIBUTE.matcher(attributes);
+        if (!attribute.matches()) {
+            throw unsupported("block attributes " + attributes);
+        }
+        blocks.push(new Block(name, attribute.group(1), attribute.group(2)));
+    }
+
+    /**
+     * Parses the block end, which has to name the innermost open block as Thymeleaf requires:
+     * {@code [/]} closes an unnamed block and {@code [/th:block]} closes a {@code th:block} one.
+     */
+    private void parseBlockEnd() {
+        final int end = template.indexOf(']', position);
+        if (end < 0 || blocks.size() == 1) {
+            throw unsupported("block end");
+        }
+        final String closing = template.substring(position + BLOCK_END.length(), end);
+        final String name = closing.trim().isEmpty() ? UNNAMED_BLOCK : closing;
+        if (!name.equals(blocks.peek().name)) {
+            throw unsupported("block end [/" + closing + "] of block " + describe(blocks.peek().name));
+        }
+        position = end + 1;
+        final Block block = blocks.pop();
+        blocks.peek().nodes.add(toNode(block));
+    }
+
+    private static String describe(final String blockName) {
+        return blockName.isEmpty() ? "[#]" : "[#" + blockName + "]";
+    }
+
+    private CommandPlan.Node toNode(final Block block) {
+        switch (block.attribute) {
+            case "th:if":
+                return new CommandPlan.Condition(parseAttributeExpression(block.value), true, block.nodes);
+            case "th:unless":
+                return new CommandPlan.Condition(parseAttributeExpression(block.value), false, block.nodes);
+            case "th:each":
+                return parseIteration(block);
+            case "th:with":
+                return parseAssignment(block);
+            default:
+                throw unsupported("attribute " + block.attribute);
+        }
+    }
+
+    private CommandPlan.Node parseIteration(final Block block) {
+        final Matcher each = EACH.matcher(block.value);
+        if (!each.matches()) {
+            throw unsupported("th:each " + block.value);
+        }
+        return new CommandPlan.Iteration(each.group(1), parseAttributeExpression(each.group(2)), block.nodes);
+    }
+
+    private CommandPlan.Node parseAssignment(final Block block) {
+        final List<String> variables = new ArrayList<>();
+        final List<Expression> expressions = new ArrayList<>();
+        final String value = block.value;
+        int index = 0;
+        while (index < value.length()) {
+            final Matcher assignment = ASSIGNMENT.matcher(value).region(index, value.length());
+            if (!assignment.lookingAt() || !value.startsWith(EXPRESSION_START, assignment.end())) {
+                throw unsupported("th:with " + value);
+            }
+            final int expressionEnd = findExpressionEnd(value, assignment.end());
+            variables.add(assignment.group(1));
+            expressions.add(parseExpression(value.substring(assignment.end(), expressionEnd)));
+            index = skipWhitespaces(value, expressionEnd);
+            if (index < value.length()) {
+                if (value.charAt(index) != ',') {
+                    throw unsupported("th:with " + value);
+                }
+                index++;
+            }
+        }
+        return new CommandPlan.Assignment(variables, expressions, block.nodes);
+    }
+
+    private Expression parseAttributeExpression(final String value) {
+        final String expression = value.trim();
+        if (!expression.startsWith(EXPRESSION_START) || findExpressionEnd(expression, 0) != expression.length()) {
+            throw unsupported("expression " + value);
+        }
+        return parseExpression(expression);
+    }
+
+    /**
+     * Parses the {@code ${...}} expression.
+     */
+    private Expression parseExpression(final String expression) {
+        final String body = expression.substring(EXPRESSION_START.length(), expression.length() - 1);
+        final Matcher expressionObject = EXPRESSION_OBJECT.matcher(body);
+        while (expressionObject.find()) {
+            if (!CommandPlan.EXPRESSION_OBJECTS.containsKey(expressionObject.group(1))) {
+                throw unsupported("expression object " + expressionObject.group());
+            }
+        }
+        try {
+            return expressionParser.parseExpression(body);
+        } catch (final ParseException e) {
+            throw new IllegalArgumentException("Cannot parse the expression " + expression, e);
+        }
+    }
+
+    private int findExpressionEnd(final int start) {
+        return findExpressionEnd(template, start);
+    }
+
+    /**
+     * Finds the end of the {@code ${...}} expression starting at the given index,
+     * the braces inside the string literals are ignored.
+     */
+    private int findExpressionEnd(final String text, final int start) {
+        if (!text.startsWith(EXPRESSION_START, start)) {
+            throw unsupported("expression at " + start);
+        }
+        int depth = 0;
+        char quote = 0;
+        for (int i = start + 1; i < text.length(); i++) {
+            final char character = text.charAt(i);
+            if (quote != 0) {
+                if (character == quote) {
+                    quote = 0;
+                }
+            } else if (character == '\'' || character == '"') {
+                quote = character;
+            } else if (character == '{') {
+                depth++;
+            } else if (character == '}') {
+                depth--;
+                if (depth == 0) {
+                    return i + 1;
+                }
+            }
+        }
+        throw unsupported("unclosed expression at " + start);
+    }
+
+    private int findBlockTagEnd(final int start) {
+        boolean quoted = false;
+        for (int i = start; i < template.length(); i++) {
+            final char character = template.charAt(i);
+            if (character == '"') {
+                quoted = !quoted;
+            } else if (character == ']' && !quoted) {
+                return i;
+            }
+        }
+        throw unsupported("unclosed block tag at " + start);
+    }
+
+    private void skipWhitespaces() {
+        position = skipWhitespaces(template, position);
+    }
+
+    private static int skipWhitespaces(final String text, final int start) {
+        int index = start;
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private void addText(final String text) {
+        if (!text.isEmpty()) {
+            blocks.peek().nodes.add(new CommandPlan.Text(text));
+        }
+    }
+
+    private static IllegalArgumentException unsupported(final String syntax) {
+        return new IllegalArgumentException("Unsupported template syntax: " + syntax);
+    }
+
+    private static final class Block {
+        private final String name;
+        private final String attribute;
+        private final String value;
+        private final List<CommandPlan.Node> nodes = new ArrayList<>();
+
+        private Block(final String name, final String attribute, final String value) {
+            this.name = name;
+            this.attribute = attribute;
+            this.value = value;
+        }
+    }
+}
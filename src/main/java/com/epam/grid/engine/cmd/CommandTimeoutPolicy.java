@@ -0,0 +1,96 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.exception.GridEngineException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * This class determines how long a command is allowed to run.
+ * The timeout is configured per command name with {@code cmd.timeout.<name>} properties,
+ * e.g. {@code cmd.timeout.qacct=10m}, and falls back to {@code cmd.timeout.default}.
+ * If the request being processed has its own deadline, the smaller of the two is used.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CommandTimeoutPolicy {
+
+    private static final String TIMEOUT_PROPERTY_PREFIX = "cmd.timeout.";
+    private static final String DEFAULT_TIMEOUT_PROPERTY = TIMEOUT_PROPERTY_PREFIX + "default";
+
+    private final Environment environment;
+    private final CommandMetrics commandMetrics;
+    private final Map<String, Duration> timeouts = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the time the command is allowed to run.
+     *
+     * @param arguments The command structure.
+     * @return The command timeout.
+     * @throws GridEngineException if the deadline of the current request has already passed.
+     */
+    public Duration getTimeout(final String... arguments) {
+        final String commandName = CommandArgUtils.getCommandName(arguments);
+        final Duration commandTimeout = timeouts.computeIfAbsent(commandName, this::resolveTimeout);
+        final Duration timeout = CommandDeadline.remaining()
+                .filter(remaining -> remaining.compareTo(commandTimeout) < 0)
+                .orElse(commandTimeout);
+        if (timeout.isNegative() || timeout.isZero()) {
+            commandMetrics.recordTimeout(arguments);
+            throw new GridEngineException(HttpStatus.GATEWAY_TIMEOUT,
+                    "The request deadline has expired before the command was started: "
+                            + String.join(SPACE, arguments));
+        }
+        return timeout;
+    }
+
+    /**
+     * Records the fact that the command was terminated because of the timeout.
+     *
+     * @param timeout   The timeout that has expired.
+     * @param arguments The command structure.
+     * @return The exception that should be thrown to the caller.
+     */
+    public GridEngineException onTimeout(final Duration timeout, final String... arguments) {
+        final String command = String.join(SPACE, arguments);
+        log.warn("The command was terminated after {} ms: {}", timeout.toMillis(), command);
+        commandMetrics.recordTimeout(arguments);
+        return new GridEngineException(HttpStatus.GATEWAY_TIMEOUT,
+                String.format("The command has not completed within %d ms: %s", timeout.toMillis(), command));
+    }
+
+    private Duration resolveTimeout(final String commandName) {
+        final String value = environment.getProperty(TIMEOUT_PROPERTY_PREFIX + commandName,
+                environment.getRequiredProperty(DEFAULT_TIMEOUT_PROPERTY));
+        return DurationStyle.detectAndParse(value);
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * This class executes commands in a pool of long-lived shell coprocesses instead of starting
+ * a new shell-less process from the JVM for every command. The shell still forks and execs every
+ * external command, so only the JVM-side process start-up and the pipe setup are saved.
+ * An idle coprocess is probed with a sentinel round trip of a no-op builtin before it is reused,
+ * so a shell that is stuck or has stray output left in its pipes is never handed out.
+ * A coprocess is replaced with a new one after {@code cmd.coprocess.max.commands} commands,
+ * on a timeout or on any protocol failure.
+ * The executor is enabled with {@code cmd.executor.type=coprocess}.
+ * Unlike {@link SimpleCmdExecutor}, a missing executable is reported by the shell
+ * with the exit code 127 rather than with an exception.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cmd.executor.type", havingValue = "coprocess")
+public class CoprocessCmdExecutor implements CmdExecutor {
+
+    private final OutputReaderPool outputReaderPool;
+    private final CommandTimeoutPolicy timeoutPolicy;
+    private final CommandOutputPolicy outputPolicy;
+    private final CommandMetrics metrics;
+    private final String shell;
+    private final int maxCommands;
+    private final Duration probeTimeout;
+    private final Semaphore permits;
+    private final BlockingDeque<ShellCoprocess> idleCoprocesses = new LinkedBlockingDeque<>();
+
+    /**
+     * Creates the executor, the coprocesses are started lazily.
+     *
+     * @param outputReaderPool The shared pool that drains output streams of the coprocesses.
+     * @param timeoutPolicy    The policy which determines how long the command is allowed to run.
+     * @param outputPolicy     The policy which determines how much output the command is allowed to produce.
+     * @param metrics          The metrics of the executed commands.
+     * @param shell            The path to the shell executable.
+     * @param poolSize         The maximum number of simultaneously running coprocesses.
+     * @param maxCommands      The number of commands after which the coprocess is recycled.
+     * @param probeTimeout     The time an idle coprocess is given to answer the health probe.
+     */
+    public CoprocessCmdExecutor(final OutputReaderPool outputReaderPool,
+                                final CommandTimeoutPolicy timeoutPolicy,
+                                final CommandOutputPolicy outputPolicy,
+                                final CommandMetrics metrics,
+                                @Value("${cmd.coprocess.shell}") final String shell,
+                                @Value("${cmd.coprocess.pool.size}") final int poolSize,
+                                @Value("${cmd.coprocess.max.commands}") final int maxCommands,
+                                @Value("${cmd.coprocess.probe.timeout}") final Duration probeTimeout) {
+        this.outputReaderPool = outputReaderPool;
+        this.timeoutPolicy = timeoutPolicy;
+        this.outputPolicy = outputPolicy;
+        this.metrics = metrics;
+        this.shell = shell;
+        this.maxCommands = maxCommands;
+        this.probeTimeout = probeTimeout;
+        this.permits = new Semaphore(poolSize, true);
+    }
+
+    @Override
+    public CommandResult execute(final String... arguments) {
+        final Duration timeout = timeoutPolicy.getTimeout(arguments);
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        acquirePermit(timeout, arguments);
+        final CommandMetrics.Execution execution = metrics.start(arguments);
+        ShellCoprocess coprocess = null;
+        boolean reusable = false;
+        try {
+            coprocess = borrowCoprocess();
+            final ShellCoprocess current = coprocess;
+            final String sentinel = UUID.randomUUID().toString();
+            final List<String> stdOut = outputPolicy.newOutputBuffer(arguments);
+            final List<String> stdErr = outputPolicy.newOutputBuffer(arguments);
+            current.submit(sentinel, arguments);
+            final OutputReaderPool.Readers<Integer> readers = outputReaderPool.submit(
+                    () -> current.readStdOut(sentinel, stdOut),
+                    () -> current.readStdErr(sentinel, stdErr));
+            final CommandResult result = new CommandResult(stdOut,
+                    readers.getStdOut().get(remainingNanos(deadline), TimeUnit.NANOSECONDS), stdErr);
+            readers.getStdErr().get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            execution.countOutput(stdOut, stdErr);
+            execution.completed(result.getExitCode());
+            reusable = true;
+            return result;
+        } catch (final TimeoutException e) {
+            throw timeoutPolicy.onTimeout(timeout, arguments);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments), e);
+        } catch (final GridEngineException e) {
+            throw e;
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof GridEngineException) {
+                throw (GridEngineException) e.getCause();
+            }
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while reading output of the command: " + String.join(SPACE, arguments), e);
+        } catch (final IOException | RuntimeException e) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while reading output of the command: " + String.join(SPACE, arguments), e);
+        } finally {
+            releaseCoprocess(coprocess, reusable);
+            permits.release();
+            execution.finish();
+        }
+    }
+
+    /**
+     * Terminates all idle coprocesses when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        ShellCoprocess coprocess = idleCoprocesses.pollFirst();
+        while (coprocess != null) {
+            coprocess.destroy();
+            coprocess = idleCoprocesses.pollFirst();
+        }
+    }
+
+    private void acquirePermit(final Duration timeout, final String... arguments) {
+        try {
+            if (!permits.tryAcquire(timeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw timeoutPolicy.onTimeout(timeout, arguments);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Interrupted while waiting for a free coprocess: " + String.join(SPACE, arguments), e);
+        }
+    }
+
+    private ShellCoprocess borrowCoprocess() throws IOException {
+        ShellCoprocess coprocess = idleCoprocesses.pollFirst();
+        while (coprocess != null) {
+            if (respondsToProbe(coprocess)) {
+                return coprocess;
+            }
+            log.debug("Discarding an unresponsive shell coprocess");
+            coprocess.destroy();
+            coprocess = idleCoprocesses.pollFirst();
+        }
+        return new ShellCoprocess(shell);
+    }
+
+    private void releaseCoprocess(final ShellCoprocess coprocess, final boolean reusable) {
+        if (coprocess == null) {
+            return;
+        }
+        if (reusable && coprocess.isAlive() && coprocess.getExecutedCommands() < maxCommands) {
+            idleCoprocesses.offerFirst(coprocess);
+        } else {
+            coprocess.destroy();
+        }
+    }
+
+    // Checks that the idle shell answers a no-op builtin in time and has no stray output left in its pipes
+    private boolean respondsToProbe(final ShellCoprocess coprocess) {
+        if (!coprocess.isAlive()) {
+            return false;
+        }
+        final long deadline = System.nanoTime() + probeTimeout.toNanos();
+        final String sentinel = UUID.randomUUID().toString();
+        final List<String> stdOut = new ArrayList<>();
+        final List<String> stdErr = new ArrayList<>();
+        try {
+            coprocess.probe(sentinel);
+            final OutputReaderPool.Readers<Integer> readers = outputReaderPool.submit(
+                    () -> coprocess.readStdOut(sentinel, stdOut),
+                    () -> coprocess.readStdErr(sentinel, stdErr));
+            final int exitCode = readers.getStdOut().get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            readers.getStdErr().get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+            return exitCode == 0 && stdOut.isEmpty() && stdErr.isEmpty();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (final IOException | ExecutionException | TimeoutException | RuntimeException e) {
+            log.debug("The shell coprocess has failed the health probe", e);
+            return false;
+        }
+    }
+
+    private static long remainingNanos(final long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+}
@@ -21,32 +21,89 @@ package com.epam.grid.engine.cmd;
 
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.exception.GridEngineException;
-import lombok.RequiredArgsConstructor;
+import com.epam.grid.engine.jfr.CommandCompileEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.util.FileCopyUtils;
+import org.thymeleaf.IEngineConfiguration;
 import org.thymeleaf.context.IContext;
 import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ITemplateResolver;
+import org.thymeleaf.templateresolver.TemplateResolution;
 
+import javax.annotation.PostConstruct;
+import java.io.File;
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class realizes different compile methods by context.
+ * The command templates are compiled into {@link CommandPlan}s at startup, so that a command
+ * is built from the context without rendering the template and splitting the rendered text.
+ * The templates using the syntax the plans do not support are rendered by Thymeleaf.
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class GridEngineCommandCompilerImpl implements GridEngineCommandCompiler {
 
     private static final String CREATING_ENTITY_DESCRIPTION_FILE_ERROR =
             "Unable to create temporary entity description file";
     private static final String COMMAND_PATH = "command";
     private static final String ENTITY_PATH = "entity";
+    private static final String SUCCESS_OUTCOME = "success";
+    private static final String ERROR_OUTCOME = "error";
 
     private final SpringTemplateEngine templateEngine;
+    private final CommandMetrics commandMetrics;
+    private final String templatePath;
+    private final Map<String, Optional<CommandPlan>> commandPlans = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the compiler.
+     *
+     * @param templateEngine The template engine rendering the templates.
+     * @param commandMetrics The metrics of the executed commands.
+     * @param templatePath   The path to the template folder.
+     */
+    public GridEngineCommandCompilerImpl(final SpringTemplateEngine templateEngine,
+                                         final CommandMetrics commandMetrics,
+                                         @Value("${command.template.path}") final String templatePath) {
+        this.templateEngine = templateEngine;
+        this.commandMetrics = commandMetrics;
+        this.templatePath = templatePath;
+    }
+
+    /**
+     * Compiles the plans of all command templates of the supported engines.
+     */
+    @PostConstruct
+    public void compileCommandPlans() {
+        for (final EngineType engineType : EngineType.values()) {
+            if (engineType == EngineType.SIM) {
+                // The simulated engine is served in-memory and has no command templates
+                continue;
+            }
+            final String enginePath = getPathByEngineType(engineType);
+            for (final Resource template : findCommandTemplates(enginePath)) {
+                final String commandFolderPath = Paths.get(enginePath, COMMAND_PATH, template.getFilename())
+                        .toString();
+                commandPlans.computeIfAbsent(commandFolderPath, this::compileCommandPlan);
+            }
+        }
+        log.info("{} of {} command templates are compiled into plans",
+                commandPlans.values().stream().filter(Optional::isPresent).count(), commandPlans.size());
+    }
 
     /**
      * This method creates the command structure by engine type and context.
@@ -59,8 +116,25 @@ public class GridEngineCommandCompilerImpl implements GridEngineCommandCompiler
     @Override
     public String[] compileCommand(final EngineType engineType, final String command,
                                    final IContext context) {
-        final String commandFolderPath = Paths.get(getPathByEngineType(engineType), COMMAND_PATH, command).toString();
-        return CommandArgUtils.splitCommandIntoArgs(templateEngine.process(commandFolderPath, context));
+        final CommandCompileEvent compileEvent = new CommandCompileEvent();
+        compileEvent.setTemplate(command);
+        compileEvent.setEngine(engineType.name());
+        compileEvent.begin();
+        String outcome = ERROR_OUTCOME;
+        try {
+            final String commandFolderPath = Paths.get(getPathByEngineType(engineType), COMMAND_PATH, command)
+                    .toString();
+            final String[] arguments = commandPlans.computeIfAbsent(commandFolderPath, this::compileCommandPlan)
+                    .map(plan -> plan.build(context))
+                    .orElseGet(() -> CommandArgUtils.splitCommandIntoArgs(
+                            templateEngine.process(commandFolderPath, context)));
+            commandMetrics.registerTemplate(arguments, command, engineType);
+            compileEvent.setArguments(arguments.length);
+            outcome = SUCCESS_OUTCOME;
+            return arguments;
+        } finally {
+            compileEvent.complete(outcome);
+        }
     }
 
     /**
@@ -91,6 +165,45 @@ public class GridEngineCommandCompilerImpl implements GridEngineCommandCompiler
         return path;
     }
 
+    private Resource[] findCommandTemplates(final String enginePath) {
+        final String location = new File(templatePath).isDirectory() ? "file:" : "classpath*:";
+        try {
+            return new PathMatchingResourcePatternResolver()
+                    .getResources(location + templatePath + enginePath + "/" + COMMAND_PATH + "/*");
+        } catch (final IOException e) {
+            log.warn("Unable to list the command templates, they will be compiled on the first use", e);
+            return new Resource[0];
+        }
+    }
+
+    /**
+     * Compiles the template into a plan, the template is loaded the same way Thymeleaf loads it.
+     *
+     * @param commandFolderPath The template name.
+     * @return The plan or an empty optional if the template has to be rendered by Thymeleaf.
+     */
+    private Optional<CommandPlan> compileCommandPlan(final String commandFolderPath) {
+        final IEngineConfiguration configuration = templateEngine.getConfiguration();
+        for (final ITemplateResolver resolver : configuration.getTemplateResolvers()) {
+            final TemplateResolution resolution = resolver.resolveTemplate(configuration, null,
+                    commandFolderPath, null);
+            if (resolution == null || !resolution.getTemplateResource().exists()) {
+                continue;
+            }
+            if (resolution.getTemplateMode() != TemplateMode.TEXT) {
+                return Optional.empty();
+            }
+            try (Reader reader = resolution.getTemplateResource().reader()) {
+                return Optional.of(new CommandPlanParser(FileCopyUtils.copyToString(reader)).parse());
+            } catch (final IOException | IllegalArgumentException e) {
+                log.info("The command template {} will be rendered by Thymeleaf: {}",
+                        commandFolderPath, e.getMessage());
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
     private Path writeEntityDescriptionToTemporaryFile(final String entityDescription) {
         try {
             final Path tempFile = Files.createTempFile("sge-api_entity_tmp_files", null);
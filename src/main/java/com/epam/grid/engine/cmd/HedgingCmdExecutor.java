@@ -0,0 +1,322 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.StreamedCommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * This executor hedges the read-only commands to cut the tail latency caused by occasional stalls
+ * of the qmaster. Only the commands of the {@code cmd.hedging.categories} are hedged, and only if the delegate
+ * executes them asynchronously. If the command has not completed within the {@code cmd.hedging.percentile}
+ * of the recent execution times of its template, but not earlier than {@code cmd.hedging.min.delay},
+ * an identical command is started. The first successfully completed execution wins and the other one
+ * is cancelled, which destroys its process. A failure of the original execution fails the command,
+ * while a failure of the hedge is ignored. The hedges are started once {@code cmd.hedging.min.samples}
+ * execution times of the template are known.
+ * The hedges are limited by a budget that every hedgeable command replenishes by {@code cmd.hedging.budget.percent}
+ * of a hedge, so that the hedges never exceed that percentage of the traffic.
+ * Streaming executions are never hedged, since the output can be consumed only once.
+ */
+@Slf4j
+public class HedgingCmdExecutor implements CmdExecutor {
+
+    private static final String PROPERTY_PREFIX = "cmd.hedging.";
+    private static final String HEDGES_METRIC = "cmd.hedging.hedges";
+    private static final String WINS_METRIC = "cmd.hedging.wins";
+    private static final String TEMPLATE_TAG = "template";
+    private static final String RESULT_TAG = "result";
+    private static final String WINNER_TAG = "winner";
+    private static final String STARTED = "started";
+    private static final String BUDGET_EXHAUSTED = "budget_exhausted";
+    private static final String PRIMARY = "primary";
+    private static final String HEDGE = "hedge";
+    private static final double PERCENT = 100.0;
+
+    private final CmdExecutor delegate;
+    private final CommandMetrics metrics;
+    private final MeterRegistry meterRegistry;
+    private final Set<CommandCategory> categories = EnumSet.noneOf(CommandCategory.class);
+    private final double percentile;
+    private final Duration minDelay;
+    private final int minSamples;
+    private final int windowSize;
+    private final HedgeBudget budget;
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the executor configured with the {@code cmd.hedging.*} properties.
+     *
+     * @param delegate      The executor of the commands and their hedges.
+     * @param metrics       The command metrics that determine the templates of the commands.
+     * @param environment   The environment with the hedging properties.
+     * @param meterRegistry The registry of the hedging metrics.
+     */
+    public HedgingCmdExecutor(final CmdExecutor delegate, final CommandMetrics metrics,
+                              final Environment environment, final MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.meterRegistry = meterRegistry;
+        Arrays.stream(environment.getRequiredProperty(PROPERTY_PREFIX + "categories", String[].class))
+                .map(category -> CommandCategory.valueOf(category.trim().toUpperCase(Locale.ROOT).replace('-', '_')))
+                .forEach(categories::add);
+        this.percentile = Double.parseDouble(environment.getRequiredProperty(PROPERTY_PREFIX + "percentile"));
+        this.minDelay = DurationStyle.detectAndParse(environment.getRequiredProperty(PROPERTY_PREFIX + "min.delay"));
+        this.minSamples = Integer.parseInt(environment.getRequiredProperty(PROPERTY_PREFIX + "min.samples"));
+        this.windowSize = Integer.parseInt(environment.getRequiredProperty(PROPERTY_PREFIX + "window.size"));
+        this.budget = new HedgeBudget(
+                Double.parseDouble(environment.getRequiredProperty(PROPERTY_PREFIX + "budget.percent")) / PERCENT,
+                Integer.parseInt(environment.getRequiredProperty(PROPERTY_PREFIX + "budget.burst")));
+        if (percentile <= 0 || percentile > 1) {
+            throw new IllegalArgumentException("The hedging percentile must be in (0, 1]: " + percentile);
+        }
+    }
+
+    @Override
+    public CommandResult execute(final String... arguments) {
+        if (!categories.contains(CommandCategory.of(arguments))) {
+            return delegate.execute(arguments);
+        }
+        final CompletableFuture<CommandResult> execution = executeAsync(arguments);
+        try {
+            return execution.get();
+        } catch (final InterruptedException e) {
+            execution.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments), e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof GridEngineException) {
+                throw (GridEngineException) e.getCause();
+            }
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments),
+                    e.getCause());
+        }
+    }
+
+    /**
+     * Executes the command and starts its hedge, if the command is running longer than usual.
+     * Cancelling the returned future cancels both executions.
+     *
+     * @param arguments The command structure.
+     * @return The future of the result of the first successfully completed execution.
+     */
+    @Override
+    public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+        if (!categories.contains(CommandCategory.of(arguments))) {
+            return delegate.executeAsync(arguments);
+        }
+        final String template = metrics.getTemplateName(arguments);
+        final LatencyWindow window = latencies.computeIfAbsent(template, name -> new LatencyWindow(windowSize));
+        budget.deposit();
+        final HedgedExecution execution = new HedgedExecution(template, window, arguments);
+        execution.start();
+        return execution.result;
+    }
+
+    @Override
+    public <T> StreamedCommandResult<T> executeStreaming(final CommandOutputHandler<T> stdOutHandler,
+                                                         final String... arguments) {
+        return delegate.executeStreaming(stdOutHandler, arguments);
+    }
+
+    @Override
+    public <T> CompletableFuture<StreamedCommandResult<T>> executeStreamingAsync(
+            final CommandOutputHandler<T> stdOutHandler, final String... arguments) {
+        return delegate.executeStreamingAsync(stdOutHandler, arguments);
+    }
+
+    /**
+     * The execution of a command together with its hedge.
+     */
+    private final class HedgedExecution {
+
+        private final String template;
+        private final LatencyWindow window;
+        private final String[] arguments;
+        private final long startTime = System.nanoTime();
+        private final Instant deadline = CommandDeadline.capture();
+        private final CompletableFuture<CommandResult> result = new CompletableFuture<>();
+        private volatile CompletableFuture<CommandResult> hedge;
+
+        private HedgedExecution(final String template, final LatencyWindow window, final String... arguments) {
+            this.template = template;
+            this.window = window;
+            this.arguments = arguments;
+        }
+
+        private void start() {
+            final CompletableFuture<CommandResult> primary;
+            try {
+                primary = delegate.executeAsync(arguments);
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            primary.whenComplete((commandResult, error) -> {
+                // the execution time of the cancelled command is only its lower bound,
+                // but it still keeps the stalled commands in the window
+                if (error == null || primary.isCancelled()) {
+                    window.record(System.nanoTime() - startTime);
+                }
+                if (error == null) {
+                    if (result.complete(commandResult) && hedge != null) {
+                        recordWin(PRIMARY);
+                    }
+                } else if (!primary.isCancelled()) {
+                    result.completeExceptionally(unwrap(error));
+                }
+            });
+            result.whenComplete((commandResult, error) -> {
+                primary.cancel(true);
+                final CompletableFuture<CommandResult> startedHedge = hedge;
+                if (startedHedge != null) {
+                    startedHedge.cancel(true);
+                }
+            });
+            window.getPercentile(percentile, minSamples)
+                    .map(delay -> delay.compareTo(minDelay) < 0 ? minDelay : delay)
+                    .filter(delay -> !result.isDone())
+                    .ifPresent(delay -> CompletableFuture.delayedExecutor(delay.toNanos(), TimeUnit.NANOSECONDS)
+                            .execute(() -> startHedge(delay)));
+        }
+
+        private void startHedge(final Duration delay) {
+            if (result.isDone()) {
+                return;
+            }
+            if (!budget.withdraw()) {
+                meterRegistry.counter(HEDGES_METRIC, TEMPLATE_TAG, template, RESULT_TAG, BUDGET_EXHAUSTED)
+                        .increment();
+                return;
+            }
+            meterRegistry.counter(HEDGES_METRIC, TEMPLATE_TAG, template, RESULT_TAG, STARTED).increment();
+            log.debug("The command has not completed within {} ms, starting its hedge: {}",
+                    delay.toMillis(), String.join(SPACE, arguments));
+            final CompletableFuture<CommandResult> startedHedge;
+            try {
+                startedHedge = CommandDeadline.callWith(deadline, () -> delegate.executeAsync(arguments));
+            } catch (final RuntimeException e) {
+                log.debug("Cannot start the hedge of the command: {}", String.join(SPACE, arguments), e);
+                return;
+            }
+            hedge = startedHedge;
+            startedHedge.whenComplete((commandResult, error) -> {
+                if (error == null && result.complete(commandResult)) {
+                    recordWin(HEDGE);
+                } else if (error != null && !startedHedge.isCancelled()) {
+                    log.debug("The hedge of the command has failed: {}", String.join(SPACE, arguments), error);
+                }
+            });
+            if (result.isDone()) {
+                startedHedge.cancel(true);
+            }
+        }
+
+        private void recordWin(final String winner) {
+            meterRegistry.counter(WINS_METRIC, TEMPLATE_TAG, template, WINNER_TAG, winner).increment();
+        }
+
+        private Throwable unwrap(final Throwable error) {
+            return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        }
+    }
+
+    /**
+     * The recent execution times of a command template.
+     */
+    private static final class LatencyWindow {
+
+        private final long[] latencies;
+        private int count;
+        private int next;
+
+        private LatencyWindow(final int size) {
+            this.latencies = new long[size];
+        }
+
+        private synchronized void record(final long latency) {
+            latencies[next] = latency;
+            next = (next + 1) % latencies.length;
+            count = Math.min(count + 1, latencies.length);
+        }
+
+        private synchronized Optional<Duration> getPercentile(final double percentile, final int minSamples) {
+            if (count == 0 || count < minSamples) {
+                return Optional.empty();
+            }
+            final long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            final int index = (int) Math.ceil(percentile * count) - 1;
+            return Optional.of(Duration.ofNanos(sorted[Math.max(0, Math.min(index, count - 1))]));
+        }
+    }
+
+    /**
+     * The budget of the hedges. Every command of the hedged categories deposits the allowed fraction of a hedge,
+     * and every started hedge withdraws a whole one. The balance is limited by the burst size,
+     * so that a long period without stalls doesn't allow a storm of hedges afterwards.
+     */
+    private static final class HedgeBudget {
+
+        private final double ratio;
+        private final double burst;
+        private double balance;
+
+        private HedgeBudget(final double ratio, final double burst) {
+            this.ratio = ratio;
+            this.burst = burst;
+        }
+
+        private synchronized void deposit() {
+            balance = Math.min(burst, balance + ratio);
+        }
+
+        private synchronized boolean withdraw() {
+            if (balance < 1) {
+                return false;
+            }
+            balance--;
+            return true;
+        }
+    }
+}
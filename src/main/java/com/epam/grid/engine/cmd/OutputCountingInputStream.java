@@ -0,0 +1,112 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.jfr.CommandReadEvent;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * This stream counts the bytes and the lines of the command output passing through it
+ * and reports the reading as a Java Flight Recorder event once the stream is closed.
+ */
+class OutputCountingInputStream extends FilterInputStream {
+
+    private static final int NEW_LINE = '\n';
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    private final CommandReadEvent readEvent;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean endOfStream;
+
+    private volatile long bytes;
+    private volatile long newLines;
+    private volatile int lastByte = NEW_LINE;
+
+    OutputCountingInputStream(final InputStream inputStream, final CommandReadEvent readEvent) {
+        super(inputStream);
+        this.readEvent = readEvent;
+    }
+
+    @Override
+    public int read() throws IOException {
+        final int value = super.read();
+        if (value == -1) {
+            endOfStream = true;
+        } else {
+            count(value);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(final byte[] buffer, final int offset, final int length) throws IOException {
+        final int read = super.read(buffer, offset, length);
+        if (read == -1) {
+            endOfStream = true;
+        }
+        for (int i = offset; i < offset + read; i++) {
+            count(buffer[i]);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(final long length) throws IOException {
+        final long skipped = super.skip(length);
+        bytes += skipped;
+        return skipped;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (closed.compareAndSet(false, true)) {
+                readEvent.setBytes(bytes);
+                readEvent.setLines(getLines());
+                readEvent.complete(endOfStream ? SUCCESS : ERROR);
+            }
+        }
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Returns the number of lines read, the last line is counted even if it has no line terminator.
+     */
+    long getLines() {
+        return lastByte == NEW_LINE ? newLines : newLines + 1;
+    }
+
+    private void count(final int value) {
+        bytes++;
+        if (value == NEW_LINE) {
+            newLines++;
+        }
+        lastByte = value;
+    }
+}
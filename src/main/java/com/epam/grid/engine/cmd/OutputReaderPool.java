@@ -0,0 +1,435 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded thread pool shared by all command executions for draining stdout and stderr
+ * of the spawned processes. Both streams of a process are drained at the same time, so the readers
+ * of a process are admitted as a pair: either both get a thread, or the pair waits for two threads
+ * in the wait queue. A process never waits with one stream drained and the other one stuck in the queue
+ * behind the processes holding the threads.
+ * <p>
+ * The pool size is configured with {@code cmd.output.reader.pool.size}. If it is not set, the pool has
+ * two threads per command the bulkheads admit concurrently, see {@link BulkheadCmdExecutor}, so that an
+ * admitted command never waits for the readers. The pool state is exposed as {@code executor.*} metrics
+ * tagged with {@code name=cmd.output.reader}.
+ * <p>
+ * The output lines of the asynchronously executed commands are polled instead: a single poller thread
+ * reads the bytes already available in the pipes of all running processes, and sleeps for
+ * {@code cmd.output.poll.interval} once none of them has new output. The pool threads only read the rest
+ * of the output after the process has exited, so a running process doesn't park a thread per stream.
+ */
+@Slf4j
+@Component
+public class OutputReaderPool {
+
+    private static final String POOL_SIZE_PROPERTY = "cmd.output.reader.pool.size";
+    private static final String QUEUE_CAPACITY_PROPERTY = "cmd.output.reader.queue.capacity";
+    private static final String BULKHEAD_ENABLED_PROPERTY = "cmd.bulkhead.enabled";
+    private static final int DEFAULT_POOL_SIZE = 32;
+    private static final int READERS_PER_PROCESS = 2;
+    private static final String METRICS_NAME = "cmd.output.reader";
+    private static final String WAITING_METRIC = "cmd.output.reader.waiting";
+    private static final String THREAD_NAME_PREFIX = "cmd-output-reader-";
+    private static final String POLL_INTERVAL_PROPERTY = "cmd.output.poll.interval";
+    private static final String POLLER_THREAD_NAME_PREFIX = "cmd-output-poller-";
+    private static final String POLLED_METRIC = "cmd.output.polled";
+    private static final int POLL_BUFFER_SIZE = 8192;
+    private static final String CANNOT_READ_OUTPUT = "Cannot read command execution result";
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final String READER_POOL_EXHAUSTED =
+            "Too many commands are being executed at the moment, please try again later";
+
+    private final ThreadPoolExecutor executor;
+    private final int maxActivePairs;
+    private final int maxWaitingPairs;
+    private final Deque<Runnable> waitingPairs = new ArrayDeque<>();
+    private final Set<PolledOutput> polledOutputs = ConcurrentHashMap.newKeySet();
+    private final long pollIntervalNanos;
+    private final Thread poller;
+    private int activePairs;
+
+    /**
+     * Creates the pool sized by the {@code cmd.output.reader.*} properties.
+     *
+     * @param environment   The environment with the pool properties.
+     * @param meterRegistry The registry to bind the pool metrics to.
+     */
+    @Autowired
+    public OutputReaderPool(final Environment environment, final MeterRegistry meterRegistry) {
+        this(resolvePoolSize(environment), environment.getRequiredProperty(QUEUE_CAPACITY_PROPERTY, Integer.class),
+                DurationStyle.detectAndParse(environment.getRequiredProperty(POLL_INTERVAL_PROPERTY)), meterRegistry);
+    }
+
+    /**
+     * Creates the pool and registers its metrics.
+     *
+     * @param poolSize      The maximum number of simultaneously running output readers.
+     * @param queueCapacity The maximum number of output readers waiting for a free thread.
+     * @param pollInterval  The time the poller sleeps once none of the polled processes has new output.
+     * @param meterRegistry The registry to bind the pool metrics to.
+     */
+    public OutputReaderPool(final int poolSize, final int queueCapacity, final Duration pollInterval,
+                            final MeterRegistry meterRegistry) {
+        this.maxActivePairs = Math.max(1, poolSize / READERS_PER_PROCESS);
+        this.maxWaitingPairs = queueCapacity / READERS_PER_PROCESS;
+        final int threads = maxActivePairs * READERS_PER_PROCESS;
+        // The readers are only submitted for the admitted pairs, so the queue never outgrows the idle threads
+        this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+        this.executor.allowCoreThreadTimeOut(true);
+        new ExecutorServiceMetrics(executor, METRICS_NAME, Tags.empty()).bindTo(meterRegistry);
+        Gauge.builder(WAITING_METRIC, this, OutputReaderPool::getWaitingCount)
+                .description("The number of processes waiting for their output readers")
+                .register(meterRegistry);
+        Gauge.builder(POLLED_METRIC, polledOutputs, Set::size)
+                .description("The number of output streams of running processes being polled")
+                .register(meterRegistry);
+        this.pollIntervalNanos = pollInterval.toNanos();
+        final CustomizableThreadFactory pollerThreadFactory = new CustomizableThreadFactory(POLLER_THREAD_NAME_PREFIX);
+        pollerThreadFactory.setDaemon(true);
+        this.poller = pollerThreadFactory.newThread(this::pollOutputs);
+        this.poller.start();
+    }
+
+    /**
+     * Submits the readers of both output streams of a process to the pool.
+     *
+     * @param stdOutReader The task that drains stdout and produces the result.
+     * @param stdErrReader The task that drains stderr.
+     * @param <T>          The type of the stdout reader result.
+     * @return The futures representing the pending completion of the readers.
+     * @throws GridEngineException if the wait queue is full.
+     */
+    public <T> Readers<T> submit(final Callable<T> stdOutReader, final Runnable stdErrReader) {
+        final Readers<T> readers = new Readers<>(new CompletableFuture<>(), new CompletableFuture<>());
+        final AtomicInteger running = new AtomicInteger(READERS_PER_PROCESS);
+        final Runnable onReaderDone = () -> {
+            if (running.decrementAndGet() == 0) {
+                releasePair();
+            }
+        };
+        final Runnable start = () -> {
+            execute(() -> {
+                try {
+                    readers.stdOut.complete(stdOutReader.call());
+                } catch (final Exception e) {
+                    readers.stdOut.completeExceptionally(e);
+                }
+            }, readers.stdOut, onReaderDone);
+            execute(() -> {
+                try {
+                    stdErrReader.run();
+                    readers.stdErr.complete(null);
+                } catch (final RuntimeException e) {
+                    readers.stdErr.completeExceptionally(e);
+                }
+            }, readers.stdErr, onReaderDone);
+        };
+        synchronized (this) {
+            if (activePairs >= maxActivePairs) {
+                if (waitingPairs.size() >= maxWaitingPairs) {
+                    throw poolExhausted(null);
+                }
+                waitingPairs.addLast(start);
+                return readers;
+            }
+            activePairs++;
+        }
+        start.run();
+        return readers;
+    }
+
+    /**
+     * Reads the lines of both output streams of a running process, the streams are polled
+     * while the process is running and read to the end by the pool threads once it has exited.
+     * The lines are split as {@link java.io.BufferedReader#readLine()} does.
+     *
+     * @param process  The running process.
+     * @param stdOut   The standard output of the process.
+     * @param outLines The list to add the standard output lines to.
+     * @param stdErr   The standard error output of the process.
+     * @param errLines The list to add the standard error lines to.
+     * @return The future that completes once both streams are read to the end, or fails as soon
+     *         as a stream cannot be read or a line cannot be added.
+     */
+    public CompletableFuture<Void> pollLines(final Process process, final InputStream stdOut,
+                                             final List<String> outLines, final InputStream stdErr,
+                                             final List<String> errLines) {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        final PolledOutput polledStdOut = new PolledOutput(stdOut, outLines, result);
+        final PolledOutput polledStdErr = new PolledOutput(stdErr, errLines, result);
+        polledOutputs.add(polledStdOut);
+        polledOutputs.add(polledStdErr);
+        LockSupport.unpark(poller);
+        process.onExit().whenComplete((exitedProcess, error) -> {
+            polledOutputs.remove(polledStdOut);
+            polledOutputs.remove(polledStdErr);
+            try {
+                final Readers<Void> readers = submit(() -> {
+                    polledStdOut.readRest();
+                    return null;
+                }, polledStdErr::readRest);
+                CompletableFuture.allOf(readers.stdOut, readers.stdErr).whenComplete((ignored, readError) -> {
+                    if (readError != null) {
+                        result.completeExceptionally(readError);
+                    } else {
+                        result.complete(null);
+                    }
+                });
+            } catch (final GridEngineException e) {
+                polledStdOut.close();
+                polledStdErr.close();
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Stops accepting new tasks when the application context is closed.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        poller.interrupt();
+    }
+
+    private void execute(final Runnable reader, final CompletableFuture<?> result, final Runnable onReaderDone) {
+        try {
+            executor.execute(() -> {
+                try {
+                    reader.run();
+                } finally {
+                    onReaderDone.run();
+                }
+            });
+        } catch (final RejectedExecutionException e) {
+            result.completeExceptionally(poolExhausted(e));
+            onReaderDone.run();
+        }
+    }
+
+    // Reads the available output of the running processes, until there is nothing to read
+    private void pollOutputs() {
+        while (!Thread.currentThread().isInterrupted()) {
+            boolean read = false;
+            for (final PolledOutput output : polledOutputs) {
+                read |= output.poll();
+            }
+            if (polledOutputs.isEmpty()) {
+                LockSupport.park(this);
+            } else if (!read) {
+                LockSupport.parkNanos(this, pollIntervalNanos);
+            }
+        }
+    }
+
+    // Passes the threads of the completed pair to the next waiting pair, if any
+    private void releasePair() {
+        final Runnable next;
+        synchronized (this) {
+            next = waitingPairs.pollFirst();
+            if (next == null) {
+                activePairs--;
+            }
+        }
+        if (next != null) {
+            next.run();
+        }
+    }
+
+    private synchronized int getWaitingCount() {
+        return waitingPairs.size();
+    }
+
+    private GridEngineException poolExhausted(final RejectedExecutionException e) {
+        log.warn("Output reader pool is exhausted: {} active readers, {} processes wait for readers",
+                executor.getActiveCount(), getWaitingCount());
+        return new GridEngineException(HttpStatus.SERVICE_UNAVAILABLE, READER_POOL_EXHAUSTED, e);
+    }
+
+    private static int resolvePoolSize(final Environment environment) {
+        final Integer poolSize = environment.getProperty(POOL_SIZE_PROPERTY, Integer.class);
+        if (poolSize != null) {
+            return poolSize;
+        }
+        if (!environment.getRequiredProperty(BULKHEAD_ENABLED_PROPERTY, Boolean.class)) {
+            return DEFAULT_POOL_SIZE;
+        }
+        final int derivedPoolSize = READERS_PER_PROCESS * BulkheadCmdExecutor.getMaxConcurrentTotal(environment);
+        log.info("The output reader pool has {} threads for the commands admitted by the bulkheads", derivedPoolSize);
+        return derivedPoolSize;
+    }
+
+    /**
+     * An output stream of a running process split into lines. The stream is read by the poller
+     * without blocking while the process is running, and by a pool thread once the process has exited.
+     */
+    @RequiredArgsConstructor
+    private static final class PolledOutput {
+
+        private final InputStream stream;
+        private final List<String> lines;
+        private final CompletableFuture<Void> result;
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final byte[] buffer = new byte[POLL_BUFFER_SIZE];
+        private boolean afterCarriageReturn;
+        private boolean finished;
+
+        /**
+         * Reads the bytes available in the stream without blocking.
+         *
+         * @return true if anything has been read.
+         */
+        private synchronized boolean poll() {
+            if (finished) {
+                return false;
+            }
+            try {
+                final int available = stream.available();
+                if (available <= 0) {
+                    return false;
+                }
+                final int count = stream.read(buffer, 0, Math.min(available, buffer.length));
+                if (count < 0) {
+                    return false;
+                }
+                split(count);
+                return true;
+            } catch (final IOException | RuntimeException e) {
+                fail(e);
+                return false;
+            }
+        }
+
+        /**
+         * Reads the stream to the end once the process has exited.
+         */
+        private synchronized void readRest() {
+            if (finished) {
+                return;
+            }
+            try {
+                int count = stream.read(buffer);
+                while (count >= 0) {
+                    split(count);
+                    count = stream.read(buffer);
+                }
+                if (line.size() > 0) {
+                    addLine();
+                }
+            } catch (final IOException | RuntimeException e) {
+                fail(e);
+                throw toGridEngineException(e);
+            } finally {
+                close();
+            }
+        }
+
+        private synchronized void close() {
+            finished = true;
+            try {
+                stream.close();
+            } catch (final IOException e) {
+                log.debug("Cannot close the output stream of the command", e);
+            }
+        }
+
+        private void split(final int count) {
+            for (int i = 0; i < count; i++) {
+                final byte next = buffer[i];
+                if (next == '\n' && afterCarriageReturn) {
+                    afterCarriageReturn = false;
+                    continue;
+                }
+                afterCarriageReturn = next == '\r';
+                if (next == '\n' || next == '\r') {
+                    addLine();
+                } else {
+                    line.write(next);
+                }
+            }
+        }
+
+        private void addLine() {
+            lines.add(line.toString(Charset.defaultCharset()));
+            line.reset();
+        }
+
+        private void fail(final Exception e) {
+            close();
+            result.completeExceptionally(toGridEngineException(e));
+        }
+
+        private static GridEngineException toGridEngineException(final Exception e) {
+            return e instanceof GridEngineException
+                    ? (GridEngineException) e
+                    : new GridEngineException(HttpStatus.INTERNAL_SERVER_ERROR, CANNOT_READ_OUTPUT, e);
+        }
+    }
+
+    /**
+     * The pending completion of the readers of a process.
+     *
+     * @param <T> The type of the stdout reader result.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class Readers<T> {
+        private final CompletableFuture<T> stdOut;
+        private final CompletableFuture<Void> stdErr;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.RecordedCommand;
+import com.epam.grid.engine.entity.StreamedCommandResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * This executor records every command completed by the delegate, together with its output, exit code
+ * and execution time, into a {@link CommandCorpus}, so that the same results can later be served
+ * by the {@link ReplayingCmdExecutor}. The commands that fail with an exception, e.g. on timeout,
+ * are not recorded. The output of the streaming executions is buffered to be recorded,
+ * so the recording should not be enabled where memory is tight.
+ */
+@Slf4j
+public class RecordingCmdExecutor implements CmdExecutor {
+
+    private final CmdExecutor delegate;
+    private final CommandCorpus.Writer corpus;
+
+    /**
+     * Creates the executor.
+     *
+     * @param delegate The executor of the recorded commands.
+     * @param corpus   The writer of the corpus the commands are recorded to.
+     */
+    public RecordingCmdExecutor(final CmdExecutor delegate, final CommandCorpus.Writer corpus) {
+        this.delegate = delegate;
+        this.corpus = corpus;
+    }
+
+    @Override
+    public CommandResult execute(final String... arguments) {
+        final long startTime = System.nanoTime();
+        return record(delegate.execute(arguments), startTime, arguments);
+    }
+
+    @Override
+    public <T> StreamedCommandResult<T> executeStreaming(final CommandOutputHandler<T> stdOutHandler,
+                                                         final String... arguments) {
+        return stdOutHandler.handleBuffered(execute(arguments));
+    }
+
+    /**
+     * Executes the command by the delegate and records its result once it completes.
+     * Cancelling the returned future cancels the delegated execution.
+     *
+     * @param arguments The command structure.
+     * @return The future of the command result.
+     */
+    @Override
+    public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+        final long startTime = System.nanoTime();
+        final CompletableFuture<CommandResult> delegated = delegate.executeAsync(arguments);
+        final CompletableFuture<CommandResult> execution = delegated
+                .thenApply(result -> record(result, startTime, arguments));
+        execution.whenComplete((result, error) -> {
+            if (execution.isCancelled()) {
+                delegated.cancel(true);
+            }
+        });
+        return execution;
+    }
+
+    @Override
+    public <T> CompletableFuture<StreamedCommandResult<T>> executeStreamingAsync(
+            final CommandOutputHandler<T> stdOutHandler, final String... arguments) {
+        final CompletableFuture<CommandResult> execution = executeAsync(arguments);
+        final CompletableFuture<StreamedCommandResult<T>> streamed = execution.thenApply(stdOutHandler::handleBuffered);
+        streamed.whenComplete((result, error) -> {
+            if (streamed.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return streamed;
+    }
+
+    private CommandResult record(final CommandResult result, final long startTime, final String... arguments) {
+        final long duration = System.nanoTime() - startTime;
+        try {
+            corpus.write(RecordedCommand.builder()
+                    .arguments(Arrays.asList(arguments))
+                    .stdOut(new ArrayList<>(result.getStdOut()))
+                    .stdErr(new ArrayList<>(result.getStdErr()))
+                    .exitCode(result.getExitCode())
+                    .durationNanos(duration)
+                    .build());
+        } catch (final UncheckedIOException e) {
+            log.warn("Cannot record the command: {}", String.join(SPACE, arguments), e);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.RecordedCommand;
+import com.epam.grid.engine.entity.StreamedCommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * This executor serves the results recorded by the {@link RecordingCmdExecutor} instead of executing
+ * the commands, so that the parsers, mappers and controllers can be benchmarked against exactly
+ * the same inputs. A command is matched by all of its arguments, if it has been recorded several times,
+ * the recorded results are served in turn. The executor can delay the results by the recorded execution
+ * times multiplied by the latency factor, the asynchronous executions are delayed without occupying a thread.
+ * The commands that have not been recorded fail.
+ */
+@Slf4j
+public class ReplayingCmdExecutor implements CmdExecutor {
+
+    private final Map<List<String>, Replay> replays = new HashMap<>();
+    private final double latencyFactor;
+
+    /**
+     * Creates the executor.
+     *
+     * @param records       The recorded commands.
+     * @param latencyFactor The factor of the recorded execution times, zero serves the results without delay.
+     */
+    public ReplayingCmdExecutor(final List<RecordedCommand> records, final double latencyFactor) {
+        if (latencyFactor < 0) {
+            throw new IllegalArgumentException("The replay latency factor must not be negative: " + latencyFactor);
+        }
+        this.latencyFactor = latencyFactor;
+        records.forEach(record -> replays.computeIfAbsent(record.getArguments(), arguments -> new Replay())
+                .records.add(record));
+        log.info("{} recorded results of {} commands are loaded for replay", records.size(), replays.size());
+    }
+
+    @Override
+    public CommandResult execute(final String... arguments) {
+        final RecordedCommand record = next(arguments);
+        final long delay = getDelayNanos(record);
+        if (delay > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new GridEngineException(HttpStatus.NOT_FOUND,
+                        "Something went wrong while executing the command: " + String.join(SPACE, arguments), e);
+            }
+        }
+        return record.toCommandResult();
+    }
+
+    @Override
+    public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+        final RecordedCommand record;
+        try {
+            record = next(arguments);
+        } catch (final GridEngineException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final long delay = getDelayNanos(record);
+        if (delay <= 0) {
+            return CompletableFuture.completedFuture(record.toCommandResult());
+        }
+        return CommandDeadline.propagate(CompletableFuture.supplyAsync(record::toCommandResult,
+                CompletableFuture.delayedExecutor(delay, TimeUnit.NANOSECONDS)));
+    }
+
+    @Override
+    public <T> CompletableFuture<StreamedCommandResult<T>> executeStreamingAsync(
+            final CommandOutputHandler<T> stdOutHandler, final String... arguments) {
+        return executeAsync(arguments).thenApply(stdOutHandler::handleBuffered);
+    }
+
+    private RecordedCommand next(final String... arguments) {
+        final Replay replay = replays.get(Arrays.asList(arguments));
+        if (replay == null) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "The command has not been recorded: " + String.join(SPACE, arguments));
+        }
+        return replay.next();
+    }
+
+    private long getDelayNanos(final RecordedCommand record) {
+        return (long) (record.getDurationNanos() * latencyFactor);
+    }
+
+    /**
+     * The recorded results of a command.
+     */
+    private static final class Replay {
+
+        private final List<RecordedCommand> records = new ArrayList<>();
+        private final AtomicInteger next = new AtomicInteger();
+
+        private RecordedCommand next() {
+            return records.get(Math.floorMod(next.getAndIncrement(), records.size()));
+        }
+    }
+}
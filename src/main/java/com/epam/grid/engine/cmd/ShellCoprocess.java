@@ -0,0 +1,160 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.epam.grid.engine.utils.TextConstants.SPACE;
+
+/**
+ * A long-lived shell process that executes commands written to its standard input one by one.
+ * The output of every command is framed with a unique sentinel line, so that the end of the output
+ * and the exit code of the command can be determined without closing the streams.
+ */
+class ShellCoprocess {
+
+    private static final String QUOTE = "'";
+    private static final String ESCAPED_QUOTE = "'\\''";
+    private static final String EXIT_CODE_SEPARATOR = ":";
+    private static final String PROBE_COMMAND = ":";
+    private static final String COMMAND_FORMAT = "%s </dev/null; printf '%%s%s%%d\\n' '%s' \"$?\"; "
+            + "printf '%%s\\n' '%s' >&2\n";
+
+    private final Process process;
+    private final BufferedWriter stdIn;
+    private final BufferedReader stdOut;
+    private final BufferedReader stdErr;
+    private int executedCommands;
+
+    /**
+     * Starts a new shell process.
+     *
+     * @param shell The path to the shell executable.
+     * @throws IOException if the shell cannot be started.
+     */
+    ShellCoprocess(final String shell) throws IOException {
+        this.process = new ProcessBuilder(shell).start();
+        this.stdIn = new BufferedWriter(new OutputStreamWriter(process.getOutputStream()));
+        this.stdOut = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        this.stdErr = new BufferedReader(new InputStreamReader(process.getErrorStream()));
+    }
+
+    /**
+     * Sends the command to the shell. The command arguments are quoted, so they are passed
+     * to the executable exactly as they are, the same way {@link ProcessBuilder} does.
+     *
+     * @param sentinel  The unique marker of the end of the command output.
+     * @param arguments The command structure.
+     * @throws IOException if the shell doesn't accept the command.
+     */
+    void submit(final String sentinel, final String... arguments) throws IOException {
+        executedCommands++;
+        write(sentinel, Arrays.stream(arguments)
+                .map(argument -> QUOTE + argument.replace(QUOTE, ESCAPED_QUOTE) + QUOTE)
+                .collect(Collectors.joining(SPACE)));
+    }
+
+    /**
+     * Sends the no-op builtin command to the shell, so that the shell can be checked
+     * to be responsive without spawning a process. The probe is not counted as an executed command.
+     *
+     * @param sentinel The unique marker of the end of the probe output.
+     * @throws IOException if the shell doesn't accept the probe.
+     */
+    void probe(final String sentinel) throws IOException {
+        write(sentinel, PROBE_COMMAND);
+    }
+
+    /**
+     * Reads the standard output of the last submitted command.
+     *
+     * @param sentinel The unique marker of the end of the command output.
+     * @param lines    The list to add the output lines to.
+     * @return The exit code of the command.
+     */
+    int readStdOut(final String sentinel, final List<String> lines) {
+        final String lastLine = readUntilSentinel(stdOut, sentinel, lines);
+        return Integer.parseInt(lastLine.substring(lastLine.indexOf(EXIT_CODE_SEPARATOR) + 1).trim());
+    }
+
+    /**
+     * Reads the standard error output of the last submitted command.
+     *
+     * @param sentinel The unique marker of the end of the command output.
+     * @param lines    The list to add the output lines to.
+     */
+    void readStdErr(final String sentinel, final List<String> lines) {
+        readUntilSentinel(stdErr, sentinel, lines);
+    }
+
+    /**
+     * Checks that the shell process has not terminated. A live shell may still be unresponsive,
+     * which is detected with {@link #probe(String)}.
+     *
+     * @return true if the shell process is alive.
+     */
+    boolean isAlive() {
+        return process.isAlive();
+    }
+
+    int getExecutedCommands() {
+        return executedCommands;
+    }
+
+    /**
+     * Terminates the shell and any command it is running.
+     */
+    void destroy() {
+        ProcessUtils.destroyProcessTree(process);
+    }
+
+    private void write(final String sentinel, final String command) throws IOException {
+        stdIn.write(String.format(COMMAND_FORMAT, command, EXIT_CODE_SEPARATOR, sentinel, sentinel));
+        stdIn.flush();
+    }
+
+    private String readUntilSentinel(final BufferedReader reader, final String sentinel, final List<String> lines) {
+        try {
+            String line = reader.readLine();
+            while (line != null) {
+                final int sentinelIndex = line.indexOf(sentinel);
+                if (sentinelIndex >= 0) {
+                    if (sentinelIndex > 0) {
+                        lines.add(line.substring(0, sentinelIndex));
+                    }
+                    return line.substring(sentinelIndex + sentinel.length());
+                }
+                lines.add(line);
+                line = reader.readLine();
+            }
+            throw new IOException("The shell coprocess has terminated unexpectedly");
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
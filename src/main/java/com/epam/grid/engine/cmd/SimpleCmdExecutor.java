@@ -20,8 +20,9 @@
 package com.epam.grid.engine.cmd;
 
 import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.StreamedCommandResult;
 import com.epam.grid.engine.exception.GridEngineException;
-import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
@@ -29,59 +30,394 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static com.epam.grid.engine.utils.TextConstants.SPACE;
 
 @Component
+@RequiredArgsConstructor
 public class SimpleCmdExecutor implements CmdExecutor {
 
+    /**
+     * The shared pool that drains output streams of the spawned processes.
+     */
+    private final OutputReaderPool outputReaderPool;
+
+    /**
+     * The policy which determines how long the command is allowed to run.
+     */
+    private final CommandTimeoutPolicy timeoutPolicy;
+
+    /**
+     * The policy which determines how much output the command is allowed to produce.
+     */
+    private final CommandOutputPolicy outputPolicy;
+
+    /**
+     * The metrics of the executed commands.
+     */
+    private final CommandMetrics metrics;
+
     @Override
     public CommandResult execute(final String... arguments) {
+        final Duration timeout = timeoutPolicy.getTimeout(arguments);
+        final long deadline = System.nanoTime() + timeout.toNanos();
         final ProcessBuilder processBuilder = new ProcessBuilder();
         processBuilder.command(arguments);
+        final CommandMetrics.Execution execution = metrics.start(arguments);
         Process process = null;
         try {
             process = processBuilder.start();
+            execution.spawned();
 
-            final AsyncOutputReader asyncOutputReader = new AsyncOutputReader(process);
-            final List<String> stdOut = new ArrayList<>();
-            final List<String> stdErr = new ArrayList<>();
+            final AsyncOutputReader asyncOutputReader = new AsyncOutputReader(process, outputReaderPool, execution);
+            final List<String> stdOut = outputPolicy.newOutputBuffer(arguments);
+            final List<String> stdErr = outputPolicy.newOutputBuffer(arguments);
             asyncOutputReader.readLinesToLists(stdOut, stdErr);
-            final int exitCode = process.waitFor();
-            asyncOutputReader.shutdown();
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                ProcessUtils.destroyProcessTree(process);
+                throw timeoutPolicy.onTimeout(timeout, arguments);
+            }
+            final int exitCode = process.exitValue();
+            asyncOutputReader.awaitCompletion(deadline);
+            execution.completed(exitCode);
 
             return new CommandResult(stdOut, exitCode, stdErr);
-        } catch (final InterruptedException | ExecutionException e) {
+        } catch (final TimeoutException e) {
+            ProcessUtils.destroyProcessTree(process);
+            throw timeoutPolicy.onTimeout(timeout, arguments);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments), e);
+        } catch (final ExecutionException e) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments), e);
+        } catch (final GridEngineException e) {
+            throw e;
+        } catch (final RuntimeException | IOException e) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while reading output of the command: " + String.join(SPACE, arguments), e);
+        } finally {
+            if (process != null && process.isAlive()) {
+                ProcessUtils.destroyProcessTree(process);
+            }
+            execution.finish();
+        }
+    }
+
+    /**
+     * Executes the command without occupying the calling thread. The process exit is awaited
+     * with {@link Process#onExit()}, the output is polled by the shared output reader pool.
+     * The stages depending on the returned future run with the deadline of the calling thread.
+     * Cancelling the returned future destroys the process.
+     *
+     * @param arguments The command structure.
+     * @return The future of the command result.
+     */
+    @Override
+    public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+        final Duration timeout;
+        try {
+            timeout = timeoutPolicy.getTimeout(arguments);
+        } catch (final GridEngineException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final CommandMetrics.Execution execution = metrics.start(arguments);
+        final Process process;
+        try {
+            process = new ProcessBuilder(arguments).start();
+            execution.spawned();
+        } catch (final RuntimeException | IOException e) {
+            execution.finish();
+            return CompletableFuture.failedFuture(new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments), e));
+        }
+        try {
+            final AsyncOutputReader asyncOutputReader = new AsyncOutputReader(process, outputReaderPool, execution);
+            final List<String> stdOut = outputPolicy.newOutputBuffer(arguments);
+            final List<String> stdErr = outputPolicy.newOutputBuffer(arguments);
+            final CompletableFuture<CommandResult> completion = process.onExit()
+                    .thenCombine(asyncOutputReader.readLinesToListsAsync(stdOut, stdErr),
+                        (exitedProcess, ignored) -> new CommandResult(stdOut, exitedProcess.exitValue(), stdErr))
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .handle((result, error) -> {
+                        if (process.isAlive()) {
+                            ProcessUtils.destroyProcessTree(process);
+                        }
+                        if (error != null) {
+                            execution.finish();
+                            throw toGridEngineException(error, timeout, arguments);
+                        }
+                        execution.completed(result.getExitCode());
+                        execution.finish();
+                        return result;
+                    });
+            completion.whenComplete((result, error) -> {
+                if (completion.isCancelled()) {
+                    execution.cancelled();
+                    ProcessUtils.destroyProcessTree(process);
+                }
+            });
+            return CommandDeadline.propagate(completion);
+        } catch (final GridEngineException e) {
+            ProcessUtils.destroyProcessTree(process);
+            execution.finish();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private GridEngineException toGridEngineException(final Throwable error, final Duration timeout,
+                                                      final String... arguments) {
+        final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof TimeoutException) {
+            return timeoutPolicy.onTimeout(timeout, arguments);
+        }
+        if (cause instanceof GridEngineException) {
+            return (GridEngineException) cause;
+        }
+        return new GridEngineException(HttpStatus.NOT_FOUND,
+                "Something went wrong while reading output of the command: " + String.join(SPACE, arguments), cause);
+    }
+
+    @Override
+    public <T> StreamedCommandResult<T> executeStreaming(final CommandOutputHandler<T> stdOutHandler,
+                                                         final String... arguments) {
+        final Duration timeout = timeoutPolicy.getTimeout(arguments);
+        final long deadline = System.nanoTime() + timeout.toNanos();
+        final ProcessBuilder processBuilder = new ProcessBuilder();
+        processBuilder.command(arguments);
+        final CommandMetrics.Execution execution = metrics.start(arguments);
+        Process process = null;
+        try {
+            process = processBuilder.start();
+            execution.spawned();
+
+            final AsyncOutputReader asyncOutputReader = new AsyncOutputReader(process, outputReaderPool, execution);
+            final List<String> stdErr = outputPolicy.newOutputBuffer(arguments);
+            final Future<T> output = asyncOutputReader.handleOutput(stdOutHandler, stdErr);
+            if (!process.waitFor(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                ProcessUtils.destroyProcessTree(process);
+                throw timeoutPolicy.onTimeout(timeout, arguments);
+            }
+            final int exitCode = process.exitValue();
+            asyncOutputReader.awaitCompletion(deadline);
+
+            final T handledOutput = getHandledOutput(output, exitCode, deadline, arguments);
+            execution.completed(exitCode);
+            return new StreamedCommandResult<>(handledOutput, exitCode, stdErr);
+        } catch (final TimeoutException e) {
+            ProcessUtils.destroyProcessTree(process);
+            throw timeoutPolicy.onTimeout(timeout, arguments);
+        } catch (final InterruptedException e) {
             Thread.currentThread().interrupt();
             throw new GridEngineException(HttpStatus.NOT_FOUND,
                     "Something went wrong while executing the command: " + String.join(SPACE, arguments), e);
+        } catch (final ExecutionException e) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments), e);
+        } catch (final GridEngineException e) {
+            throw e;
         } catch (final RuntimeException | IOException e) {
             throw new GridEngineException(HttpStatus.NOT_FOUND,
                     "Something went wrong while reading output of the command: " + String.join(SPACE, arguments), e);
         } finally {
             if (process != null && process.isAlive()) {
-                process.destroy();
+                ProcessUtils.destroyProcessTree(process);
             }
+            execution.finish();
+        }
+    }
+
+    /**
+     * Executes the command passing its standard output to the handler without occupying the calling thread.
+     * The process exit is awaited with {@link Process#onExit()}, the handler is run by the shared output
+     * reader pool. The stages depending on the returned future run with the deadline of the calling thread.
+     * Cancelling the returned future destroys the process.
+     *
+     * @param stdOutHandler The consumer of the standard output.
+     * @param arguments     The command structure.
+     * @param <T>           The type of the value produced from the standard output.
+     * @return The future of the value produced by the handler, the exit code and the standard error output.
+     */
+    @Override
+    public <T> CompletableFuture<StreamedCommandResult<T>> executeStreamingAsync(
+            final CommandOutputHandler<T> stdOutHandler, final String... arguments) {
+        final Duration timeout;
+        try {
+            timeout = timeoutPolicy.getTimeout(arguments);
+        } catch (final GridEngineException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        final CommandMetrics.Execution execution = metrics.start(arguments);
+        final Process process;
+        try {
+            process = new ProcessBuilder(arguments).start();
+            execution.spawned();
+        } catch (final RuntimeException | IOException e) {
+            execution.finish();
+            return CompletableFuture.failedFuture(new GridEngineException(HttpStatus.NOT_FOUND,
+                    "Something went wrong while executing the command: " + String.join(SPACE, arguments), e));
+        }
+        try {
+            final AsyncOutputReader asyncOutputReader = new AsyncOutputReader(process, outputReaderPool, execution);
+            final List<String> stdErr = outputPolicy.newOutputBuffer(arguments);
+            final OutputReaderPool.Readers<T> readers = asyncOutputReader.handleOutputAsync(stdOutHandler, stdErr);
+            // the handler errors are only reported once the exit code is known
+            final CompletableFuture<Void> outputRead = CompletableFuture.allOf(readers.getStdOut(),
+                    readers.getStdErr()).handle((ignored, error) -> null);
+            final CompletableFuture<StreamedCommandResult<T>> completion = process.onExit()
+                    .thenCombine(outputRead, (exitedProcess, ignored) -> exitedProcess.exitValue())
+                    .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .handle((exitCode, error) -> {
+                        if (process.isAlive()) {
+                            ProcessUtils.destroyProcessTree(process);
+                        }
+                        try {
+                            if (error != null) {
+                                throw toGridEngineException(error, timeout, arguments);
+                            }
+                            readers.getStdErr().join();
+                            final T handledOutput = getCompletedOutput(readers.getStdOut(), exitCode, arguments);
+                            execution.completed(exitCode);
+                            return new StreamedCommandResult<>(handledOutput, exitCode, stdErr);
+                        } catch (final CompletionException e) {
+                            throw toGridEngineException(e, timeout, arguments);
+                        } finally {
+                            execution.finish();
+                        }
+                    });
+            completion.whenComplete((result, error) -> {
+                if (completion.isCancelled()) {
+                    execution.cancelled();
+                    ProcessUtils.destroyProcessTree(process);
+                }
+            });
+            return CommandDeadline.propagate(completion);
+        } catch (final GridEngineException e) {
+            ProcessUtils.destroyProcessTree(process);
+            execution.finish();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static <T> T getHandledOutput(final Future<T> output, final int exitCode, final long deadline,
+                                          final String... arguments)
+            throws InterruptedException, TimeoutException {
+        try {
+            return output.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (final ExecutionException e) {
+            return onHandlerError(e.getCause(), exitCode, arguments);
+        }
+    }
+
+    private static <T> T getCompletedOutput(final CompletableFuture<T> output, final int exitCode,
+                                            final String... arguments) {
+        try {
+            return output.join();
+        } catch (final CompletionException e) {
+            return onHandlerError(e.getCause(), exitCode, arguments);
+        }
+    }
+
+    private static long remainingNanos(final long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    // The handler errors are ignored if the command has failed, since the output is not the expected one then
+    private static <T> T onHandlerError(final Throwable error, final int exitCode, final String... arguments) {
+        if (exitCode != 0) {
+            return null;
         }
+        if (error instanceof GridEngineException) {
+            throw (GridEngineException) error;
+        }
+        throw new GridEngineException(HttpStatus.NOT_FOUND,
+                "Something went wrong while handling output of the command: " + String.join(SPACE, arguments),
+                error);
     }
 
-    @AllArgsConstructor
+    @RequiredArgsConstructor
     static class AsyncOutputReader {
         private static final String CANNOT_READ_CMD_EXECUTION_RESULT = "Cannot read command execution result";
 
         private final Process process;
-        private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        private final OutputReaderPool outputReaderPool;
+        private final CommandMetrics.Execution execution;
         private final List<Future<?>> futures = new ArrayList<>();
 
         public void readLinesToLists(final List<String> outLines, final List<String> errLines) {
-            futures.add(executorService.submit(() -> readOutputStream(process.getInputStream(), outLines)));
-            futures.add(executorService.submit(() -> readOutputStream(process.getErrorStream(), errLines)));
+            final OutputReaderPool.Readers<Void> readers = readLines(outLines, errLines);
+            futures.add(readers.getStdOut());
+            futures.add(readers.getStdErr());
+        }
+
+        public CompletableFuture<Void> readLinesToListsAsync(final List<String> outLines,
+                                                             final List<String> errLines) {
+            return outputReaderPool.pollLines(process, getStdOut(), outLines, getStdErr(), errLines);
+        }
+
+        public <T> Future<T> handleOutput(final CommandOutputHandler<T> stdOutHandler, final List<String> errLines) {
+            final OutputReaderPool.Readers<T> readers = handleOutputAsync(stdOutHandler, errLines);
+            futures.add(readers.getStdErr());
+            return readers.getStdOut();
+        }
+
+        public <T> OutputReaderPool.Readers<T> handleOutputAsync(final CommandOutputHandler<T> stdOutHandler,
+                                                                 final List<String> errLines) {
+            return outputReaderPool.submit(
+                    () -> handleOutputStream(getStdOut(), stdOutHandler),
+                    () -> readOutputStream(getStdErr(), errLines));
+        }
+
+        private OutputReaderPool.Readers<Void> readLines(final List<String> outLines, final List<String> errLines) {
+            return outputReaderPool.submit(() -> {
+                readOutputStream(getStdOut(), outLines);
+                return null;
+            }, () -> readOutputStream(getStdErr(), errLines));
+        }
+
+        private InputStream getStdOut() {
+            return execution.countStdOut(process.getInputStream());
+        }
+
+        private InputStream getStdErr() {
+            return execution.countStdErr(process.getErrorStream());
+        }
+
+        private <T> T handleOutputStream(final InputStream inputStream, final CommandOutputHandler<T> stdOutHandler)
+                throws IOException {
+            try (inputStream) {
+                try {
+                    return stdOutHandler.handle(inputStream);
+                } finally {
+                    drain(inputStream);
+                }
+            }
+        }
+
+        /**
+         * Discards the output the handler has not consumed, so that the process is not blocked
+         * on writing to a full pipe.
+         */
+        private void drain(final InputStream inputStream) {
+            try {
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            } catch (final IOException e) {
+                // the stream has already been closed, so the process cannot be blocked by it
+                return;
+            }
         }
 
         private void readOutputStream(final InputStream inputStream, final List<String> result) {
@@ -89,16 +425,29 @@ public class SimpleCmdExecutor implements CmdExecutor {
                 reader.lines().forEach(result::add);
             } catch (final IOException e) {
                 throw new GridEngineException(HttpStatus.INTERNAL_SERVER_ERROR, CANNOT_READ_CMD_EXECUTION_RESULT, e);
+            } catch (final GridEngineException e) {
+                ProcessUtils.destroyProcessTree(process);
+                throw e;
             }
         }
 
-        public void shutdown() throws ExecutionException, InterruptedException {
-            try {
-                for (Future<?> future : futures) {
-                    future.get();
+        /**
+         * Waits for the output readers, which may outlive the process if a grandchild keeps the pipes open.
+         *
+         * @param deadline The {@link System#nanoTime()} by which the output has to be read.
+         * @throws TimeoutException if the output isn't read by the deadline.
+         */
+        public void awaitCompletion(final long deadline)
+                throws ExecutionException, InterruptedException, TimeoutException {
+            for (Future<?> future : futures) {
+                try {
+                    future.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+                } catch (final ExecutionException e) {
+                    if (e.getCause() instanceof GridEngineException) {
+                        throw (GridEngineException) e.getCause();
+                    }
+                    throw e;
                 }
-            } finally {
-                executorService.shutdown();
             }
         }
     }
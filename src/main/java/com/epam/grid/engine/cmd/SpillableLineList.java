@@ -0,0 +1,370 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.exception.GridEngineException;
+import org.springframework.http.HttpStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A list of command output lines that keeps the lines in memory until their total size reaches
+ * the memory threshold and appends the rest to a temporary file, which is re-read lazily on access.
+ * Adding a line beyond the hard size limit fails with {@link HttpStatus#INSUFFICIENT_STORAGE}.
+ * The sizes are measured in bytes of the UTF-8 encoded lines including line separators.
+ * The offsets of the spilled lines are kept in memory, so a spilled line is read with a single positional read.
+ * The temporary file is deleted when the list is closed, the list is closed by the consumer of the command result.
+ * If it isn't, the file is deleted once the list and all its iterators and sublists become unreachable.
+ */
+class SpillableLineList extends AbstractList<String> implements Closeable {
+
+    private static final Cleaner CLEANER = Cleaner.create();
+    private static final String SPILL_FILE_PREFIX = "cmd-output-";
+    private static final String SPILL_FILE_SUFFIX = ".spill";
+    private static final int LINE_SEPARATOR = '\n';
+
+    private final List<String> memoryLines = new ArrayList<>();
+    private final long memoryThreshold;
+    private final long maxSize;
+    private final Path spillDirectory;
+    private final String command;
+    private long totalSize;
+    private int spilledLines;
+    private SpillFile spillFile;
+    private Cleaner.Cleanable cleanable;
+
+    /**
+     * Creates an empty list.
+     *
+     * @param memoryThreshold The size of the output kept in memory in bytes.
+     * @param maxSize         The maximum size of the output in bytes.
+     * @param spillDirectory  The directory for the temporary file.
+     * @param command         The command producing the output, used in error messages.
+     */
+    SpillableLineList(final long memoryThreshold, final long maxSize, final Path spillDirectory,
+                      final String command) {
+        this.memoryThreshold = memoryThreshold;
+        this.maxSize = maxSize;
+        this.spillDirectory = spillDirectory;
+        this.command = command;
+    }
+
+    /**
+     * Returns the number of bytes the line takes in the UTF-8 encoding including the line separator.
+     *
+     * @param line The output line.
+     * @return the encoded size of the line.
+     */
+    static long getEncodedSize(final String line) {
+        long size = 1;
+        for (int i = 0; i < line.length(); i++) {
+            final char character = line.charAt(i);
+            if (character < 0x80) {
+                size++;
+            } else if (character < 0x800) {
+                size += 2;
+            } else if (!Character.isSurrogate(character)) {
+                size += 3;
+            } else if (Character.isHighSurrogate(character) && i + 1 < line.length()
+                    && Character.isLowSurrogate(line.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean add(final String line) {
+        totalSize += getEncodedSize(line);
+        if (totalSize > maxSize) {
+            discard();
+            throw new GridEngineException(HttpStatus.INSUFFICIENT_STORAGE,
+                    String.format("The output of the command exceeds the limit of %d bytes: %s",
+                            maxSize, command));
+        }
+        if (spillFile == null && totalSize <= memoryThreshold) {
+            return memoryLines.add(line);
+        }
+        try {
+            getSpillFile().write(line);
+        } catch (final IOException e) {
+            discard();
+            throw new GridEngineException(HttpStatus.INSUFFICIENT_STORAGE,
+                    "Cannot store the output of the command: " + command, e);
+        }
+        spilledLines++;
+        return true;
+    }
+
+    @Override
+    public String get(final int index) {
+        if (index < memoryLines.size()) {
+            return memoryLines.get(index);
+        }
+        if (index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        try {
+            return spillFile.read(index - memoryLines.size());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        if (spillFile == null) {
+            return Collections.unmodifiableList(memoryLines).iterator();
+        }
+        return new SpilledLinesIterator();
+    }
+
+    @Override
+    public int size() {
+        return memoryLines.size() + spilledLines;
+    }
+
+    /**
+     * Deletes the temporary file, the spilled lines can't be read afterwards.
+     */
+    @Override
+    public void close() {
+        if (cleanable != null) {
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Returns the size of the output including the line terminators.
+     *
+     * @return the number of bytes added to the list.
+     */
+    long getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Checks whether a part of the lines has been moved to the temporary file.
+     *
+     * @return true if the lines have been spilled.
+     */
+    boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    private SpillFile getSpillFile() throws IOException {
+        if (spillFile == null) {
+            spillFile = new SpillFile(Files.createTempFile(spillDirectory, SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX));
+            cleanable = CLEANER.register(this, spillFile);
+        }
+        return spillFile;
+    }
+
+    private void discard() {
+        memoryLines.clear();
+        close();
+    }
+
+    /**
+     * The temporary file with the spilled lines and the index of their offsets. It is also the cleaning
+     * action of the list, so it must not refer to the list itself. The file is appended by the output reader
+     * and read and deleted by other threads, so all access to it is synchronized.
+     */
+    private static final class SpillFile implements Runnable {
+
+        private static final int INITIAL_INDEX_CAPACITY = 1024;
+
+        private final Path path;
+        private long[] lineOffsets = new long[INITIAL_INDEX_CAPACITY];
+        private int lines;
+        private long size;
+        private OutputStream writer;
+        private FileChannel reader;
+        private boolean deleted;
+
+        private SpillFile(final Path path) {
+            this.path = path;
+        }
+
+        private synchronized void write(final String line) throws IOException {
+            checkNotDeleted();
+            if (writer == null) {
+                writer = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.APPEND));
+            }
+            final byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            if (lines == lineOffsets.length) {
+                lineOffsets = Arrays.copyOf(lineOffsets, lines * 2);
+            }
+            lineOffsets[lines++] = size;
+            writer.write(bytes);
+            writer.write(LINE_SEPARATOR);
+            size += bytes.length + 1;
+        }
+
+        private synchronized String read(final int line) throws IOException {
+            checkNotDeleted();
+            flush();
+            if (reader == null) {
+                reader = FileChannel.open(path, StandardOpenOption.READ);
+            }
+            final long offset = lineOffsets[line];
+            final long end = line + 1 < lines ? lineOffsets[line + 1] : size;
+            final ByteBuffer buffer = ByteBuffer.allocate((int) (end - offset - 1));
+            while (buffer.hasRemaining()) {
+                if (reader.read(buffer, offset + buffer.position()) < 0) {
+                    throw new EOFException("The spilled output is truncated: " + path);
+                }
+            }
+            return new String(buffer.array(), StandardCharsets.UTF_8);
+        }
+
+        private synchronized BufferedReader open(final int line) throws IOException {
+            checkNotDeleted();
+            flush();
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                channel.position(lineOffsets[line]);
+            } catch (final IOException e) {
+                channel.close();
+                throw e;
+            }
+            return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+        }
+
+        private void checkNotDeleted() throws IOException {
+            if (deleted) {
+                throw new IOException("The spilled output has already been deleted: " + path);
+            }
+        }
+
+        private void flush() throws IOException {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public synchronized void run() {
+            deleted = true;
+            try {
+                if (writer != null) {
+                    writer.close();
+                    writer = null;
+                }
+                if (reader != null) {
+                    reader.close();
+                    reader = null;
+                }
+                Files.deleteIfExists(path);
+            } catch (final IOException e) {
+                path.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Iterates over the lines kept in memory and then reads the spilled lines sequentially,
+     * the temporary file is opened only when the in-memory lines are exhausted.
+     * The iterator refers to the list, so the file is not deleted while the iteration is in progress.
+     */
+    private final class SpilledLinesIterator implements Iterator<String> {
+
+        private int cursor;
+        private BufferedReader reader;
+
+        @Override
+        public boolean hasNext() {
+            if (cursor < size()) {
+                return true;
+            }
+            closeReader();
+            return false;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int index = cursor++;
+            if (index < memoryLines.size()) {
+                return memoryLines.get(index);
+            }
+            try {
+                return readLine(index - memoryLines.size());
+            } catch (final IOException e) {
+                closeReader();
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // Lines added after the reader was opened may not have been flushed yet, so the reader
+        // is reopened at the offset of the line when it runs into the end of the file
+        private String readLine(final int spilledIndex) throws IOException {
+            if (reader == null) {
+                reader = spillFile.open(spilledIndex);
+            }
+            final String line = reader.readLine();
+            if (line != null) {
+                return line;
+            }
+            closeReader();
+            reader = spillFile.open(spilledIndex);
+            return reader.readLine();
+        }
+
+        private void closeReader() {
+            if (reader == null) {
+                return;
+            }
+            try {
+                reader.close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                reader = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.controller;
+
+import com.epam.grid.engine.cmd.CommandDeadline;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * This filter reads the {@code X-Request-Timeout} header containing the number of milliseconds
+ * the client is ready to wait for the response, and sets the corresponding deadline
+ * for the commands executed while the request is processed.
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    /**
+     * The header containing the request timeout in milliseconds.
+     */
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        final String timeout = request.getHeader(REQUEST_TIMEOUT_HEADER);
+        if (!StringUtils.hasText(timeout) || !timeout.trim().matches("\\d+")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        CommandDeadline.set(Instant.now().plusMillis(Long.parseLong(timeout.trim())));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            CommandDeadline.clear();
+        }
+    }
+}
@@ -30,6 +30,8 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controller responsible for status checking operations.
  * Requests received are passed to underlying layer {@link HealthCheckProviderService} for processing
@@ -57,7 +59,7 @@ public class HealthCheckController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public HealthCheckInfo checkHealth() {
-        return healthCheckProviderService.checkHealth();
+    public CompletableFuture<HealthCheckInfo> checkHealth() {
+        return healthCheckProviderService.checkHealthAsync();
     }
 }
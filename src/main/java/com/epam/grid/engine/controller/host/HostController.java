@@ -35,6 +35,8 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * This controller is responsible for host management operations.
  * Requests received are passed to underlying layer {@link HostOperationProviderService} for processing.
@@ -68,7 +70,7 @@ public class HostController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public Listing<Host> listHosts(@RequestBody(required = false) final HostFilter hostFilter) {
-        return hostOperationProviderService.filter(hostFilter);
+    public CompletableFuture<Listing<Host>> listHosts(@RequestBody(required = false) final HostFilter hostFilter) {
+        return hostOperationProviderService.filterAsync(hostFilter);
     }
 }
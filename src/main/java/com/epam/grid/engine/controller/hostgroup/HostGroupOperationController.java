@@ -37,6 +37,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The controller that receives web requests from users and transmits it
@@ -70,8 +71,9 @@ public class HostGroupOperationController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public List<HostGroup> listHostGroups(@RequestBody(required = false) final HostGroupFilter hostGroupFilter) {
-        return hostGroupOperationProviderService.listHostGroups(hostGroupFilter);
+    public CompletableFuture<List<HostGroup>> listHostGroups(
+            @RequestBody(required = false) final HostGroupFilter hostGroupFilter) {
+        return hostGroupOperationProviderService.listHostGroupsAsync(hostGroupFilter);
     }
 
     /**
@@ -92,7 +94,7 @@ public class HostGroupOperationController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public HostGroup getHostGroup(@PathVariable("groupname") final String groupName) {
-        return hostGroupOperationProviderService.getHostGroup(groupName);
+    public CompletableFuture<HostGroup> getHostGroup(@PathVariable("groupname") final String groupName) {
+        return hostGroupOperationProviderService.getHostGroupAsync(groupName);
     }
 }
@@ -24,9 +24,11 @@ import com.epam.grid.engine.entity.JobFilter;
 import com.epam.grid.engine.entity.job.DeleteJobFilter;
 import com.epam.grid.engine.entity.job.DeletedJobInfo;
 import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobAwaitResult;
 import com.epam.grid.engine.entity.Listing;
 import com.epam.grid.engine.entity.job.JobOptions;
 import com.epam.grid.engine.entity.job.JobLogInfo;
+import com.epam.grid.engine.entity.job.JobState;
 import com.epam.grid.engine.exception.GridEngineException;
 import com.epam.grid.engine.service.JobOperationProviderService;
 import io.swagger.annotations.ApiOperation;
@@ -37,6 +39,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -44,10 +47,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This controller is responsible for job management operations.
@@ -59,6 +65,7 @@ public class JobOperationController extends AbstractRestController {
 
     private static final String JOB_ID = "jobId";
     private static final String JOB_ID_LOGS_URL_SECTION = "/{" + JOB_ID + ":[\\d]+}/logs";
+    private static final String JOB_ID_AWAIT_URL_SECTION = "/{" + JOB_ID + ":[\\d]+}/await";
     private static final String LOG_TYPE_ID = "type";
     private static final String INTERNAL_ERROR = "Internal error";
     private static final String MISSING_OR_INVALID_REQUEST_BODY = "Missing or invalid request body";
@@ -67,6 +74,11 @@ public class JobOperationController extends AbstractRestController {
     private static final String SUCCESSFULLY_DELETED = "Job deleted successfully";
     private static final String SUCCESSFULLY_SUBMITTED = "Job submitted successfully";
     private static final String SUCCESSFULLY_RECEIVED_LOG = "Log received successfully";
+    private static final String SUCCESSFULLY_SUBSCRIBED = "Subscribed to job events successfully";
+    private static final String SNAPSHOT_DISABLED = "The job snapshot is disabled";
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+    private static final String SUCCESSFULLY_AWAITED = "Job awaited successfully";
+    private static final String INVALID_TIMEOUT = "Invalid timeout";
 
     /**
      * This field contains the service class to which the data received from the user is transmitted.
@@ -90,8 +102,72 @@ public class JobOperationController extends AbstractRestController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public Listing<Job> filterJobs(@RequestBody(required = false) final JobFilter jobFilter) {
-        return providerService.filter(jobFilter);
+    public CompletableFuture<Listing<Job>> filterJobs(@RequestBody(required = false) final JobFilter jobFilter) {
+        return providerService.filterAsync(jobFilter);
+    }
+
+    /**
+     * Streams the changes of the jobs as Server-Sent Events: {@code submitted}, {@code state-changed}
+     * and {@code disappeared}, found by diffing the successive job snapshots.
+     *
+     * @param owners      The owners of the jobs.
+     * @param ids         The ids of the jobs.
+     * @param names       The names of the jobs.
+     * @param lastEventId The id of the last event received before reconnecting.
+     * @return the emitter of the events.
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "Stream job events",
+            notes = "Streams the submitted, state-changed and disappeared events of the jobs of the owners "
+                    + "having the ids or the names. A reconnected client resumes from the Last-Event-ID header, "
+                    + "or gets a reset event if the events following it are no longer available. "
+                    + "Requires the job snapshot to be enabled.",
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = SUCCESSFULLY_SUBSCRIBED),
+            @ApiResponse(code = 503, message = SNAPSHOT_DISABLED)
+    })
+    public SseEmitter streamJobEvents(
+            @RequestParam(value = "owners", required = false) final List<String> owners,
+            @RequestParam(value = "ids", required = false) final List<Integer> ids,
+            @RequestParam(value = "names", required = false) final List<String> names,
+            @RequestHeader(value = LAST_EVENT_ID_HEADER, required = false) final Long lastEventId) {
+        return providerService.subscribeToEvents(JobFilter.builder()
+                .owners(owners)
+                .ids(ids)
+                .names(names)
+                .build(), lastEventId);
+    }
+
+    /**
+     * Waits for the job to reach the state category, the request is parked without holding a servlet thread.
+     *
+     * @param jobId    The job identifier.
+     * @param category The state category to wait for, a job awaited to finish reaches it when it leaves
+     *                 the grid engine listing.
+     * @param timeout  The time to wait for, e.g. {@code 90s}.
+     * @return the outcome of waiting and the job as it was last seen.
+     */
+    @GetMapping(JOB_ID_AWAIT_URL_SECTION)
+    @ResponseStatus(HttpStatus.OK)
+    @ApiOperation(value = "Await a job state",
+            notes = "Completes when the job reaches the state category, disappears from the grid engine "
+                    + "or the timeout expires. A job awaited to finish, which is the default, reaches the state "
+                    + "when it disappears from the grid engine. Requires the job snapshot to be enabled.",
+            produces = MediaType.APPLICATION_JSON_VALUE
+    )
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = SUCCESSFULLY_AWAITED),
+            @ApiResponse(code = 400, message = INVALID_TIMEOUT),
+            @ApiResponse(code = 503, message = SNAPSHOT_DISABLED)
+    })
+    public CompletableFuture<JobAwaitResult> awaitJob(
+            @PathVariable(JOB_ID) final int jobId,
+            @RequestParam(value = "state", required = false, defaultValue = "FINISHED")
+            final JobState.Category category,
+            @RequestParam(value = "timeout", required = false) final String timeout) {
+        return providerService.awaitJobAsync(jobId, category, timeout);
     }
 
     /**
@@ -112,8 +188,8 @@ public class JobOperationController extends AbstractRestController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public DeletedJobInfo deleteJob(@RequestBody final DeleteJobFilter deleteJobFilter) {
-        return providerService.deleteJob(deleteJobFilter);
+    public CompletableFuture<DeletedJobInfo> deleteJob(@RequestBody final DeleteJobFilter deleteJobFilter) {
+        return providerService.deleteJobAsync(deleteJobFilter);
     }
 
     /**
@@ -132,8 +208,8 @@ public class JobOperationController extends AbstractRestController {
             @ApiResponse(code = 400, message = MISSING_OR_INVALID_REQUEST_BODY),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public Job runJob(@RequestBody final JobOptions options) {
-        return providerService.runJob(options);
+    public CompletableFuture<Job> runJob(@RequestBody final JobOptions options) {
+        return providerService.runJobAsync(options);
     }
 
     /**
@@ -158,13 +234,12 @@ public class JobOperationController extends AbstractRestController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR),
     })
-    public JobLogInfo getJobLogInfo(@PathVariable(JOB_ID) final int jobId,
-                                    @RequestParam(value = LOG_TYPE_ID,
-                                            required = false, defaultValue = "ERR") final JobLogInfo.Type logType,
-                                    @RequestParam(value = "lines",
-                                            required = false, defaultValue = "0") final int lines,
-                                    @RequestParam(value = "fromHead", required = false) final boolean fromHead) {
-        return providerService.getJobLogInfo(jobId, logType, lines, fromHead);
+    public CompletableFuture<JobLogInfo> getJobLogInfo(
+            @PathVariable(JOB_ID) final int jobId,
+            @RequestParam(value = LOG_TYPE_ID, required = false, defaultValue = "ERR") final JobLogInfo.Type logType,
+            @RequestParam(value = "lines", required = false, defaultValue = "0") final int lines,
+            @RequestParam(value = "fromHead", required = false) final boolean fromHead) {
+        return providerService.getJobLogInfoAsync(jobId, logType, lines, fromHead);
     }
 
     /**
@@ -39,6 +39,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This controller is responsible for parallel environment management operations.
@@ -81,9 +82,9 @@ public class ParallelEnvController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public List<ParallelEnv> listParallelEnv(@RequestBody(required = false)
-                                                 final ParallelEnvFilter parallelEnvFilter) {
-        return parallelEnvOperationProviderService.filterParallelEnvs(parallelEnvFilter);
+    public CompletableFuture<List<ParallelEnv>> listParallelEnv(
+            @RequestBody(required = false) final ParallelEnvFilter parallelEnvFilter) {
+        return parallelEnvOperationProviderService.filterParallelEnvsAsync(parallelEnvFilter);
     }
 
     /**
@@ -103,8 +104,8 @@ public class ParallelEnvController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public ParallelEnv getParallelEnv(@PathVariable("name") final String peName) {
-        return parallelEnvOperationProviderService.getParallelEnv(peName);
+    public CompletableFuture<ParallelEnv> getParallelEnv(@PathVariable("name") final String peName) {
+        return parallelEnvOperationProviderService.getParallelEnvAsync(peName);
     }
 
     /**
@@ -124,8 +125,8 @@ public class ParallelEnvController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public ParallelEnv deleteParallelEnv(@PathVariable("name") final String parallelEnvName) {
-        return parallelEnvOperationProviderService.deleteParallelEnv(parallelEnvName);
+    public CompletableFuture<ParallelEnv> deleteParallelEnv(@PathVariable("name") final String parallelEnvName) {
+        return parallelEnvOperationProviderService.deleteParallelEnvAsync(parallelEnvName);
     }
 
     /**
@@ -148,7 +149,7 @@ public class ParallelEnvController {
             @ApiResponse(code = 404, message = PE_REGISTRATION_PARAMETERS_NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public ParallelEnv registerParallelEnv(@RequestBody final PeRegistrationVO registrationRequest) {
-        return parallelEnvOperationProviderService.registerParallelEnv(registrationRequest);
+    public CompletableFuture<ParallelEnv> registerParallelEnv(@RequestBody final PeRegistrationVO registrationRequest) {
+        return parallelEnvOperationProviderService.registerParallelEnvAsync(registrationRequest);
     }
 }
@@ -40,6 +40,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The class which receives web requests from users and transmits it
@@ -84,8 +85,8 @@ public class QueueOperationController {
             @ApiResponse(code = 404, message = QUEUE_NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public List<Queue> listQueueNames() {
-        return queueOperationProviderService.listQueues();
+    public CompletableFuture<List<Queue>> listQueueNames() {
+        return queueOperationProviderService.listQueuesAsync();
     }
 
     /**
@@ -106,8 +107,8 @@ public class QueueOperationController {
             @ApiResponse(code = 404, message = QUEUE_NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public List<Queue> listQueues(@RequestBody(required = false) final QueueFilter queueFilter) {
-        return queueOperationProviderService.listQueues(queueFilter);
+    public CompletableFuture<List<Queue>> listQueues(@RequestBody(required = false) final QueueFilter queueFilter) {
+        return queueOperationProviderService.listQueuesAsync(queueFilter);
     }
 
     /**
@@ -128,8 +129,8 @@ public class QueueOperationController {
             @ApiResponse(code = 404, message = QUEUE_NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public Queue deleteQueue(@PathVariable("queue_name") final String queueName) {
-        return queueOperationProviderService.deleteQueue(queueName);
+    public CompletableFuture<Queue> deleteQueue(@PathVariable("queue_name") final String queueName) {
+        return queueOperationProviderService.deleteQueueAsync(queueName);
     }
 
     /**
@@ -152,8 +153,8 @@ public class QueueOperationController {
             @ApiResponse(code = 404, message = QUEUE_REGISTRATION_PARAMETERS_NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public Queue registerQueue(@RequestBody final QueueVO registrationRequest) {
-        return queueOperationProviderService.registerQueue(registrationRequest);
+    public CompletableFuture<Queue> registerQueue(@RequestBody final QueueVO registrationRequest) {
+        return queueOperationProviderService.registerQueueAsync(registrationRequest);
     }
 
     /**
@@ -176,7 +177,7 @@ public class QueueOperationController {
             @ApiResponse(code = 404, message = QUEUE_UPDATE_PARAMETERS_NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public Queue updateQueue(@RequestBody final QueueVO updateRequest) {
-        return queueOperationProviderService.updateQueue(updateRequest);
+    public CompletableFuture<Queue> updateQueue(@RequestBody final QueueVO updateRequest) {
+        return queueOperationProviderService.updateQueueAsync(updateRequest);
     }
 }
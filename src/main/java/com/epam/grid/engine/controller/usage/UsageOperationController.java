@@ -34,6 +34,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * This controller handles usage-related requests addressed to preassigned grid engine system.
  */
@@ -67,7 +69,7 @@ public class UsageOperationController {
             @ApiResponse(code = 404, message = NOT_FOUND),
             @ApiResponse(code = 500, message = INTERNAL_ERROR)
     })
-    public UsageReport getUsageReport(@RequestBody final UsageReportFilter filter) {
-        return usageOperationProviderService.getUsageReport(filter);
+    public CompletableFuture<UsageReport> getUsageReport(@RequestBody final UsageReportFilter filter) {
+        return usageOperationProviderService.getUsageReportAsync(filter);
     }
 }
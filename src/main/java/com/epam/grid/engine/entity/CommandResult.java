@@ -24,14 +24,37 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Data
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class CommandResult {
+public class CommandResult implements AutoCloseable {
     private List<String> stdOut;
     private int exitCode;
     private List<String> stdErr;
+
+    /**
+     * Releases the storage of the output, e.g. deletes the temporary file a large output has been spilled to.
+     * The output mustn't be read after the result is closed.
+     */
+    @Override
+    public void close() {
+        closeOutput(stdOut);
+        closeOutput(stdErr);
+    }
+
+    private static void closeOutput(final List<String> lines) {
+        if (lines instanceof Closeable) {
+            try {
+                ((Closeable) lines).close();
+            } catch (final IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
@@ -26,5 +26,9 @@ public enum EngineType {
     /**
      * Sun Grig Engine.
      */
-    SGE
+    SGE,
+    /**
+     * The in-memory simulated grid engine, see {@link com.epam.grid.engine.provider.utils.sim.SimCluster}.
+     */
+    SIM
 }
@@ -19,11 +19,13 @@
 
 package com.epam.grid.engine.entity;
 
+import com.epam.grid.engine.entity.job.JobState;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -50,4 +52,44 @@ public class JobFilter {
      * A list of job owners.
      */
     private List<String> owners;
+    /**
+     * A list of queues, either cluster queues or queue instances like {@code main@host}.
+     */
+    private List<String> queues;
+    /**
+     * A list of state categories of jobs.
+     */
+    private List<JobState.Category> categories;
+    /**
+     * The earliest submission time of jobs, inclusive. The running jobs are compared by their start time.
+     */
+    private LocalDateTime submittedFrom;
+    /**
+     * The latest submission time of jobs, inclusive. The running jobs are compared by their start time.
+     */
+    private LocalDateTime submittedTo;
+    /**
+     * The minimum priority of jobs, inclusive.
+     */
+    private Double minPriority;
+    /**
+     * The maximum priority of jobs, inclusive.
+     */
+    private Double maxPriority;
+    /**
+     * Whether the jobs are read from the grid engine even if the job snapshot is enabled.
+     */
+    private boolean fresh;
+    /**
+     * The maximum number of jobs returned, all matching jobs are returned if it's not set.
+     */
+    private Integer limit;
+    /**
+     * The opaque cursor the next page starts after, taken from the previous page.
+     */
+    private String cursor;
+    /**
+     * The keys the jobs are sorted by, the jobs are sorted by id if a page is requested without them.
+     */
+    private List<JobSort> sort;
 }
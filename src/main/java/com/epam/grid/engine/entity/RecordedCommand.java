@@ -0,0 +1,54 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * An executed command together with its result, as stored in a command corpus.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecordedCommand {
+    private List<String> arguments;
+    private List<String> stdOut;
+    private List<String> stdErr;
+    private int exitCode;
+
+    /**
+     * The time between the start of the command and the availability of its result.
+     */
+    private long durationNanos;
+
+    /**
+     * Converts the record to the result of the command.
+     *
+     * @return The command result.
+     */
+    public CommandResult toCommandResult() {
+        return new CommandResult(stdOut, exitCode, stdErr);
+    }
+}
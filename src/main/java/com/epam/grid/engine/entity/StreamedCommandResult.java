@@ -0,0 +1,51 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of a command whose standard output was consumed while the command was running.
+ *
+ * @param <T> The type of the value produced from the standard output.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreamedCommandResult<T> {
+    private T output;
+    private int exitCode;
+    private List<String> stdErr;
+
+    /**
+     * Converts this result to the {@link CommandResult} without the standard output,
+     * e.g. to report the execution details of the failed command.
+     *
+     * @return The command result with an empty standard output.
+     */
+    public CommandResult toCommandResult() {
+        return new CommandResult(Collections.emptyList(), exitCode, stdErr);
+    }
+}
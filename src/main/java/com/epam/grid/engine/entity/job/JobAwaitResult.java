@@ -0,0 +1,64 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.entity.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * This class represents the result of waiting for a job to reach a state category.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobAwaitResult {
+
+    private Outcome outcome;
+
+    /**
+     * The job as it was last seen, null if it hasn't been seen while waiting.
+     */
+    private Job job;
+
+    /**
+     * Possible outcomes of waiting.
+     */
+    public enum Outcome {
+
+        /**
+         * The job has reached the requested state category. A job awaited to finish reaches it
+         * when it leaves the snapshot after it has been seen.
+         */
+        REACHED,
+
+        /**
+         * The job has left the snapshot before reaching the requested state category, e.g. it has finished
+         * or has been deleted, or a job awaited to finish has never been seen.
+         */
+        DISAPPEARED,
+
+        /**
+         * The job hasn't reached the requested state category in time.
+         */
+        TIMED_OUT
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.entity.job;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * This class represents a change of a job noticed between two job snapshots.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class JobEvent {
+
+    /**
+     * The identifier of the event, it grows with every event and is sent as the SSE event id.
+     */
+    private long id;
+
+    private Type type;
+
+    /**
+     * The time the snapshot that revealed the change was taken.
+     */
+    private LocalDateTime time;
+
+    private long snapshotVersion;
+
+    /**
+     * The job, as it was last seen for a disappeared job.
+     */
+    private Job job;
+
+    /**
+     * The state of the job in the previous snapshot, set for a changed state only.
+     */
+    private JobState previousState;
+
+    /**
+     * Possible job changes.
+     */
+    public enum Type {
+
+        /**
+         * The job has appeared in the snapshot.
+         */
+        SUBMITTED,
+
+        /**
+         * The state code of the job has changed.
+         */
+        STATE_CHANGED,
+
+        /**
+         * The job has left the snapshot, e.g. it has finished or has been deleted.
+         */
+        DISAPPEARED
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.entity.job;
+
+import com.epam.grid.engine.entity.Listing;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * This class represents a list of jobs answered from a job snapshot or a page of jobs.
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class JobListing extends Listing<Job> {
+
+    /**
+     * The version of the snapshot, it grows with every refresh.
+     */
+    private Long snapshotVersion;
+
+    /**
+     * The time since the snapshot was taken, in milliseconds.
+     */
+    private Long snapshotAgeMillis;
+
+    /**
+     * The cursor of the next page, null if it's the last page.
+     */
+    private String nextCursor;
+
+    public JobListing(final List<Job> elements, final Long snapshotVersion, final Long snapshotAgeMillis) {
+        super(elements);
+        this.snapshotVersion = snapshotVersion;
+        this.snapshotAgeMillis = snapshotAgeMillis;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import lombok.Setter;
+
+/**
+ * The base class of the Java Flight Recorder events describing the phases of a command execution.
+ * The events are disabled by default and are enabled with the {@code grid-engine-api.jfc} settings,
+ * so they cost next to nothing when no recording is running.
+ */
+@Setter
+@Category({"Grid Engine API", "Command"})
+@Enabled(false)
+@StackTrace(false)
+public abstract class CommandEvent extends Event {
+
+    // the fields are not private, otherwise the recorder ignores them in the subclasses
+    @Label("Template")
+    protected String template;
+
+    @Label("Engine Type")
+    protected String engine;
+
+    @Label("Outcome")
+    protected String outcome;
+
+    /**
+     * Ends the event and commits it if it passes the recording settings.
+     *
+     * @param outcome The outcome of the phase.
+     */
+    public void complete(final String outcome) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Execution of a command from the start of its process till the end of its output.
+ */
+@Setter
+@Name("com.epam.grid.engine.CommandExecute")
+@Label("Command Execute")
+@Description("Execution of a command from the start of its process till the end of its output")
+public class CommandExecuteEvent extends CommandEvent {
+
+    @Label("Exit Code")
+    private int exitCode;
+
+    @Label("Standard Output Size")
+    @DataAmount
+    private long stdOutBytes;
+
+    @Label("Standard Error Size")
+    @DataAmount
+    private long stdErrBytes;
+}
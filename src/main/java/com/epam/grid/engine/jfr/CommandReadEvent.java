@@ -0,0 +1,45 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.jfr;
+
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import lombok.Setter;
+
+/**
+ * Reading of one of the output streams of a command.
+ */
+@Setter
+@Name("com.epam.grid.engine.CommandRead")
+@Label("Command Read")
+@Description("Reading of one of the output streams of a command")
+public class CommandReadEvent extends CommandEvent {
+
+    @Label("Stream")
+    private String stream;
+
+    @Label("Size")
+    @DataAmount
+    private long bytes;
+
+    @Label("Lines")
+    private long lines;
+}
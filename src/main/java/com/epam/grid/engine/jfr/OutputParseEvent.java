@@ -0,0 +1,123 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Parsing of a command output into the grid engine entities.
+ * The event is disabled by default and is enabled with the {@code grid-engine-api.jfc} settings.
+ */
+@Name("com.epam.grid.engine.OutputParse")
+@Label("Output Parse")
+@Description("Parsing of a command output into the grid engine entities")
+@Category({"Grid Engine API", "Parsing"})
+@Enabled(false)
+@StackTrace(false)
+public class OutputParseEvent extends Event {
+
+    private static final String SUCCESS = "success";
+    private static final String ERROR = "error";
+
+    @Label("Parser")
+    private String parser;
+
+    @Label("Input Lines")
+    @Description("The number of the parsed lines, -1 if the output is not split into lines")
+    private long inputLines;
+
+    @Label("Input Characters")
+    @Description("The number of the parsed characters, -1 if the output is parsed from a stream")
+    private long inputCharacters;
+
+    @Label("Outcome")
+    private String outcome;
+
+    private OutputParseEvent(final String parser, final long inputLines, final long inputCharacters) {
+        this.parser = parser;
+        this.inputLines = inputLines;
+        this.inputCharacters = inputCharacters;
+    }
+
+    /**
+     * Parses the output lines and records the event.
+     *
+     * @param parser  Name of the parser.
+     * @param input   The lines being parsed.
+     * @param parsing The parsing itself.
+     * @param <T>     The type of the parsing result.
+     * @return The parsing result.
+     */
+    public static <T> T parseLines(final String parser, final List<String> input, final Supplier<T> parsing) {
+        return parse(new OutputParseEvent(parser, input.size(), -1), parsing);
+    }
+
+    /**
+     * Parses the output text and records the event.
+     *
+     * @param parser  Name of the parser.
+     * @param input   The text being parsed.
+     * @param parsing The parsing itself.
+     * @param <T>     The type of the parsing result.
+     * @return The parsing result.
+     */
+    public static <T> T parseText(final String parser, final String input, final Supplier<T> parsing) {
+        return parse(new OutputParseEvent(parser, -1, input.length()), parsing);
+    }
+
+    /**
+     * Parses the output stream and records the event.
+     *
+     * @param parser  Name of the parser.
+     * @param parsing The parsing itself.
+     * @param <T>     The type of the parsing result.
+     * @return The parsing result.
+     */
+    public static <T> T parseStream(final String parser, final Supplier<T> parsing) {
+        return parse(new OutputParseEvent(parser, -1, -1), parsing);
+    }
+
+    private static <T> T parse(final OutputParseEvent event, final Supplier<T> parsing) {
+        if (!event.isEnabled()) {
+            return parsing.get();
+        }
+        event.begin();
+        String outcome = ERROR;
+        try {
+            final T result = parsing.get();
+            outcome = SUCCESS;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+}
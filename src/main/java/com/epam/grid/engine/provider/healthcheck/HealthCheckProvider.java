@@ -21,6 +21,9 @@ package com.epam.grid.engine.provider.healthcheck;
 
 import com.epam.grid.engine.entity.healthcheck.HealthCheckInfo;
 import com.epam.grid.engine.provider.GridProviderAware;
+import com.epam.grid.engine.utils.FutureUtils;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The interface that defines an API providing information about the state of the cluster.
@@ -37,4 +40,14 @@ public interface HealthCheckProvider extends GridProviderAware {
      * @return {@link HealthCheckInfo}
      */
     HealthCheckInfo checkHealth();
+
+    /**
+     * Asynchronous variant of {@link #checkHealth()}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @return the future of the result of {@link #checkHealth()}.
+     */
+    default CompletableFuture<HealthCheckInfo> checkHealthAsync() {
+        return FutureUtils.supplyCompleted(() -> checkHealth());
+    }
 }
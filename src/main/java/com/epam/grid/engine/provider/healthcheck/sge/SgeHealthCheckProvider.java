@@ -20,7 +20,7 @@
 package com.epam.grid.engine.provider.healthcheck.sge;
 
 import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
-import com.epam.grid.engine.cmd.SimpleCmdExecutor;
+import com.epam.grid.engine.cmd.CmdExecutor;
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.entity.healthcheck.HealthCheckInfo;
@@ -30,6 +30,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Provider class that addressing a request
  * to the Sun Grid Engine and processes the response received.
@@ -42,18 +44,18 @@ public class SgeHealthCheckProvider implements HealthCheckProvider {
 
     private final String qmasterPort;
     private final String qmasterHostPath;
-    private final SimpleCmdExecutor simpleCmdExecutor;
+    private final CmdExecutor cmdExecutor;
     private final GridEngineCommandCompiler commandCompiler;
 
     public SgeHealthCheckProvider(
             @Value("${sge.qmaster.port}") final String qmasterPort,
             @Value("${sge.qmaster.host.path}") final String qmasterHostPath,
-            final SimpleCmdExecutor simpleCmdExecutor,
+            final CmdExecutor cmdExecutor,
             final GridEngineCommandCompiler commandCompiler
     ) {
         this.qmasterPort = qmasterPort;
         this.qmasterHostPath = qmasterHostPath;
-        this.simpleCmdExecutor = simpleCmdExecutor;
+        this.cmdExecutor = cmdExecutor;
         this.commandCompiler = commandCompiler;
     }
 
@@ -79,25 +81,40 @@ public class SgeHealthCheckProvider implements HealthCheckProvider {
         return executeQpingCommand();
     }
 
+    /**
+     * This method accesses the grid engine after receiving health check request without blocking
+     * the calling thread.
+     *
+     * @return the future of the {@link HealthCheckInfo}
+     */
+    @Override
+    public CompletableFuture<HealthCheckInfo> checkHealthAsync() {
+        return cmdExecutor.executeAsync(getDefineQmasterCommand())
+                .thenApply(QpingCommandParser::parseQmasterHostName)
+                .thenCompose(qmasterHost -> cmdExecutor.executeAsync(getQpingCommand(qmasterHost)))
+                .thenApply(QpingCommandParser::parseQpingResult);
+    }
+
     private HealthCheckInfo executeQpingCommand() {
-        final CommandResult result = simpleCmdExecutor.execute(getQpingCommand());
+        final CommandResult result = cmdExecutor.execute(getQpingCommand(getNameQmasterHost()));
         return QpingCommandParser.parseQpingResult(result);
     }
 
-    private String[] getQpingCommand() {
+    private String[] getQpingCommand(final String qmasterHost) {
         final Context context = new Context();
-        context.setVariable("qmasterHost", getNameQmasterHost());
+        context.setVariable("qmasterHost", qmasterHost);
         context.setVariable("qmasterPort", qmasterPort);
         return commandCompiler.compileCommand(getProviderType(), QPING_COMMAND, context);
     }
 
     private String getNameQmasterHost() {
+        final CommandResult result = cmdExecutor.execute(getDefineQmasterCommand());
+        return QpingCommandParser.parseQmasterHostName(result);
+    }
+
+    private String[] getDefineQmasterCommand() {
         final Context context = new Context();
         context.setVariable("qmasterHostPath", qmasterHostPath);
-        final String[] defineQmasterCommand = commandCompiler.compileCommand(getProviderType(),
-                DEFINE_QMASTER_COMMAND, context);
-
-        final CommandResult result = simpleCmdExecutor.execute(defineQmasterCommand);
-        return QpingCommandParser.parseQmasterHostName(result);
+        return commandCompiler.compileCommand(getProviderType(), DEFINE_QMASTER_COMMAND, context);
     }
 }
@@ -0,0 +1,75 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.healthcheck.sim;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.healthcheck.GridEngineStatus;
+import com.epam.grid.engine.entity.healthcheck.HealthCheckInfo;
+import com.epam.grid.engine.entity.healthcheck.StatusInfo;
+import com.epam.grid.engine.provider.healthcheck.HealthCheckProvider;
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Provider class that reports the status of the simulated grid engine, which is always available.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grid.engine.type", havingValue = "SIM")
+public class SimHealthCheckProvider implements HealthCheckProvider {
+
+    private static final String STATUS_INFO = "simulated cluster is running";
+
+    private final SimCluster cluster;
+
+    /**
+     * This method tells which grid engine is used.
+     *
+     * @return Type of grid engine
+     * @see EngineType
+     */
+    @Override
+    public EngineType getProviderType() {
+        return EngineType.SIM;
+    }
+
+    /**
+     * This method returns the status of the simulated cluster.
+     *
+     * @return {@link HealthCheckInfo}
+     */
+    @Override
+    public HealthCheckInfo checkHealth() {
+        return HealthCheckInfo.builder()
+                .statusInfo(StatusInfo.builder()
+                        .code(0L)
+                        .status(GridEngineStatus.OK)
+                        .info(STATUS_INFO)
+                        .build())
+                .startTime(LocalDateTime.ofInstant(cluster.getStartTime(), ZoneId.systemDefault()))
+                .checkTime(LocalDateTime.now())
+                .build();
+    }
+}
@@ -23,6 +23,9 @@ import com.epam.grid.engine.entity.HostFilter;
 import com.epam.grid.engine.entity.Listing;
 import com.epam.grid.engine.entity.host.Host;
 import com.epam.grid.engine.provider.GridProviderAware;
+import com.epam.grid.engine.utils.FutureUtils;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This is an interface that provides requirements to different grid engine host providers.
@@ -39,4 +42,15 @@ public interface HostProvider extends GridProviderAware {
      * @see HostFilter
      */
     Listing<Host> listHosts(HostFilter hostNames);
+
+    /**
+     * Asynchronous variant of {@link #listHosts(HostFilter)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param hostNames host names
+     * @return the future of the result of {@link #listHosts(HostFilter)}.
+     */
+    default CompletableFuture<Listing<Host>> listHostsAsync(final HostFilter hostNames) {
+        return FutureUtils.supplyCompleted(() -> listHosts(hostNames));
+    }
 }
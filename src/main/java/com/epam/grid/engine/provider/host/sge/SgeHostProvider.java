@@ -20,7 +20,7 @@
 package com.epam.grid.engine.provider.host.sge;
 
 import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
-import com.epam.grid.engine.cmd.SimpleCmdExecutor;
+import com.epam.grid.engine.cmd.CmdExecutor;
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.entity.HostFilter;
@@ -37,6 +37,7 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.context.Context;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.epam.grid.engine.utils.TextConstants.NEW_LINE_DELIMITER;
@@ -60,7 +61,7 @@ public class SgeHostProvider implements HostProvider {
     /**
      * The executor that provide the ability to call any command available in the current environment.
      */
-    private final SimpleCmdExecutor simpleCmdExecutor;
+    private final CmdExecutor cmdExecutor;
 
     /**
      * An object that forms the structure of an executable command according to a template.
@@ -86,18 +87,39 @@ public class SgeHostProvider implements HostProvider {
      */
     @Override
     public Listing<Host> listHosts(final HostFilter hostFilter) {
+        return parseHosts(cmdExecutor.execute(makeQhostCommand(hostFilter)));
+    }
+
+    /**
+     * Lists active hosts available in SGE according to limitations from {@link HostFilter}
+     * without blocking the calling thread.
+     *
+     * @param hostFilter names of hosts needed
+     * @return the future of the {@link Listing} of {@link Host}
+     */
+    @Override
+    public CompletableFuture<Listing<Host>> listHostsAsync(final HostFilter hostFilter) {
+        return cmdExecutor.executeAsync(makeQhostCommand(hostFilter))
+                .thenApply(this::parseHosts);
+    }
+
+    private String[] makeQhostCommand(final HostFilter hostFilter) {
         final Context context = new Context();
         context.setVariable(FILTER, hostFilter);
-        final String[] hostCommand = commandCompiler.compileCommand(getProviderType(), QHOST_COMMAND, context);
-        final CommandResult commandResult = simpleCmdExecutor.execute(hostCommand);
-        if (commandResult.getExitCode() != 0) {
-            SgeCommandsUtils.throwExecutionDetails(commandResult);
-        } else if (!commandResult.getStdErr().isEmpty()) {
-            log.warn(commandResult.getStdErr().toString());
+        return commandCompiler.compileCommand(getProviderType(), QHOST_COMMAND, context);
+    }
+
+    private Listing<Host> parseHosts(final CommandResult commandResult) {
+        try (commandResult) {
+            if (commandResult.getExitCode() != 0) {
+                SgeCommandsUtils.throwExecutionDetails(commandResult);
+            } else if (!commandResult.getStdErr().isEmpty()) {
+                log.warn(commandResult.getStdErr().toString());
+            }
+            return mapToHosts(JaxbUtils.unmarshall(String.join(NEW_LINE_DELIMITER,
+                    commandResult.getStdOut()),
+                    SgeHostListing.class));
         }
-        return mapToHosts(JaxbUtils.unmarshall(String.join(NEW_LINE_DELIMITER,
-                commandResult.getStdOut()),
-                SgeHostListing.class));
     }
 
     private Listing<Host> mapToHosts(final SgeHostListing sgeHostListing) {
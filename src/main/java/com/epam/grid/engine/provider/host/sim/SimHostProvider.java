@@ -0,0 +1,73 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.host.sim;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.HostFilter;
+import com.epam.grid.engine.entity.Listing;
+import com.epam.grid.engine.entity.host.Host;
+import com.epam.grid.engine.provider.host.HostProvider;
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.util.stream.Collectors;
+
+/**
+ * This is the implementation of the host provider for the simulated grid engine.
+ *
+ * @see HostProvider
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grid.engine.type", havingValue = "SIM")
+public class SimHostProvider implements HostProvider {
+
+    private final SimCluster cluster;
+
+    /**
+     * This method tells what grid engine is used.
+     *
+     * @return Type of grid engine
+     * @see EngineType
+     */
+    @Override
+    public EngineType getProviderType() {
+        return EngineType.SIM;
+    }
+
+    /**
+     * Lists the hosts of the simulated cluster, all of them if the filter is empty.
+     *
+     * @param hostFilter the names of the hosts to list
+     * @return the hosts
+     */
+    @Override
+    public Listing<Host> listHosts(final HostFilter hostFilter) {
+        if (hostFilter == null || CollectionUtils.isEmpty(hostFilter.getHosts())) {
+            return new Listing<>(cluster.getHosts());
+        }
+        return new Listing<>(cluster.getHosts().stream()
+                .filter(host -> hostFilter.getHosts().contains(host.getHostname()))
+                .collect(Collectors.toList()));
+    }
+}
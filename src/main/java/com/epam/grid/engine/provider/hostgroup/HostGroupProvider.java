@@ -22,8 +22,10 @@ package com.epam.grid.engine.provider.hostgroup;
 import com.epam.grid.engine.entity.hostgroup.HostGroup;
 import com.epam.grid.engine.entity.HostGroupFilter;
 import com.epam.grid.engine.provider.GridProviderAware;
+import com.epam.grid.engine.utils.FutureUtils;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The interface which provides methods for different
@@ -45,4 +47,26 @@ public interface HostGroupProvider extends GridProviderAware {
      * @return Information about the group.
      */
     HostGroup getHostGroup(String groupName);
+
+    /**
+     * Asynchronous variant of {@link #listHostGroups(HostGroupFilter)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param hostGroupFilter a provided filter
+     * @return the future of the result of {@link #listHostGroups(HostGroupFilter)}.
+     */
+    default CompletableFuture<List<HostGroup>> listHostGroupsAsync(final HostGroupFilter hostGroupFilter) {
+        return FutureUtils.supplyCompleted(() -> listHostGroups(hostGroupFilter));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getHostGroup(String)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param groupName The specified group name.
+     * @return the future of the result of {@link #getHostGroup(String)}.
+     */
+    default CompletableFuture<HostGroup> getHostGroupAsync(final String groupName) {
+        return FutureUtils.supplyCompleted(() -> getHostGroup(groupName));
+    }
 }
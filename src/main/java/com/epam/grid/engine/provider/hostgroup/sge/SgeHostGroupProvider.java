@@ -20,7 +20,7 @@
 package com.epam.grid.engine.provider.hostgroup.sge;
 
 import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
-import com.epam.grid.engine.cmd.SimpleCmdExecutor;
+import com.epam.grid.engine.cmd.CmdExecutor;
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.entity.HostGroupFilter;
@@ -31,6 +31,7 @@ import com.epam.grid.engine.mapper.hostgroup.sge.SgeHostGroupMapper;
 import com.epam.grid.engine.provider.hostgroup.HostGroupProvider;
 import com.epam.grid.engine.provider.utils.sge.common.SgeCommandsUtils;
 import com.epam.grid.engine.provider.utils.sge.common.SgeOutputParsingUtils;
+import com.epam.grid.engine.utils.FutureUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections4.CollectionUtils;
@@ -40,6 +41,7 @@ import org.thymeleaf.context.Context;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
@@ -55,7 +57,7 @@ public class SgeHostGroupProvider implements HostGroupProvider {
     private static final String FILTER = "filter";
     private static final String QCONF_COMMAND = "qconf";
 
-    private final SimpleCmdExecutor simpleCmdExecutor;
+    private final CmdExecutor cmdExecutor;
     private final SgeHostGroupMapper hostGroupMapper;
 
     /**
@@ -100,6 +102,36 @@ public class SgeHostGroupProvider implements HostGroupProvider {
         return listHostGroups(filter).get(0);
     }
 
+    /**
+     * Returns a List containing specified HostGroups without blocking the calling thread.
+     * The host groups are requested concurrently.
+     *
+     * @param hostGroupFilter a List containing names of the certain HostGroups
+     * @return the future of the list containing specified HostGroups
+     */
+    @Override
+    public CompletableFuture<List<HostGroup>> listHostGroupsAsync(final HostGroupFilter hostGroupFilter) {
+        final CompletableFuture<List<String>> hostGroupNames =
+                CollectionUtils.isEmpty(hostGroupFilter.getHostGroupNames())
+                        ? buildRequestAsync(null)
+                        : CompletableFuture.completedFuture(validateFilter(hostGroupFilter));
+        return hostGroupNames.thenCompose(this::getHostGroupsByNameAsync)
+                .thenApply(this::mapSgeHostGroupToHostGroup);
+    }
+
+    /**
+     * Returns {@link HostGroup} by specified group name without blocking the calling thread.
+     *
+     * @param groupName The specified group name.
+     * @return The future of the information about the group.
+     */
+    @Override
+    public CompletableFuture<HostGroup> getHostGroupAsync(final String groupName) {
+        verifyGroupName(groupName);
+        final HostGroupFilter filter = new HostGroupFilter(Collections.singletonList(groupName));
+        return listHostGroupsAsync(filter).thenApply(hostGroups -> hostGroups.get(0));
+    }
+
     private List<HostGroup> mapSgeHostGroupToHostGroup(final List<SgeHostGroup> sgeHostGroups) {
         return sgeHostGroups.stream()
                 .map(hostGroupMapper::sgeHostGroupToHostGroup)
@@ -107,15 +139,26 @@ public class SgeHostGroupProvider implements HostGroupProvider {
     }
 
     private List<String> buildRequest(final List<String> hostGroupNames) {
-        final Context context = new Context();
-        context.setVariable(FILTER, new HostGroupFilter(hostGroupNames));
-        final CommandResult commandResult = simpleCmdExecutor.execute(commandCompiler
-                .compileCommand(getProviderType(), QCONF_COMMAND, context));
+        final CommandResult commandResult = cmdExecutor.execute(makeQconfCommand(hostGroupNames));
         validateCommandResult(commandResult);
 
         return commandResult.getStdOut();
     }
 
+    private CompletableFuture<List<String>> buildRequestAsync(final List<String> hostGroupNames) {
+        return cmdExecutor.executeAsync(makeQconfCommand(hostGroupNames))
+                .thenApply(commandResult -> {
+                    validateCommandResult(commandResult);
+                    return commandResult.getStdOut();
+                });
+    }
+
+    private String[] makeQconfCommand(final List<String> hostGroupNames) {
+        final Context context = new Context();
+        context.setVariable(FILTER, new HostGroupFilter(hostGroupNames));
+        return commandCompiler.compileCommand(getProviderType(), QCONF_COMMAND, context);
+    }
+
     private List<SgeHostGroup> getHostGroupsByName(final List<String> hostGroupNames) {
         return hostGroupNames.stream()
                 .map(Collections::singletonList)
@@ -125,6 +168,15 @@ public class SgeHostGroupProvider implements HostGroupProvider {
                 .collect(Collectors.toList());
     }
 
+    private CompletableFuture<List<SgeHostGroup>> getHostGroupsByNameAsync(final List<String> hostGroupNames) {
+        final List<CompletableFuture<SgeHostGroup>> hostGroups = hostGroupNames.stream()
+                .map(hostGroupName -> buildRequestAsync(Collections.singletonList(hostGroupName))
+                        .thenApply(SgeOutputParsingUtils::parseEntitiesToMap)
+                        .thenApply(hostGroupMapper::mapToSgeHostGroup))
+                .collect(Collectors.toList());
+        return FutureUtils.allAsList(hostGroups);
+    }
+
     private List<String> validateFilter(final HostGroupFilter hostGroupFilter) {
         if (CollectionUtils.isEmpty(hostGroupFilter.getHostGroupNames())) {
             return buildRequest(null);
@@ -0,0 +1,90 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.hostgroup.sim;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.HostGroupFilter;
+import com.epam.grid.engine.entity.hostgroup.HostGroup;
+import com.epam.grid.engine.exception.GridEngineException;
+import com.epam.grid.engine.provider.hostgroup.HostGroupProvider;
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This is the implementation of the host group provider for the simulated grid engine.
+ *
+ * @see HostGroupProvider
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grid.engine.type", havingValue = "SIM")
+public class SimHostGroupProvider implements HostGroupProvider {
+
+    private final SimCluster cluster;
+
+    /**
+     * This method tells what grid engine is used.
+     *
+     * @return Type of grid engine
+     * @see EngineType
+     */
+    @Override
+    public EngineType getProviderType() {
+        return EngineType.SIM;
+    }
+
+    /**
+     * Lists the host groups of the simulated cluster, all of them if the filter is empty.
+     *
+     * @param hostGroupFilter the names of the host groups to list
+     * @return the host groups
+     */
+    @Override
+    public List<HostGroup> listHostGroups(final HostGroupFilter hostGroupFilter) {
+        if (hostGroupFilter == null || CollectionUtils.isEmpty(hostGroupFilter.getHostGroupNames())) {
+            return cluster.getHostGroups();
+        }
+        return cluster.getHostGroups().stream()
+                .filter(group -> hostGroupFilter.getHostGroupNames().contains(group.getHostGroupName()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the host group of the simulated cluster by its name.
+     *
+     * @param groupName the host group name
+     * @return the host group
+     */
+    @Override
+    public HostGroup getHostGroup(final String groupName) {
+        return cluster.getHostGroups().stream()
+                .filter(group -> group.getHostGroupName().equals(groupName))
+                .findFirst()
+                .orElseThrow(() -> new GridEngineException(HttpStatus.NOT_FOUND,
+                        String.format("Host group %s does not exist", groupName)));
+    }
+}
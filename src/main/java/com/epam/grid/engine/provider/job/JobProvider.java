@@ -27,8 +27,10 @@ import com.epam.grid.engine.entity.Listing;
 import com.epam.grid.engine.entity.job.JobLogInfo;
 import com.epam.grid.engine.entity.job.JobOptions;
 import com.epam.grid.engine.provider.GridProviderAware;
+import com.epam.grid.engine.utils.FutureUtils;
 
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This interface specifies methods for the job provider.
@@ -43,6 +45,16 @@ public interface JobProvider extends GridProviderAware {
      */
     Listing<Job> filterJobs(JobFilter jobFilter);
 
+    /**
+     * Gets the jobs of all owners, the job snapshot is refreshed with them.
+     * The default implementation gets the jobs for an empty filter.
+     *
+     * @return List of jobs.
+     */
+    default Listing<Job> listAllJobs() {
+        return filterJobs(new JobFilter());
+    }
+
     /**
      * Deletes the job being executed according to the specified parameters.
      *
@@ -79,4 +91,51 @@ public interface JobProvider extends GridProviderAware {
      */
     InputStream getJobLogFile(final int jobId, final JobLogInfo.Type logType);
 
+    /**
+     * Asynchronous variant of {@link #filterJobs(JobFilter)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param jobFilter The specified filter.
+     * @return the future of the result of {@link #filterJobs(JobFilter)}.
+     */
+    default CompletableFuture<Listing<Job>> filterJobsAsync(final JobFilter jobFilter) {
+        return FutureUtils.supplyCompleted(() -> filterJobs(jobFilter));
+    }
+
+    /**
+     * Asynchronous variant of {@link #deleteJob(DeleteJobFilter)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param deleteJobFilter Search parameters for the job being deleted.
+     * @return the future of the result of {@link #deleteJob(DeleteJobFilter)}.
+     */
+    default CompletableFuture<DeletedJobInfo> deleteJobAsync(final DeleteJobFilter deleteJobFilter) {
+        return FutureUtils.supplyCompleted(() -> deleteJob(deleteJobFilter));
+    }
+
+    /**
+     * Asynchronous variant of {@link #runJob(JobOptions)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param options Parameters for launching the job.
+     * @return the future of the result of {@link #runJob(JobOptions)}.
+     */
+    default CompletableFuture<Job> runJobAsync(final JobOptions options) {
+        return FutureUtils.supplyCompleted(() -> runJob(options));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getJobLogInfo(int, JobLogInfo.Type, int, boolean)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param jobId    The job identifier.
+     * @param logType  The log file type to obtain information from.
+     * @param lines    The number of lines.
+     * @param fromHead if it's true, lines are taken from the head of the log file, otherwise from the tail.
+     * @return the future of the result of {@link #getJobLogInfo(int, JobLogInfo.Type, int, boolean)}.
+     */
+    default CompletableFuture<JobLogInfo> getJobLogInfoAsync(final int jobId, final JobLogInfo.Type logType,
+                                                             final int lines, final boolean fromHead) {
+        return FutureUtils.supplyCompleted(() -> getJobLogInfo(jobId, logType, lines, fromHead));
+    }
 }
@@ -20,13 +20,15 @@
 package com.epam.grid.engine.provider.job.sge;
 
 import com.epam.grid.engine.cmd.CmdExecutor;
+import com.epam.grid.engine.cmd.CommandOutputHandler;
 import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
-import com.epam.grid.engine.cmd.SimpleCmdExecutor;
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.entity.JobFilter;
 import com.epam.grid.engine.entity.Listing;
+import com.epam.grid.engine.entity.StreamedCommandResult;
 import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobListing;
 import com.epam.grid.engine.entity.job.JobLogInfo;
 import com.epam.grid.engine.entity.job.JobOptions;
 import com.epam.grid.engine.entity.job.JobState;
@@ -41,8 +43,11 @@ import com.epam.grid.engine.provider.job.JobProvider;
 import com.epam.grid.engine.provider.utils.JaxbUtils;
 import com.epam.grid.engine.provider.utils.sge.job.QstatCommandParser;
 import com.epam.grid.engine.provider.utils.sge.common.SgeCommandsUtils;
+import com.epam.grid.engine.utils.JobFilterUtils;
+import com.epam.grid.engine.utils.JobIndex;
+import com.epam.grid.engine.utils.JobPagingUtils;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.collections4.CollectionUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -53,13 +58,13 @@ import java.io.BufferedInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.MatchResult;
 import java.util.regex.Pattern;
@@ -98,6 +103,8 @@ public class SgeJobProvider implements JobProvider {
     private static final String WC_COMMAND_REGEX_PATTERN = "^\\d+ \\d+ .+";
     private static final Pattern FIND_ID_PATTERN = Pattern.compile("\\s\\d+\\s");
     private static final Pattern FIND_DELETE_ID_PATTERN = Pattern.compile("\\d+");
+    private static final CommandOutputHandler<SgeQueueListing> QUEUE_LISTING_HANDLER =
+            stdOut -> JaxbUtils.unmarshall(stdOut, SgeQueueListing.class);
 
     /**
      * The MapStruct mapping mechanism used.
@@ -107,7 +114,7 @@ public class SgeJobProvider implements JobProvider {
     /**
      * The command execution mechanism used.
      */
-    private final SimpleCmdExecutor simpleCmdExecutor;
+    private final CmdExecutor cmdExecutor;
 
     /**
      * An object that forms the structure of an executable command according to a template.
@@ -120,14 +127,20 @@ public class SgeJobProvider implements JobProvider {
      */
     private final String logDir;
 
+    /**
+     * The accessor of the fields of the parsed jobs, the jobs are filtered before they are mapped.
+     */
+    private final JobIndex.Accessor<SgeJob> sgeJobAccessor;
+
     public SgeJobProvider(final SgeJobMapper jobMapper,
-                          final SimpleCmdExecutor simpleCmdExecutor,
+                          final CmdExecutor cmdExecutor,
                           final GridEngineCommandCompiler commandCompiler,
                           @Value("${job.log.dir}") final String logDir) {
         this.jobMapper = jobMapper;
-        this.simpleCmdExecutor = simpleCmdExecutor;
+        this.cmdExecutor = cmdExecutor;
         this.commandCompiler = commandCompiler;
         this.logDir = logDir;
+        this.sgeJobAccessor = new SgeJobAccessor(jobMapper);
     }
 
     /**
@@ -138,18 +151,34 @@ public class SgeJobProvider implements JobProvider {
      */
     @Override
     public Listing<Job> filterJobs(final JobFilter jobFilter) {
-        final CommandResult result = simpleCmdExecutor.execute(makeQstatCommand(jobFilter));
-        if (result.getExitCode() != 0) {
-            SgeCommandsUtils.throwExecutionDetails(result);
-        } else if (!result.getStdErr().isEmpty()) {
-            log.warn(result.getStdErr().toString());
-        }
-        return mapJobs(JaxbUtils.unmarshall(String.join(NEW_LINE_DELIMITER,
-                                result.getStdOut()),
-                        SgeQueueListing.class),
+        return parseQstatResult(cmdExecutor.executeStreaming(QUEUE_LISTING_HANDLER, makeQstatCommand(jobFilter)),
                 jobFilter);
     }
 
+    /**
+     * Gets the jobs of all owners, since qstat lists the jobs of the current user only by default.
+     *
+     * @return List of jobs.
+     */
+    @Override
+    public Listing<Job> listAllJobs() {
+        return filterJobs(JobFilter.builder()
+                .owners(List.of(JobFilterUtils.ALL_OWNERS))
+                .build());
+    }
+
+    /**
+     * Gets a list of jobs for the specified filters without blocking the calling thread.
+     *
+     * @param jobFilter The specified filter.
+     * @return The future of the list of jobs.
+     */
+    @Override
+    public CompletableFuture<Listing<Job>> filterJobsAsync(final JobFilter jobFilter) {
+        return cmdExecutor.executeStreamingAsync(QUEUE_LISTING_HANDLER, makeQstatCommand(jobFilter))
+                .thenApply(result -> parseQstatResult(result, jobFilter));
+    }
+
     /**
      * Gets the type of the executed engine.
      *
@@ -169,7 +198,20 @@ public class SgeJobProvider implements JobProvider {
     @Override
     public Job runJob(final JobOptions options) {
         validateJobOptions(options);
-        return buildNewJob(getResultOfExecutedCommand(simpleCmdExecutor, makeQsubCommand(options)));
+        return buildNewJob(parseSubmittedJobId(cmdExecutor.execute(makeQsubCommand(options))));
+    }
+
+    /**
+     * Launches the job with the specified parameters without blocking the calling thread.
+     *
+     * @param options Parameters for launching the job.
+     * @return The future of the launched job.
+     */
+    @Override
+    public CompletableFuture<Job> runJobAsync(final JobOptions options) {
+        validateJobOptions(options);
+        return cmdExecutor.executeAsync(makeQsubCommand(options))
+                .thenApply(result -> buildNewJob(parseSubmittedJobId(result)));
     }
 
     /**
@@ -181,7 +223,20 @@ public class SgeJobProvider implements JobProvider {
     @Override
     public DeletedJobInfo deleteJob(final DeleteJobFilter deleteJobFilter) {
         validateDeleteRequest(deleteJobFilter);
-        return parseDeleteCommandResult(makeQdelCommand(deleteJobFilter));
+        return parseDeleteCommandResult(cmdExecutor.execute(makeQdelCommand(deleteJobFilter)));
+    }
+
+    /**
+     * Deletes the job being performed according to the specified parameters without blocking the calling thread.
+     *
+     * @param deleteJobFilter Search parameters for the job being deleted.
+     * @return The future of the information about the deleted job.
+     */
+    @Override
+    public CompletableFuture<DeletedJobInfo> deleteJobAsync(final DeleteJobFilter deleteJobFilter) {
+        validateDeleteRequest(deleteJobFilter);
+        return cmdExecutor.executeAsync(makeQdelCommand(deleteJobFilter))
+                .thenApply(this::parseDeleteCommandResult);
     }
 
     /**
@@ -196,6 +251,55 @@ public class SgeJobProvider implements JobProvider {
     @Override
     public JobLogInfo getJobLogInfo(final int jobId, final JobLogInfo.Type logType,
                                     final int lines, final boolean fromHead) {
+        final Context context = makeLogContext(jobId, logType, lines, fromHead);
+        final CommandResult resultLogFileInfoCommand = cmdExecutor.execute(
+                commandCompiler.compileCommand(getProviderType(), GET_LOGFILE_INFO_COMMAND, context));
+        final CommandResult resultLogLinesCommand = cmdExecutor.execute(
+                commandCompiler.compileCommand(getProviderType(), GET_LOG_LINES_COMMAND, context));
+        return parseJobLogInfo(jobId, logType, resultLogFileInfoCommand, resultLogLinesCommand);
+    }
+
+    /**
+     * This method provides information about the log file and obtains the specified number of lines from it
+     * without blocking the calling thread.
+     *
+     * @param jobId    The job identifier.
+     * @param logType  The log file type to obtain information from.
+     * @param lines    The number of lines.
+     * @param fromHead if it's true, lines are taken from the head of the log file, otherwise from the tail.
+     * @return The future of the {@link JobLogInfo}
+     */
+    @Override
+    public CompletableFuture<JobLogInfo> getJobLogInfoAsync(final int jobId, final JobLogInfo.Type logType,
+                                                            final int lines, final boolean fromHead) {
+        final Context context = makeLogContext(jobId, logType, lines, fromHead);
+        final String[] logFileInfoCommand =
+                commandCompiler.compileCommand(getProviderType(), GET_LOGFILE_INFO_COMMAND, context);
+        final String[] logLinesCommand =
+                commandCompiler.compileCommand(getProviderType(), GET_LOG_LINES_COMMAND, context);
+        return cmdExecutor.executeAsync(logFileInfoCommand)
+                .thenCombine(cmdExecutor.executeAsync(logLinesCommand),
+                        (logFileInfo, logLines) -> parseJobLogInfo(jobId, logType, logFileInfo, logLines));
+    }
+
+    /**
+     * Gets a job log file.
+     *
+     * @param jobId   The job identifier.
+     * @param logType The type of required log file.
+     * @return The job log file like a byte array.
+     */
+    @Override
+    public InputStream getJobLogFile(final int jobId, final JobLogInfo.Type logType) {
+        try {
+            return new BufferedInputStream(new FileInputStream(getLogFilePath(jobId, logType)));
+        } catch (final IOException e) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND, String.format(CANT_FIND_LOG_FILE, jobId), e);
+        }
+    }
+
+    private Context makeLogContext(final int jobId, final JobLogInfo.Type logType,
+                                   final int lines, final boolean fromHead) {
         if (lines < 0) {
             throw new GridEngineException(HttpStatus.BAD_REQUEST,
                     String.format("The 'lines' parameter can't be < 0, received value = %d", lines));
@@ -204,12 +308,12 @@ public class SgeJobProvider implements JobProvider {
         context.setVariable("path", getLogFilePath(jobId, logType));
         context.setVariable("lines", lines);
         context.setVariable("fromHead", fromHead);
+        return context;
+    }
 
-        final CommandResult resultLogFileInfoCommand = simpleCmdExecutor.execute(
-                commandCompiler.compileCommand(getProviderType(), GET_LOGFILE_INFO_COMMAND, context));
-        final CommandResult resultLogLinesCommand = simpleCmdExecutor.execute(
-                commandCompiler.compileCommand(getProviderType(), GET_LOG_LINES_COMMAND, context));
-
+    private JobLogInfo parseJobLogInfo(final int jobId, final JobLogInfo.Type logType,
+                                       final CommandResult resultLogFileInfoCommand,
+                                       final CommandResult resultLogLinesCommand) {
         if (resultLogFileInfoCommand.getExitCode() != 0 || resultLogLinesCommand.getExitCode() != 0) {
             throw new GridEngineException(HttpStatus.NOT_FOUND, String.format(CANT_FIND_LOG_FILE, jobId));
         }
@@ -232,22 +336,6 @@ public class SgeJobProvider implements JobProvider {
                 .build();
     }
 
-    /**
-     * Gets a job log file.
-     *
-     * @param jobId   The job identifier.
-     * @param logType The type of required log file.
-     * @return The job log file like a byte array.
-     */
-    @Override
-    public InputStream getJobLogFile(final int jobId, final JobLogInfo.Type logType) {
-        try {
-            return new BufferedInputStream(new FileInputStream(getLogFilePath(jobId, logType)));
-        } catch (final IOException e) {
-            throw new GridEngineException(HttpStatus.NOT_FOUND, String.format(CANT_FIND_LOG_FILE, jobId), e);
-        }
-    }
-
     /**
      * Creates the structure of an executable command based on the passed filter.
      *
@@ -286,8 +374,7 @@ public class SgeJobProvider implements JobProvider {
         return envVariables.map(this::getVariablesFromMap).orElse(null);
     }
 
-    private String getResultOfExecutedCommand(final CmdExecutor cmdExecutor, final String[] command) {
-        final CommandResult result = cmdExecutor.execute(command);
+    private String parseSubmittedJobId(final CommandResult result) {
         if (result.getExitCode() != 0) {
             SgeCommandsUtils.throwExecutionDetails(result, HttpStatus.INTERNAL_SERVER_ERROR);
         }
@@ -326,11 +413,10 @@ public class SgeJobProvider implements JobProvider {
     /**
      * Processes the received result of executing the delete command.
      *
-     * @param command The structure of an executable delete command.
+     * @param result The result of the executed delete command.
      * @return Information about the deleted job.
      */
-    private DeletedJobInfo parseDeleteCommandResult(final String[] command) {
-        final CommandResult result = simpleCmdExecutor.execute(command);
+    private DeletedJobInfo parseDeleteCommandResult(final CommandResult result) {
         if (result.getExitCode() == 0) {
             return new DeletedJobInfo(
                     parseDeletedJobId(result.getStdOut()),
@@ -415,54 +501,93 @@ public class SgeJobProvider implements JobProvider {
                 .build();
     }
 
+    private Listing<Job> parseQstatResult(final StreamedCommandResult<SgeQueueListing> result,
+                                          final JobFilter jobFilter) {
+        if (result.getExitCode() != 0) {
+            SgeCommandsUtils.throwExecutionDetails(result.toCommandResult());
+        } else if (!result.getStdErr().isEmpty()) {
+            log.warn(result.getStdErr().toString());
+        }
+        return mapJobs(result.getOutput(), jobFilter);
+    }
+
     private Listing<Job> mapJobs(final SgeQueueListing sgeQueueListing, final JobFilter jobFilter) {
         final List<SgeJob> unfilteredJob = mergeJobs(sgeQueueListing);
 
-        final List<SgeJob> jobs = isValidJobFilter(jobFilter)
-                ? filteredJob(unfilteredJob, jobFilter)
+        // The listing is filtered once, so a single pass is cheaper than building an index
+        final List<SgeJob> jobs = JobIndex.isSelective(jobFilter)
+                ? unfilteredJob.stream()
+                        .filter(JobIndex.matching(jobFilter, sgeJobAccessor))
+                        .collect(Collectors.toList())
                 : unfilteredJob;
 
+        if (JobPagingUtils.isPaged(jobFilter)) {
+            // Only the jobs of the page are mapped
+            final JobPagingUtils.Page<SgeJob> page = JobPagingUtils.page(jobs, jobFilter, sgeJob ->
+                    new JobPagingUtils.JobKey(sgeJob.getId(), sgeJob.getPriority(), sgeJob.getOwner(),
+                            sgeJob.getSubmissionTime()));
+            final JobListing listing = new JobListing();
+            listing.setElements(mapToJobListing(page.getElements()).getElements());
+            listing.setNextCursor(page.getNextCursor());
+            return listing;
+        }
         return mapToJobListing(jobs);
     }
 
-    private boolean isValidJobFilter(final JobFilter jobFilter) {
-        final boolean presentId = isFieldPresent(jobFilter, JobFilter::getIds);
-        final boolean presentName = isFieldPresent(jobFilter, JobFilter::getNames);
-
-        return presentId || presentName;
-    }
-
-    private boolean isFieldPresent(final JobFilter jobFilter,
-                                   final Function<JobFilter, List<?>> fieldExtractor) {
-        return Optional.ofNullable(jobFilter)
-                .map(fieldExtractor)
-                .filter(CollectionUtils::isNotEmpty)
-                .isPresent();
-    }
-
-    private List<SgeJob> filteredJob(final List<SgeJob> unfilteredJob, final JobFilter jobFilter) {
-        return unfilteredJob.stream()
-                .filter(sgeJob -> jobFilter(jobFilter).test(sgeJob))
-                .collect(Collectors.toList());
-    }
-
     private Listing<Job> mapToJobListing(final List<SgeJob> jobs) {
         return new Listing<>(jobs.stream()
                 .map(jobMapper::sgeJobToJob)
                 .collect(Collectors.toList()));
     }
 
-    private Predicate<SgeJob> jobFilter(final JobFilter request) {
-        return job -> CollectionUtils.emptyIfNull(request.getIds())
-                .contains(job.getId())
-                || CollectionUtils.emptyIfNull(request.getNames())
-                .contains(job.getName());
-    }
-
     private List<SgeJob> mergeJobs(final SgeQueueListing sgeQueueListing) {
         return Stream.of(sgeQueueListing.getSgeJobs(), sgeQueueListing.getSgeQueues())
                 .flatMap(Collection::stream)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * The accessor of the fields of the parsed jobs, the state category is determined the way the mapper does.
+     */
+    @RequiredArgsConstructor
+    private static final class SgeJobAccessor implements JobIndex.Accessor<SgeJob> {
+
+        private final SgeJobMapper jobMapper;
+
+        @Override
+        public int getId(final SgeJob job) {
+            return job.getId();
+        }
+
+        @Override
+        public String getName(final SgeJob job) {
+            return job.getName();
+        }
+
+        @Override
+        public String getOwner(final SgeJob job) {
+            return job.getOwner();
+        }
+
+        @Override
+        public JobState.Category getCategory(final SgeJob job) {
+            return job.getStateCode() == null ? null : jobMapper.determineStateCategory(job.getStateCode());
+        }
+
+        @Override
+        public String getQueueName(final SgeJob job) {
+            return job.getQueueName();
+        }
+
+        @Override
+        public LocalDateTime getSubmissionTime(final SgeJob job) {
+            return job.getSubmissionTime();
+        }
+
+        @Override
+        public double getPriority(final SgeJob job) {
+            return job.getPriority();
+        }
+    }
 }
@@ -0,0 +1,219 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.job.sim;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.Listing;
+import com.epam.grid.engine.entity.job.DeleteJobFilter;
+import com.epam.grid.engine.entity.job.DeletedJobInfo;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobListing;
+import com.epam.grid.engine.entity.job.JobLogInfo;
+import com.epam.grid.engine.entity.job.JobOptions;
+import com.epam.grid.engine.entity.job.JobState;
+import com.epam.grid.engine.exception.GridEngineException;
+import com.epam.grid.engine.provider.job.JobProvider;
+import com.epam.grid.engine.provider.utils.sge.job.QstatCommandParser;
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import com.epam.grid.engine.provider.utils.sim.SimJob;
+import com.epam.grid.engine.utils.JobIndex;
+import com.epam.grid.engine.utils.JobPagingUtils;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.epam.grid.engine.utils.TextConstants.NEW_LINE_DELIMITER;
+
+/**
+ * This class performs various actions with jobs of the simulated grid engine.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grid.engine.type", havingValue = "SIM")
+public class SimJobProvider implements JobProvider {
+
+    private static final String CANT_FIND_LOG_FILE = "Can't find the job with id = %d or the job log file.";
+    private static final String LOG_LINE_FORMAT = "Simulated %s output of job %d, line %d";
+    private static final int LOG_LINES = 100;
+    private static final Map<String, JobState.Category> STATE_CATEGORIES = Map.of(
+            "p", JobState.Category.PENDING,
+            "r", JobState.Category.RUNNING);
+
+    private final SimCluster cluster;
+
+    /**
+     * Gets the type of the executed engine.
+     *
+     * @return The type of engine being executed.
+     */
+    @Override
+    public EngineType getProviderType() {
+        return EngineType.SIM;
+    }
+
+    /**
+     * Gets a list of jobs for the specified filters.
+     *
+     * @param jobFilter The specified filter.
+     * @return List of jobs.
+     */
+    @Override
+    public Listing<Job> filterJobs(final JobFilter jobFilter) {
+        final List<Job> simulatedJobs = cluster.getJobs(makeJobFilter(jobFilter));
+        // The queues, categories and ranges of the filter are matched in a single pass
+        final List<Job> jobs = JobIndex.isSelective(jobFilter)
+                ? simulatedJobs.stream()
+                        .filter(JobIndex.matching(jobFilter, JobIndex.JOB_ACCESSOR))
+                        .collect(Collectors.toList())
+                : simulatedJobs;
+        if (!JobPagingUtils.isPaged(jobFilter)) {
+            return new Listing<>(jobs);
+        }
+        final JobPagingUtils.Page<Job> page = JobPagingUtils.page(jobs, jobFilter, JobPagingUtils.JobKey::of);
+        final JobListing listing = new JobListing();
+        listing.setElements(page.getElements());
+        listing.setNextCursor(page.getNextCursor());
+        return listing;
+    }
+
+    /**
+     * Submits the job with the specified parameters to the simulated cluster.
+     *
+     * @param options Parameters for launching the job.
+     * @return Launched job.
+     */
+    @Override
+    public Job runJob(final JobOptions options) {
+        if (!StringUtils.hasText(options.getCommand())) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST, "Command should be specified!");
+        }
+        return cluster.submitJob(options);
+    }
+
+    /**
+     * Deletes the jobs of the simulated cluster according to the specified parameters.
+     *
+     * @param deleteJobFilter Search parameters for the job being deleted.
+     * @return Information about the deleted job.
+     */
+    @Override
+    public DeletedJobInfo deleteJob(final DeleteJobFilter deleteJobFilter) {
+        if (!StringUtils.hasText(deleteJobFilter.getUser()) && deleteJobFilter.getId() == null) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST,
+                    String.format("Incorrect filling in %s. Either `id` or `user` should be specified for job removal!",
+                            deleteJobFilter));
+        }
+        if (deleteJobFilter.getId() != null && deleteJobFilter.getId() == 0) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST,
+                    String.format("Id specified in %s for job removal is invalid!", deleteJobFilter));
+        }
+        return cluster.deleteJobs(deleteJobFilter.getId(),
+                StringUtils.hasText(deleteJobFilter.getUser()) ? deleteJobFilter.getUser() : null);
+    }
+
+    /**
+     * This method provides information about the synthetic log of the job and obtains the specified number
+     * of lines from it.
+     *
+     * @param jobId    The job identifier.
+     * @param logType  The log file type to obtain information from.
+     * @param lines    The number of lines.
+     * @param fromHead if it's true, lines are taken from the head of the log file, otherwise from the tail.
+     * @return The object of {@link JobLogInfo}
+     */
+    @Override
+    public JobLogInfo getJobLogInfo(final int jobId, final JobLogInfo.Type logType,
+                                    final int lines, final boolean fromHead) {
+        if (lines < 0) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST,
+                    String.format("The 'lines' parameter can't be < 0, received value = %d", lines));
+        }
+        final List<String> log = makeLog(jobId, logType);
+        final int count = Math.min(lines, log.size());
+        return JobLogInfo.builder()
+                .jobId(jobId)
+                .type(logType)
+                .lines(fromHead ? log.subList(0, count) : log.subList(log.size() - count, log.size()))
+                .totalCount(log.size())
+                .bytes(toBytes(log).length)
+                .build();
+    }
+
+    /**
+     * Gets the synthetic log of the job.
+     *
+     * @param jobId   The job identifier.
+     * @param logType The type of required log file.
+     * @return The job log file like a byte array.
+     */
+    @Override
+    public InputStream getJobLogFile(final int jobId, final JobLogInfo.Type logType) {
+        return new ByteArrayInputStream(toBytes(makeLog(jobId, logType)));
+    }
+
+    private Predicate<SimJob> makeJobFilter(final JobFilter jobFilter) {
+        Predicate<SimJob> predicate = job -> true;
+        if (jobFilter == null) {
+            return predicate;
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getOwners())) {
+            predicate = predicate.and(job -> jobFilter.getOwners().contains(job.getOwner()));
+        }
+        if (StringUtils.hasText(jobFilter.getState())) {
+            final JobState.Category category =
+                    STATE_CATEGORIES.get(QstatCommandParser.getStateFromStateMap(jobFilter.getState()));
+            predicate = predicate.and(job -> job.getCategory() == category);
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getIds()) || CollectionUtils.isNotEmpty(jobFilter.getNames())) {
+            predicate = predicate.and(job -> CollectionUtils.emptyIfNull(jobFilter.getIds()).contains(job.getId())
+                    || CollectionUtils.emptyIfNull(jobFilter.getNames()).contains(job.getName()));
+        }
+        return predicate;
+    }
+
+    private List<String> makeLog(final int jobId, final JobLogInfo.Type logType) {
+        if (!cluster.isKnownJob(jobId)) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND, String.format(CANT_FIND_LOG_FILE, jobId));
+        }
+        return IntStream.rangeClosed(1, LOG_LINES)
+                .mapToObj(line -> String.format(LOG_LINE_FORMAT, logType.getSuffix(), jobId, line))
+                .collect(Collectors.toList());
+    }
+
+    private byte[] toBytes(final List<String> log) {
+        return log.stream()
+                .map(line -> line + NEW_LINE_DELIMITER)
+                .collect(Collectors.joining())
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
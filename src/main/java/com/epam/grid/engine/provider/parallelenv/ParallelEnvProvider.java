@@ -23,8 +23,10 @@ import com.epam.grid.engine.entity.ParallelEnvFilter;
 import com.epam.grid.engine.entity.parallelenv.ParallelEnv;
 import com.epam.grid.engine.entity.parallelenv.PeRegistrationVO;
 import com.epam.grid.engine.provider.GridProviderAware;
+import com.epam.grid.engine.utils.FutureUtils;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * This is an interface that provides requirements to different grid engine PE providers.
@@ -64,4 +66,48 @@ public interface ParallelEnvProvider extends GridProviderAware {
      * @return the registered {@link ParallelEnv}
      */
     ParallelEnv registerParallelEnv(PeRegistrationVO registrationRequest);
+
+    /**
+     * Asynchronous variant of {@link #listParallelEnv(ParallelEnvFilter)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param parallelEnvFilter PE names
+     * @return the future of the result of {@link #listParallelEnv(ParallelEnvFilter)}.
+     */
+    default CompletableFuture<List<ParallelEnv>> listParallelEnvAsync(final ParallelEnvFilter parallelEnvFilter) {
+        return FutureUtils.supplyCompleted(() -> listParallelEnv(parallelEnvFilter));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getParallelEnv(String)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param peName PE name
+     * @return the future of the result of {@link #getParallelEnv(String)}.
+     */
+    default CompletableFuture<ParallelEnv> getParallelEnvAsync(final String peName) {
+        return FutureUtils.supplyCompleted(() -> getParallelEnv(peName));
+    }
+
+    /**
+     * Asynchronous variant of {@link #deleteParallelEnv(String)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param parallelEnvName the name of the deleting parallel environment
+     * @return the future of the result of {@link #deleteParallelEnv(String)}.
+     */
+    default CompletableFuture<ParallelEnv> deleteParallelEnvAsync(final String parallelEnvName) {
+        return FutureUtils.supplyCompleted(() -> deleteParallelEnv(parallelEnvName));
+    }
+
+    /**
+     * Asynchronous variant of {@link #registerParallelEnv(PeRegistrationVO)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param registrationRequest the properties of the parallel environment to be registered
+     * @return the future of the result of {@link #registerParallelEnv(PeRegistrationVO)}.
+     */
+    default CompletableFuture<ParallelEnv> registerParallelEnvAsync(final PeRegistrationVO registrationRequest) {
+        return FutureUtils.supplyCompleted(() -> registerParallelEnv(registrationRequest));
+    }
 }
@@ -20,7 +20,7 @@
 package com.epam.grid.engine.provider.parallelenv.sge;
 
 import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
-import com.epam.grid.engine.cmd.SimpleCmdExecutor;
+import com.epam.grid.engine.cmd.CmdExecutor;
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EntitiesRawOutput;
@@ -47,6 +47,7 @@ import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -91,7 +92,7 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
     /**
      * The executor that provide the ability to call any command available in the current environment.
      */
-    private final SimpleCmdExecutor simpleCmdExecutor;
+    private final CmdExecutor cmdExecutor;
 
     /**
      * An object that forms the structure of an executable command according to a template.
@@ -103,14 +104,14 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
     private final String peRegistrationDefaultAllocationRule;
 
     public SgeParallelEnvProvider(final SgeParallelEnvMapper parallelEnvMapper,
-                                  final SimpleCmdExecutor simpleCmdExecutor,
+                                  final CmdExecutor cmdExecutor,
                                   final GridEngineCommandCompiler commandCompiler,
                                   @Value("${sge.parallel.environment.registration.default.slots:999}")
                                   final String peRegistrationDefaultSlots,
                                   @Value("${sge.parallel.environment.registration.default.allocation.rule:$fill_up}")
                                   final String peRegistrationDefaultAllocationRule) {
         this.parallelEnvMapper = parallelEnvMapper;
-        this.simpleCmdExecutor = simpleCmdExecutor;
+        this.cmdExecutor = cmdExecutor;
         this.commandCompiler = commandCompiler;
         this.peRegistrationDefaultSlots = peRegistrationDefaultSlots;
         this.peRegistrationDefaultAllocationRule = peRegistrationDefaultAllocationRule;
@@ -137,18 +138,7 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
     @Override
     public List<ParallelEnv> listParallelEnv(final ParallelEnvFilter parallelEnvFilter) {
         final ParallelEnvFilter filter = validateAndFormPeFilter(parallelEnvFilter);
-        final Context context = new Context();
-        context.setVariable(FILTER, filter);
-        final String[] command = commandCompiler.compileCommand(getProviderType(), QCONF_SP, context);
-        final List<EntitiesRawOutput> rawPeList = SgeOutputParsingUtils
-                .splitOutputToEntities(executeCommandAndGetOutput(command), PE_NAME);
-
-        return rawPeList.stream()
-                .map(EntitiesRawOutput::getRawEntitiesList)
-                .map(SgeOutputParsingUtils::parseEntitiesToMap)
-                .map(parallelEnvMapper::mapRawOutputToSgePe)
-                .map(parallelEnvMapper::mapSgePeToPe)
-                .collect(Collectors.toList());
+        return parseParallelEnvs(executeCommandAndGetOutput(buildListingCommand(filter)));
     }
 
     /**
@@ -159,13 +149,7 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
      */
     @Override
     public ParallelEnv getParallelEnv(final String peName) {
-        final List<ParallelEnv> peListingResult = listParallelEnv(mapToEnvsFilter(peName));
-        final int peListingSize = peListingResult.size();
-
-        if (peListingSize != 1) {
-            throw new GridEngineException(HttpStatus.BAD_REQUEST, WRONG_SIZE + peListingSize);
-        }
-        return peListingResult.get(0);
+        return getSingleParallelEnv(listParallelEnv(mapToEnvsFilter(peName)));
     }
 
     /**
@@ -177,9 +161,7 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
     @Override
     public ParallelEnv deleteParallelEnv(final String parallelEnvName) {
         validateParallelEnvName(parallelEnvName);
-        return ParallelEnv.builder()
-                .name(executeDeleteCommand(parallelEnvName))
-                .build();
+        return parseDeletedParallelEnv(cmdExecutor.execute(buildDeleteCommand(parallelEnvName)), parallelEnvName);
     }
 
     /**
@@ -192,8 +174,101 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
     public ParallelEnv registerParallelEnv(final PeRegistrationVO registrationRequest) {
         validateRegistrationRequest(registrationRequest);
         final Path pathToTemporaryPeDescription = createPeRegistrationTmpFile(registrationRequest);
-        final CommandResult commandResult = simpleCmdExecutor
+        final CommandResult commandResult = cmdExecutor
                 .execute(normalizePathToUnixFormat(pathToTemporaryPeDescription, PE_REG_COMMAND_FILE, commandCompiler));
+        return parseRegisteredParallelEnv(commandResult, pathToTemporaryPeDescription);
+    }
+
+    /**
+     * Lists PE available in SGE according to limitations from {@link ParallelEnvFilter}
+     * without blocking the calling thread, if filter is empty it will return all the pe.
+     *
+     * @param parallelEnvFilter names of PE needed
+     * @return the future of the List of {@link ParallelEnv}
+     */
+    @Override
+    public CompletableFuture<List<ParallelEnv>> listParallelEnvAsync(final ParallelEnvFilter parallelEnvFilter) {
+        final CompletableFuture<ParallelEnvFilter> filter = isParallelEnvFilterNotProvided(parallelEnvFilter)
+                ? executeCommandAndGetOutputAsync(buildNamesListingCommand()).thenApply(ParallelEnvFilter::new)
+                : CompletableFuture.completedFuture(parallelEnvFilter);
+        return filter.thenCompose(peFilter -> executeCommandAndGetOutputAsync(buildListingCommand(peFilter)))
+                .thenApply(this::parseParallelEnvs);
+    }
+
+    /**
+     * Provides PE object that was requested without blocking the calling thread.
+     *
+     * @param peName PE name
+     * @return the future of the {@link ParallelEnv}
+     */
+    @Override
+    public CompletableFuture<ParallelEnv> getParallelEnvAsync(final String peName) {
+        return listParallelEnvAsync(mapToEnvsFilter(peName))
+                .thenApply(this::getSingleParallelEnv);
+    }
+
+    /**
+     * Deletes specified parallel environment without blocking the calling thread.
+     *
+     * @param parallelEnvName the name of the deleting parallel environment
+     * @return the future of the {@link ParallelEnv} which was deleted
+     */
+    @Override
+    public CompletableFuture<ParallelEnv> deleteParallelEnvAsync(final String parallelEnvName) {
+        validateParallelEnvName(parallelEnvName);
+        return cmdExecutor.executeAsync(buildDeleteCommand(parallelEnvName))
+                .thenApply(commandResult -> parseDeletedParallelEnv(commandResult, parallelEnvName));
+    }
+
+    /**
+     * Registers a {@link ParallelEnv} matching the requested description in the Sun Grid Engine
+     * without blocking the calling thread.
+     *
+     * @param registrationRequest the description of the parallel environment to be registered
+     * @return the future of the registered {@link ParallelEnv}
+     */
+    @Override
+    public CompletableFuture<ParallelEnv> registerParallelEnvAsync(final PeRegistrationVO registrationRequest) {
+        validateRegistrationRequest(registrationRequest);
+        final Path pathToTemporaryPeDescription = createPeRegistrationTmpFile(registrationRequest);
+        return cmdExecutor
+                .executeAsync(normalizePathToUnixFormat(pathToTemporaryPeDescription, PE_REG_COMMAND_FILE,
+                        commandCompiler))
+                .thenApply(commandResult -> parseRegisteredParallelEnv(commandResult, pathToTemporaryPeDescription));
+    }
+
+    private String[] buildListingCommand(final ParallelEnvFilter filter) {
+        final Context context = new Context();
+        context.setVariable(FILTER, filter);
+        return commandCompiler.compileCommand(getProviderType(), QCONF_SP, context);
+    }
+
+    private String[] buildNamesListingCommand() {
+        return commandCompiler.compileCommand(getProviderType(), QCONF_SPL, new Context());
+    }
+
+    private List<ParallelEnv> parseParallelEnvs(final List<String> output) {
+        final List<EntitiesRawOutput> rawPeList = SgeOutputParsingUtils.splitOutputToEntities(output, PE_NAME);
+
+        return rawPeList.stream()
+                .map(EntitiesRawOutput::getRawEntitiesList)
+                .map(SgeOutputParsingUtils::parseEntitiesToMap)
+                .map(parallelEnvMapper::mapRawOutputToSgePe)
+                .map(parallelEnvMapper::mapSgePeToPe)
+                .collect(Collectors.toList());
+    }
+
+    private ParallelEnv getSingleParallelEnv(final List<ParallelEnv> peListingResult) {
+        final int peListingSize = peListingResult.size();
+
+        if (peListingSize != 1) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST, WRONG_SIZE + peListingSize);
+        }
+        return peListingResult.get(0);
+    }
+
+    private ParallelEnv parseRegisteredParallelEnv(final CommandResult commandResult,
+                                                   final Path pathToTemporaryPeDescription) {
         verifyProcessStatus(commandResult, determineStatus(commandResult.getStdErr()));
         return createPeFromTemporaryFile(pathToTemporaryPeDescription);
     }
@@ -258,8 +333,7 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
 
     private ParallelEnvFilter validateAndFormPeFilter(final ParallelEnvFilter parallelEnvFilter) {
         if (isParallelEnvFilterNotProvided(parallelEnvFilter)) {
-            final String[] command = commandCompiler.compileCommand(getProviderType(), QCONF_SPL, new Context());
-            final List<String> peList = executeCommandAndGetOutput(command);
+            final List<String> peList = executeCommandAndGetOutput(buildNamesListingCommand());
             return new ParallelEnvFilter(peList);
         }
         return parallelEnvFilter;
@@ -279,12 +353,11 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
                 .orElseThrow(() -> new GridEngineException(HttpStatus.BAD_REQUEST, SPECIFY_REQUEST));
     }
 
-    private String executeDeleteCommand(final String parallelEnvName) {
-        final String[] deleteCommand = buildDeleteCommand(parallelEnvName);
-        final CommandResult commandResult = simpleCmdExecutor.execute(deleteCommand);
-
+    private ParallelEnv parseDeletedParallelEnv(final CommandResult commandResult, final String parallelEnvName) {
         if (commandResult.getExitCode() == 0) {
-            return parallelEnvName;
+            return ParallelEnv.builder()
+                    .name(parallelEnvName)
+                    .build();
         }
 
         throw new GridEngineException(determineStatus(commandResult.getStdErr()),
@@ -304,8 +377,14 @@ public class SgeParallelEnvProvider implements ParallelEnvProvider {
     }
 
     private List<String> executeCommandAndGetOutput(final String[] envCommand) {
-        final CommandResult commandResult = simpleCmdExecutor.execute(envCommand);
+        return getVerifiedOutput(cmdExecutor.execute(envCommand));
+    }
+
+    private CompletableFuture<List<String>> executeCommandAndGetOutputAsync(final String[] envCommand) {
+        return cmdExecutor.executeAsync(envCommand).thenApply(this::getVerifiedOutput);
+    }
 
+    private List<String> getVerifiedOutput(final CommandResult commandResult) {
         if (commandResult.getExitCode() != 0) {
             SgeCommandsUtils.throwExecutionDetails(commandResult);
         } else if (!commandResult.getStdErr().isEmpty()) {
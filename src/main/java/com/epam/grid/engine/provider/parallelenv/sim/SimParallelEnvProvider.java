@@ -0,0 +1,125 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.parallelenv.sim;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.ParallelEnvFilter;
+import com.epam.grid.engine.entity.parallelenv.ParallelEnv;
+import com.epam.grid.engine.entity.parallelenv.PeRegistrationVO;
+import com.epam.grid.engine.exception.GridEngineException;
+import com.epam.grid.engine.provider.parallelenv.ParallelEnvProvider;
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This is the implementation of the parallel environment provider for the simulated grid engine.
+ *
+ * @see ParallelEnvProvider
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grid.engine.type", havingValue = "SIM")
+public class SimParallelEnvProvider implements ParallelEnvProvider {
+
+    private static final String WRONG_PE_NAME_MESSAGE = "Name of the parallel environment should be specified!";
+
+    private final SimCluster cluster;
+
+    /**
+     * This method tells what grid engine is used.
+     *
+     * @return Type of grid engine
+     * @see EngineType
+     */
+    @Override
+    public EngineType getProviderType() {
+        return EngineType.SIM;
+    }
+
+    /**
+     * Lists the parallel environments of the simulated cluster, all of them if the filter is empty.
+     *
+     * @param parallelEnvFilter the names of the parallel environments to list
+     * @return the parallel environments
+     */
+    @Override
+    public List<ParallelEnv> listParallelEnv(final ParallelEnvFilter parallelEnvFilter) {
+        if (parallelEnvFilter == null || CollectionUtils.isEmpty(parallelEnvFilter.getParallelEnvs())) {
+            return cluster.getParallelEnvs();
+        }
+        return cluster.getParallelEnvs().stream()
+                .filter(parallelEnv -> parallelEnvFilter.getParallelEnvs().contains(parallelEnv.getName()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the parallel environment of the simulated cluster by its name.
+     *
+     * @param peName the parallel environment name
+     * @return the parallel environment
+     */
+    @Override
+    public ParallelEnv getParallelEnv(final String peName) {
+        validateParallelEnvName(peName);
+        return cluster.getParallelEnvs().stream()
+                .filter(parallelEnv -> parallelEnv.getName().equals(peName))
+                .findFirst()
+                .orElseThrow(() -> new GridEngineException(HttpStatus.NOT_FOUND,
+                        String.format("parallel environment \"%s\" does not exist", peName)));
+    }
+
+    /**
+     * Deletes the parallel environment of the simulated cluster.
+     *
+     * @param parallelEnvName the name of the parallel environment to delete
+     * @return the deleted parallel environment
+     */
+    @Override
+    public ParallelEnv deleteParallelEnv(final String parallelEnvName) {
+        validateParallelEnvName(parallelEnvName);
+        return cluster.deleteParallelEnv(parallelEnvName);
+    }
+
+    /**
+     * Registers the parallel environment in the simulated cluster.
+     *
+     * @param registrationRequest the description of the parallel environment to be registered
+     * @return the registered parallel environment
+     */
+    @Override
+    public ParallelEnv registerParallelEnv(final PeRegistrationVO registrationRequest) {
+        validateParallelEnvName(registrationRequest.getName());
+        return cluster.registerParallelEnv(registrationRequest);
+    }
+
+    private void validateParallelEnvName(final String parallelEnvName) {
+        if (!StringUtils.hasText(parallelEnvName)) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST, WRONG_PE_NAME_MESSAGE);
+        }
+    }
+}
@@ -23,8 +23,10 @@ import com.epam.grid.engine.entity.QueueFilter;
 import com.epam.grid.engine.entity.queue.Queue;
 import com.epam.grid.engine.entity.queue.QueueVO;
 import com.epam.grid.engine.provider.GridProviderAware;
+import com.epam.grid.engine.utils.FutureUtils;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The interface which provides methods for different
@@ -69,4 +71,58 @@ public interface QueueProvider extends GridProviderAware {
      * @return the updated {@code queue}
      */
     Queue updateQueue(QueueVO updateRequest);
+
+    /**
+     * Asynchronous variant of {@link #listQueues()}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @return the future of the result of {@link #listQueues()}.
+     */
+    default CompletableFuture<List<Queue>> listQueuesAsync() {
+        return FutureUtils.supplyCompleted(() -> listQueues());
+    }
+
+    /**
+     * Asynchronous variant of {@link #listQueues(QueueFilter)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param queueFilter a provided filter
+     * @return the future of the result of {@link #listQueues(QueueFilter)}.
+     */
+    default CompletableFuture<List<Queue>> listQueuesAsync(final QueueFilter queueFilter) {
+        return FutureUtils.supplyCompleted(() -> listQueues(queueFilter));
+    }
+
+    /**
+     * Asynchronous variant of {@link #deleteQueues(String)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param queueName Search parameters for the queue being deleted.
+     * @return the future of the result of {@link #deleteQueues(String)}.
+     */
+    default CompletableFuture<Queue> deleteQueuesAsync(final String queueName) {
+        return FutureUtils.supplyCompleted(() -> deleteQueues(queueName));
+    }
+
+    /**
+     * Asynchronous variant of {@link #registerQueue(QueueVO)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param registrationRequest the properties of the queue to be registered
+     * @return the future of the result of {@link #registerQueue(QueueVO)}.
+     */
+    default CompletableFuture<Queue> registerQueueAsync(final QueueVO registrationRequest) {
+        return FutureUtils.supplyCompleted(() -> registerQueue(registrationRequest));
+    }
+
+    /**
+     * Asynchronous variant of {@link #updateQueue(QueueVO)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param updateRequest the properties of the queue to be updated
+     * @return the future of the result of {@link #updateQueue(QueueVO)}.
+     */
+    default CompletableFuture<Queue> updateQueueAsync(final QueueVO updateRequest) {
+        return FutureUtils.supplyCompleted(() -> updateQueue(updateRequest));
+    }
 }
@@ -20,7 +20,7 @@
 package com.epam.grid.engine.provider.queue.sge;
 
 import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
-import com.epam.grid.engine.cmd.SimpleCmdExecutor;
+import com.epam.grid.engine.cmd.CmdExecutor;
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.entity.EntitiesRawOutput;
@@ -45,6 +45,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -94,7 +95,7 @@ public class SgeQueueProvider implements QueueProvider {
      */
     private final SgeQueueMapper queueMapper;
 
-    private final SimpleCmdExecutor simpleCmdExecutor;
+    private final CmdExecutor cmdExecutor;
 
     /**
      * An object that forms the structure of an executable command according to a template.
@@ -119,14 +120,7 @@ public class SgeQueueProvider implements QueueProvider {
      */
     @Override
     public List<Queue> listQueues() {
-        final CommandResult commandResult = simpleCmdExecutor.execute(buildQueueListingCommand(null));
-        verifyProcessStatus(commandResult, HttpStatus.NOT_FOUND);
-
-        return commandResult.getStdOut().stream()
-                .map(s -> Queue.builder()
-                        .name(s)
-                        .build())
-                .collect(Collectors.toList());
+        return parseQueueNames(cmdExecutor.execute(buildQueueListingCommand(null)));
     }
 
     /**
@@ -138,21 +132,30 @@ public class SgeQueueProvider implements QueueProvider {
      */
     @Override
     public List<Queue> listQueues(final QueueFilter queueFilter) {
-        final CommandResult commandResult = simpleCmdExecutor.execute(buildQueueListingCommand(queueFilter));
-        verifyProcessStatus(commandResult, HttpStatus.NOT_FOUND);
-
-        final List<EntitiesRawOutput> queuesDescription = SgeOutputParsingUtils
-                .splitOutputToEntities(commandResult.getStdOut(), PREFIX);
+        return parseQueues(cmdExecutor.execute(buildQueueListingCommand(queueFilter)));
+    }
 
-        final List<SgeQueue> sgeQueues = queuesDescription.stream()
-                .map(EntitiesRawOutput::getRawEntitiesList)
-                .map(SgeOutputParsingUtils::parseEntitiesToMap)
-                .map(queueMapper::mapRawOutputToSgeQueue)
-                .collect(Collectors.toList());
+    /**
+     * Returns a List containing the existing Queues with their names without blocking the calling thread.
+     *
+     * @return the future of the List containing the existing Queues with their names
+     */
+    @Override
+    public CompletableFuture<List<Queue>> listQueuesAsync() {
+        return cmdExecutor.executeAsync(buildQueueListingCommand(null))
+                .thenApply(this::parseQueueNames);
+    }
 
-        return sgeQueues.stream()
-                .map(queueMapper::sgeQueueToQueue)
-                .collect(Collectors.toList());
+    /**
+     * Returns a List containing specified Queues without blocking the calling thread.
+     *
+     * @param queueFilter a List containing names of the certain Queues
+     * @return the future of the list containing specified Queues
+     */
+    @Override
+    public CompletableFuture<List<Queue>> listQueuesAsync(final QueueFilter queueFilter) {
+        return cmdExecutor.executeAsync(buildQueueListingCommand(queueFilter))
+                .thenApply(this::parseQueues);
     }
 
     /**
@@ -170,11 +173,29 @@ public class SgeQueueProvider implements QueueProvider {
         final Path pathToTemporaryQueueDescription = commandCompiler
                 .compileEntityConfigFile(getProviderType(), QUEUE_ENTITY, context);
 
-        final CommandResult commandResult = simpleCmdExecutor
+        final CommandResult commandResult = cmdExecutor
                 .execute(normalizePathToUnixFormat(pathToTemporaryQueueDescription, QCONF_AQ, commandCompiler));
-        verifyProcessStatus(commandResult, determineStatus(commandResult.getStdErr()));
+        return parseModifiedQueue(commandResult, pathToTemporaryQueueDescription);
+    }
 
-        return createQueueFromTemporaryFile(pathToTemporaryQueueDescription);
+    /**
+     * Registers a {@code queue} matching the requested description in the Sun Grid Engine queuing system
+     * without blocking the calling thread.
+     *
+     * @param registrationRequest the description of the queue to be registered
+     * @return the future of the registered {@code queue}
+     */
+    @Override
+    public CompletableFuture<Queue> registerQueueAsync(final QueueVO registrationRequest) {
+        validateRegistrationRequest(registrationRequest);
+
+        final Context context = createQueueRegistrationContext(registrationRequest);
+        final Path pathToTemporaryQueueDescription = commandCompiler
+                .compileEntityConfigFile(getProviderType(), QUEUE_ENTITY, context);
+
+        return cmdExecutor
+                .executeAsync(normalizePathToUnixFormat(pathToTemporaryQueueDescription, QCONF_AQ, commandCompiler))
+                .thenApply(commandResult -> parseModifiedQueue(commandResult, pathToTemporaryQueueDescription));
     }
 
     /**
@@ -187,9 +208,23 @@ public class SgeQueueProvider implements QueueProvider {
     public Queue deleteQueues(final String queueName) {
         SgeDeleteQueueCommandUtils.validateDeletionRequest(queueName);
 
-        return Queue.builder()
-                .name(parseAndExecuteDeleteCommand(queueName))
-                .build();
+        return parseDeletedQueue(cmdExecutor.execute(SgeDeleteQueueCommandUtils
+                .buildDeleteQueueCommand(queueName, commandCompiler, getProviderType())), queueName);
+    }
+
+    /**
+     * Deletes the queue in accordance with the specified parameter without blocking the calling thread.
+     *
+     * @param queueName Search parameters for queue to delete.
+     * @return The future of the deleted queue.
+     */
+    @Override
+    public CompletableFuture<Queue> deleteQueuesAsync(final String queueName) {
+        SgeDeleteQueueCommandUtils.validateDeletionRequest(queueName);
+
+        return cmdExecutor.executeAsync(SgeDeleteQueueCommandUtils
+                        .buildDeleteQueueCommand(queueName, commandCompiler, getProviderType()))
+                .thenApply(commandResult -> parseDeletedQueue(commandResult, queueName));
     }
 
     /**
@@ -204,19 +239,76 @@ public class SgeQueueProvider implements QueueProvider {
         validateUpdateRequest(updateRequest);
 
         final List<Queue> queues = listQueues(QueueFilter.builder().queues(List.of(updateRequest.getName())).build());
+        final Path pathToTemporaryQueueDescription = compileQueueUpdateFile(updateRequest, queues);
+
+        final CommandResult commandResult = cmdExecutor
+                .execute(normalizePathToUnixFormat(pathToTemporaryQueueDescription, QCONF_MQ, commandCompiler));
+        return parseModifiedQueue(commandResult, pathToTemporaryQueueDescription);
+    }
+
+    /**
+     * Updates a {@code queue} matching the requested description in the Sun Grid Engine queuing system
+     * without blocking the calling thread.
+     *
+     * @param updateRequest the description of the queue to be updated
+     * @return the future of the updated {@code queue}
+     */
+    @Override
+    public CompletableFuture<Queue> updateQueueAsync(final QueueVO updateRequest) {
+        validateUpdateRequest(updateRequest);
+
+        return listQueuesAsync(QueueFilter.builder().queues(List.of(updateRequest.getName())).build())
+                .thenCompose(queues -> {
+                    final Path pathToTemporaryQueueDescription = compileQueueUpdateFile(updateRequest, queues);
+                    return cmdExecutor.executeAsync(normalizePathToUnixFormat(pathToTemporaryQueueDescription,
+                                    QCONF_MQ, commandCompiler))
+                            .thenApply(commandResult ->
+                                    parseModifiedQueue(commandResult, pathToTemporaryQueueDescription));
+                });
+    }
+
+    private List<Queue> parseQueueNames(final CommandResult commandResult) {
+        try (commandResult) {
+            verifyProcessStatus(commandResult, HttpStatus.NOT_FOUND);
+
+            return commandResult.getStdOut().stream()
+                    .map(s -> Queue.builder()
+                            .name(s)
+                            .build())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<Queue> parseQueues(final CommandResult commandResult) {
+        try (commandResult) {
+            verifyProcessStatus(commandResult, HttpStatus.NOT_FOUND);
+
+            final List<EntitiesRawOutput> queuesDescription = SgeOutputParsingUtils
+                    .splitOutputToEntities(commandResult.getStdOut(), PREFIX);
+
+            final List<SgeQueue> sgeQueues = queuesDescription.stream()
+                    .map(EntitiesRawOutput::getRawEntitiesList)
+                    .map(SgeOutputParsingUtils::parseEntitiesToMap)
+                    .map(queueMapper::mapRawOutputToSgeQueue)
+                    .collect(Collectors.toList());
+
+            return sgeQueues.stream()
+                    .map(queueMapper::sgeQueueToQueue)
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path compileQueueUpdateFile(final QueueVO updateRequest, final List<Queue> queues) {
         if (queues.size() != 1) {
             throw new GridEngineException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Can't find exact one queue by name: " + updateRequest.getName());
         }
-        final Queue queue = queues.get(0);
-        final Context context = createQueueUpdateContext(updateRequest, queue);
-        final Path pathToTemporaryQueueDescription = commandCompiler
-                .compileEntityConfigFile(getProviderType(), QUEUE_ENTITY, context);
+        final Context context = createQueueUpdateContext(updateRequest, queues.get(0));
+        return commandCompiler.compileEntityConfigFile(getProviderType(), QUEUE_ENTITY, context);
+    }
 
-        final CommandResult commandResult = simpleCmdExecutor
-                .execute(normalizePathToUnixFormat(pathToTemporaryQueueDescription, QCONF_MQ, commandCompiler));
+    private Queue parseModifiedQueue(final CommandResult commandResult, final Path pathToTemporaryQueueDescription) {
         verifyProcessStatus(commandResult, determineStatus(commandResult.getStdErr()));
-
         return createQueueFromTemporaryFile(pathToTemporaryQueueDescription);
     }
 
@@ -295,16 +387,14 @@ public class SgeQueueProvider implements QueueProvider {
         }
     }
 
-    private String parseAndExecuteDeleteCommand(final String queueName) {
-        final CommandResult commandResult = simpleCmdExecutor
-                .execute(SgeDeleteQueueCommandUtils.buildDeleteQueueCommand(queueName,
-                        commandCompiler, getProviderType()));
-
+    private Queue parseDeletedQueue(final CommandResult commandResult, final String queueName) {
         if (commandResult.getExitCode() != 0) {
             throw new GridEngineException(determineStatus(commandResult.getStdErr()),
                     mergeOutputLines(commandResult.getStdErr()));
         }
-        return queueName;
+        return Queue.builder()
+                .name(queueName)
+                .build();
     }
 
     private String[] buildQueueListingCommand(final QueueFilter queueFilter) {
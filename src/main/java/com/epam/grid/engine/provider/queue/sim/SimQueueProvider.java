@@ -0,0 +1,140 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.queue.sim;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.QueueFilter;
+import com.epam.grid.engine.entity.queue.Queue;
+import com.epam.grid.engine.entity.queue.QueueVO;
+import com.epam.grid.engine.exception.GridEngineException;
+import com.epam.grid.engine.provider.queue.QueueProvider;
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * This is the implementation of the queue provider for the simulated grid engine.
+ *
+ * @see QueueProvider
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grid.engine.type", havingValue = "SIM")
+public class SimQueueProvider implements QueueProvider {
+
+    private static final String WRONG_QUEUE_REQUEST_MESSAGE = "Queue name should be specified!";
+
+    private final SimCluster cluster;
+
+    /**
+     * This method tells what grid engine is used.
+     *
+     * @return Type of grid engine
+     * @see EngineType
+     */
+    @Override
+    public EngineType getProviderType() {
+        return EngineType.SIM;
+    }
+
+    /**
+     * Lists the names of all the queues of the simulated cluster.
+     *
+     * @return the queues containing only their names
+     */
+    @Override
+    public List<Queue> listQueues() {
+        return cluster.getQueues().stream()
+                .map(queue -> Queue.builder()
+                        .name(queue.getName())
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Lists the descriptions of the queues of the simulated cluster, all of them if the filter is empty.
+     *
+     * @param queueFilter the names of the queues to list
+     * @return the queues
+     */
+    @Override
+    public List<Queue> listQueues(final QueueFilter queueFilter) {
+        if (queueFilter == null || CollectionUtils.isEmpty(queueFilter.getQueues())) {
+            return cluster.getQueues();
+        }
+        final List<Queue> queues = cluster.getQueues().stream()
+                .filter(queue -> queueFilter.getQueues().contains(queue.getName()))
+                .collect(Collectors.toList());
+        if (queues.size() != queueFilter.getQueues().size()) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    String.format("Some of the queues %s do not exist", queueFilter.getQueues()));
+        }
+        return queues;
+    }
+
+    /**
+     * Deletes the queue of the simulated cluster.
+     *
+     * @param queueName the name of the queue to delete
+     * @return the deleted queue
+     */
+    @Override
+    public Queue deleteQueues(final String queueName) {
+        validateQueueName(queueName);
+        return cluster.deleteQueue(queueName);
+    }
+
+    /**
+     * Registers the queue in the simulated cluster.
+     *
+     * @param registrationRequest the description of the queue to be registered
+     * @return the registered queue
+     */
+    @Override
+    public Queue registerQueue(final QueueVO registrationRequest) {
+        validateQueueName(registrationRequest.getName());
+        return cluster.registerQueue(registrationRequest);
+    }
+
+    /**
+     * Updates the queue of the simulated cluster.
+     *
+     * @param updateRequest the description of the queue to be updated
+     * @return the updated queue
+     */
+    @Override
+    public Queue updateQueue(final QueueVO updateRequest) {
+        validateQueueName(updateRequest.getName());
+        return cluster.updateQueue(updateRequest);
+    }
+
+    private void validateQueueName(final String queueName) {
+        if (!StringUtils.hasText(queueName)) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST, WRONG_QUEUE_REQUEST_MESSAGE);
+        }
+    }
+}
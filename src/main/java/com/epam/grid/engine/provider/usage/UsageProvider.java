@@ -22,6 +22,9 @@ package com.epam.grid.engine.provider.usage;
 import com.epam.grid.engine.entity.usage.UsageReport;
 import com.epam.grid.engine.entity.usage.UsageReportFilter;
 import com.epam.grid.engine.provider.GridProviderAware;
+import com.epam.grid.engine.utils.FutureUtils;
+
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A provider for usage query operations.
@@ -36,4 +39,15 @@ public interface UsageProvider extends GridProviderAware {
      * @return the usage report.
      */
     UsageReport getUsageReport(UsageReportFilter filter);
+
+    /**
+     * Asynchronous variant of {@link #getUsageReport(UsageReportFilter)}.
+     * The default implementation calls the blocking method in the calling thread.
+     *
+     * @param filter List of keys for setting filters.
+     * @return the future of the result of {@link #getUsageReport(UsageReportFilter)}.
+     */
+    default CompletableFuture<UsageReport> getUsageReportAsync(final UsageReportFilter filter) {
+        return FutureUtils.supplyCompleted(() -> getUsageReport(filter));
+    }
 }
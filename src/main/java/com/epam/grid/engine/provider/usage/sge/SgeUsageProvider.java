@@ -20,11 +20,12 @@
 package com.epam.grid.engine.provider.usage.sge;
 
 import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
-import com.epam.grid.engine.cmd.SimpleCmdExecutor;
+import com.epam.grid.engine.cmd.CmdExecutor;
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.entity.usage.UsageReport;
 import com.epam.grid.engine.entity.usage.UsageReportFilter;
+import com.epam.grid.engine.jfr.OutputParseEvent;
 import com.epam.grid.engine.provider.usage.UsageProvider;
 import com.epam.grid.engine.provider.utils.sge.usage.SgeAccountingDataParser;
 import com.epam.grid.engine.provider.utils.sge.usage.SgeJobAccountingDataParser;
@@ -40,6 +41,7 @@ import org.thymeleaf.context.Context;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 /**
@@ -61,7 +63,7 @@ public class SgeUsageProvider implements UsageProvider {
     /**
      * The executor that provide the ability to call any command available in the current environment.
      */
-    private final SimpleCmdExecutor simpleCmdExecutor;
+    private final CmdExecutor cmdExecutor;
 
     /**
      * An object that forms the structure of an executable command according to a template.
@@ -77,25 +79,20 @@ public class SgeUsageProvider implements UsageProvider {
      */
     @Override
     public UsageReport getUsageReport(final UsageReportFilter filter) {
-        final Context context = new Context();
-        context.setVariable("filter", filter);
-
-        Optional.ofNullable(filter.getStartTime())
-                .ifPresent(startTime -> context.setVariable(START_TIME, parseTime(startTime)));
-
-        Optional.ofNullable(filter.getEndTime())
-                .ifPresent(endTime -> context.setVariable(END_TIME, parseTime(endTime)));
-
-        final CommandResult commandResult = simpleCmdExecutor.execute(commandCompiler.compileCommand(
-                getProviderType(), QACCT_COMMAND, context));
+        return parseUsageReport(cmdExecutor.execute(makeQacctCommand(filter)), filter);
+    }
 
-        if (commandResult.getExitCode() != 0) {
-            SgeCommandsUtils.throwExecutionDetails(commandResult);
-        } else if (!commandResult.getStdErr().isEmpty()) {
-            log.warn("Standard error while sge qacct command was executed: {}", commandResult.getStdErr());
-        }
-        final SgeAccountingDataParser parser = selectSgeAccountingDataParser(filter);
-        return parser.parseAccountingDataFromStdOut(commandResult.getStdOut());
+    /**
+     * This method gets SGE usage summary information with filters applied without blocking
+     * the calling thread.
+     *
+     * @param filter List of keys for setting filters.
+     * @return the future of the report object containing usage summary information.
+     */
+    @Override
+    public CompletableFuture<UsageReport> getUsageReportAsync(final UsageReportFilter filter) {
+        return cmdExecutor.executeAsync(makeQacctCommand(filter))
+                .thenApply(commandResult -> parseUsageReport(commandResult, filter));
     }
 
     /**
@@ -108,6 +105,32 @@ public class SgeUsageProvider implements UsageProvider {
         return EngineType.SGE;
     }
 
+    private String[] makeQacctCommand(final UsageReportFilter filter) {
+        final Context context = new Context();
+        context.setVariable("filter", filter);
+
+        Optional.ofNullable(filter.getStartTime())
+                .ifPresent(startTime -> context.setVariable(START_TIME, parseTime(startTime)));
+
+        Optional.ofNullable(filter.getEndTime())
+                .ifPresent(endTime -> context.setVariable(END_TIME, parseTime(endTime)));
+
+        return commandCompiler.compileCommand(getProviderType(), QACCT_COMMAND, context);
+    }
+
+    private UsageReport parseUsageReport(final CommandResult commandResult, final UsageReportFilter filter) {
+        try (commandResult) {
+            if (commandResult.getExitCode() != 0) {
+                SgeCommandsUtils.throwExecutionDetails(commandResult);
+            } else if (!commandResult.getStdErr().isEmpty()) {
+                log.warn("Standard error while sge qacct command was executed: {}", commandResult.getStdErr());
+            }
+            final SgeAccountingDataParser parser = selectSgeAccountingDataParser(filter);
+            return OutputParseEvent.parseLines(parser.getClass().getSimpleName(), commandResult.getStdOut(),
+                    () -> parser.parseAccountingDataFromStdOut(commandResult.getStdOut()));
+        }
+    }
+
     private String parseTime(final LocalDateTime dateTime) {
         final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DATE_TIME_PATTERN);
         return formatter.format(dateTime);
@@ -0,0 +1,167 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.usage.sim;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.usage.FilteredUsageReport;
+import com.epam.grid.engine.entity.usage.JobFilteredUsageReport;
+import com.epam.grid.engine.entity.usage.UsageReport;
+import com.epam.grid.engine.entity.usage.UsageReportFilter;
+import com.epam.grid.engine.exception.GridEngineException;
+import com.epam.grid.engine.provider.usage.UsageProvider;
+import com.epam.grid.engine.provider.utils.sim.SimAccountingRecord;
+import com.epam.grid.engine.provider.utils.sim.SimCluster;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * This is the implementation of the usage provider for the simulated grid engine, it summarizes the accounting
+ * records written by the synthetic scheduler with the semantics of the {@code qacct} filters.
+ *
+ * @see UsageProvider
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "grid.engine.type", havingValue = "SIM")
+public class SimUsageProvider implements UsageProvider {
+
+    private final SimCluster cluster;
+
+    /**
+     * This method tells what grid engine is used.
+     *
+     * @return Type of grid engine
+     * @see EngineType
+     */
+    @Override
+    public EngineType getProviderType() {
+        return EngineType.SIM;
+    }
+
+    /**
+     * This method summarizes the accounting records of the simulated cluster matching the filter.
+     *
+     * @param filter List of keys for setting filters.
+     * @return the report object containing usage summary information.
+     */
+    @Override
+    public UsageReport getUsageReport(final UsageReportFilter filter) {
+        final List<SimAccountingRecord> records = cluster.getAccountingRecords(makeRecordFilter(filter));
+        if (StringUtils.hasText(filter.getJobIdOrName())) {
+            if (records.isEmpty()) {
+                throw new GridEngineException(HttpStatus.NOT_FOUND,
+                        String.format("error: job id %s not found", filter.getJobIdOrName()));
+            }
+            return fillReport(JobFilteredUsageReport.builder()
+                    .matchingJobIds(collect(records, record -> (long) record.getJobId()))
+                    .owners(collect(records, SimAccountingRecord::getOwner))
+                    .queues(collect(records, SimAccountingRecord::getQueue))
+                    .hosts(collect(records, SimAccountingRecord::getHost))
+                    .parallelEnvs(collect(records, SimAccountingRecord::getParallelEnv))
+                    .build(), records);
+        }
+        if (isFiltered(filter)) {
+            return fillReport(FilteredUsageReport.builder()
+                    .owners(collect(records, SimAccountingRecord::getOwner))
+                    .queues(collect(records, SimAccountingRecord::getQueue))
+                    .hosts(collect(records, SimAccountingRecord::getHost))
+                    .parallelEnvs(collect(records, SimAccountingRecord::getParallelEnv))
+                    .build(), records);
+        }
+        return fillReport(new UsageReport(), records);
+    }
+
+    private Predicate<SimAccountingRecord> makeRecordFilter(final UsageReportFilter filter) {
+        Predicate<SimAccountingRecord> predicate = record -> true;
+        if (StringUtils.hasText(filter.getOwner())) {
+            predicate = predicate.and(record -> filter.getOwner().equals(record.getOwner()));
+        }
+        if (StringUtils.hasText(filter.getQueue())) {
+            predicate = predicate.and(record -> filter.getQueue().equals(record.getQueue()));
+        }
+        if (StringUtils.hasText(filter.getParallelEnv())) {
+            predicate = predicate.and(record -> filter.getParallelEnv().equals(record.getParallelEnv()));
+        }
+        if (StringUtils.hasText(filter.getJobIdOrName())) {
+            final String jobIdOrName = filter.getJobIdOrName();
+            predicate = predicate.and(record -> jobIdOrName.equals(String.valueOf(record.getJobId()))
+                    || jobIdOrName.equals(record.getJobName()));
+        }
+        if (filter.getStartTime() != null) {
+            final Instant startTime = toInstant(filter.getStartTime());
+            predicate = predicate.and(record -> !record.getStartTime().isBefore(startTime));
+        }
+        if (filter.getEndTime() != null) {
+            final Instant endTime = toInstant(filter.getEndTime());
+            predicate = predicate.and(record -> !record.getStartTime().isAfter(endTime));
+        }
+        if (filter.getDays() != null) {
+            final Instant since = Instant.now().minus(Duration.ofDays(filter.getDays()));
+            predicate = predicate.and(record -> !record.getStartTime().isBefore(since));
+        }
+        return predicate;
+    }
+
+    private boolean isFiltered(final UsageReportFilter filter) {
+        return filter.getStartTime() != null
+                || filter.getEndTime() != null
+                || filter.getDays() != null
+                || Stream.of(filter.getOwner(), filter.getQueue(), filter.getParallelEnv())
+                .anyMatch(StringUtils::hasText);
+    }
+
+    private <T extends UsageReport> T fillReport(final T report, final List<SimAccountingRecord> records) {
+        report.setWallClock(records.stream().mapToInt(SimAccountingRecord::getWallClock).sum());
+        report.setUserTime(records.stream().mapToDouble(SimAccountingRecord::getUserTime).sum());
+        report.setSystemTime(records.stream().mapToDouble(SimAccountingRecord::getSystemTime).sum());
+        report.setCpuTime(records.stream().mapToDouble(SimAccountingRecord::getCpuTime).sum());
+        report.setMemory(records.stream().mapToDouble(SimAccountingRecord::getMemory).sum());
+        report.setIoData(records.stream().mapToDouble(SimAccountingRecord::getIoData).sum());
+        report.setIoWaiting(records.stream().mapToDouble(SimAccountingRecord::getIoWaiting).sum());
+        return report;
+    }
+
+    private <T> Set<T> collect(final List<SimAccountingRecord> records,
+                               final Function<SimAccountingRecord, T> extractor) {
+        return records.stream()
+                .map(extractor)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private Instant toInstant(final LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
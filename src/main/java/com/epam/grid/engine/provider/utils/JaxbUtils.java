@@ -20,6 +20,7 @@
 package com.epam.grid.engine.provider.utils;
 
 import com.epam.grid.engine.exception.GridEngineException;
+import com.epam.grid.engine.jfr.OutputParseEvent;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
 import jakarta.xml.bind.Unmarshaller;
@@ -27,20 +28,56 @@ import org.springframework.http.HttpStatus;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
+import java.io.InputStream;
 import java.io.StringReader;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class JaxbUtils {
 
+    private static final Map<Class<?>, JAXBContext> CONTEXTS = new ConcurrentHashMap<>();
+
     public static <T> T unmarshall(final String xml, final Class<T> clazz) {
+        return OutputParseEvent.parseText(getParserName(clazz), xml, () ->
+                unmarshall(clazz, unmarshaller -> unmarshaller.unmarshal(new StringReader(xml))));
+    }
+
+    public static <T> T unmarshall(final InputStream xml, final Class<T> clazz) {
+        return OutputParseEvent.parseStream(getParserName(clazz), () ->
+                unmarshall(clazz, unmarshaller -> unmarshaller.unmarshal(xml)));
+    }
 
+    // The context is thread-safe and expensive to create, so it is created once per class,
+    // while the unmarshaller is not thread-safe and is created for every document
+    private static <T> T unmarshall(final Class<T> clazz, final XmlSource source) {
         try {
-            final JAXBContext context = JAXBContext.newInstance(clazz);
-            final Unmarshaller unmarshaller = context.createUnmarshaller();
-            return (T) unmarshaller.unmarshal(new StringReader(xml));
+            final Unmarshaller unmarshaller = CONTEXTS.computeIfAbsent(clazz, JaxbUtils::newContext)
+                    .createUnmarshaller();
+            return clazz.cast(source.unmarshal(unmarshaller));
         } catch (final JAXBException e) {
-            throw new GridEngineException(HttpStatus.NOT_FOUND,
-                    "Some problems during unmarshalling XML data", e);
+            throw unmarshallingFailed(e);
         }
     }
+
+    private static JAXBContext newContext(final Class<?> clazz) {
+        try {
+            return JAXBContext.newInstance(clazz);
+        } catch (final JAXBException e) {
+            throw unmarshallingFailed(e);
+        }
+    }
+
+    private static GridEngineException unmarshallingFailed(final JAXBException e) {
+        return new GridEngineException(HttpStatus.NOT_FOUND, "Some problems during unmarshalling XML data", e);
+    }
+
+    private static String getParserName(final Class<?> clazz) {
+        return "jaxb:" + clazz.getSimpleName();
+    }
+
+    @FunctionalInterface
+    private interface XmlSource {
+        Object unmarshal(Unmarshaller unmarshaller) throws JAXBException;
+    }
 }
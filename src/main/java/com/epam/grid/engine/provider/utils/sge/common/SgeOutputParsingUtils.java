@@ -21,6 +21,7 @@ package com.epam.grid.engine.provider.utils.sge.common;
 
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EntitiesRawOutput;
+import com.epam.grid.engine.jfr.OutputParseEvent;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
@@ -75,8 +76,8 @@ public final class SgeOutputParsingUtils {
      * @return a Map of Strings
      */
     public static Map<String, String> parseEntitiesToMap(final List<String> entitiesTable) {
-        return entitiesTable.stream()
+        return OutputParseEvent.parseLines("entities", entitiesTable, () -> entitiesTable.stream()
                 .collect(Collectors.toMap(line -> line.split(SPACE, 2)[0].trim(),
-                        line -> line.split(SPACE, 2)[1].trim()));
+                        line -> line.split(SPACE, 2)[1].trim())));
     }
 }
@@ -0,0 +1,48 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.utils.sim;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * The accounting record of a job that left the simulated cluster.
+ */
+@Value
+@Builder
+public class SimAccountingRecord {
+    int jobId;
+    String jobName;
+    String owner;
+    String queue;
+    String host;
+    String parallelEnv;
+    Instant startTime;
+    Instant endTime;
+    int wallClock;
+    double userTime;
+    double systemTime;
+    double cpuTime;
+    double memory;
+    double ioData;
+    double ioWaiting;
+}
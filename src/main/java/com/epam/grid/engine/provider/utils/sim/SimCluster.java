@@ -0,0 +1,749 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.utils.sim;
+
+import com.epam.grid.engine.entity.host.Host;
+import com.epam.grid.engine.entity.hostgroup.HostGroup;
+import com.epam.grid.engine.entity.job.DeletedJobInfo;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobOptions;
+import com.epam.grid.engine.entity.job.JobState;
+import com.epam.grid.engine.entity.parallelenv.AllocationRuleType;
+import com.epam.grid.engine.entity.parallelenv.ParallelEnv;
+import com.epam.grid.engine.entity.parallelenv.PeRegistrationVO;
+import com.epam.grid.engine.entity.parallelenv.RuleState;
+import com.epam.grid.engine.entity.queue.Queue;
+import com.epam.grid.engine.entity.queue.QueueVO;
+import com.epam.grid.engine.entity.queue.SlotsDescription;
+import com.epam.grid.engine.exception.GridEngineException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * An in-memory model of a grid engine cluster driven by a synthetic scheduler.
+ * <p>
+ * The cluster consists of hosts, host groups, queues, parallel environments and users generated
+ * from a seed. The scheduler passes are due once per {@code sim.scheduling.interval} and run lazily when the cluster
+ * is accessed, every pass due since the previous access is replayed at its own time: the running jobs whose time
+ * is over leave the cluster and get accounting records, then the pending jobs are started in the priority order
+ * on the first hosts of their queues with enough free slots.
+ * The cluster is safe for concurrent use, the readers share a lock that only the scheduler passes and
+ * the modifications take exclusively.
+ */
+@Slf4j
+public class SimCluster {
+
+    public static final String ALL_QUEUE = "all.q";
+    public static final String ALL_HOSTS_GROUP = "@allhosts";
+
+    private static final List<String> PARALLEL_ENVS = List.of("make", "smp", "mpi");
+    private static final List<String> DEFAULT_USER_GROUPS = List.of("arusers");
+    private static final String HOST_ARCHITECTURE = "lx-amd64";
+    private static final String QUEUE_TYPE = "BATCH INTERACTIVE";
+    private static final String QUEUE_TMP_DIR = "/tmp";
+    private static final String QUEUE_INTERVAL = "00:05:00";
+    private static final String JOB_NAME_FORMAT = "sim_job_%d";
+    private static final String PENDING_STATE = "pending";
+    private static final String PENDING_STATE_CODE = "qw";
+    private static final String RUNNING_STATE = "running";
+    private static final String RUNNING_STATE_CODE = "r";
+    private static final int JOB_NAMES = 1000;
+    private static final double POSIX_PRIORITY_RANGE = 2048.0;
+    private static final double MIN_CPU_UTILIZATION = 0.5;
+    private static final double MAX_MEMORY_PER_SLOT = 4.0;
+    private static final double MAX_IO_DATA = 10.0;
+    private static final double MAX_IO_WAITING = 2.0;
+    private static final Duration HISTORY_PERIOD = Duration.ofDays(30);
+    private static final Duration BACKLOG_PERIOD = Duration.ofDays(1);
+
+    /**
+     * The maximal number of pending jobs considered by a scheduler pass, the rest wait for the next passes.
+     */
+    private static final int SCHEDULING_DEPTH = 10_000;
+
+    private static final Comparator<SimJob> SCHEDULING_ORDER = Comparator.comparingDouble(SimJob::getPriority)
+            .reversed()
+            .thenComparingInt(SimJob::getId);
+    private static final Comparator<SimJob> COMPLETION_ORDER = Comparator.comparing(SimJob::getEndTime)
+            .thenComparingInt(SimJob::getId);
+
+    private final SimClusterSettings settings;
+    private final Clock clock;
+    private final SplittableRandom random;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, SimHost> hosts = new LinkedHashMap<>();
+    private final Map<String, List<String>> hostGroups = new LinkedHashMap<>();
+    private final Map<String, Queue> queues = new LinkedHashMap<>();
+    private final Map<String, List<SimHost>> queueHosts = new HashMap<>();
+    private final Map<String, ParallelEnv> parallelEnvs = new LinkedHashMap<>();
+    private final List<String> users;
+    private final Map<Integer, SimJob> jobs = new LinkedHashMap<>();
+    private final NavigableSet<SimJob> pendingJobs = new TreeSet<>(SCHEDULING_ORDER);
+    private final NavigableSet<SimJob> runningJobs = new TreeSet<>(COMPLETION_ORDER);
+    private final List<SimAccountingRecord> accountingRecords = new ArrayList<>();
+
+    @Getter
+    private final Instant startTime;
+    private int lastJobId;
+    private volatile Instant nextSchedulingTime;
+
+    /**
+     * Generates the cluster and its backlog of jobs and accounting records.
+     *
+     * @param settings The size and the dynamics of the cluster.
+     * @param clock    The clock driving the scheduler.
+     */
+    public SimCluster(final SimClusterSettings settings, final Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.random = new SplittableRandom(settings.getSeed());
+        this.startTime = clock.instant();
+        this.users = IntStream.rangeClosed(1, settings.getUsers())
+                .mapToObj(index -> "user" + index)
+                .collect(Collectors.toList());
+        createHosts();
+        createParallelEnvs();
+        createQueues();
+        createAccountingHistory();
+        createBacklog();
+        runScheduler(startTime);
+        log.info("Simulated cluster of {} hosts has {} running and {} pending jobs",
+                hosts.size(), runningJobs.size(), pendingJobs.size());
+    }
+
+    /**
+     * Lists the jobs currently in the cluster, i.e. pending and running, in the order of submission.
+     *
+     * @param filter The condition on the jobs to list.
+     * @return The matching jobs.
+     */
+    public List<Job> getJobs(final Predicate<SimJob> filter) {
+        return read(() -> jobs.values().stream()
+                .filter(filter)
+                .map(this::toJob)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Checks whether the job with the identifier has ever been submitted to the cluster.
+     *
+     * @param jobId The job identifier.
+     * @return true if the job is known.
+     */
+    public boolean isKnownJob(final int jobId) {
+        return read(() -> jobId > 0 && jobId <= lastJobId);
+    }
+
+    /**
+     * Submits a job to the cluster, it is started by one of the next scheduler passes.
+     *
+     * @param options The job options.
+     * @return The submitted job.
+     */
+    public Job submitJob(final JobOptions options) {
+        return write(() -> {
+            final String queue = Optional.ofNullable(options.getQueues())
+                    .filter(CollectionUtils::isNotEmpty)
+                    .map(names -> names.get(0))
+                    .orElse(ALL_QUEUE);
+            if (!queues.containsKey(queue)) {
+                throw new GridEngineException(HttpStatus.BAD_REQUEST,
+                        String.format("Job was rejected because job requests unknown queue \"%s\"", queue));
+            }
+            String parallelEnv = null;
+            int slots = 1;
+            if (options.getParallelEnvOptions() != null) {
+                parallelEnv = options.getParallelEnvOptions().getName();
+                if (!parallelEnvs.containsKey(parallelEnv)) {
+                    throw new GridEngineException(HttpStatus.BAD_REQUEST,
+                            String.format("Job was rejected because job requests unknown parallel environment "
+                                    + "\"%s\"", parallelEnv));
+                }
+                slots = Math.max(options.getParallelEnvOptions().getMin(), options.getParallelEnvOptions().getMax());
+            }
+            final SimJob job = SimJob.builder()
+                    .id(++lastJobId)
+                    .name(StringUtils.hasText(options.getName()) ? options.getName() : options.getCommand())
+                    .owner(settings.getSubmitUser())
+                    .queue(queue)
+                    .parallelEnv(parallelEnv)
+                    .slots(slots)
+                    .priority(normalizePriority(options.getPriority()))
+                    .submissionTime(clock.instant())
+                    .durationMillis(nextJobDuration())
+                    .category(JobState.Category.PENDING)
+                    .build();
+            addPendingJob(job);
+            return toJob(job);
+        });
+    }
+
+    /**
+     * Deletes the job with the identifier, or all the jobs of the user if the identifier isn't specified.
+     *
+     * @param jobId The job identifier, may be null.
+     * @param user  The owner of the jobs, may be null.
+     * @return The identifiers of the deleted jobs and the user who deleted them.
+     */
+    public DeletedJobInfo deleteJobs(final Long jobId, final String user) {
+        return write(() -> {
+            final List<SimJob> deleted = jobs.values().stream()
+                    .filter(job -> jobId == null || job.getId() == jobId)
+                    .filter(job -> user == null || job.getOwner().equals(user))
+                    .collect(Collectors.toList());
+            if (deleted.isEmpty()) {
+                throw new GridEngineException(HttpStatus.NOT_FOUND, jobId != null
+                        ? String.format("denied: job \"%d\" does not exist", jobId)
+                        : String.format("There are no jobs registered for user \"%s\"", user));
+            }
+            final Instant now = clock.instant();
+            deleted.forEach(job -> {
+                if (job.getCategory() == JobState.Category.RUNNING) {
+                    runningJobs.remove(job);
+                    releaseJob(job, now);
+                } else {
+                    pendingJobs.remove(job);
+                    jobs.remove(job.getId());
+                }
+            });
+            return new DeletedJobInfo(deleted.stream()
+                    .map(job -> (long) job.getId())
+                    .collect(Collectors.toList()), Optional.ofNullable(user).orElse(settings.getSubmitUser()));
+        });
+    }
+
+    /**
+     * Lists the accounting records of the jobs that left the cluster, in the order of leaving.
+     *
+     * @param filter The condition on the records to list.
+     * @return The matching records.
+     */
+    public List<SimAccountingRecord> getAccountingRecords(final Predicate<SimAccountingRecord> filter) {
+        return read(() -> accountingRecords.stream()
+                .filter(filter)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Lists the hosts with their current load.
+     *
+     * @return The hosts.
+     */
+    public List<Host> getHosts() {
+        return read(() -> hosts.values().stream()
+                .map(SimHost::toHost)
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Lists the host groups.
+     *
+     * @return The host groups.
+     */
+    public List<HostGroup> getHostGroups() {
+        return read(() -> hostGroups.entrySet().stream()
+                .map(group -> new HostGroup(group.getKey(), group.getValue()))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Lists the queues.
+     *
+     * @return The queues.
+     */
+    public List<Queue> getQueues() {
+        return read(() -> new ArrayList<>(queues.values()));
+    }
+
+    /**
+     * Adds a queue to the cluster.
+     *
+     * @param request The description of the queue.
+     * @return The registered queue.
+     */
+    public Queue registerQueue(final QueueVO request) {
+        return write(() -> {
+            if (queues.containsKey(request.getName())) {
+                throw new GridEngineException(HttpStatus.BAD_REQUEST,
+                        String.format("complex queue \"%s\" already exists", request.getName()));
+            }
+            final Queue queue = buildQueue(request.getName(),
+                    Optional.ofNullable(request.getHostList()).orElse(List.of(ALL_HOSTS_GROUP)),
+                    Optional.ofNullable(request.getParallelEnvironmentNames()).orElse(PARALLEL_ENVS));
+            queue.setOwnerList(request.getOwnerList());
+            Optional.ofNullable(request.getAllowedUserGroups()).ifPresent(queue::setAllowedUserGroups);
+            putQueue(queue);
+            return queue;
+        });
+    }
+
+    /**
+     * Updates the specified properties of a queue.
+     *
+     * @param request The queue name and the properties to update.
+     * @return The updated queue.
+     */
+    public Queue updateQueue(final QueueVO request) {
+        return write(() -> {
+            final Queue current = getExisting(queues, request.getName(), "cluster queue");
+            final Queue queue = buildQueue(current.getName(),
+                    Optional.ofNullable(request.getHostList()).orElse(current.getHostList()),
+                    Optional.ofNullable(request.getParallelEnvironmentNames())
+                            .orElse(current.getParallelEnvironmentNames()));
+            queue.setOwnerList(Optional.ofNullable(request.getOwnerList()).orElse(current.getOwnerList()));
+            queue.setAllowedUserGroups(Optional.ofNullable(request.getAllowedUserGroups())
+                    .orElse(current.getAllowedUserGroups()));
+            putQueue(queue);
+            return queue;
+        });
+    }
+
+    /**
+     * Removes a queue from the cluster, the jobs already in the queue are not affected.
+     *
+     * @param name The queue name.
+     * @return The deleted queue.
+     */
+    public Queue deleteQueue(final String name) {
+        return write(() -> {
+            final Queue queue = getExisting(queues, name, "cluster queue");
+            queues.remove(name);
+            return queue;
+        });
+    }
+
+    /**
+     * Lists the parallel environments.
+     *
+     * @return The parallel environments.
+     */
+    public List<ParallelEnv> getParallelEnvs() {
+        return read(() -> new ArrayList<>(parallelEnvs.values()));
+    }
+
+    /**
+     * Adds a parallel environment to the cluster.
+     *
+     * @param request The description of the parallel environment.
+     * @return The registered parallel environment.
+     */
+    public ParallelEnv registerParallelEnv(final PeRegistrationVO request) {
+        return write(() -> {
+            if (parallelEnvs.containsKey(request.getName())) {
+                throw new GridEngineException(HttpStatus.BAD_REQUEST,
+                        String.format("parallel environment \"%s\" already exists", request.getName()));
+            }
+            final ParallelEnv parallelEnv = buildParallelEnv(request.getName(),
+                    Optional.ofNullable(request.getSlots()).orElse(getTotalSlots()),
+                    AllocationRuleType.getRule(Optional.ofNullable(request.getAllocationRule())
+                            .orElse(AllocationRuleType.FILL_UP.getStateCode())));
+            parallelEnvs.put(parallelEnv.getName(), parallelEnv);
+            return parallelEnv;
+        });
+    }
+
+    /**
+     * Removes a parallel environment from the cluster.
+     *
+     * @param name The parallel environment name.
+     * @return The deleted parallel environment.
+     */
+    public ParallelEnv deleteParallelEnv(final String name) {
+        return write(() -> {
+            final ParallelEnv parallelEnv = getExisting(parallelEnvs, name, "parallel environment");
+            parallelEnvs.remove(name);
+            return parallelEnv;
+        });
+    }
+
+    /**
+     * Runs the scheduler passes that have become due since the previous one.
+     */
+    public void advance() {
+        final Instant now = clock.instant();
+        if (now.isBefore(nextSchedulingTime)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            runDueSchedulerPasses(now);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(final Supplier<T> action) {
+        advance();
+        lock.readLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private <T> T write(final Supplier<T> action) {
+        advance();
+        lock.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Replays every scheduling tick up to now, as if the cluster had been polled continuously. A pass that
+    // starts no job leaves the next passes nothing to do until a running job ends, so those ticks are skipped.
+    private void runDueSchedulerPasses(final Instant now) {
+        while (!now.isBefore(nextSchedulingTime)) {
+            if (!runScheduler(nextSchedulingTime)) {
+                final Instant wakeUp = runningJobs.isEmpty() || runningJobs.first().getEndTime().isAfter(now)
+                        ? now
+                        : runningJobs.first().getEndTime();
+                nextSchedulingTime = getFirstTickNotBefore(wakeUp);
+            }
+        }
+    }
+
+    private Instant getFirstTickNotBefore(final Instant time) {
+        if (!time.isAfter(nextSchedulingTime)) {
+            return nextSchedulingTime;
+        }
+        final Duration interval = settings.getSchedulingInterval();
+        final Instant tick = nextSchedulingTime.plus(
+                interval.multipliedBy(Duration.between(nextSchedulingTime, time).dividedBy(interval)));
+        return tick.isBefore(time) ? tick.plus(interval) : tick;
+    }
+
+    private boolean runScheduler(final Instant now) {
+        while (!runningJobs.isEmpty() && !runningJobs.first().getEndTime().isAfter(now)) {
+            final SimJob job = runningJobs.pollFirst();
+            releaseJob(job, job.getEndTime());
+        }
+        int freeSlots = hosts.values().stream()
+                .mapToInt(SimHost::getFreeSlots)
+                .sum();
+        int attempts = 0;
+        boolean started = false;
+        final Iterator<SimJob> iterator = pendingJobs.iterator();
+        while (freeSlots > 0 && attempts++ < SCHEDULING_DEPTH && iterator.hasNext()) {
+            final SimJob job = iterator.next();
+            final Optional<SimHost> host = findHost(job);
+            if (host.isPresent()) {
+                iterator.remove();
+                host.get().allocate(job.getSlots());
+                job.setHost(host.get().getName());
+                job.setStartTime(now);
+                job.setCategory(JobState.Category.RUNNING);
+                runningJobs.add(job);
+                freeSlots -= job.getSlots();
+                started = true;
+            }
+        }
+        nextSchedulingTime = now.plus(settings.getSchedulingInterval());
+        return started;
+    }
+
+    private Optional<SimHost> findHost(final SimJob job) {
+        return queueHosts.getOrDefault(job.getQueue(), List.of()).stream()
+                .filter(host -> host.getFreeSlots() >= job.getSlots())
+                .findFirst();
+    }
+
+    private void addPendingJob(final SimJob job) {
+        jobs.put(job.getId(), job);
+        pendingJobs.add(job);
+    }
+
+    private void releaseJob(final SimJob job, final Instant endTime) {
+        jobs.remove(job.getId());
+        hosts.get(job.getHost()).release(job.getSlots());
+        accountingRecords.add(toAccountingRecord(job.getId(), job.getName(), job.getOwner(), job.getQueue(),
+                job.getHost(), job.getParallelEnv(), job.getSlots(), job.getStartTime(), endTime));
+    }
+
+    private SimAccountingRecord toAccountingRecord(final int jobId, final String jobName, final String owner,
+                                                   final String queue, final String host, final String parallelEnv,
+                                                   final int slots, final Instant start, final Instant end) {
+        // The usage is derived from the job identifier to keep it independent of the scheduling order
+        final SplittableRandom usage = new SplittableRandom(settings.getSeed() ^ jobId);
+        final int wallClock = (int) Duration.between(start, end).getSeconds();
+        final double cpuTime = wallClock * slots * usage.nextDouble(MIN_CPU_UTILIZATION, 1.0);
+        return SimAccountingRecord.builder()
+                .jobId(jobId)
+                .jobName(jobName)
+                .owner(owner)
+                .queue(queue)
+                .host(host)
+                .parallelEnv(parallelEnv)
+                .startTime(start)
+                .endTime(end)
+                .wallClock(wallClock)
+                .userTime(cpuTime * 0.9)
+                .systemTime(cpuTime * 0.1)
+                .cpuTime(cpuTime)
+                .memory(cpuTime * usage.nextDouble(MAX_MEMORY_PER_SLOT))
+                .ioData(usage.nextDouble(MAX_IO_DATA))
+                .ioWaiting(usage.nextDouble(MAX_IO_WAITING))
+                .build();
+    }
+
+    private Job toJob(final SimJob job) {
+        final boolean running = job.getCategory() == JobState.Category.RUNNING;
+        return Job.builder()
+                .id(job.getId())
+                .priority(job.getPriority())
+                .name(job.getName())
+                .owner(job.getOwner())
+                .state(JobState.builder()
+                        .category(job.getCategory())
+                        .state(running ? RUNNING_STATE : PENDING_STATE)
+                        .stateCode(running ? RUNNING_STATE_CODE : PENDING_STATE_CODE)
+                        .build())
+                .submissionTime(LocalDateTime.ofInstant(job.getSubmissionTime(), clock.getZone()))
+                .queueName(running ? job.getQueue() + "@" + job.getHost() : null)
+                .slots(job.getSlots())
+                .build();
+    }
+
+    private void createHosts() {
+        final List<String> allHosts = new ArrayList<>();
+        for (int index = 1; index <= settings.getHosts(); index++) {
+            final SimHost host = new SimHost(String.format("node%05d", index), settings.getSlotsPerHost(),
+                    settings.getMemoryPerHost());
+            hosts.put(host.getName(), host);
+            allHosts.add(host.getName());
+        }
+        hostGroups.put(ALL_HOSTS_GROUP, allHosts);
+        for (int queue = 1; queue <= settings.getQueues(); queue++) {
+            final int remainder = queue - 1;
+            hostGroups.put(getQueueHostGroup(queue), IntStream.range(0, allHosts.size())
+                    .filter(index -> index % settings.getQueues() == remainder)
+                    .mapToObj(allHosts::get)
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    private void createParallelEnvs() {
+        final int totalSlots = getTotalSlots();
+        parallelEnvs.put("make", buildParallelEnv("make", totalSlots, AllocationRuleType.ROUND_ROBIN));
+        parallelEnvs.put("smp", buildParallelEnv("smp", totalSlots, AllocationRuleType.PE_SLOTS));
+        parallelEnvs.put("mpi", buildParallelEnv("mpi", totalSlots, AllocationRuleType.FILL_UP));
+    }
+
+    private void createQueues() {
+        putQueue(buildQueue(ALL_QUEUE, List.of(ALL_HOSTS_GROUP), PARALLEL_ENVS));
+        for (int queue = 1; queue <= settings.getQueues(); queue++) {
+            putQueue(buildQueue(getQueueName(queue), List.of(getQueueHostGroup(queue)), List.of("smp", "mpi")));
+        }
+    }
+
+    private void createAccountingHistory() {
+        final int records = settings.getAccountingRecords();
+        final long periodMillis = HISTORY_PERIOD.toMillis();
+        final List<String> queueNames = new ArrayList<>(queues.keySet());
+        final List<String> hostNames = new ArrayList<>(hosts.keySet());
+        for (int index = 0; index < records; index++) {
+            final int jobId = ++lastJobId;
+            final Instant start = startTime.minusMillis(periodMillis - periodMillis * index / records);
+            final String parallelEnv = random.nextInt(4) == 0 ? PARALLEL_ENVS.get(random.nextInt(2) + 1) : null;
+            accountingRecords.add(toAccountingRecord(jobId, getJobName(jobId), pick(users), pick(queueNames),
+                    pick(hostNames), parallelEnv, parallelEnv == null ? 1 : nextParallelSlots(),
+                    start, start.plusMillis(nextJobDuration())));
+        }
+    }
+
+    private void createBacklog() {
+        final long periodMillis = BACKLOG_PERIOD.toMillis();
+        final List<String> queueNames = new ArrayList<>(queues.keySet());
+        for (int index = 0; index < settings.getJobs(); index++) {
+            final int jobId = ++lastJobId;
+            final String parallelEnv = random.nextInt(4) == 0 ? PARALLEL_ENVS.get(random.nextInt(2) + 1) : null;
+            addPendingJob(SimJob.builder()
+                    .id(jobId)
+                    .name(getJobName(jobId))
+                    .owner(pick(users))
+                    .queue(pick(queueNames))
+                    .parallelEnv(parallelEnv)
+                    .slots(parallelEnv == null ? 1 : nextParallelSlots())
+                    .priority(random.nextDouble())
+                    .submissionTime(startTime.minusMillis(periodMillis - periodMillis * index / settings.getJobs()))
+                    .durationMillis(nextJobDuration())
+                    .category(JobState.Category.PENDING)
+                    .build());
+        }
+    }
+
+    private Queue buildQueue(final String name, final List<String> hostList, final List<String> parallelEnvNames) {
+        return Queue.builder()
+                .name(name)
+                .hostList(hostList)
+                .numberInSchedulingOrder(0)
+                .loadThresholds(Map.of("np_load_avg", 1.75))
+                .numOfSuspendedJobs(1)
+                .interval(QUEUE_INTERVAL)
+                .jobPriority(0)
+                .qtype(QUEUE_TYPE)
+                .parallelEnvironmentNames(parallelEnvNames)
+                .slots(new SlotsDescription(settings.getSlotsPerHost(), Map.of()))
+                .allowedUserGroups(DEFAULT_USER_GROUPS)
+                .tmpDir(QUEUE_TMP_DIR)
+                .build();
+    }
+
+    private void putQueue(final Queue queue) {
+        queues.put(queue.getName(), queue);
+        queueHosts.put(queue.getName(), queue.getHostList().stream()
+                .flatMap(entry -> hostGroups.getOrDefault(entry, List.of(entry)).stream())
+                .map(hosts::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList()));
+    }
+
+    private ParallelEnv buildParallelEnv(final String name, final int slots, final AllocationRuleType rule) {
+        return ParallelEnv.builder()
+                .name(name)
+                .slots(slots)
+                .allowedUserGroups(List.of())
+                .forbiddenUserGroups(List.of())
+                .startProcArgs(List.of())
+                .stopProcArgs(List.of())
+                .allocationRule(RuleState.builder()
+                        .originalState(rule.getStateCode())
+                        .allocationRule(rule)
+                        .build())
+                .controlSlaves(true)
+                .jobIsFirstTask(false)
+                .accountingSummary(true)
+                .build();
+    }
+
+    private <T> T getExisting(final Map<String, T> entities, final String name, final String kind) {
+        final T entity = entities.get(name);
+        if (entity == null) {
+            throw new GridEngineException(HttpStatus.NOT_FOUND,
+                    String.format("%s \"%s\" does not exist", kind, name));
+        }
+        return entity;
+    }
+
+    private int getTotalSlots() {
+        return settings.getHosts() * settings.getSlotsPerHost();
+    }
+
+    private long nextJobDuration() {
+        final long min = settings.getMinJobDuration().toMillis();
+        final long max = settings.getMaxJobDuration().toMillis();
+        return max > min ? random.nextLong(min, max) : min;
+    }
+
+    private double normalizePriority(final int priority) {
+        // The POSIX priority of the submitted job, -1023..1024, is reported normalized as SGE does
+        return 0.5 + priority / POSIX_PRIORITY_RANGE;
+    }
+
+    private int nextParallelSlots() {
+        return 1 + random.nextInt(Math.max(1, settings.getSlotsPerHost()));
+    }
+
+    private <T> T pick(final List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String getJobName(final int jobId) {
+        return String.format(JOB_NAME_FORMAT, jobId % JOB_NAMES);
+    }
+
+    private static String getQueueName(final int queue) {
+        return "queue" + queue + ".q";
+    }
+
+    private static String getQueueHostGroup(final int queue) {
+        return "@queue" + queue + "hosts";
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class SimHost {
+        private static final int SOCKETS = 2;
+
+        private final String name;
+        private final int slots;
+        private final long memory;
+        private int usedSlots;
+
+        int getFreeSlots() {
+            return slots - usedSlots;
+        }
+
+        void allocate(final int jobSlots) {
+            usedSlots += jobSlots;
+        }
+
+        void release(final int jobSlots) {
+            usedSlots -= jobSlots;
+        }
+
+        Host toHost() {
+            final double load = slots == 0 ? 0.0 : (double) usedSlots / slots;
+            return Host.builder()
+                    .hostname(name)
+                    .typeOfArchitect(HOST_ARCHITECTURE)
+                    .numOfProcessors(slots)
+                    .numOfSocket(SOCKETS)
+                    .numOfCore(slots)
+                    .numOfThread(slots)
+                    .load(load)
+                    .memTotal(memory)
+                    .memUsed((long) (memory * load))
+                    .totalSwapSpace(0.0)
+                    .usedSwapSpace(0.0)
+                    .build();
+        }
+    }
+}
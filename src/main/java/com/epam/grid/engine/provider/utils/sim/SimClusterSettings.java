@@ -0,0 +1,97 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.utils.sim;
+
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * The size and the dynamics of the simulated cluster, configured by the {@code sim.*} properties.
+ */
+@Value
+@Builder(toBuilder = true)
+public class SimClusterSettings {
+
+    private static final String PROPERTY_PREFIX = "sim.";
+
+    /**
+     * The seed of the pseudo-random generator, the same seed produces the same cluster.
+     */
+    long seed;
+    int hosts;
+    int slotsPerHost;
+    long memoryPerHost;
+    int queues;
+    int users;
+
+    /**
+     * The number of jobs submitted at startup.
+     */
+    int jobs;
+
+    /**
+     * The number of finished jobs in the accounting history at startup.
+     */
+    int accountingRecords;
+    Duration minJobDuration;
+    Duration maxJobDuration;
+
+    /**
+     * The minimal time between two passes of the synthetic scheduler.
+     */
+    Duration schedulingInterval;
+
+    /**
+     * The owner of the jobs submitted through the API.
+     */
+    String submitUser;
+
+    /**
+     * Reads the settings from the {@code sim.*} properties.
+     *
+     * @param environment The application environment.
+     * @return The settings.
+     */
+    public static SimClusterSettings fromEnvironment(final Environment environment) {
+        return SimClusterSettings.builder()
+                .seed(environment.getRequiredProperty(PROPERTY_PREFIX + "seed", Long.class))
+                .hosts(environment.getRequiredProperty(PROPERTY_PREFIX + "hosts", Integer.class))
+                .slotsPerHost(environment.getRequiredProperty(PROPERTY_PREFIX + "host.slots", Integer.class))
+                .memoryPerHost(environment.getRequiredProperty(PROPERTY_PREFIX + "host.memory", Long.class))
+                .queues(environment.getRequiredProperty(PROPERTY_PREFIX + "queues", Integer.class))
+                .users(environment.getRequiredProperty(PROPERTY_PREFIX + "users", Integer.class))
+                .jobs(environment.getRequiredProperty(PROPERTY_PREFIX + "jobs", Integer.class))
+                .accountingRecords(environment.getRequiredProperty(PROPERTY_PREFIX + "accounting.records",
+                        Integer.class))
+                .minJobDuration(getDuration(environment, "job.duration.min"))
+                .maxJobDuration(getDuration(environment, "job.duration.max"))
+                .schedulingInterval(getDuration(environment, "scheduling.interval"))
+                .submitUser(environment.getRequiredProperty(PROPERTY_PREFIX + "submit.user"))
+                .build();
+    }
+
+    private static Duration getDuration(final Environment environment, final String property) {
+        return DurationStyle.detectAndParse(environment.getRequiredProperty(PROPERTY_PREFIX + property));
+    }
+}
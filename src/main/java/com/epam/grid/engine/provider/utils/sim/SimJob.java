@@ -0,0 +1,59 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.utils.sim;
+
+import com.epam.grid.engine.entity.job.JobState;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A job of the simulated cluster.
+ */
+@Data
+@Builder
+public class SimJob {
+    private final int id;
+    private final String name;
+    private final String owner;
+    private final String queue;
+    private final String parallelEnv;
+    private final int slots;
+    private final double priority;
+    private final Instant submissionTime;
+
+    /**
+     * The time the job runs for once it is started.
+     */
+    private final long durationMillis;
+    private JobState.Category category;
+    private String host;
+    private Instant startTime;
+
+    /**
+     * Gets the time the running job finishes at.
+     *
+     * @return The finish time.
+     */
+    public Instant getEndTime() {
+        return startTime.plusMillis(durationMillis);
+    }
+}
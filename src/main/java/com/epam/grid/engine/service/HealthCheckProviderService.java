@@ -29,6 +29,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -61,6 +62,15 @@ public class HealthCheckProviderService {
         return getProvider().checkHealth();
     }
 
+    /**
+     * Does the same as {@link #checkHealth()} without blocking the calling thread.
+     *
+     * @return the future of the result.
+     */
+    public CompletableFuture<HealthCheckInfo> checkHealthAsync() {
+        return getProvider().checkHealthAsync();
+    }
+
     /**
      * This method injects all created {@link HealthCheckProvider} beans.
      * @param providers list of existing HealthCheckProviders
@@ -31,6 +31,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -63,6 +64,16 @@ public class HostGroupOperationProviderService {
         return getQueueProvider().listHostGroups(hostGroupFilter);
     }
 
+    /**
+     * Does the same as {@link #listHostGroups(HostGroupFilter)} without blocking the calling thread.
+     *
+     * @param hostGroupFilter a provided filter
+     * @return the future of the result.
+     */
+    public CompletableFuture<List<HostGroup>> listHostGroupsAsync(final HostGroupFilter hostGroupFilter) {
+        return getQueueProvider().listHostGroupsAsync(hostGroupFilter);
+    }
+
     /**
      * Returns {@link HostGroup} by specified group name.
      *
@@ -73,6 +84,16 @@ public class HostGroupOperationProviderService {
         return getQueueProvider().getHostGroup(groupName);
     }
 
+    /**
+     * Does the same as {@link #getHostGroup(String)} without blocking the calling thread.
+     *
+     * @param groupName The specified group name.
+     * @return the future of the result.
+     */
+    public CompletableFuture<HostGroup> getHostGroupAsync(final String groupName) {
+        return getQueueProvider().getHostGroupAsync(groupName);
+    }
+
     /**
      * Injects all created {@link HostGroupProvider} beans.
      * @param providers list of existing HostGroupProviders
@@ -31,6 +31,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -66,6 +67,16 @@ public class HostOperationProviderService {
         return getProvider().listHosts(filter);
     }
 
+    /**
+     * Does the same as {@link #filter(HostFilter)} without blocking the calling thread.
+     *
+     * @param filter names of hosts needed
+     * @return the future of the result.
+     */
+    public CompletableFuture<Listing<Host>> filterAsync(final HostFilter filter) {
+        return getProvider().listHostsAsync(filter);
+    }
+
     /**
      * Injects all available {@link HostProvider} implementations.
      *
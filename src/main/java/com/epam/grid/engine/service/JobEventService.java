@@ -0,0 +1,358 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.service;
+
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobEvent;
+import com.epam.grid.engine.exception.GridEngineException;
+import com.epam.grid.engine.utils.JobFilterUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * This class streams the job changes found by diffing the successive job snapshots by the job id
+ * to the Server-Sent Events subscribers. The events are kept in a bounded replay buffer, so that
+ * a reconnected subscriber resumes from its {@code Last-Event-ID}. If the events following that id
+ * are no longer buffered, the subscriber gets a {@code reset} event and has to list the jobs again.
+ * Every subscriber is sent its events in order by one of the dispatcher threads, and a subscriber
+ * falling more than {@code job.events.subscriber.queue.capacity} events behind is disconnected.
+ */
+@Slf4j
+@Service
+public class JobEventService implements JobSnapshotListener {
+
+    private static final String THREAD_NAME_PREFIX = "job-events-";
+    private static final String RESET_EVENT = "reset";
+    private static final String RESET_MESSAGE = "The events following %d are no longer available, "
+            + "the jobs have to be listed again";
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    private final boolean enabled;
+    private final int replayCapacity;
+    private final int queueCapacity;
+    private final Duration heartbeatInterval;
+    private final Clock clock;
+    private final Executor dispatcher;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Object lock = new Object();
+    private final Deque<JobEvent> replayBuffer = new ArrayDeque<>();
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private long lastEventId;
+
+    /**
+     * Creates the service reading its settings from the {@code job.events.*} properties.
+     *
+     * @param environment The application environment.
+     */
+    @Autowired
+    public JobEventService(final Environment environment) {
+        this(environment, Clock.systemUTC(), createDispatcher(
+                environment.getRequiredProperty("job.events.dispatch.pool.size", Integer.class)), SseEmitter::new);
+    }
+
+    JobEventService(final Environment environment, final Clock clock, final Executor dispatcher,
+                    final Supplier<SseEmitter> emitterFactory) {
+        this.enabled = environment.getRequiredProperty("job.snapshot.enabled", Boolean.class);
+        this.replayCapacity = environment.getRequiredProperty("job.events.replay.capacity", Integer.class);
+        this.queueCapacity = environment.getRequiredProperty("job.events.subscriber.queue.capacity", Integer.class);
+        this.heartbeatInterval = DurationStyle.detectAndParse(
+                environment.getRequiredProperty("job.events.heartbeat.interval"));
+        this.clock = clock;
+        this.dispatcher = dispatcher;
+        this.emitterFactory = emitterFactory;
+    }
+
+    /**
+     * Subscribes to the events of the jobs selected by the filter.
+     *
+     * @param jobFilter   The owners, ids and names of the jobs, the state is not taken into account.
+     * @param lastEventId The id of the last event received before reconnecting, null for a new subscription.
+     * @return The emitter of the events.
+     */
+    public SseEmitter subscribe(final JobFilter jobFilter, final Long lastEventId) {
+        if (!enabled) {
+            throw new GridEngineException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "The job events are computed from the job snapshot, which is disabled");
+        }
+        final SseEmitter emitter = emitterFactory.get();
+        final Subscriber subscriber = new Subscriber(emitter, JobFilterUtils.selectByOwnersIdsAndNames(jobFilter));
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        synchronized (lock) {
+            if (lastEventId != null) {
+                replay(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+        return emitter;
+    }
+
+    /**
+     * Finds the job changes between the snapshots and sends them to the subscribers.
+     * The first snapshot has no changes, since the jobs submitted before it can't be told apart.
+     *
+     * @param previous The previous snapshot, null for the first one.
+     * @param current  The new snapshot.
+     */
+    @Override
+    public void onSnapshot(final JobSnapshot previous, final JobSnapshot current) {
+        final List<JobEvent> events = previous == null ? List.of() : diff(previous, current);
+        final Instant now = clock.instant();
+        final List<Subscriber> notified = new ArrayList<>();
+        final List<Subscriber> overflowed = new ArrayList<>();
+        synchronized (lock) {
+            for (final JobEvent event : events) {
+                lastEventId++;
+                event.setId(lastEventId);
+                replayBuffer.addLast(event);
+                if (replayBuffer.size() > replayCapacity) {
+                    replayBuffer.removeFirst();
+                }
+            }
+            for (final Subscriber subscriber : subscribers) {
+                boolean queued = false;
+                for (final JobEvent event : events) {
+                    if (subscriber.matches(event)) {
+                        if (!subscriber.offer(toSseEvent(event), false)) {
+                            overflowed.add(subscriber);
+                            break;
+                        }
+                        queued = true;
+                    }
+                }
+                if (!queued && subscriber.isIdle(now)) {
+                    queued = subscriber.offer(SseEmitter.event().comment(HEARTBEAT_COMMENT), true);
+                }
+                if (queued) {
+                    notified.add(subscriber);
+                }
+            }
+        }
+        overflowed.forEach(subscriber -> {
+            log.warn("A job event subscriber is disconnected, since it has fallen {} events behind", queueCapacity);
+            subscriber.close();
+        });
+        notified.forEach(Subscriber::schedule);
+    }
+
+    /**
+     * Stops the dispatcher threads.
+     */
+    @PreDestroy
+    public void stop() {
+        if (dispatcher instanceof ExecutorService) {
+            ((ExecutorService) dispatcher).shutdownNow();
+        }
+    }
+
+    int getSubscriberCount() {
+        synchronized (lock) {
+            return subscribers.size();
+        }
+    }
+
+    private void replay(final Subscriber subscriber, final long fromEventId) {
+        final long firstBufferedId = replayBuffer.isEmpty() ? lastEventId + 1 : replayBuffer.getFirst().getId();
+        if (fromEventId + 1 < firstBufferedId || fromEventId > lastEventId) {
+            subscriber.offer(SseEmitter.event()
+                    .id(String.valueOf(lastEventId))
+                    .name(RESET_EVENT)
+                    .data(String.format(RESET_MESSAGE, fromEventId)), true);
+            return;
+        }
+        replayBuffer.stream()
+                .filter(event -> event.getId() > fromEventId)
+                .filter(subscriber::matches)
+                .forEach(event -> subscriber.offer(toSseEvent(event), true));
+    }
+
+    private void unsubscribe(final Subscriber subscriber) {
+        synchronized (lock) {
+            subscribers.remove(subscriber);
+        }
+    }
+
+    private List<JobEvent> diff(final JobSnapshot previous, final JobSnapshot current) {
+        final LocalDateTime time = LocalDateTime.ofInstant(current.getTakenAt(), ZoneId.systemDefault());
+        final Map<Integer, Job> previousJobs = new LinkedHashMap<>();
+        previous.getJobs().forEach(job -> previousJobs.putIfAbsent(job.getId(), job));
+        final Set<Integer> currentIds = new HashSet<>();
+        final List<JobEvent> events = new ArrayList<>();
+        for (final Job job : current.getJobs()) {
+            // The tasks of an array job share its id, the first task stands for the job
+            if (!currentIds.add(job.getId())) {
+                continue;
+            }
+            final Job previousJob = previousJobs.remove(job.getId());
+            if (previousJob == null) {
+                events.add(makeEvent(JobEvent.Type.SUBMITTED, time, current, job, null));
+            } else if (!JobFilterUtils.getStateCode(previousJob).equals(JobFilterUtils.getStateCode(job))) {
+                events.add(makeEvent(JobEvent.Type.STATE_CHANGED, time, current, job, previousJob));
+            }
+        }
+        previousJobs.values().forEach(job ->
+                events.add(makeEvent(JobEvent.Type.DISAPPEARED, time, current, job, null)));
+        return events;
+    }
+
+    private JobEvent makeEvent(final JobEvent.Type type, final LocalDateTime time, final JobSnapshot snapshot,
+                               final Job job, final Job previousJob) {
+        return JobEvent.builder()
+                .type(type)
+                .time(time)
+                .snapshotVersion(snapshot.getVersion())
+                .job(job)
+                .previousState(previousJob == null ? null : previousJob.getState())
+                .build();
+    }
+
+    private SseEmitter.SseEventBuilder toSseEvent(final JobEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getId()))
+                .name(event.getType().name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                .data(event, MediaType.APPLICATION_JSON);
+    }
+
+    private static ExecutorService createDispatcher(final int poolSize) {
+        return new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+    }
+
+    /**
+     * The subscriber with the queue of the events not sent yet, the queue is drained by at most
+     * one dispatcher thread at a time.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Predicate<Job> jobPredicate;
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private Instant lastSent = clock.instant();
+        private boolean closed;
+
+        Subscriber(final SseEmitter emitter, final Predicate<Job> jobPredicate) {
+            this.emitter = emitter;
+            this.jobPredicate = jobPredicate;
+        }
+
+        boolean matches(final JobEvent event) {
+            return jobPredicate.test(event.getJob());
+        }
+
+        synchronized boolean offer(final SseEmitter.SseEventBuilder event, final boolean force) {
+            if (closed) {
+                return true;
+            }
+            if (!force && queue.size() >= queueCapacity) {
+                return false;
+            }
+            queue.addLast(event);
+            return true;
+        }
+
+        synchronized boolean isIdle(final Instant now) {
+            return queue.isEmpty() && !lastSent.plus(heartbeatInterval).isAfter(now);
+        }
+
+        void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+                queue.clear();
+            }
+            unsubscribe(this);
+            emitter.complete();
+        }
+
+        private synchronized SseEmitter.SseEventBuilder poll() {
+            return closed ? null : queue.pollFirst();
+        }
+
+        private synchronized boolean hasQueued() {
+            return !closed && !queue.isEmpty();
+        }
+
+        private synchronized void markSent() {
+            lastSent = clock.instant();
+        }
+
+        private void drain() {
+            boolean scheduled = true;
+            while (scheduled) {
+                SseEmitter.SseEventBuilder event = poll();
+                while (event != null) {
+                    try {
+                        emitter.send(event);
+                    } catch (final IOException | IllegalStateException e) {
+                        log.debug("Unable to send a job event, the subscriber is disconnected", e);
+                        close();
+                        return;
+                    }
+                    markSent();
+                    event = poll();
+                }
+                draining.set(false);
+                // The events offered after the last poll are drained here unless another thread has been scheduled
+                scheduled = hasQueued() && draining.compareAndSet(false, true);
+            }
+        }
+    }
+}
@@ -24,9 +24,11 @@ import com.epam.grid.engine.entity.JobFilter;
 import com.epam.grid.engine.entity.job.DeleteJobFilter;
 import com.epam.grid.engine.entity.job.DeletedJobInfo;
 import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobAwaitResult;
 import com.epam.grid.engine.entity.Listing;
 import com.epam.grid.engine.entity.job.JobLogInfo;
 import com.epam.grid.engine.entity.job.JobOptions;
+import com.epam.grid.engine.entity.job.JobState;
 import com.epam.grid.engine.provider.job.JobProvider;
 
 import lombok.extern.slf4j.Slf4j;
@@ -34,6 +36,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.annotation.PostConstruct;
 import java.io.InputStream;
@@ -41,6 +44,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -54,6 +58,9 @@ public class JobOperationProviderService {
 
     private final String logDir;
     private final EngineType engineType;
+    private final JobSnapshotService jobSnapshotService;
+    private final JobEventService jobEventService;
+    private final JobStateTracker jobStateTracker;
 
     /**
      * Collection of providers by engine type.
@@ -63,24 +70,71 @@ public class JobOperationProviderService {
     /**
      * Constructor, sets the specified type of the executed engine and the path to job log.
      *
-     * @param logDir     the path to the directory where all log files will be stored
-     *                   occurred when processing the job
-     * @param engineType an engine for working with jobs
+     * @param logDir             the path to the directory where all log files will be stored
+     *                           occurred when processing the job
+     * @param engineType         an engine for working with jobs
+     * @param jobSnapshotService the snapshot the job listings are answered from
+     * @param jobEventService    the stream of the job changes
+     * @param jobStateTracker    the tracker of the awaited jobs
      */
     public JobOperationProviderService(@Value("${job.log.dir}") final String logDir,
-                                       @Value("${grid.engine.type}") final EngineType engineType) {
+                                       @Value("${grid.engine.type}") final EngineType engineType,
+                                       final JobSnapshotService jobSnapshotService,
+                                       final JobEventService jobEventService,
+                                       final JobStateTracker jobStateTracker) {
         this.logDir = logDir;
         this.engineType = engineType;
+        this.jobSnapshotService = jobSnapshotService;
+        this.jobEventService = jobEventService;
+        this.jobStateTracker = jobStateTracker;
     }
 
     /**
      * Returns a list of jobs after using the filter selected by the user.
+     * The list is answered from the job snapshot if it is enabled.
      *
      * @param jobFilter An object with the job selection parameters.
      * @return list of jobs.
      */
     public Listing<Job> filter(final JobFilter jobFilter) {
-        return getJobProvider().filterJobs(jobFilter);
+        return jobSnapshotService.filter(jobFilter)
+                .orElseGet(() -> getJobProvider().filterJobs(jobFilter));
+    }
+
+    /**
+     * Does the same as {@link #filter(JobFilter)} without blocking the calling thread.
+     *
+     * @param jobFilter An object with the job selection parameters.
+     * @return the future of the result.
+     */
+    public CompletableFuture<Listing<Job>> filterAsync(final JobFilter jobFilter) {
+        return jobSnapshotService.filter(jobFilter)
+                .map(CompletableFuture::completedFuture)
+                .orElseGet(() -> getJobProvider().filterJobsAsync(jobFilter));
+    }
+
+    /**
+     * Subscribes to the Server-Sent Events of the job changes.
+     *
+     * @param jobFilter   An object with the owners, ids and names of the jobs.
+     * @param lastEventId The id of the last event received before reconnecting, null for a new subscription.
+     * @return the emitter of the events.
+     */
+    public SseEmitter subscribeToEvents(final JobFilter jobFilter, final Long lastEventId) {
+        return jobEventService.subscribe(jobFilter, lastEventId);
+    }
+
+    /**
+     * Waits for the job to reach the state category without blocking the calling thread.
+     *
+     * @param jobId    The job identifier.
+     * @param category The state category to wait for.
+     * @param timeout  The time to wait for, null for the default timeout.
+     * @return the future of the outcome of waiting.
+     */
+    public CompletableFuture<JobAwaitResult> awaitJobAsync(final int jobId, final JobState.Category category,
+                                                           final String timeout) {
+        return jobStateTracker.await(jobId, category, timeout);
     }
 
     /**
@@ -93,6 +147,16 @@ public class JobOperationProviderService {
         return getJobProvider().deleteJob(deleteJobFilter);
     }
 
+    /**
+     * Does the same as {@link #deleteJob(DeleteJobFilter)} without blocking the calling thread.
+     *
+     * @param deleteJobFilter An object with the task deletion parameters.
+     * @return the future of the result.
+     */
+    public CompletableFuture<DeletedJobInfo> deleteJobAsync(final DeleteJobFilter deleteJobFilter) {
+        return getJobProvider().deleteJobAsync(deleteJobFilter);
+    }
+
     /**
      * Returns a job started with the specified options.
      *
@@ -103,6 +167,16 @@ public class JobOperationProviderService {
         return getJobProvider().runJob(options);
     }
 
+    /**
+     * Does the same as {@link #runJob(JobOptions)} without blocking the calling thread.
+     *
+     * @param options Job launch parameters.
+     * @return the future of the result.
+     */
+    public CompletableFuture<Job> runJobAsync(final JobOptions options) {
+        return getJobProvider().runJobAsync(options);
+    }
+
     /**
      * This method passes the request into {@link JobProvider} and returns an information
      * about the job log file and a list of required log lines.
@@ -118,6 +192,20 @@ public class JobOperationProviderService {
         return getJobProvider().getJobLogInfo(jobId, logType, lines, fromHead);
     }
 
+    /**
+     * Does the same as {@link #getJobLogInfo(int, JobLogInfo.Type, int, boolean)} without blocking the calling thread.
+     *
+     * @param jobId    The job identifier.
+     * @param logType  The log file type to obtain information from.
+     * @param lines    The number of lines.
+     * @param fromHead if it's true, lines are taken from the head of the log file, otherwise from the tail.
+     * @return the future of the result.
+     */
+    public CompletableFuture<JobLogInfo> getJobLogInfoAsync(final int jobId, final JobLogInfo.Type logType,
+                                                            final int lines, final boolean fromHead) {
+        return getJobProvider().getJobLogInfoAsync(jobId, logType, lines, fromHead);
+    }
+
     /**
      * This method passes the request into {@link JobProvider}
      * and returns the job log file.
@@ -0,0 +1,66 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.service;
+
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.utils.JobIndex;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * This class represents the jobs of all owners read from the grid engine at once.
+ * A snapshot is never changed once it is taken, a refresh takes a new one.
+ */
+@Value
+public class JobSnapshot {
+
+    /**
+     * The version of the snapshot, it grows with every refresh.
+     */
+    long version;
+
+    /**
+     * The time the jobs were read.
+     */
+    Instant takenAt;
+
+    /**
+     * The unmodifiable list of the jobs in the order the grid engine listed them.
+     */
+    List<Job> jobs;
+
+    /**
+     * The index the snapshot is queried by.
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    JobIndex<Job> index;
+
+    public JobSnapshot(final long version, final Instant takenAt, final List<Job> jobs) {
+        this.version = version;
+        this.takenAt = takenAt;
+        this.jobs = jobs;
+        this.index = new JobIndex<>(jobs, JobIndex.JOB_ACCESSOR);
+    }
+}
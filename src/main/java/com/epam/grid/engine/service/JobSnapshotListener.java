@@ -0,0 +1,35 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.service;
+
+/**
+ * This interface is implemented by the beans notified of every job snapshot taken by the {@link JobSnapshotService}.
+ * The listeners are notified in the poller thread, so they shouldn't block.
+ */
+public interface JobSnapshotListener {
+
+    /**
+     * Handles a new snapshot.
+     *
+     * @param previous The previous snapshot, null for the first one.
+     * @param current  The new snapshot.
+     */
+    void onSnapshot(JobSnapshot previous, JobSnapshot current);
+}
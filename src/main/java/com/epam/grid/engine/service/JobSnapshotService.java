@@ -0,0 +1,274 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.service;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.Listing;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobListing;
+import com.epam.grid.engine.provider.job.JobProvider;
+import com.epam.grid.engine.utils.JobFilterUtils;
+import com.epam.grid.engine.utils.JobPagingUtils;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * This class keeps a snapshot of the jobs of all owners, refreshed by a single background poller
+ * every {@code job.snapshot.refresh.interval}, so that the job listings are answered from memory
+ * instead of running qstat for every request. A listing is read from the grid engine as before
+ * if the snapshot is disabled, older than {@code job.snapshot.max.staleness}, the filter asks for
+ * a fresh read, the filter names no owners, or the filter state can't be told from the state codes
+ * of the snapshot jobs. Without owners qstat lists the jobs of the user the service runs as,
+ * which the snapshot of all owners can't tell apart.
+ */
+@Slf4j
+@Service
+public class JobSnapshotService {
+
+    private static final String THREAD_NAME_PREFIX = "job-snapshot-";
+    private static final String AGE_METRIC = "job.snapshot.age";
+
+    /**
+     * The qstat states the snapshot jobs are filtered by, the codes are described in sge_status(5).
+     */
+    private static final Map<String, Predicate<String>> STATE_CODE_FILTERS = Map.of(
+            "pending", stateCode -> stateCode.contains("q"),
+            "running", stateCode -> !stateCode.contains("q") && containsAny(stateCode, "rt")
+                    && !containsAny(stateCode, "sST"),
+            "suspended", stateCode -> !stateCode.contains("q") && containsAny(stateCode, "sST"),
+            "h", stateCode -> stateCode.contains("h"));
+
+    private final boolean enabled;
+    private final Duration refreshInterval;
+    private final Duration maxStaleness;
+    private final EngineType engineType;
+    private final Clock clock;
+    private final AtomicReference<JobSnapshot> snapshot = new AtomicReference<>();
+    private ScheduledExecutorService poller;
+
+    /**
+     * Collection of providers by engine type.
+     */
+    private Map<EngineType, JobProvider> providers;
+    private List<JobSnapshotListener> listeners = Collections.emptyList();
+
+    /**
+     * Creates the service reading its settings from the {@code job.snapshot.*} properties.
+     *
+     * @param environment   The application environment.
+     * @param meterRegistry The registry to register the snapshot age metric in.
+     */
+    @Autowired
+    public JobSnapshotService(final Environment environment, final MeterRegistry meterRegistry) {
+        this(environment, meterRegistry, Clock.systemUTC());
+    }
+
+    JobSnapshotService(final Environment environment, final MeterRegistry meterRegistry, final Clock clock) {
+        this.enabled = environment.getRequiredProperty("job.snapshot.enabled", Boolean.class);
+        this.refreshInterval = DurationStyle.detectAndParse(
+                environment.getRequiredProperty("job.snapshot.refresh.interval"));
+        this.maxStaleness = DurationStyle.detectAndParse(environment.getRequiredProperty("job.snapshot.max.staleness"));
+        this.engineType = environment.getRequiredProperty("grid.engine.type", EngineType.class);
+        this.clock = clock;
+        Gauge.builder(AGE_METRIC, this, service -> service.getSnapshot()
+                        .map(current -> (double) getAge(current).toMillis())
+                        .orElse(Double.NaN))
+                .description("The time since the job snapshot was taken")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts the background poller if the snapshot is enabled.
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        poller = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+        poller.scheduleWithFixedDelay(this::refresh, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+        log.info("The job snapshot is refreshed every {}", refreshInterval);
+    }
+
+    /**
+     * Stops the background poller.
+     */
+    @PreDestroy
+    public void stop() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    /**
+     * Answers the job listing from the snapshot.
+     *
+     * @param jobFilter An object with the job selection parameters.
+     * @return The jobs of the snapshot matching the filter, or an empty optional if the listing
+     *         has to be read from the grid engine.
+     */
+    public Optional<Listing<Job>> filter(final JobFilter jobFilter) {
+        if (!enabled || jobFilter == null || jobFilter.isFresh() || CollectionUtils.isEmpty(jobFilter.getOwners())) {
+            return Optional.empty();
+        }
+        final Optional<Predicate<Job>> predicate = makeJobPredicate(jobFilter);
+        final JobSnapshot current = snapshot.get();
+        if (predicate.isEmpty() || current == null) {
+            return Optional.empty();
+        }
+        final Duration age = getAge(current);
+        if (age.compareTo(maxStaleness) > 0) {
+            log.debug("The job snapshot {} is {} old, the jobs are read from the grid engine",
+                    current.getVersion(), age);
+            return Optional.empty();
+        }
+        final List<Job> jobs = current.getIndex().select(jobFilter).stream()
+                .filter(predicate.get())
+                .collect(Collectors.toList());
+        if (!JobPagingUtils.isPaged(jobFilter)) {
+            return Optional.of(new JobListing(jobs, current.getVersion(), age.toMillis()));
+        }
+        final JobPagingUtils.Page<Job> page = JobPagingUtils.page(jobs, jobFilter, JobPagingUtils.JobKey::of);
+        final JobListing listing = new JobListing(page.getElements(), current.getVersion(), age.toMillis());
+        listing.setNextCursor(page.getNextCursor());
+        return Optional.of(listing);
+    }
+
+    /**
+     * Gets the latest snapshot.
+     *
+     * @return The snapshot or an empty optional if no snapshot has been taken yet.
+     */
+    public Optional<JobSnapshot> getSnapshot() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    /**
+     * Creates a map of suppliers by engine type.
+     *
+     * @param providers List of providers.
+     */
+    @Autowired
+    public void setProviders(final List<JobProvider> providers) {
+        this.providers = providers.stream()
+                .collect(Collectors.toMap(JobProvider::getProviderType, Function.identity()));
+    }
+
+    /**
+     * Sets the listeners notified of every new snapshot.
+     *
+     * @param listeners List of listeners.
+     */
+    @Autowired(required = false)
+    public void setListeners(final List<JobSnapshotListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * Checks whether the snapshot is enabled, i.e. refreshed by the background poller.
+     *
+     * @return True if the snapshot is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes a new snapshot and notifies the listeners, a failed refresh keeps the previous snapshot,
+     * which is served until it becomes too stale.
+     */
+    void refresh() {
+        try {
+            final JobProvider jobProvider = providers.get(engineType);
+            Assert.notNull(jobProvider, String.format("Provides for type '%s' is not supported", engineType));
+            final List<Job> jobs = List.copyOf(jobProvider.listAllJobs().getElements());
+            final JobSnapshot previous = snapshot.get();
+            final long version = previous == null ? 1 : previous.getVersion() + 1;
+            final JobSnapshot current = new JobSnapshot(version, clock.instant(), jobs);
+            snapshot.set(current);
+            log.debug("The job snapshot {} has {} jobs", version, jobs.size());
+            notifyListeners(previous, current);
+        } catch (final RuntimeException e) {
+            log.warn("Unable to refresh the job snapshot", e);
+        }
+    }
+
+    private void notifyListeners(final JobSnapshot previous, final JobSnapshot current) {
+        for (final JobSnapshotListener listener : listeners) {
+            try {
+                listener.onSnapshot(previous, current);
+            } catch (final RuntimeException e) {
+                log.warn("The job snapshot listener {} has failed", listener, e);
+            }
+        }
+    }
+
+    private Duration getAge(final JobSnapshot current) {
+        return Duration.between(current.getTakenAt(), clock.instant());
+    }
+
+    /**
+     * Makes the predicate of the state of the filter, the other conditions are answered by the snapshot index.
+     *
+     * @param jobFilter The filter.
+     * @return The predicate or an empty optional if the state can't be told from the state codes.
+     */
+    private Optional<Predicate<Job>> makeJobPredicate(final JobFilter jobFilter) {
+        if (!StringUtils.hasText(jobFilter.getState())) {
+            return Optional.of(job -> true);
+        }
+        final Predicate<String> stateCodeFilter = STATE_CODE_FILTERS.get(jobFilter.getState());
+        if (stateCodeFilter == null) {
+            return Optional.empty();
+        }
+        return Optional.of(job -> stateCodeFilter.test(JobFilterUtils.getStateCode(job)));
+    }
+
+    private static boolean containsAny(final String stateCode, final String letters) {
+        return letters.chars().anyMatch(letter -> stateCode.indexOf(letter) >= 0);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.service;
+
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobAwaitResult;
+import com.epam.grid.engine.entity.job.JobState;
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * This class tracks the jobs awaited to reach a state category. The awaited jobs are looked up in every
+ * job snapshot, so that any number of waiters costs one qstat call per snapshot and no threads are held
+ * while waiting. A waiter is completed once its job reaches the category, leaves the snapshot or the timeout
+ * expires. The grid engines list no finished jobs, e.g. SGE drops them from qstat, so a job awaited
+ * to finish that leaves the snapshot after it has been seen is considered to have reached the category.
+ */
+@Service
+public class JobStateTracker implements JobSnapshotListener {
+
+    private static final String THREAD_NAME_PREFIX = "job-await-";
+    private static final String WAITING_METRIC = "job.await.waiting";
+
+    private final boolean enabled;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final ScheduledExecutorService timer;
+    private final AtomicReference<JobSnapshot> snapshot = new AtomicReference<>();
+    private final Map<Integer, List<Waiter>> waiters = new HashMap<>();
+
+    /**
+     * Creates the tracker reading its settings from the {@code job.await.*} properties.
+     *
+     * @param environment   The application environment.
+     * @param meterRegistry The registry to register the waiter count metric in.
+     */
+    @Autowired
+    public JobStateTracker(final Environment environment, final MeterRegistry meterRegistry) {
+        this(environment, meterRegistry, createTimer());
+    }
+
+    JobStateTracker(final Environment environment, final MeterRegistry meterRegistry,
+                    final ScheduledExecutorService timer) {
+        this.enabled = environment.getRequiredProperty("job.snapshot.enabled", Boolean.class);
+        this.defaultTimeout = DurationStyle.detectAndParse(
+                environment.getRequiredProperty("job.await.default.timeout"));
+        this.maxTimeout = DurationStyle.detectAndParse(environment.getRequiredProperty("job.await.max.timeout"));
+        this.timer = timer;
+        Gauge.builder(WAITING_METRIC, this, JobStateTracker::getWaiterCount)
+                .description("The number of requests waiting for a job to reach a state")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits for the job to reach the state category.
+     *
+     * @param jobId    The job identifier.
+     * @param category The state category to wait for.
+     * @param timeout  The time to wait for as a duration, e.g. {@code 90s}, null for the default timeout.
+     * @return the future completed with the outcome of waiting.
+     */
+    public CompletableFuture<JobAwaitResult> await(final int jobId, final JobState.Category category,
+                                                   final String timeout) {
+        if (!enabled) {
+            throw new GridEngineException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "The jobs are awaited on the job snapshot, which is disabled");
+        }
+        final Duration awaitTimeout = parseTimeout(timeout);
+        final JobSnapshot registrationSnapshot = snapshot.get();
+        final Waiter waiter = new Waiter(jobId, category,
+                registrationSnapshot == null ? 0 : registrationSnapshot.getVersion());
+        synchronized (waiters) {
+            waiters.computeIfAbsent(jobId, id -> new ArrayList<>()).add(waiter);
+        }
+        final ScheduledFuture<?> timeoutTask = timer.schedule(waiter::timeOut, awaitTimeout.toMillis(),
+                TimeUnit.MILLISECONDS);
+        waiter.future.whenComplete((result, error) -> {
+            timeoutTask.cancel(false);
+            remove(waiter);
+        });
+        final JobSnapshot current = snapshot.get();
+        if (current != null) {
+            waiter.check(current, findJobs(current, Set.of(jobId)).get(jobId));
+        }
+        return waiter.future;
+    }
+
+    /**
+     * Checks the awaited jobs against the new snapshot.
+     *
+     * @param previous The previous snapshot, null for the first one.
+     * @param current  The new snapshot.
+     */
+    @Override
+    public void onSnapshot(final JobSnapshot previous, final JobSnapshot current) {
+        snapshot.set(current);
+        final List<Waiter> registered = new ArrayList<>();
+        synchronized (waiters) {
+            waiters.values().forEach(registered::addAll);
+        }
+        if (registered.isEmpty()) {
+            return;
+        }
+        final Set<Integer> jobIds = new HashSet<>();
+        registered.forEach(waiter -> jobIds.add(waiter.jobId));
+        final Map<Integer, Job> jobs = findJobs(current, jobIds);
+        registered.forEach(waiter -> waiter.check(current, jobs.get(waiter.jobId)));
+    }
+
+    /**
+     * Stops the timer, the pending waiters are left to the request timeout.
+     */
+    @PreDestroy
+    public void stop() {
+        timer.shutdownNow();
+    }
+
+    int getWaiterCount() {
+        synchronized (waiters) {
+            return waiters.values().stream()
+                    .mapToInt(List::size)
+                    .sum();
+        }
+    }
+
+    private static ScheduledExecutorService createTimer() {
+        final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+                new CustomizableThreadFactory(THREAD_NAME_PREFIX));
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    private Duration parseTimeout(final String timeout) {
+        if (timeout == null) {
+            return defaultTimeout;
+        }
+        final Duration duration;
+        try {
+            duration = DurationStyle.detectAndParse(timeout);
+        } catch (final IllegalArgumentException e) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST, String.format("Invalid timeout '%s'", timeout), e);
+        }
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxTimeout) > 0) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST,
+                    String.format("The timeout has to be positive and not longer than %s", maxTimeout));
+        }
+        return duration;
+    }
+
+    private void remove(final Waiter waiter) {
+        synchronized (waiters) {
+            final List<Waiter> jobWaiters = waiters.get(waiter.jobId);
+            if (jobWaiters != null && jobWaiters.remove(waiter) && jobWaiters.isEmpty()) {
+                waiters.remove(waiter.jobId);
+            }
+        }
+    }
+
+    private static Map<Integer, Job> findJobs(final JobSnapshot current, final Set<Integer> jobIds) {
+        final Map<Integer, Job> jobs = new HashMap<>();
+        for (final Job job : current.getJobs()) {
+            // The tasks of an array job share its id, the first task stands for the job
+            if (jobIds.contains(job.getId())) {
+                jobs.putIfAbsent(job.getId(), job);
+            }
+        }
+        return jobs;
+    }
+
+    /**
+     * The request waiting for a job to reach a state category.
+     */
+    private static final class Waiter {
+
+        private final int jobId;
+        private final JobState.Category category;
+        private final long registrationVersion;
+        private final CompletableFuture<JobAwaitResult> future = new CompletableFuture<>();
+        private final AtomicReference<Job> lastSeen = new AtomicReference<>();
+
+        Waiter(final int jobId, final JobState.Category category, final long registrationVersion) {
+            this.jobId = jobId;
+            this.category = category;
+            this.registrationVersion = registrationVersion;
+        }
+
+        void check(final JobSnapshot current, final Job job) {
+            if (job == null) {
+                // The qstat call of the snapshot following the registration may have preceded the job submission,
+                // so a job never seen is considered disappeared starting from the snapshot after that one
+                if (lastSeen.get() != null && category == JobState.Category.FINISHED) {
+                    complete(JobAwaitResult.Outcome.REACHED);
+                } else if (lastSeen.get() != null || current.getVersion() > registrationVersion + 1) {
+                    complete(JobAwaitResult.Outcome.DISAPPEARED);
+                }
+                return;
+            }
+            lastSeen.set(job);
+            if (job.getState() != null && job.getState().getCategory() == category) {
+                complete(JobAwaitResult.Outcome.REACHED);
+            }
+        }
+
+        void timeOut() {
+            complete(JobAwaitResult.Outcome.TIMED_OUT);
+        }
+
+        private void complete(final JobAwaitResult.Outcome outcome) {
+            future.complete(JobAwaitResult.builder()
+                    .outcome(outcome)
+                    .job(lastSeen.get())
+                    .build());
+        }
+    }
+}
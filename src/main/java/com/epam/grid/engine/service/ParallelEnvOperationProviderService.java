@@ -31,6 +31,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -65,6 +66,16 @@ public class ParallelEnvOperationProviderService {
         return getConfigProvider().listParallelEnv(parallelEnvFilter);
     }
 
+    /**
+     * Does the same as {@link #filterParallelEnvs(ParallelEnvFilter)} without blocking the calling thread.
+     *
+     * @param parallelEnvFilter names of PE needed
+     * @return the future of the result.
+     */
+    public CompletableFuture<List<ParallelEnv>> filterParallelEnvsAsync(final ParallelEnvFilter parallelEnvFilter) {
+        return getConfigProvider().listParallelEnvAsync(parallelEnvFilter);
+    }
+
     /**
      * This method processes the request to provider and returns deleted PE.
      * @param parallelEnvName name of PE to be deleted
@@ -74,6 +85,16 @@ public class ParallelEnvOperationProviderService {
         return getConfigProvider().deleteParallelEnv(parallelEnvName);
     }
 
+    /**
+     * Does the same as {@link #deleteParallelEnv(String)} without blocking the calling thread.
+     *
+     * @param parallelEnvName name of PE to be deleted
+     * @return the future of the result.
+     */
+    public CompletableFuture<ParallelEnv> deleteParallelEnvAsync(final String parallelEnvName) {
+        return getConfigProvider().deleteParallelEnvAsync(parallelEnvName);
+    }
+
     /**
      * This method processes the request to provider and returns PE object required.
      *
@@ -84,6 +105,16 @@ public class ParallelEnvOperationProviderService {
         return getConfigProvider().getParallelEnv(peName);
     }
 
+    /**
+     * Does the same as {@link #getParallelEnv(String)} without blocking the calling thread.
+     *
+     * @param peName name of PE to retrieve
+     * @return the future of the result.
+     */
+    public CompletableFuture<ParallelEnv> getParallelEnvAsync(final String peName) {
+        return getConfigProvider().getParallelEnvAsync(peName);
+    }
+
     /**
      * Registers a {@link ParallelEnv} with specified properties in preassigned grid engine system.
      *
@@ -94,6 +125,16 @@ public class ParallelEnvOperationProviderService {
         return getConfigProvider().registerParallelEnv(registrationRequest);
     }
 
+    /**
+     * Does the same as {@link #registerParallelEnv(PeRegistrationVO)} without blocking the calling thread.
+     *
+     * @param registrationRequest the properties of the parallel environment to be registered
+     * @return the future of the result.
+     */
+    public CompletableFuture<ParallelEnv> registerParallelEnvAsync(final PeRegistrationVO registrationRequest) {
+        return getConfigProvider().registerParallelEnvAsync(registrationRequest);
+    }
+
     /**
      * Injects all available {@link ParallelEnvProvider} implementations.
      *
@@ -32,6 +32,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -67,6 +68,25 @@ public class QueueOperationProviderService {
         return getQueueProvider().listQueues(queueFilter);
     }
 
+    /**
+     * Does the same as {@link #listQueues()} without blocking the calling thread.
+     *
+     * @return the future of the result.
+     */
+    public CompletableFuture<List<Queue>> listQueuesAsync() {
+        return getQueueProvider().listQueuesAsync();
+    }
+
+    /**
+     * Does the same as {@link #listQueues(QueueFilter)} without blocking the calling thread.
+     *
+     * @param queueFilter a provided filter
+     * @return the future of the result.
+     */
+    public CompletableFuture<List<Queue>> listQueuesAsync(final QueueFilter queueFilter) {
+        return getQueueProvider().listQueuesAsync(queueFilter);
+    }
+
     /**
      * Deletes queue.
      *
@@ -77,6 +97,16 @@ public class QueueOperationProviderService {
         return getQueueProvider().deleteQueues(queueName);
     }
 
+    /**
+     * Does the same as {@link #deleteQueue(String)} without blocking the calling thread.
+     *
+     * @param queueName Name of queue to delete.
+     * @return the future of the result.
+     */
+    public CompletableFuture<Queue> deleteQueueAsync(final String queueName) {
+        return getQueueProvider().deleteQueuesAsync(queueName);
+    }
+
     /**
      * Registers a {@code queue} with specified properties in preassigned grid engine system.
      *
@@ -87,6 +117,16 @@ public class QueueOperationProviderService {
         return getQueueProvider().registerQueue(registrationRequest);
     }
 
+    /**
+     * Does the same as {@link #registerQueue(QueueVO)} without blocking the calling thread.
+     *
+     * @param registrationRequest the properties of the queue to be registered
+     * @return the future of the result.
+     */
+    public CompletableFuture<Queue> registerQueueAsync(final QueueVO registrationRequest) {
+        return getQueueProvider().registerQueueAsync(registrationRequest);
+    }
+
     /**
      * Updates a {@code queue} with specified properties in preassigned grid engine system.
      *
@@ -97,6 +137,16 @@ public class QueueOperationProviderService {
         return getQueueProvider().updateQueue(updateRequest);
     }
 
+    /**
+     * Does the same as {@link #updateQueue(QueueVO)} without blocking the calling thread.
+     *
+     * @param updateRequest the properties of the queue to be updated
+     * @return the future of the result.
+     */
+    public CompletableFuture<Queue> updateQueueAsync(final QueueVO updateRequest) {
+        return getQueueProvider().updateQueueAsync(updateRequest);
+    }
+
     @Autowired
     public void setProviders(final List<QueueProvider> providers) {
         this.providers = providers.stream()
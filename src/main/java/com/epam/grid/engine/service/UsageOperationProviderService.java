@@ -30,6 +30,7 @@ import org.springframework.util.Assert;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -65,6 +66,16 @@ public class UsageOperationProviderService {
         return getUsageProvider().getUsageReport(filter);
     }
 
+    /**
+     * Does the same as {@link #getUsageReport(UsageReportFilter)} without blocking the calling thread.
+     *
+     * @param filter List of keys for setting filters.
+     * @return the future of the result.
+     */
+    public CompletableFuture<UsageReport> getUsageReportAsync(final UsageReportFilter filter) {
+        return getUsageProvider().getUsageReportAsync(filter);
+    }
+
     private UsageProvider getUsageProvider() {
         final UsageProvider usageProvider = providers.get(engineType);
         Assert.notNull(usageProvider, String.format("Provides for type '%s' is not supported", engineType));
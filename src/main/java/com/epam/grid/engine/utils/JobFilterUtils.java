@@ -0,0 +1,78 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.utils;
+
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobState;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Predicate;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JobFilterUtils {
+
+    /**
+     * The owner that stands for all owners, as in {@code qstat -u '*'}.
+     */
+    public static final String ALL_OWNERS = "*";
+
+    /**
+     * Creates the predicate selecting the jobs by the owners, ids and names of the filter the same way
+     * the job listing does: the jobs of any of the owners having any of the ids or any of the names.
+     * The state of the filter is not taken into account.
+     *
+     * @param jobFilter The filter, null selects all jobs.
+     * @return The predicate.
+     */
+    public static Predicate<Job> selectByOwnersIdsAndNames(final JobFilter jobFilter) {
+        Predicate<Job> predicate = job -> true;
+        if (jobFilter == null) {
+            return predicate;
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getOwners()) && !jobFilter.getOwners().contains(ALL_OWNERS)) {
+            final Set<String> owners = new HashSet<>(jobFilter.getOwners());
+            predicate = predicate.and(job -> owners.contains(job.getOwner()));
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getIds()) || CollectionUtils.isNotEmpty(jobFilter.getNames())) {
+            final Set<Integer> ids = new HashSet<>(CollectionUtils.emptyIfNull(jobFilter.getIds()));
+            final Set<String> names = new HashSet<>(CollectionUtils.emptyIfNull(jobFilter.getNames()));
+            predicate = predicate.and(job -> ids.contains(job.getId()) || names.contains(job.getName()));
+        }
+        return predicate;
+    }
+
+    /**
+     * Gets the state code of the job.
+     *
+     * @param job The job.
+     * @return The state code or an empty string if the job has no state.
+     */
+    public static String getStateCode(final Job job) {
+        return Optional.ofNullable(job.getState())
+                .map(JobState::getStateCode)
+                .orElse("");
+    }
+}
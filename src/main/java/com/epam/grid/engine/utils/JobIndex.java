@@ -0,0 +1,549 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.utils;
+
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobState;
+import org.apache.commons.collections4.CollectionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * This class indexes a listing of jobs, so that the jobs matching a filter are selected in time proportional
+ * to the number of the matching jobs rather than to the number of all jobs. The ids are kept in sorted primitive
+ * arrays, the names, owners and queues are mapped to the positions of their jobs, the state categories are mapped
+ * to the bitsets of the positions, and the priorities and submission times are sorted for range lookups.
+ * The conditions of the filter are combined into a bitset: the jobs of any of the owners, in any of the queues
+ * and state categories, in the submission time and priority ranges, having any of the ids or any of the names.
+ * Every index is built on its first use, so that a listing filtered once pays for the used indexes only.
+ * A listing filtered once is better filtered with the predicate of {@link #matching(JobFilter, Accessor)},
+ * which selects the same jobs in a single pass without sorting them.
+ *
+ * @param <T> The type of the jobs.
+ */
+public final class JobIndex<T> {
+
+    /**
+     * The accessor of the fields of the {@link Job}s.
+     */
+    public static final Accessor<Job> JOB_ACCESSOR = new JobAccessor();
+
+    private static final char QUEUE_HOST_SEPARATOR = '@';
+
+    private final List<T> jobs;
+    private final Accessor<T> accessor;
+    private int[] sortedIds;
+    private int[] idPositions;
+    private Map<String, Postings> nameIndex;
+    private Map<String, Postings> ownerIndex;
+    private Map<String, Postings> queueIndex;
+    private Map<JobState.Category, BitSet> categoryIndex;
+    private double[] sortedPriorities;
+    private int[] priorityPositions;
+    private LocalDateTime[] sortedSubmissionTimes;
+    private int[] submissionTimePositions;
+
+    /**
+     * Creates the index of the jobs, the jobs are not copied and mustn't be changed afterwards.
+     *
+     * @param jobs     The jobs.
+     * @param accessor The accessor of the job fields.
+     */
+    public JobIndex(final List<T> jobs, final Accessor<T> accessor) {
+        this.jobs = jobs;
+        this.accessor = accessor;
+    }
+
+    /**
+     * Checks whether the filter selects the jobs by any condition the index answers.
+     *
+     * @param jobFilter The filter, may be null.
+     * @return true if the filter has to be applied to the jobs.
+     */
+    public static boolean isSelective(final JobFilter jobFilter) {
+        return jobFilter != null && (isOwnerSelective(jobFilter.getOwners())
+                || CollectionUtils.isNotEmpty(jobFilter.getIds())
+                || CollectionUtils.isNotEmpty(jobFilter.getNames())
+                || CollectionUtils.isNotEmpty(jobFilter.getQueues())
+                || CollectionUtils.isNotEmpty(jobFilter.getCategories())
+                || jobFilter.getSubmittedFrom() != null || jobFilter.getSubmittedTo() != null
+                || jobFilter.getMinPriority() != null || jobFilter.getMaxPriority() != null);
+    }
+
+    /**
+     * Creates the predicate matching the jobs the index selects by the filter.
+     *
+     * @param jobFilter The filter, null matches all jobs.
+     * @param accessor  The accessor of the job fields.
+     * @param <T>       The type of the jobs.
+     * @return The predicate.
+     */
+    public static <T> Predicate<T> matching(final JobFilter jobFilter, final Accessor<T> accessor) {
+        Predicate<T> predicate = job -> true;
+        if (!isSelective(jobFilter)) {
+            return predicate;
+        }
+        if (isOwnerSelective(jobFilter.getOwners())) {
+            final Set<String> owners = new HashSet<>(jobFilter.getOwners());
+            predicate = predicate.and(job -> containsKey(owners, accessor.getOwner(job)));
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getIds()) || CollectionUtils.isNotEmpty(jobFilter.getNames())) {
+            final Set<Integer> ids = new HashSet<>(CollectionUtils.emptyIfNull(jobFilter.getIds()));
+            final Set<String> names = new HashSet<>(CollectionUtils.emptyIfNull(jobFilter.getNames()));
+            predicate = predicate.and(job -> ids.contains(accessor.getId(job))
+                    || containsKey(names, accessor.getName(job)));
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getQueues())) {
+            final Set<String> queues = new HashSet<>(jobFilter.getQueues());
+            predicate = predicate.and(job -> isInQueues(accessor.getQueueName(job), queues));
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getCategories())) {
+            final Set<JobState.Category> categories = EnumSet.noneOf(JobState.Category.class);
+            jobFilter.getCategories().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(categories::add);
+            predicate = predicate.and(job -> categories.contains(accessor.getCategory(job)));
+        }
+        final LocalDateTime submittedFrom = jobFilter.getSubmittedFrom();
+        final LocalDateTime submittedTo = jobFilter.getSubmittedTo();
+        if (submittedFrom != null || submittedTo != null) {
+            predicate = predicate.and(job -> {
+                final LocalDateTime time = accessor.getSubmissionTime(job);
+                return time != null && (submittedFrom == null || !time.isBefore(submittedFrom))
+                        && (submittedTo == null || !time.isAfter(submittedTo));
+            });
+        }
+        final Double minPriority = jobFilter.getMinPriority();
+        final Double maxPriority = jobFilter.getMaxPriority();
+        if (minPriority != null || maxPriority != null) {
+            predicate = predicate.and(job -> {
+                final double priority = accessor.getPriority(job);
+                return (minPriority == null || priority >= minPriority)
+                        && (maxPriority == null || priority <= maxPriority);
+            });
+        }
+        return predicate;
+    }
+
+    /**
+     * Selects the jobs matching the filter, the state of the filter is not taken into account.
+     *
+     * @param jobFilter The filter, null selects all jobs.
+     * @return The matching jobs in the order of the listing.
+     */
+    public List<T> select(final JobFilter jobFilter) {
+        if (!isSelective(jobFilter)) {
+            return new ArrayList<>(jobs);
+        }
+        final BitSet selected = new BitSet(jobs.size());
+        selected.set(0, jobs.size());
+        if (isOwnerSelective(jobFilter.getOwners())) {
+            selected.and(selectByKeys(getOwnerIndex(), jobFilter.getOwners()));
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getIds()) || CollectionUtils.isNotEmpty(jobFilter.getNames())) {
+            final BitSet byIdsOrNames = selectByIds(jobFilter.getIds());
+            byIdsOrNames.or(selectByKeys(getNameIndex(), jobFilter.getNames()));
+            selected.and(byIdsOrNames);
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getQueues())) {
+            selected.and(selectByKeys(getQueueIndex(), jobFilter.getQueues()));
+        }
+        if (CollectionUtils.isNotEmpty(jobFilter.getCategories())) {
+            selected.and(selectByCategories(jobFilter.getCategories()));
+        }
+        if (jobFilter.getSubmittedFrom() != null || jobFilter.getSubmittedTo() != null) {
+            selected.and(selectBySubmissionTime(jobFilter.getSubmittedFrom(), jobFilter.getSubmittedTo()));
+        }
+        if (jobFilter.getMinPriority() != null || jobFilter.getMaxPriority() != null) {
+            selected.and(selectByPriority(jobFilter.getMinPriority(), jobFilter.getMaxPriority()));
+        }
+        final List<T> result = new ArrayList<>(selected.cardinality());
+        for (int position = selected.nextSetBit(0); position >= 0; position = selected.nextSetBit(position + 1)) {
+            result.add(jobs.get(position));
+        }
+        return result;
+    }
+
+    private static boolean isOwnerSelective(final List<String> owners) {
+        return CollectionUtils.isNotEmpty(owners) && !owners.contains(JobFilterUtils.ALL_OWNERS);
+    }
+
+    // A job is in the queue given either as the queue instance, e.g. main@host, or as the cluster queue, e.g. main
+    private static boolean isInQueues(final String queueName, final Set<String> queues) {
+        if (!containsKey(queues, queueName)) {
+            final int separator = queueName == null ? -1 : queueName.indexOf(QUEUE_HOST_SEPARATOR);
+            return separator > 0 && queues.contains(queueName.substring(0, separator));
+        }
+        return true;
+    }
+
+    // The jobs without a key are not indexed by it, so they match no keys
+    private static boolean containsKey(final Set<String> keys, final String key) {
+        return key != null && !key.isEmpty() && keys.contains(key);
+    }
+
+    private BitSet selectByIds(final List<Integer> requestedIds) {
+        final BitSet selected = new BitSet(jobs.size());
+        if (CollectionUtils.isEmpty(requestedIds)) {
+            return selected;
+        }
+        final int[] ids = getSortedIds();
+        final int[] positions = getIdPositions();
+        for (final Integer id : requestedIds) {
+            if (id == null) {
+                continue;
+            }
+            // The tasks of an array job share its id
+            for (int index = firstIndex(ids.length, i -> ids[i] < id); index < ids.length && ids[index] == id;
+                 index++) {
+                selected.set(positions[index]);
+            }
+        }
+        return selected;
+    }
+
+    private BitSet selectByKeys(final Map<String, Postings> index, final List<String> keys) {
+        final BitSet selected = new BitSet(jobs.size());
+        for (final String key : CollectionUtils.emptyIfNull(keys)) {
+            final Postings postings = index.get(key);
+            if (postings != null) {
+                postings.addTo(selected);
+            }
+        }
+        return selected;
+    }
+
+    private BitSet selectByCategories(final List<JobState.Category> categories) {
+        final Map<JobState.Category, BitSet> index = getCategoryIndex();
+        final BitSet selected = new BitSet(jobs.size());
+        for (final JobState.Category category : categories) {
+            final BitSet positions = index.get(category);
+            if (positions != null) {
+                selected.or(positions);
+            }
+        }
+        return selected;
+    }
+
+    private BitSet selectByPriority(final Double min, final Double max) {
+        final double[] priorities = getSortedPriorities();
+        final int from = min == null ? 0 : firstIndex(priorities.length, i -> priorities[i] < min);
+        final int to = max == null ? priorities.length : firstIndex(priorities.length, i -> priorities[i] <= max);
+        return toBitSet(getPriorityPositions(), from, to);
+    }
+
+    private BitSet selectBySubmissionTime(final LocalDateTime from, final LocalDateTime to) {
+        final LocalDateTime[] times = getSortedSubmissionTimes();
+        final int fromIndex = from == null ? 0 : firstIndex(times.length, i -> times[i].isBefore(from));
+        final int toIndex = to == null ? times.length : firstIndex(times.length, i -> !times[i].isAfter(to));
+        return toBitSet(getSubmissionTimePositions(), fromIndex, toIndex);
+    }
+
+    private BitSet toBitSet(final int[] positions, final int from, final int to) {
+        final BitSet selected = new BitSet(jobs.size());
+        for (int index = from; index < to; index++) {
+            selected.set(positions[index]);
+        }
+        return selected;
+    }
+
+    /**
+     * Finds the first index of a sorted array the predicate doesn't hold for.
+     *
+     * @param length   The length of the array.
+     * @param isBefore The predicate holding for a prefix of the array.
+     * @return The index, the length if the predicate holds for all elements.
+     */
+    private static int firstIndex(final int length, final IntPredicate isBefore) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (isBefore.test(middle)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private synchronized int[] getSortedIds() {
+        buildIdIndex();
+        return sortedIds;
+    }
+
+    private synchronized int[] getIdPositions() {
+        buildIdIndex();
+        return idPositions;
+    }
+
+    private synchronized void buildIdIndex() {
+        if (sortedIds != null) {
+            return;
+        }
+        // The id and the position are packed into a long, so that the pairs are sorted without boxing
+        final long[] packed = new long[jobs.size()];
+        for (int position = 0; position < packed.length; position++) {
+            packed[position] = ((long) accessor.getId(jobs.get(position)) << Integer.SIZE) | position;
+        }
+        Arrays.sort(packed);
+        final int[] positions = new int[packed.length];
+        final int[] ids = new int[packed.length];
+        for (int index = 0; index < packed.length; index++) {
+            ids[index] = (int) (packed[index] >> Integer.SIZE);
+            positions[index] = (int) packed[index];
+        }
+        idPositions = positions;
+        sortedIds = ids;
+    }
+
+    private synchronized Map<String, Postings> getNameIndex() {
+        if (nameIndex == null) {
+            nameIndex = buildPostings(accessor::getName);
+        }
+        return nameIndex;
+    }
+
+    private synchronized Map<String, Postings> getOwnerIndex() {
+        if (ownerIndex == null) {
+            ownerIndex = buildPostings(accessor::getOwner);
+        }
+        return ownerIndex;
+    }
+
+    /**
+     * Gets the index of the queues, a job is found by both the queue instance, e.g. {@code main@host},
+     * and the cluster queue, e.g. {@code main}.
+     *
+     * @return The index.
+     */
+    private synchronized Map<String, Postings> getQueueIndex() {
+        if (queueIndex == null) {
+            final Map<String, Postings> index = buildPostings(accessor::getQueueName);
+            for (int position = 0; position < jobs.size(); position++) {
+                final String queueName = accessor.getQueueName(jobs.get(position));
+                final int separator = queueName == null ? -1 : queueName.indexOf(QUEUE_HOST_SEPARATOR);
+                if (separator > 0) {
+                    index.computeIfAbsent(queueName.substring(0, separator), key -> new Postings()).add(position);
+                }
+            }
+            queueIndex = index;
+        }
+        return queueIndex;
+    }
+
+    private synchronized Map<JobState.Category, BitSet> getCategoryIndex() {
+        if (categoryIndex == null) {
+            final Map<JobState.Category, BitSet> index = new EnumMap<>(JobState.Category.class);
+            for (int position = 0; position < jobs.size(); position++) {
+                final JobState.Category category = accessor.getCategory(jobs.get(position));
+                if (category != null) {
+                    index.computeIfAbsent(category, key -> new BitSet(jobs.size())).set(position);
+                }
+            }
+            categoryIndex = index;
+        }
+        return categoryIndex;
+    }
+
+    private synchronized double[] getSortedPriorities() {
+        buildPriorityIndex();
+        return sortedPriorities;
+    }
+
+    private synchronized int[] getPriorityPositions() {
+        buildPriorityIndex();
+        return priorityPositions;
+    }
+
+    private synchronized void buildPriorityIndex() {
+        if (sortedPriorities != null) {
+            return;
+        }
+        final double[] priorities = new double[jobs.size()];
+        for (int position = 0; position < priorities.length; position++) {
+            priorities[position] = accessor.getPriority(jobs.get(position));
+        }
+        final int[] positions = sortPositions(priorities.length, Comparator.comparingDouble(
+                position -> priorities[position]));
+        final double[] sorted = new double[positions.length];
+        for (int index = 0; index < positions.length; index++) {
+            sorted[index] = priorities[positions[index]];
+        }
+        priorityPositions = positions;
+        sortedPriorities = sorted;
+    }
+
+    private synchronized LocalDateTime[] getSortedSubmissionTimes() {
+        buildSubmissionTimeIndex();
+        return sortedSubmissionTimes;
+    }
+
+    private synchronized int[] getSubmissionTimePositions() {
+        buildSubmissionTimeIndex();
+        return submissionTimePositions;
+    }
+
+    private synchronized void buildSubmissionTimeIndex() {
+        if (sortedSubmissionTimes != null) {
+            return;
+        }
+        // The jobs without the submission time never match a time range
+        final int[] timedPositions = new int[jobs.size()];
+        final LocalDateTime[] times = new LocalDateTime[jobs.size()];
+        int count = 0;
+        for (int position = 0; position < jobs.size(); position++) {
+            final LocalDateTime time = accessor.getSubmissionTime(jobs.get(position));
+            if (time != null) {
+                timedPositions[count] = position;
+                times[count] = time;
+                count++;
+            }
+        }
+        final int[] order = sortPositions(count, Comparator.comparing(index -> times[index]));
+        final int[] positions = new int[count];
+        final LocalDateTime[] sorted = new LocalDateTime[count];
+        for (int index = 0; index < count; index++) {
+            positions[index] = timedPositions[order[index]];
+            sorted[index] = times[order[index]];
+        }
+        submissionTimePositions = positions;
+        sortedSubmissionTimes = sorted;
+    }
+
+    private static int[] sortPositions(final int length, final Comparator<Integer> comparator) {
+        final Integer[] order = new Integer[length];
+        Arrays.setAll(order, position -> position);
+        Arrays.sort(order, comparator);
+        return Arrays.stream(order)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private Map<String, Postings> buildPostings(final Function<T, String> keyExtractor) {
+        final Map<String, Postings> index = new HashMap<>();
+        for (int position = 0; position < jobs.size(); position++) {
+            final String key = keyExtractor.apply(jobs.get(position));
+            if (key != null && !key.isEmpty()) {
+                index.computeIfAbsent(key, ignored -> new Postings()).add(position);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * This interface gives the index access to the fields of the jobs of any type.
+     *
+     * @param <T> The type of the jobs.
+     */
+    public interface Accessor<T> {
+
+        int getId(T job);
+
+        String getName(T job);
+
+        String getOwner(T job);
+
+        JobState.Category getCategory(T job);
+
+        String getQueueName(T job);
+
+        LocalDateTime getSubmissionTime(T job);
+
+        double getPriority(T job);
+    }
+
+    private static final class JobAccessor implements Accessor<Job> {
+
+        @Override
+        public int getId(final Job job) {
+            return job.getId();
+        }
+
+        @Override
+        public String getName(final Job job) {
+            return job.getName();
+        }
+
+        @Override
+        public String getOwner(final Job job) {
+            return job.getOwner();
+        }
+
+        @Override
+        public JobState.Category getCategory(final Job job) {
+            return job.getState() == null ? null : job.getState().getCategory();
+        }
+
+        @Override
+        public String getQueueName(final Job job) {
+            return job.getQueueName();
+        }
+
+        @Override
+        public LocalDateTime getSubmissionTime(final Job job) {
+            return job.getSubmissionTime();
+        }
+
+        @Override
+        public double getPriority(final Job job) {
+            return job.getPriority();
+        }
+    }
+
+    /**
+     * The ascending positions of the jobs having the same key.
+     */
+    private static final class Postings {
+
+        private int[] positions = new int[1];
+        private int size;
+
+        void add(final int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size] = position;
+            size++;
+        }
+
+        void addTo(final BitSet selected) {
+            for (int index = 0; index < size; index++) {
+                selected.set(positions[index]);
+            }
+        }
+    }
+}
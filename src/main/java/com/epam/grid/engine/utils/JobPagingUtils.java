@@ -0,0 +1,288 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.utils;
+
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.JobSort;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.exception.GridEngineException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.Value;
+import org.apache.commons.collections4.CollectionUtils;
+import org.springframework.http.HttpStatus;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * This class pages the jobs by the limit, the cursor and the sort keys of the job filter.
+ * The cursor holds the sort keys of the last job of the page, so that the next page starts after that job
+ * even if the jobs have changed in between: the jobs present in both listings are neither repeated nor skipped.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JobPagingUtils {
+
+    private static final String SORT = "s";
+    private static final String ID = "i";
+    private static final String PRIORITY = "p";
+    private static final String OWNER = "o";
+    private static final String SUBMISSION_TIME = "t";
+    private static final String SKIPPED = "k";
+    private static final List<JobSort> DEFAULT_SORT = List.of(JobSort.builder()
+            .field(JobSort.Field.ID)
+            .build());
+
+    /**
+     * Checks whether the filter asks for a page or a sorted listing.
+     *
+     * @param jobFilter The filter, may be null.
+     * @return true if the jobs have to be paged.
+     */
+    public static boolean isPaged(final JobFilter jobFilter) {
+        return jobFilter != null && (jobFilter.getLimit() != null || jobFilter.getCursor() != null
+                || CollectionUtils.isNotEmpty(jobFilter.getSort()));
+    }
+
+    /**
+     * Sorts the jobs and selects the page requested by the filter. The jobs with equal sort keys keep their order.
+     *
+     * @param jobs         The jobs matching the filter.
+     * @param jobFilter    The filter with the limit, the cursor and the sort keys.
+     * @param keyExtractor The function getting the sort keys of a job.
+     * @param <T>          The type of the jobs.
+     * @return The page.
+     */
+    public static <T> Page<T> page(final List<T> jobs, final JobFilter jobFilter,
+                                   final Function<T, JobKey> keyExtractor) {
+        final Integer limit = jobFilter.getLimit();
+        if (limit != null && limit <= 0) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST, "The limit has to be positive");
+        }
+        final List<JobSort> sort = CollectionUtils.isNotEmpty(jobFilter.getSort()) ? jobFilter.getSort() : DEFAULT_SORT;
+        final String sortSpec = toSortSpec(sort);
+        final Comparator<JobKey> comparator = makeComparator(sort);
+        final List<KeyedJob<T>> keyedJobs = new ArrayList<>(jobs.size());
+        jobs.forEach(job -> keyedJobs.add(new KeyedJob<>(keyExtractor.apply(job), job)));
+        keyedJobs.sort((first, second) -> comparator.compare(first.key, second.key));
+
+        int start = 0;
+        if (jobFilter.getCursor() != null) {
+            final Cursor cursor = decode(jobFilter.getCursor());
+            if (!sortSpec.equals(cursor.getSortSpec())) {
+                throw new GridEngineException(HttpStatus.BAD_REQUEST, "The cursor was issued for another sort order");
+            }
+            start = lowerBound(keyedJobs, cursor.getKey(), comparator);
+            int skipped = 0;
+            while (start < keyedJobs.size() && skipped < cursor.getSkipped()
+                    && comparator.compare(keyedJobs.get(start).key, cursor.getKey()) == 0) {
+                start++;
+                skipped++;
+            }
+        }
+        final int end = limit == null ? keyedJobs.size() : (int) Math.min(keyedJobs.size(), (long) start + limit);
+        final List<T> elements = keyedJobs.subList(start, end).stream()
+                .map(keyedJob -> keyedJob.job)
+                .collect(Collectors.toList());
+        if (end == keyedJobs.size()) {
+            return new Page<>(elements, null);
+        }
+        final JobKey lastKey = keyedJobs.get(end - 1).key;
+        // Every sort ends with the job id, so only the tasks of an array job can have the same keys as the last one,
+        // they are told apart by their number and keep their order
+        final int skipped = end - lowerBound(keyedJobs, lastKey, comparator);
+        return new Page<>(elements, encode(new Cursor(sortSpec, lastKey, skipped)));
+    }
+
+    private static Comparator<JobKey> makeComparator(final List<JobSort> sort) {
+        Comparator<JobKey> comparator = null;
+        for (final JobSort jobSort : sort) {
+            final Comparator<JobKey> fieldComparator = jobSort.isDescending()
+                    ? makeFieldComparator(jobSort.getField()).reversed()
+                    : makeFieldComparator(jobSort.getField());
+            comparator = comparator == null ? fieldComparator : comparator.thenComparing(fieldComparator);
+        }
+        return comparator.thenComparingInt(JobKey::getId);
+    }
+
+    private static Comparator<JobKey> makeFieldComparator(final JobSort.Field field) {
+        if (field == null) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST, "The sort field is not specified");
+        }
+        switch (field) {
+            case SUBMISSION_TIME:
+                return Comparator.comparing(JobKey::getSubmissionTime,
+                        Comparator.nullsLast(Comparator.naturalOrder()));
+            case PRIORITY:
+                return Comparator.comparingDouble(JobKey::getPriority);
+            case OWNER:
+                return Comparator.comparing(JobKey::getOwner, Comparator.nullsLast(Comparator.naturalOrder()));
+            case ID:
+            default:
+                return Comparator.comparingInt(JobKey::getId);
+        }
+    }
+
+    private static String toSortSpec(final List<JobSort> sort) {
+        return sort.stream()
+                .map(jobSort -> jobSort.getField() + (jobSort.isDescending() ? "-" : "+"))
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Finds the position of the first job not less than the key.
+     *
+     * @param keyedJobs  The sorted jobs.
+     * @param key        The key to look for.
+     * @param comparator The comparator the jobs are sorted by.
+     * @param <T>        The type of the jobs.
+     * @return The position, the size of the list if all jobs are less than the key.
+     */
+    private static <T> int lowerBound(final List<KeyedJob<T>> keyedJobs, final JobKey key,
+                                      final Comparator<JobKey> comparator) {
+        int low = 0;
+        int high = keyedJobs.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (comparator.compare(keyedJobs.get(middle).key, key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static String encode(final Cursor cursor) {
+        final StringJoiner joiner = new StringJoiner("&");
+        addParameter(joiner, SORT, cursor.getSortSpec());
+        addParameter(joiner, ID, String.valueOf(cursor.getKey().getId()));
+        addParameter(joiner, PRIORITY, String.valueOf(cursor.getKey().getPriority()));
+        addParameter(joiner, OWNER, cursor.getKey().getOwner());
+        addParameter(joiner, SUBMISSION_TIME, cursor.getKey().getSubmissionTime() == null
+                ? null
+                : cursor.getKey().getSubmissionTime().toString());
+        addParameter(joiner, SKIPPED, String.valueOf(cursor.getSkipped()));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(joiner.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void addParameter(final StringJoiner joiner, final String name, final String value) {
+        if (value != null) {
+            joiner.add(name + "=" + URLEncoder.encode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static Cursor decode(final String cursor) {
+        try {
+            final Map<String, String> parameters = new HashMap<>();
+            final String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (final String parameter : decoded.split("&")) {
+                final int separator = parameter.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Missing parameter value: " + parameter);
+                }
+                parameters.put(parameter.substring(0, separator),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+            final String submissionTime = parameters.get(SUBMISSION_TIME);
+            final JobKey key = new JobKey(Integer.parseInt(getRequired(parameters, ID)),
+                    Double.parseDouble(getRequired(parameters, PRIORITY)),
+                    parameters.get(OWNER),
+                    submissionTime == null ? null : LocalDateTime.parse(submissionTime));
+            return new Cursor(getRequired(parameters, SORT), key, Integer.parseInt(getRequired(parameters, SKIPPED)));
+        } catch (final IllegalArgumentException | DateTimeParseException e) {
+            throw new GridEngineException(HttpStatus.BAD_REQUEST, String.format("Invalid cursor '%s'", cursor), e);
+        }
+    }
+
+    private static String getRequired(final Map<String, String> parameters, final String name) {
+        final String value = parameters.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing parameter: " + name);
+        }
+        return value;
+    }
+
+    /**
+     * The keys the jobs are sorted by.
+     */
+    @Value
+    public static class JobKey {
+        int id;
+        double priority;
+        String owner;
+        LocalDateTime submissionTime;
+
+        /**
+         * Gets the sort keys of the job.
+         *
+         * @param job The job.
+         * @return The keys.
+         */
+        public static JobKey of(final Job job) {
+            return new JobKey(job.getId(), job.getPriority(), job.getOwner(), job.getSubmissionTime());
+        }
+    }
+
+    /**
+     * The page of the jobs.
+     *
+     * @param <T> The type of the jobs.
+     */
+    @Value
+    public static class Page<T> {
+        List<T> elements;
+
+        /**
+         * The cursor of the next page, null if it's the last page.
+         */
+        String nextCursor;
+    }
+
+    @Value
+    private static class Cursor {
+        String sortSpec;
+        JobKey key;
+        int skipped;
+    }
+
+    private static final class KeyedJob<T> {
+
+        private final JobKey key;
+        private final T job;
+
+        KeyedJob(final JobKey key, final T job) {
+            this.key = key;
+            this.job = job;
+        }
+    }
+}
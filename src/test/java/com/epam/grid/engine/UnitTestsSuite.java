@@ -23,6 +23,7 @@ import org.junit.platform.suite.api.SelectPackages;
 import org.junit.platform.suite.api.Suite;
 
 @Suite
-@SelectPackages({"com.epam.grid.engine.cmd", "com.epam.grid.engine.mapper"})
+@SelectPackages({"com.epam.grid.engine.cmd", "com.epam.grid.engine.mapper",
+        "com.epam.grid.engine.fakesge", "com.epam.grid.engine.utils"})
 public class UnitTestsSuite {
 }
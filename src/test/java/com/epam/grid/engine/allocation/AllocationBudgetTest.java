@@ -0,0 +1,240 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.allocation;
+
+import com.epam.grid.engine.cmd.CmdExecutor;
+import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.HostFilter;
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.QueueFilter;
+import com.epam.grid.engine.entity.job.JobLogInfo;
+import com.epam.grid.engine.entity.queue.Queue;
+import com.epam.grid.engine.entity.usage.UsageReportFilter;
+import com.epam.grid.engine.fakesge.FakeSgeCluster;
+import com.epam.grid.engine.fakesge.FakeSgeCommands;
+import com.epam.grid.engine.fakesge.FakeSgeSettings;
+import com.epam.grid.engine.mapper.host.sge.SgeHostMapper;
+import com.epam.grid.engine.mapper.job.sge.SgeJobMapper;
+import com.epam.grid.engine.mapper.queue.sge.SgeQueueMapper;
+import com.epam.grid.engine.provider.host.sge.SgeHostProvider;
+import com.epam.grid.engine.provider.job.sge.SgeJobProvider;
+import com.epam.grid.engine.provider.queue.sge.SgeQueueProvider;
+import com.epam.grid.engine.provider.usage.sge.SgeUsageProvider;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures the bytes allocated by the hot requests, from the parsing of the canned output of the fake SGE
+ * cluster to the serialization of the response, against the budgets checked in to
+ * {@code allocation-budgets.properties}. A request is measured by the minimum over several runs after a warm-up,
+ * so that the one-off allocations of the class loading and the lazy initialization are not counted.
+ */
+@Slf4j
+@SpringBootTest
+public class AllocationBudgetTest {
+
+    private static final String BUDGETS_RESOURCE = "/allocation-budgets.properties";
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int MEASURED_REQUESTS = 50;
+    private static final int LOG_LINES = 100;
+    private static final int JOB_ID = 1;
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @TempDir
+    static Path stateDir;
+
+    private static Properties budgets;
+
+    @Autowired
+    private SgeJobMapper jobMapper;
+
+    @Autowired
+    private SgeHostMapper hostMapper;
+
+    @Autowired
+    private SgeQueueMapper queueMapper;
+
+    @Autowired
+    private GridEngineCommandCompiler commandCompiler;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${job.log.dir}")
+    private String logDir;
+
+    private SgeJobProvider jobProvider;
+    private SgeHostProvider hostProvider;
+    private SgeQueueProvider queueProvider;
+    private SgeUsageProvider usageProvider;
+
+    @BeforeAll
+    public static void loadBudgets() throws IOException {
+        Assumptions.assumeTrue(THREAD_MX_BEAN.isThreadAllocatedMemorySupported(),
+                "The JVM doesn't measure the allocated memory of threads");
+        THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+        budgets = new Properties();
+        try (InputStream stream = AllocationBudgetTest.class.getResourceAsStream(BUDGETS_RESOURCE)) {
+            budgets.load(stream);
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        final CmdExecutor cmdExecutor = new CannedCmdExecutor(FakeSgeSettings.defaults().toBuilder()
+                .stateDir(stateDir)
+                .build());
+        jobProvider = new SgeJobProvider(jobMapper, cmdExecutor, commandCompiler, logDir);
+        hostProvider = new SgeHostProvider(hostMapper, cmdExecutor, commandCompiler);
+        queueProvider = new SgeQueueProvider(queueMapper, cmdExecutor, commandCompiler);
+        usageProvider = new SgeUsageProvider(cmdExecutor, commandCompiler);
+    }
+
+    @Test
+    public void shouldListJobsWithinBudget() {
+        assertWithinBudget("jobs", () -> jobProvider.filterJobs(new JobFilter()));
+    }
+
+    @Test
+    public void shouldListHostsWithinBudget() {
+        assertWithinBudget("hosts", () -> hostProvider.listHosts(new HostFilter()));
+    }
+
+    @Test
+    public void shouldListQueuesWithinBudget() {
+        final QueueFilter queueFilter = new QueueFilter(queueProvider.listQueues().stream()
+                .map(Queue::getName)
+                .collect(Collectors.toList()));
+        assertWithinBudget("queues", () -> queueProvider.listQueues(queueFilter));
+    }
+
+    @Test
+    public void shouldReportUsageWithinBudget() {
+        assertWithinBudget("usage", () -> usageProvider.getUsageReport(new UsageReportFilter()));
+    }
+
+    @Test
+    public void shouldGetJobLogInfoWithinBudget() {
+        assertWithinBudget("job.log.info",
+                () -> jobProvider.getJobLogInfo(JOB_ID, JobLogInfo.Type.OUT, LOG_LINES, false));
+    }
+
+    private void assertWithinBudget(final String request, final Supplier<?> action) {
+        final String budget = budgets.getProperty(request);
+        Assertions.assertNotNull(budget, String.format("There is no budget of the %s request", request));
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            respond(action);
+        }
+        final long threadId = Thread.currentThread().getId();
+        long allocatedBytes = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            final long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+            respond(action);
+            allocatedBytes = Math.min(allocatedBytes, THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - before);
+        }
+        log.info("The {} request allocates {} bytes, the budget is {} bytes", request, allocatedBytes, budget);
+        Assertions.assertTrue(allocatedBytes <= Long.parseLong(budget), String.format(
+                "The %s request allocates %d bytes, which exceeds its budget of %s bytes in %s. If the increase "
+                        + "is intended, raise the budget in the same change.",
+                request, allocatedBytes, budget, BUDGETS_RESOURCE));
+    }
+
+    private void respond(final Supplier<?> action) {
+        try {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), action.get());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serves the output of the fake SGE cluster rendered once per command, so that only the handling
+     * of the output is measured. The job log commands are served a canned log.
+     */
+    private static final class CannedCmdExecutor implements CmdExecutor {
+
+        private final FakeSgeCommands commands;
+        private final Map<List<String>, CommandResult> results = new ConcurrentHashMap<>();
+
+        CannedCmdExecutor(final FakeSgeSettings settings) {
+            this.commands = new FakeSgeCommands(new FakeSgeCluster(settings));
+        }
+
+        @Override
+        public CommandResult execute(final String... arguments) {
+            return results.computeIfAbsent(Arrays.asList(arguments), this::render);
+        }
+
+        private CommandResult render(final List<String> arguments) {
+            final String command = arguments.get(0);
+            final String path = arguments.get(arguments.size() - 1);
+            switch (command) {
+                case "wc":
+                    return new CommandResult(List.of(String.format("%d %d %s", LOG_LINES, LOG_LINES * 80, path)),
+                            0, Collections.emptyList());
+                case "head":
+                case "tail":
+                    return new CommandResult(IntStream.range(0, LOG_LINES)
+                            .mapToObj(line -> String.format("%-79d", line))
+                            .collect(Collectors.toList()), 0, Collections.emptyList());
+                default:
+                    final StringWriter out = new StringWriter();
+                    final StringWriter err = new StringWriter();
+                    final int exitCode = commands.run(command, arguments.subList(1, arguments.size()),
+                            new PrintWriter(out), new PrintWriter(err));
+                    return new CommandResult(lines(out), exitCode, lines(err));
+            }
+        }
+
+        private static List<String> lines(final StringWriter writer) {
+            return writer.toString().isEmpty()
+                    ? Collections.emptyList()
+                    : List.of(writer.toString().split("\\R"));
+        }
+    }
+}
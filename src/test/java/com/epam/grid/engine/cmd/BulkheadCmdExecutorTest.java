@@ -0,0 +1,170 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class BulkheadCmdExecutorTest {
+
+    private static final long AWAIT_SECONDS = 10;
+    private static final String[] QACCT_COMMAND = {"qacct", "-j"};
+    private static final String[] QSUB_COMMAND = {"qsub", "-b", "y", "sleep"};
+    private static final String REJECTIONS_METRIC = "cmd.bulkhead.rejections";
+    private static final String WAITING_METRIC = "cmd.bulkhead.waiting";
+    private static final String ACCOUNTING = "accounting";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("cmd.timeout.default", "30s")
+            .withProperty("cmd.bulkhead.default.max.concurrent", "4")
+            .withProperty("cmd.bulkhead.default.queue.capacity", "4")
+            .withProperty("cmd.bulkhead.default.queue.timeout", "10s")
+            .withProperty("cmd.bulkhead.accounting.max.concurrent", "1")
+            .withProperty("cmd.bulkhead.accounting.queue.capacity", "1")
+            .withProperty("cmd.bulkhead.accounting.queue.timeout", "500ms");
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final AtomicReference<Instant> accountingDeadline = new AtomicReference<>();
+    private final CmdExecutor blockingAccountingExecutor = arguments -> {
+        if (CommandCategory.of(arguments) == CommandCategory.ACCOUNTING) {
+            accountingDeadline.set(CommandDeadline.capture());
+            started.countDown();
+            try {
+                release.await(AWAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new CommandResult(Collections.emptyList(), 0, Collections.emptyList());
+    };
+    private final BulkheadCmdExecutor executor = new BulkheadCmdExecutor(blockingAccountingExecutor,
+            new CommandTimeoutPolicy(environment, new CommandMetrics(meterRegistry)), environment, meterRegistry);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @AfterEach
+    public void shutdown() {
+        release.countDown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void shouldIsolateCommandCategories() throws Exception {
+        final Future<CommandResult> report = callers.submit(() -> executor.execute(QACCT_COMMAND));
+        Assertions.assertTrue(started.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(0, executor.execute(QSUB_COMMAND).getExitCode());
+
+        release.countDown();
+        Assertions.assertEquals(0, report.get(AWAIT_SECONDS, TimeUnit.SECONDS).getExitCode());
+    }
+
+    @Test
+    public void shouldRejectCommandsAfterQueueTimeout() throws Exception {
+        callers.submit(() -> executor.execute(QACCT_COMMAND));
+        Assertions.assertTrue(started.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class, () ->
+                executor.execute(QACCT_COMMAND));
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        Assertions.assertEquals(1, meterRegistry.get(REJECTIONS_METRIC)
+                .tags("category", ACCOUNTING, "reason", "queue_timeout").counter().count());
+    }
+
+    @Test
+    public void shouldQueueAsyncCommandsWithoutBlockingCaller() throws Exception {
+        callers.submit(() -> executor.execute(QACCT_COMMAND));
+        Assertions.assertTrue(started.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+
+        final CompletableFuture<CommandResult> queued = executor.executeAsync(QACCT_COMMAND);
+        Assertions.assertFalse(queued.isDone());
+        Assertions.assertEquals(1, meterRegistry.get(WAITING_METRIC).tag("category", ACCOUNTING).gauge().value());
+
+        release.countDown();
+        Assertions.assertEquals(0, queued.get(AWAIT_SECONDS, TimeUnit.SECONDS).getExitCode());
+    }
+
+    @Test
+    public void shouldRemoveCancelledAsyncCommandsFromQueue() throws Exception {
+        callers.submit(() -> executor.execute(QACCT_COMMAND));
+        Assertions.assertTrue(started.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+
+        executor.executeAsync(QACCT_COMMAND).cancel(true);
+        Assertions.assertEquals(0, meterRegistry.get(WAITING_METRIC).tag("category", ACCOUNTING).gauge().value());
+        final CompletableFuture<CommandResult> queued = executor.executeAsync(QACCT_COMMAND);
+
+        release.countDown();
+        Assertions.assertEquals(0, queued.get(AWAIT_SECONDS, TimeUnit.SECONDS).getExitCode());
+        Assertions.assertNull(meterRegistry.find(REJECTIONS_METRIC).counter());
+    }
+
+    @Test
+    public void shouldExecuteQueuedAsyncCommandsWithCallerDeadline() throws Exception {
+        callers.submit(() -> executor.execute(QACCT_COMMAND));
+        Assertions.assertTrue(started.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        final Instant deadline = Instant.now().plusSeconds(AWAIT_SECONDS);
+        final CompletableFuture<Instant> followUpDeadline;
+        CommandDeadline.set(deadline);
+        try {
+            followUpDeadline = executor.executeAsync(QACCT_COMMAND)
+                    .thenApply(result -> CommandDeadline.capture());
+        } finally {
+            CommandDeadline.clear();
+        }
+
+        release.countDown();
+        Assertions.assertEquals(deadline, followUpDeadline.get(AWAIT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertEquals(deadline, accountingDeadline.get());
+    }
+
+    @Test
+    public void shouldRejectCommandsWhenQueueIsFull() throws Exception {
+        callers.submit(() -> executor.execute(QACCT_COMMAND));
+        Assertions.assertTrue(started.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        callers.submit(() -> executor.execute(QACCT_COMMAND));
+        while (meterRegistry.get(WAITING_METRIC).tag("category", ACCOUNTING).gauge().value() < 1) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class, () ->
+                executor.execute(QACCT_COMMAND));
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+        Assertions.assertEquals(1, meterRegistry.get(REJECTIONS_METRIC)
+                .tags("category", ACCOUNTING, "reason", "queue_full").counter().count());
+    }
+}
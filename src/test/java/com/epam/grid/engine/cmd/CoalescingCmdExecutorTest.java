@@ -0,0 +1,205 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+public class CoalescingCmdExecutorTest {
+
+    private static final int CALLERS_COUNT = 8;
+    private static final long AWAIT_SECONDS = 10;
+    private static final String[] QSTAT_COMMAND = {"qstat", "-xml"};
+    private static final String[] QDEL_COMMAND = {"qdel", "1"};
+    private static final String COALESCED_METRIC = "cmd.execution.coalesced";
+    private static final long DEADLINE_MILLIS = 200;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CommandMetrics commandMetrics = new CommandMetrics(meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger executions = new AtomicInteger();
+    private final CmdExecutor blockingExecutor = arguments -> {
+        executions.incrementAndGet();
+        try {
+            release.await(AWAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new CommandResult(new ArrayList<>(List.of(String.join(" ", arguments))), 0, new ArrayList<>());
+    };
+    private final CoalescingCmdExecutor executor = new CoalescingCmdExecutor(blockingExecutor,
+            new CommandTimeoutPolicy(new MockEnvironment().withProperty("cmd.timeout.default", "30s"),
+                    commandMetrics), commandMetrics);
+    private final CompletableFuture<CommandResult> pending = new CompletableFuture<>();
+    private final CmdExecutor asyncExecutor = new CmdExecutor() {
+        @Override
+        public CommandResult execute(final String... arguments) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+            executions.incrementAndGet();
+            return pending;
+        }
+    };
+    private final CoalescingCmdExecutor asyncCoalescingExecutor = new CoalescingCmdExecutor(asyncExecutor,
+            new CommandTimeoutPolicy(new MockEnvironment().withProperty("cmd.timeout.default", "30s"),
+                    commandMetrics), commandMetrics);
+
+    @Test
+    public void shouldShareExecutionOfConcurrentReadOnlyCommands() throws Exception {
+        final List<CommandResult> results = executeConcurrently(QSTAT_COMMAND);
+
+        Assertions.assertEquals(1, executions.get());
+        results.forEach(result -> {
+            Assertions.assertEquals(List.of(String.join(" ", QSTAT_COMMAND)), result.getStdOut());
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> result.getStdOut().clear());
+        });
+        Assertions.assertNotSame(results.get(0), results.get(1));
+        Assertions.assertEquals(CALLERS_COUNT - 1, meterRegistry.get(COALESCED_METRIC).counter().count());
+    }
+
+    @Test
+    public void shouldShareAsyncExecutionOfReadOnlyCommands() throws Exception {
+        final CompletableFuture<CommandResult> first = asyncCoalescingExecutor.executeAsync(QSTAT_COMMAND);
+        final CompletableFuture<CommandResult> second = asyncCoalescingExecutor.executeAsync(QSTAT_COMMAND);
+        final CommandResult result = new CommandResult(new ArrayList<>(List.of("job")), 0, new ArrayList<>());
+        pending.complete(result);
+
+        Assertions.assertEquals(1, executions.get());
+        final CommandResult firstResult = first.get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        final CommandResult secondResult = second.get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        Assertions.assertEquals(result, firstResult);
+        Assertions.assertEquals(result, secondResult);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> firstResult.getStdOut().clear());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> secondResult.getStdErr().add("error"));
+        Assertions.assertEquals(1, meterRegistry.get(COALESCED_METRIC).counter().count());
+    }
+
+    @Test
+    public void shouldWaitForSharedExecutionNoLongerThanOwnDeadline() throws Exception {
+        final CompletableFuture<CommandResult> first = asyncCoalescingExecutor.executeAsync(QSTAT_COMMAND);
+        final CompletableFuture<CommandResult> second;
+        CommandDeadline.set(Instant.now().plusMillis(DEADLINE_MILLIS));
+        try {
+            second = asyncCoalescingExecutor.executeAsync(QSTAT_COMMAND);
+        } finally {
+            CommandDeadline.clear();
+        }
+
+        final ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () ->
+                second.get(AWAIT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT,
+                ((GridEngineException) exception.getCause()).getHttpStatus());
+        Assertions.assertFalse(first.isDone());
+        Assertions.assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void shouldNotJoinExecutionLimitedByEarlierDeadline() {
+        CommandDeadline.set(Instant.now().plusSeconds(AWAIT_SECONDS));
+        try {
+            asyncCoalescingExecutor.executeAsync(QSTAT_COMMAND);
+        } finally {
+            CommandDeadline.clear();
+        }
+        asyncCoalescingExecutor.executeAsync(QSTAT_COMMAND);
+
+        Assertions.assertEquals(2, executions.get());
+        Assertions.assertNull(meterRegistry.find(COALESCED_METRIC).counter());
+    }
+
+    @Test
+    public void shouldNotShareExecutionOfMutatingCommands() throws Exception {
+        executeConcurrently(QDEL_COMMAND);
+
+        Assertions.assertEquals(CALLERS_COUNT, executions.get());
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideCommandsAndExpectedCategories")
+    public void shouldClassifyCommands(final String[] arguments, final CommandCategory expectedCategory) {
+        Assertions.assertEquals(expectedCategory, CommandCategory.of(arguments));
+    }
+
+    static Stream<Arguments> provideCommandsAndExpectedCategories() {
+        return Stream.of(
+                Arguments.of(new String[]{"qstat", "-u", "sgeuser", "-xml"}, CommandCategory.LISTING),
+                Arguments.of(new String[]{"qhost", "-xml"}, CommandCategory.LISTING),
+                Arguments.of(new String[]{"qconf", "-sq", "main", "all.q"}, CommandCategory.LISTING),
+                Arguments.of(new String[]{"qconf", "-Mq", "/tmp/queue"}, CommandCategory.CONFIG_MUTATION),
+                Arguments.of(new String[]{"qconf", "-dp", "make"}, CommandCategory.CONFIG_MUTATION),
+                Arguments.of(new String[]{"qacct", "-j", "1"}, CommandCategory.ACCOUNTING),
+                Arguments.of(new String[]{"qsub", "-b", "y", "sleep"}, CommandCategory.JOB_MANAGEMENT),
+                Arguments.of(new String[]{"qdel", "1"}, CommandCategory.JOB_MANAGEMENT),
+                Arguments.of(new String[]{"tail", "-n", "10", "job.log"}, CommandCategory.OTHER)
+        );
+    }
+
+    private List<CommandResult> executeConcurrently(final String... arguments) throws Exception {
+        final ExecutorService callers = Executors.newFixedThreadPool(CALLERS_COUNT);
+        try {
+            final List<Future<CommandResult>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS_COUNT; i++) {
+                futures.add(callers.submit(() -> executor.execute(arguments)));
+            }
+            while (executions.get() + coalescedCount() < CALLERS_COUNT) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+            release.countDown();
+            final List<CommandResult> results = new ArrayList<>();
+            for (final Future<CommandResult> future : futures) {
+                results.add(future.get(AWAIT_SECONDS, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private double coalescedCount() {
+        return meterRegistry.find(COALESCED_METRIC).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
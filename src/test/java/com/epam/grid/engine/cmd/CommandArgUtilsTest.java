@@ -23,11 +23,22 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.util.StringUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 class CommandArgUtilsTest {
 
+    private static final String DELIMITERS = " \\" + System.lineSeparator();
+    private static final String[] COMMAND_PARTS = {"qsub", "-v", "A=1,B=\"x y\"", "\"", "\"\"", "a\"", "\"b",
+            "\"c\"", "d", "$JOB_ID", " ", "  ", "\t", "\\", "\n", "\r\n", System.lineSeparator(), "\u00a0"};
+    private static final int GENERATED_COMMANDS = 2000;
+    private static final int MAX_COMMAND_PARTS = 12;
+
     @ParameterizedTest
     @MethodSource("provideQhostStringCommandAndExpectedCommand")
     public void shouldMakeRightQhostCommand(final String commandString, final String[] expectedCommand) {
@@ -56,4 +67,74 @@ class CommandArgUtilsTest {
                         new String[]{"\"test current host\""})
         );
     }
+
+    @ParameterizedTest
+    @MethodSource("provideArgumentsAndExpectedCommandName")
+    public void shouldDetermineCommandName(final String[] arguments, final String expectedName) {
+        Assertions.assertEquals(expectedName, CommandArgUtils.getCommandName(arguments));
+    }
+
+    static Stream<Arguments> provideArgumentsAndExpectedCommandName() {
+        return Stream.of(
+                Arguments.of(new String[]{"qstat", "-xml"}, "qstat"),
+                Arguments.of(new String[]{"/opt/sge/bin/lx-amd64/qacct", "-j"}, "qacct"),
+                Arguments.of(new String[]{"C:\\sge\\qhost.exe"}, "qhost.exe"),
+                Arguments.of(new String[]{}, "")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideGeneratedCommands")
+    public void shouldSplitCommandAsMergingOfTokenizedParts(final String command) {
+        Assertions.assertArrayEquals(splitByTokenizingAndMerging(command),
+                CommandArgUtils.splitCommandIntoArgs(command), command);
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideGeneratedCommands")
+    public void shouldSplitCommandAppendedByFragments(final String command) {
+        final ArgvBuilder argv = new ArgvBuilder();
+        for (int i = 0; i < command.length(); i += 3) {
+            argv.append(command.substring(i, Math.min(i + 3, command.length())));
+        }
+        Assertions.assertArrayEquals(CommandArgUtils.splitCommandIntoArgs(command), argv.build(), command);
+    }
+
+    static Stream<String> provideGeneratedCommands() {
+        final Random random = new Random(GENERATED_COMMANDS);
+        return IntStream.range(0, GENERATED_COMMANDS)
+                .mapToObj(i -> IntStream.range(0, random.nextInt(MAX_COMMAND_PARTS))
+                        .mapToObj(part -> COMMAND_PARTS[random.nextInt(COMMAND_PARTS.length)])
+                        .reduce("", String::concat));
+    }
+
+    /**
+     * The splitting of the command into the tokens with the following merging of the quoted parts,
+     * that has been used before the single-pass splitting and defines the expected command structure.
+     */
+    private static String[] splitByTokenizingAndMerging(final String command) {
+        final List<String> result = new ArrayList<>();
+        final StringBuilder quotedPart = new StringBuilder();
+        for (final String commandPart : StringUtils.tokenizeToStringArray(command, DELIMITERS)) {
+            if (commandPart.startsWith("\"")) {
+                quotedPart.append(' ').append(commandPart);
+            } else if (commandPart.endsWith("\"")) {
+                quotedPart.append(' ').append(commandPart);
+                result.add(quotedPart.toString());
+                quotedPart.setLength(0);
+            } else if (quotedPart.length() != 0 && !quotedPart.toString().endsWith("\"")) {
+                quotedPart.append(' ').append(commandPart);
+            } else {
+                if (quotedPart.length() > 0) {
+                    result.add(quotedPart.toString());
+                    quotedPart.setLength(0);
+                }
+                result.add(commandPart);
+            }
+        }
+        if (quotedPart.length() > 0) {
+            result.add(quotedPart.toString());
+        }
+        return result.stream().map(String::trim).filter(s -> !s.isEmpty()).toArray(String[]::new);
+    }
 }
@@ -0,0 +1,125 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.provider.utils.sge.common.SgeOutputParsingUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+public class CommandEventsTest {
+
+    private static final String SETTINGS = "/jfr/grid-engine-api.jfc";
+    private static final String EVENT_PREFIX = "com.epam.grid.engine.";
+    private static final String[] COMMAND = {"sh", "-c", "echo hello"};
+    private static final String TEMPLATE = "qstat";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("cmd.timeout.default", "10s")
+            .withProperty("cmd.output.memory.threshold.default", "1MB")
+            .withProperty("cmd.output.limit.default", "16MB");
+    private final CommandMetrics commandMetrics = new CommandMetrics(meterRegistry);
+    private final SimpleCmdExecutor executor = new SimpleCmdExecutor(
+            new OutputReaderPool(2, 4, POLL_INTERVAL, meterRegistry),
+            new CommandTimeoutPolicy(environment, commandMetrics), new CommandOutputPolicy(environment),
+            commandMetrics);
+    private final boolean isWindows = System.getProperty("os.name")
+            .toLowerCase(Locale.US)
+            .startsWith("windows");
+
+    @Test
+    public void shouldRecordCommandPhases() throws IOException, ParseException {
+        if (isWindows) {
+            return;
+        }
+        final String[] arguments = COMMAND.clone();
+        commandMetrics.registerTemplate(arguments, TEMPLATE, EngineType.SGE);
+
+        final List<RecordedEvent> events = record(() -> executor.execute(arguments));
+
+        final RecordedEvent executeEvent = getSingleEvent(events, "CommandExecute");
+        Assertions.assertEquals(TEMPLATE, executeEvent.getString("template"));
+        Assertions.assertEquals(EngineType.SGE.name(), executeEvent.getString("engine"));
+        Assertions.assertEquals("success", executeEvent.getString("outcome"));
+        Assertions.assertEquals(0, executeEvent.getInt("exitCode"));
+        Assertions.assertEquals("hello\n".length(), executeEvent.getLong("stdOutBytes"));
+        Assertions.assertEquals(TEMPLATE, getSingleEvent(events, "CommandSpawn").getString("template"));
+        Assertions.assertEquals(List.of("stderr", "stdout"), getEvents(events, "CommandRead").stream()
+                .map(event -> event.getString("stream"))
+                .sorted()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldRecordOutputParsing() throws IOException, ParseException {
+        final List<RecordedEvent> events = record(() ->
+                SgeOutputParsingUtils.parseEntitiesToMap(List.of("pe_name make", "slots 999")));
+
+        final RecordedEvent parseEvent = getSingleEvent(events, "OutputParse");
+        Assertions.assertEquals("entities", parseEvent.getString("parser"));
+        Assertions.assertEquals(2, parseEvent.getLong("inputLines"));
+        Assertions.assertEquals("success", parseEvent.getString("outcome"));
+    }
+
+    private List<RecordedEvent> record(final Runnable action) throws IOException, ParseException {
+        final Path dump = Files.createTempFile("grid-engine-api", ".jfr");
+        try (Reader settings = new InputStreamReader(getClass().getResourceAsStream(SETTINGS),
+                StandardCharsets.UTF_8);
+             Recording recording = new Recording(Configuration.create(settings))) {
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(dump);
+            return RecordingFile.readAllEvents(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    private static List<RecordedEvent> getEvents(final List<RecordedEvent> events, final String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(EVENT_PREFIX + name))
+                .collect(Collectors.toList());
+    }
+
+    private static RecordedEvent getSingleEvent(final List<RecordedEvent> events, final String name) {
+        final List<RecordedEvent> matchingEvents = getEvents(events, name);
+        Assertions.assertEquals(1, matchingEvents.size());
+        return matchingEvents.get(0);
+    }
+}
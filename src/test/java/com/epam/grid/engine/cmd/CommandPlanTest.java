@@ -0,0 +1,165 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.HostGroupFilter;
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.QueueFilter;
+import com.epam.grid.engine.entity.job.DeleteJobFilter;
+import com.epam.grid.engine.entity.job.JobOptions;
+import com.epam.grid.engine.entity.job.ParallelEnvOptions;
+import com.epam.grid.engine.entity.usage.UsageReportFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.StringTemplateResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public class CommandPlanTest {
+
+    private static final String TEMPLATES_LOCATION = "classpath:templates/sge/command/";
+
+    private final SpringTemplateEngine templateEngine = getTemplateEngine();
+
+    @Test
+    public void shouldCompileAllCommandTemplates() throws IOException {
+        final Resource[] templates = new PathMatchingResourcePatternResolver()
+                .getResources(TEMPLATES_LOCATION + "*");
+
+        Assertions.assertNotEquals(0, templates.length);
+        for (final Resource template : templates) {
+            Assertions.assertDoesNotThrow(() -> new CommandPlanParser(readTemplate(template)).parse(),
+                    template.getFilename());
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideCommandContexts")
+    public void shouldBuildSameCommandAsRenderedTemplate(final String command, final Context context)
+            throws IOException {
+        final String template = readTemplate(new PathMatchingResourcePatternResolver()
+                .getResource(TEMPLATES_LOCATION + command));
+
+        Assertions.assertEquals(Arrays.asList(CommandArgUtils.splitCommandIntoArgs(
+                        templateEngine.process(template, context))),
+                Arrays.asList(new CommandPlanParser(template).parse().build(context)));
+    }
+
+    static Stream<Arguments> provideCommandContexts() {
+        return Stream.of(
+                Arguments.of("qstat", new Context()),
+                Arguments.of("qstat", context(Map.of("filter", JobFilter.builder()
+                        .owners(List.of("sgeuser", "anotheruser")).build(), "state", "r"))),
+                Arguments.of("qsub", context(Map.of("options", JobOptions.builder()
+                        .command("sleep")
+                        .arguments(List.of("10", "20"))
+                        .canBeBinary(true)
+                        .useAllEnvVars(true)
+                        .priority(5)
+                        .name("job name")
+                        .queues(List.of("main", "all.q"))
+                        .workingDir("/tmp")
+                        .parallelEnvOptions(new ParallelEnvOptions("make", 2, 4))
+                        .build(),
+                        "logDir", "/logs/", "envVariables", "KEY=\"some value\""))),
+                Arguments.of("qsub", context(Map.of("options", JobOptions.builder()
+                        .command("echo")
+                        .parallelEnvOptions(new ParallelEnvOptions("make", 0, 4))
+                        .build()))),
+                Arguments.of("qacct", context(Map.of("filter", UsageReportFilter.builder()
+                        .owner("sgeuser").queue("main").parallelEnv("make").jobIdOrName("7").days(3).build(),
+                        "startTime", "202201011200", "endTime", "202201021200"))),
+                Arguments.of("qconf", new Context()),
+                Arguments.of("qconf", context(Map.of("filter", new HostGroupFilter(List.of("@allhosts", "@other"))))),
+                Arguments.of("qconf_sql", context(Map.of("filter", new QueueFilter(List.of("main", "all.q"))))),
+                Arguments.of("qdel", context(Map.of("filter", DeleteJobFilter.builder()
+                        .force(true).user("sgeuser").id(7L).build()))),
+                Arguments.of("qdel", context(Map.of("filter", DeleteJobFilter.builder().id(0L).build()))),
+                Arguments.of("get_log_lines", context(Map.of("path", "/logs/7.out", "lines", 10, "fromHead", false))),
+                Arguments.of("qping", context(Map.of("qmasterHost", "master", "qmasterPort", "6444")))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "echo \"[(${value})] tail\" [(${value})]",
+        "cat [(${value})]\\[(${value})][ ]",
+        "[#th:block th:if=\"${value != null}\"][(${value.length()})][/th:block]",
+        "[# th:unless=\"${value == null}\"][(${value.length()})][/ ]"
+    })
+    public void shouldSplitArgumentsAsRenderedTemplate(final String template) {
+        final Context context = context(Map.of("value", "some \"quoted\" value"));
+
+        Assertions.assertEquals(Arrays.asList(CommandArgUtils.splitCommandIntoArgs(
+                        templateEngine.process(template, context))),
+                Arrays.asList(new CommandPlanParser(template).parse().build(context)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "echo [[${value}]]",
+        "[# th:text=\"${value}\"][/]",
+        "[# th:if=\"${value} and ${value}\"]echo[/]",
+        "[# th:each=\"item, status : ${values}\"][(${item})][/]",
+        "echo [(${#strings.toUpperCase(value)})]",
+        "[# th:if=\"${value != null}\"]echo",
+        "[# th:block th:if=\"${value != null}\"]echo[/th:block]",
+        "[#th:block th:if=\"${value != null}\"]echo[/]",
+        "[# th:if=\"${value != null}\"]echo[/#]",
+        "[#th:if=\"${value != null}\"]echo[/]"
+    })
+    public void shouldRejectUnsupportedSyntax(final String template) {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new CommandPlanParser(template).parse());
+    }
+
+    private static Context context(final Map<String, Object> variables) {
+        final Context context = new Context();
+        context.setVariables(variables);
+        return context;
+    }
+
+    private static String readTemplate(final Resource template) throws IOException {
+        try (InputStream inputStream = template.getInputStream()) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static SpringTemplateEngine getTemplateEngine() {
+        final StringTemplateResolver resolver = new StringTemplateResolver();
+        resolver.setTemplateMode(TemplateMode.TEXT);
+        final SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+        return templateEngine;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+@DisabledOnOs(OS.WINDOWS)
+public class CoprocessCmdExecutorTest {
+
+    private static final String SHELL = "/bin/sh";
+    private static final int POOL_SIZE = 2;
+    private static final int MAX_COMMANDS = 3;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(1);
+    private static final String[] SUCCESSFUL_COMMAND = {"echo", "hello", "it's me"};
+    private static final String[] NO_TRAILING_NEW_LINE_COMMAND = {"printf", "%s", "hello"};
+    private static final String[] FAILED_COMMAND = {"sh", "-c", "echo error >&2; exit 3"};
+    private static final String[] PARENT_PID_COMMAND = {"sh", "-c", "echo $PPID"};
+    private static final String[] LONG_RUNNING_COMMAND = {"sleep", "30"};
+    private static final String[] STRAY_OUTPUT_COMMAND = {"sh", "-c", "(sleep 0.2; echo stray) &"};
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CommandMetrics commandMetrics = new CommandMetrics(meterRegistry);
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("cmd.timeout.default", "10s")
+            .withProperty("cmd.timeout.sleep", "300ms")
+            .withProperty("cmd.output.memory.threshold.default", "1MB")
+            .withProperty("cmd.output.limit.default", "16MB");
+    private final CoprocessCmdExecutor executor = new CoprocessCmdExecutor(
+            new OutputReaderPool(POOL_SIZE * 2, POOL_SIZE * 2, POLL_INTERVAL, meterRegistry),
+            new CommandTimeoutPolicy(environment, commandMetrics), new CommandOutputPolicy(environment),
+            commandMetrics, SHELL, POOL_SIZE, MAX_COMMANDS, PROBE_TIMEOUT);
+
+    @AfterEach
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void shouldPassArgumentsAsIs() {
+        final CommandResult result = executor.execute(SUCCESSFUL_COMMAND);
+
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertEquals(List.of("hello it's me"), result.getStdOut());
+        Assertions.assertEquals(Collections.emptyList(), result.getStdErr());
+    }
+
+    @Test
+    public void shouldReadOutputWithoutTrailingNewLine() {
+        final CommandResult result = executor.execute(NO_TRAILING_NEW_LINE_COMMAND);
+
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertEquals(List.of("hello"), result.getStdOut());
+    }
+
+    @Test
+    public void shouldCaptureExitCodeAndStdErr() {
+        final CommandResult result = executor.execute(FAILED_COMMAND);
+
+        Assertions.assertEquals(3, result.getExitCode());
+        Assertions.assertEquals(List.of("error"), result.getStdErr());
+        Assertions.assertEquals(Collections.emptyList(), result.getStdOut());
+    }
+
+    @Test
+    public void shouldReuseCoprocessAndRecycleItAfterMaxCommands() {
+        final String firstShell = executor.execute(PARENT_PID_COMMAND).getStdOut().get(0);
+        for (int i = 1; i < MAX_COMMANDS; i++) {
+            Assertions.assertEquals(firstShell, executor.execute(PARENT_PID_COMMAND).getStdOut().get(0));
+        }
+        Assertions.assertNotEquals(firstShell, executor.execute(PARENT_PID_COMMAND).getStdOut().get(0));
+    }
+
+    @Test
+    public void shouldReplaceCoprocessAfterTimeout() {
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class, () ->
+                executor.execute(LONG_RUNNING_COMMAND));
+        Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT, exception.getHttpStatus());
+
+        final CommandResult result = executor.execute(SUCCESSFUL_COMMAND);
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertEquals(List.of("hello it's me"), result.getStdOut());
+    }
+
+    @Test
+    public void shouldReplaceCoprocessWithStrayOutputLeftInPipes() throws InterruptedException {
+        final String firstShell = executor.execute(PARENT_PID_COMMAND).getStdOut().get(0);
+        Assertions.assertEquals(0, executor.execute(STRAY_OUTPUT_COMMAND).getExitCode());
+        Thread.sleep(500);
+
+        final List<String> stdOut = executor.execute(PARENT_PID_COMMAND).getStdOut();
+        Assertions.assertEquals(1, stdOut.size());
+        Assertions.assertNotEquals(firstShell, stdOut.get(0));
+    }
+}
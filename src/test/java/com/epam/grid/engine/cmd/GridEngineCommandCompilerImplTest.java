@@ -30,6 +30,7 @@ import com.epam.grid.engine.entity.job.JobOptions;
 import com.epam.grid.engine.entity.job.ParallelEnvOptions;
 import com.epam.grid.engine.entity.usage.UsageReportFilter;
 import com.epam.grid.engine.provider.utils.sge.job.QstatCommandParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -267,9 +268,13 @@ public class GridEngineCommandCompilerImplTest {
 
     public static GridEngineCommandCompiler getCommandCompiler() {
         final SpringTemplateEngine templateEngine = new SpringTemplateEngine();
-        templateEngine.setTemplateResolver(getResolverByCommandPath(getPropertyValue(TEMPLATE_PATH_PROPERTY)));
+        final String templatePath = getPropertyValue(TEMPLATE_PATH_PROPERTY);
+        templateEngine.setTemplateResolver(getResolverByCommandPath(templatePath));
 
-        return new GridEngineCommandCompilerImpl(templateEngine);
+        final GridEngineCommandCompilerImpl commandCompiler = new GridEngineCommandCompilerImpl(templateEngine,
+                new CommandMetrics(new SimpleMeterRegistry()), templatePath);
+        commandCompiler.compileCommandPlans();
+        return commandCompiler;
     }
 
     @ParameterizedTest
@@ -0,0 +1,163 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class HedgingCmdExecutorTest {
+
+    private static final long AWAIT_SECONDS = 10;
+    private static final int MIN_SAMPLES = 3;
+    private static final String[] QSTAT_COMMAND = {"qstat", "-xml"};
+    private static final String[] QSUB_COMMAND = {"qsub", "-b", "y", "sleep"};
+    private static final String HEDGES_METRIC = "cmd.hedging.hedges";
+    private static final String WINS_METRIC = "cmd.hedging.wins";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("cmd.hedging.categories", "listing,health-check")
+            .withProperty("cmd.hedging.percentile", "0.9")
+            .withProperty("cmd.hedging.min.delay", "20ms")
+            .withProperty("cmd.hedging.min.samples", String.valueOf(MIN_SAMPLES))
+            .withProperty("cmd.hedging.window.size", "10")
+            .withProperty("cmd.hedging.budget.percent", "50")
+            .withProperty("cmd.hedging.budget.burst", "1");
+    private final List<CompletableFuture<CommandResult>> executions = Collections.synchronizedList(new ArrayList<>());
+    private final CmdExecutor stallingExecutor = new CmdExecutor() {
+        @Override
+        public CommandResult execute(final String... arguments) {
+            return executeAsync(arguments).join();
+        }
+
+        @Override
+        public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+            final CompletableFuture<CommandResult> execution = new CompletableFuture<>();
+            executions.add(execution);
+            return execution;
+        }
+    };
+
+    @Test
+    public void shouldReturnResultOfHedgeAndCancelStalledCommand() throws Exception {
+        final HedgingCmdExecutor executor = createExecutor();
+        warmUp(executor);
+
+        final CompletableFuture<CommandResult> result = executor.executeAsync(QSTAT_COMMAND);
+        final CompletableFuture<CommandResult> stalled = executions.get(MIN_SAMPLES);
+        awaitExecutions(MIN_SAMPLES + 2);
+        executions.get(MIN_SAMPLES + 1).complete(commandResult(0));
+
+        Assertions.assertEquals(0, result.get(AWAIT_SECONDS, TimeUnit.SECONDS).getExitCode());
+        Assertions.assertTrue(stalled.isCancelled());
+        Assertions.assertEquals(1, meterRegistry.get(HEDGES_METRIC).tag("result", "started").counter().count());
+        // the win is recorded by the hedge thread once it has completed the result
+        while (meterRegistry.find(WINS_METRIC).counter() == null) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assertions.assertEquals(1, meterRegistry.get(WINS_METRIC).tag("winner", "hedge").counter().count());
+    }
+
+    @Test
+    public void shouldNotHedgeCommandsBeyondBudget() throws Exception {
+        environment.setProperty("cmd.hedging.budget.percent", "0");
+        final HedgingCmdExecutor executor = createExecutor();
+        warmUp(executor);
+
+        final CompletableFuture<CommandResult> result = executor.executeAsync(QSTAT_COMMAND);
+        while (meterRegistry.find(HEDGES_METRIC).counter() == null) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        executions.get(MIN_SAMPLES).complete(commandResult(0));
+
+        Assertions.assertEquals(0, result.get(AWAIT_SECONDS, TimeUnit.SECONDS).getExitCode());
+        Assertions.assertEquals(MIN_SAMPLES + 1, executions.size());
+        Assertions.assertEquals(1, meterRegistry.get(HEDGES_METRIC).tag("result", "budget_exhausted")
+                .counter().count());
+    }
+
+    @Test
+    public void shouldUseFailureOfCommandAndIgnoreFailureOfHedge() throws Exception {
+        final HedgingCmdExecutor executor = createExecutor();
+        warmUp(executor);
+
+        final CompletableFuture<CommandResult> result = executor.executeAsync(QSTAT_COMMAND);
+        awaitExecutions(MIN_SAMPLES + 2);
+        executions.get(MIN_SAMPLES + 1).completeExceptionally(new IllegalStateException("hedge"));
+        Assertions.assertFalse(result.isDone());
+        executions.get(MIN_SAMPLES).complete(commandResult(1));
+
+        Assertions.assertEquals(1, result.get(AWAIT_SECONDS, TimeUnit.SECONDS).getExitCode());
+    }
+
+    @Test
+    public void shouldNotHedgeCommandsWithoutKnownExecutionTimes() {
+        final HedgingCmdExecutor executor = createExecutor();
+
+        final CompletableFuture<CommandResult> result = executor.executeAsync(QSTAT_COMMAND);
+
+        Assertions.assertNull(meterRegistry.find(HEDGES_METRIC).counter());
+        result.cancel(true);
+        Assertions.assertTrue(executions.get(0).isCancelled());
+    }
+
+    @Test
+    public void shouldNotHedgeCommandsThatChangeState() {
+        final HedgingCmdExecutor executor = createExecutor();
+
+        final CompletableFuture<CommandResult> result = executor.executeAsync(QSUB_COMMAND);
+
+        Assertions.assertEquals(1, executions.size());
+        Assertions.assertSame(executions.get(0), result);
+    }
+
+    private HedgingCmdExecutor createExecutor() {
+        return new HedgingCmdExecutor(stallingExecutor, new CommandMetrics(meterRegistry), environment,
+                meterRegistry);
+    }
+
+    private void warmUp(final HedgingCmdExecutor executor) throws Exception {
+        for (int i = 0; i < MIN_SAMPLES; i++) {
+            final CompletableFuture<CommandResult> result = executor.executeAsync(QSTAT_COMMAND);
+            executions.get(i).complete(commandResult(0));
+            result.get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    private void awaitExecutions(final int count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(AWAIT_SECONDS);
+        while (executions.size() < count && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assertions.assertEquals(count, executions.size());
+    }
+
+    private static CommandResult commandResult(final int exitCode) {
+        return new CommandResult(Collections.emptyList(), exitCode, Collections.emptyList());
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class OutputReaderPoolTest {
+
+    private static final long AWAIT_SECONDS = 10;
+    private static final String WAITING_METRIC = "cmd.output.reader.waiting";
+    private static final String POOL_MAX_METRIC = "executor.pool.max";
+    private static final String ACTIVE_METRIC = "executor.active";
+    private static final String[] POLLED_COMMAND = {"sh", "-c",
+            "printf 'first\\r\\nsecond\\rthird\\n'; sleep 1; printf last"};
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OutputReaderPool pool = new OutputReaderPool(2, 2, POLL_INTERVAL, meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void shutdown() {
+        release.countDown();
+        pool.shutdown();
+    }
+
+    @Test
+    public void shouldStartBothReadersOfProcessTogether() throws Exception {
+        final CountDownLatch started = new CountDownLatch(2);
+        final OutputReaderPool.Readers<String> readers = pool.submit(() -> {
+            started.countDown();
+            release.await(AWAIT_SECONDS, TimeUnit.SECONDS);
+            return "stdout";
+        }, () -> {
+            started.countDown();
+            awaitRelease();
+        });
+
+        Assertions.assertTrue(started.await(AWAIT_SECONDS, TimeUnit.SECONDS));
+        release.countDown();
+        Assertions.assertEquals("stdout", readers.getStdOut().get(AWAIT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertNull(readers.getStdErr().get(AWAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldQueueReadersUntilPreviousPairCompletes() throws Exception {
+        final AtomicInteger startedReaders = new AtomicInteger();
+        final OutputReaderPool.Readers<Void> first = pool.submit(() -> {
+            startedReaders.incrementAndGet();
+            awaitRelease();
+            return null;
+        }, this::awaitRelease);
+        final OutputReaderPool.Readers<Void> second = pool.submit(() -> {
+            startedReaders.incrementAndGet();
+            return null;
+        }, () -> startedReaders.incrementAndGet());
+
+        Assertions.assertEquals(1, meterRegistry.get(WAITING_METRIC).gauge().value());
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class,
+            () -> pool.submit(() -> null, () -> { }));
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+
+        release.countDown();
+        first.getStdOut().get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        second.getStdOut().get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        second.getStdErr().get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        Assertions.assertEquals(3, startedReaders.get());
+        Assertions.assertEquals(0, meterRegistry.get(WAITING_METRIC).gauge().value());
+    }
+
+    @Test
+    public void shouldPassReaderFailureToItsFuture() {
+        final OutputReaderPool.Readers<Void> readers = pool.submit(() -> {
+            throw new IllegalStateException("stdout");
+        }, () -> { });
+
+        Assertions.assertThrows(Exception.class, () -> readers.getStdOut().get(AWAIT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertDoesNotThrow(() -> readers.getStdErr().get(AWAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    public void shouldPollLinesOfRunningProcessWithoutReaderThreads() throws Exception {
+        final Process process = new ProcessBuilder(POLLED_COMMAND).start();
+        final List<String> outLines = new CopyOnWriteArrayList<>();
+        final List<String> errLines = new CopyOnWriteArrayList<>();
+
+        final CompletableFuture<Void> polled = pool.pollLines(process, process.getInputStream(), outLines,
+                process.getErrorStream(), errLines);
+        while (outLines.size() < 3) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        Assertions.assertTrue(process.isAlive());
+        Assertions.assertEquals(0, meterRegistry.get(ACTIVE_METRIC).gauge().value());
+        polled.get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        Assertions.assertEquals(List.of("first", "second", "third", "last"), outLines);
+        Assertions.assertEquals(Collections.emptyList(), errLines);
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    public void shouldFailPolledLinesThatCannotBeCollected() throws Exception {
+        final Process process = new ProcessBuilder("echo", "line").start();
+
+        final CompletableFuture<Void> polled = pool.pollLines(process, process.getInputStream(),
+                Collections.unmodifiableList(new ArrayList<>()), process.getErrorStream(), new ArrayList<>());
+
+        final ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () ->
+                polled.get(AWAIT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertTrue(exception.getCause() instanceof GridEngineException);
+    }
+
+    @Test
+    public void shouldDeriveSizeFromBulkheadLimits() {
+        final SimpleMeterRegistry derivedRegistry = new SimpleMeterRegistry();
+        final OutputReaderPool derivedPool = new OutputReaderPool(new MockEnvironment()
+                .withProperty("cmd.output.reader.pool.size", "")
+                .withProperty("cmd.output.reader.queue.capacity", "4")
+                .withProperty("cmd.output.poll.interval", "10ms")
+                .withProperty("cmd.bulkhead.enabled", "true")
+                .withProperty("cmd.bulkhead.default.max.concurrent", "3")
+                .withProperty("cmd.bulkhead.listing.max.concurrent", "5"), derivedRegistry);
+        try {
+            final int categories = CommandCategory.values().length;
+            Assertions.assertEquals(2 * (3 * (categories - 1) + 5),
+                    derivedRegistry.get(POOL_MAX_METRIC).gauge().value());
+        } finally {
+            derivedPool.shutdown();
+        }
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(AWAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
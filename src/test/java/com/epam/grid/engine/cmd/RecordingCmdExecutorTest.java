@@ -0,0 +1,125 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.RecordedCommand;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class RecordingCmdExecutorTest {
+
+    private static final long AWAIT_SECONDS = 10;
+    private static final String[] QSTAT_COMMAND = {"qstat", "-xml"};
+    private static final String[] QHOST_COMMAND = {"qhost", "-xml"};
+
+    private final CmdExecutor executor = arguments -> new CommandResult(List.of("<" + arguments[0] + "/>"),
+            arguments.length, List.of("warning"));
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldRecordExecutedCommandsToCorpus() throws Exception {
+        final Path corpus = tempDir.resolve("commands.corpus.gz");
+        try (CommandCorpus.Writer writer = CommandCorpus.append(corpus)) {
+            final RecordingCmdExecutor recordingExecutor = new RecordingCmdExecutor(executor, writer);
+            recordingExecutor.execute(QSTAT_COMMAND);
+            recordingExecutor.executeAsync(QHOST_COMMAND).get(AWAIT_SECONDS, TimeUnit.SECONDS);
+        }
+
+        final List<RecordedCommand> records = CommandCorpus.read(corpus);
+        Assertions.assertEquals(2, records.size());
+        Assertions.assertEquals(List.of(QSTAT_COMMAND), records.get(0).getArguments());
+        Assertions.assertEquals(List.of("<qstat/>"), records.get(0).getStdOut());
+        Assertions.assertEquals(List.of("warning"), records.get(0).getStdErr());
+        Assertions.assertEquals(2, records.get(0).getExitCode());
+        Assertions.assertTrue(records.get(0).getDurationNanos() >= 0);
+        Assertions.assertEquals(List.of(QHOST_COMMAND), records.get(1).getArguments());
+    }
+
+    @Test
+    public void shouldAppendRecordsOfSeveralRuns() throws Exception {
+        final Path corpus = tempDir.resolve("commands.corpus.gz");
+        for (int run = 0; run < 2; run++) {
+            try (CommandCorpus.Writer writer = CommandCorpus.append(corpus)) {
+                new RecordingCmdExecutor(executor, writer).execute(QSTAT_COMMAND);
+            }
+        }
+
+        Assertions.assertEquals(2, CommandCorpus.read(corpus).size());
+    }
+
+    @Test
+    public void shouldReadCorpusOfUnclosedWriter() throws Exception {
+        final Path corpus = tempDir.resolve("commands.corpus.gz");
+        try (CommandCorpus.Writer writer = CommandCorpus.append(corpus)) {
+            new RecordingCmdExecutor(executor, writer).execute(QSTAT_COMMAND);
+
+            Assertions.assertEquals(1, CommandCorpus.read(corpus).size());
+        }
+    }
+
+    @Test
+    public void shouldReadCorpusUpToTruncatedRecord() throws Exception {
+        final Path corpus = tempDir.resolve("commands.corpus.gz");
+        final long firstRecordEnd;
+        try (CommandCorpus.Writer writer = CommandCorpus.append(corpus)) {
+            final RecordingCmdExecutor recordingExecutor = new RecordingCmdExecutor(executor, writer);
+            recordingExecutor.execute(QSTAT_COMMAND);
+            firstRecordEnd = Files.size(corpus);
+            recordingExecutor.execute(QHOST_COMMAND);
+        }
+        final byte[] content = Files.readAllBytes(corpus);
+        Files.write(corpus, Arrays.copyOf(content, (int) (firstRecordEnd + content.length) / 2));
+
+        final List<RecordedCommand> records = CommandCorpus.read(corpus);
+        Assertions.assertEquals(1, records.size());
+        Assertions.assertEquals(List.of(QSTAT_COMMAND), records.get(0).getArguments());
+    }
+
+    @Test
+    public void shouldCancelDelegatedExecution() throws Exception {
+        final CompletableFuture<CommandResult> delegated = new CompletableFuture<>();
+        final CmdExecutor asyncExecutor = new CmdExecutor() {
+            @Override
+            public CommandResult execute(final String... arguments) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public CompletableFuture<CommandResult> executeAsync(final String... arguments) {
+                return delegated;
+            }
+        };
+        try (CommandCorpus.Writer writer = CommandCorpus.append(tempDir.resolve("commands.corpus.gz"))) {
+            new RecordingCmdExecutor(asyncExecutor, writer).executeAsync(QSTAT_COMMAND).cancel(true);
+        }
+
+        Assertions.assertTrue(delegated.isCancelled());
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.RecordedCommand;
+import com.epam.grid.engine.exception.GridEngineException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class ReplayingCmdExecutorTest {
+
+    private static final long AWAIT_SECONDS = 10;
+    private static final long RECORDED_DURATION_MILLIS = 200;
+    private static final String[] QSTAT_COMMAND = {"qstat", "-xml"};
+
+    private final List<RecordedCommand> records = List.of(record("first"), record("second"));
+
+    @Test
+    public void shouldServeRecordedResultsInTurn() {
+        final ReplayingCmdExecutor executor = new ReplayingCmdExecutor(records, 0);
+
+        Assertions.assertEquals(List.of("first"), executor.execute(QSTAT_COMMAND).getStdOut());
+        Assertions.assertEquals(List.of("second"), executor.execute(QSTAT_COMMAND).getStdOut());
+        Assertions.assertEquals(List.of("first"), executor.execute(QSTAT_COMMAND).getStdOut());
+    }
+
+    @Test
+    public void shouldFailNotRecordedCommand() {
+        final ReplayingCmdExecutor executor = new ReplayingCmdExecutor(records, 0);
+
+        Assertions.assertThrows(GridEngineException.class, () -> executor.execute("qstat"));
+        final ExecutionException error = Assertions.assertThrows(ExecutionException.class,
+                () -> executor.executeAsync("qhost", "-xml").get(AWAIT_SECONDS, TimeUnit.SECONDS));
+        Assertions.assertTrue(error.getCause() instanceof GridEngineException);
+    }
+
+    @Test
+    public void shouldDelayResultsByRecordedDuration() throws Exception {
+        final ReplayingCmdExecutor executor = new ReplayingCmdExecutor(records, 1);
+
+        final long startTime = System.nanoTime();
+        final CompletableFuture<CommandResult> result = executor.executeAsync(QSTAT_COMMAND);
+        Assertions.assertFalse(result.isDone());
+        Assertions.assertEquals(List.of("first"), result.get(AWAIT_SECONDS, TimeUnit.SECONDS).getStdOut());
+        Assertions.assertTrue(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(RECORDED_DURATION_MILLIS));
+    }
+
+    @Test
+    public void shouldRejectNegativeLatencyFactor() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ReplayingCmdExecutor(records, -1));
+    }
+
+    private static RecordedCommand record(final String stdOut) {
+        return RecordedCommand.builder()
+                .arguments(List.of(QSTAT_COMMAND))
+                .stdOut(List.of(stdOut))
+                .stdErr(Collections.emptyList())
+                .exitCode(0)
+                .durationNanos(TimeUnit.MILLISECONDS.toNanos(RECORDED_DURATION_MILLIS))
+                .build();
+    }
+}
@@ -20,13 +20,27 @@
 package com.epam.grid.engine.cmd;
 
 import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.StreamedCommandResult;
 import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 public class SimpleCmdExecutorTest {
 
@@ -37,7 +51,43 @@ public class SimpleCmdExecutorTest {
     private static final String[] LINUX_NOT_EXISTING_FUNCTION = {"sh", "-c", "eco \"hello\""};
     private static final String[] WINDOWS_INVALID_COMMAND = {"cfghmd.exe", "/c", "echo \"hello\""};
     private static final String[] LINUX_INVALID_COMMAND = {"serh", "-c", "echo \"hello\""};
-    private final SimpleCmdExecutor executeImpl = new SimpleCmdExecutor();
+    private static final int READER_POOL_SIZE = 2;
+    private static final int READER_QUEUE_CAPACITY = 4;
+    private static final int COMMANDS_COUNT = 20;
+    private static final String POOL_SIZE_METRIC = "executor.pool.size";
+    private static final String COMPLETED_TASKS_METRIC = "executor.completed";
+    private static final String[] LINUX_LONG_RUNNING_COMMAND = {"sh", "-c", "sleep 30 & sleep 30; wait"};
+    // The shell outlives the start of the readers, otherwise the JDK drains and closes the pipes on exit
+    private static final String[] LINUX_DETACHED_OUTPUT_COMMAND = {"sh", "-c", "sleep 10 & echo started; sleep 0.1"};
+    private static final String[] LINUX_SLEEP_COMMAND = {"sleep", "30"};
+    private static final String[] LINUX_MULTILINE_COMMAND = {"seq", "1", "200000"};
+    private static final long MULTILINE_COMMAND_LINES = 200_000;
+    private static final String[] LINUX_ENDLESS_OUTPUT_COMMAND = {"yes"};
+    private static final String DEFAULT_TIMEOUT = "10s";
+    private static final String SHORT_TIMEOUT = "300ms";
+    private static final long MAX_TERMINATION_MILLIS = 5000;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(10);
+    private static final String TIMEOUTS_METRIC = "cmd.execution.timeouts";
+    private static final String DURATION_METRIC = "cmd.execution.duration";
+    private static final String EXIT_CODES_METRIC = "cmd.execution.exit.codes";
+    private static final String ACTIVE_METRIC = "cmd.execution.active";
+    private static final String OUTPUT_BYTES_METRIC = "cmd.output.bytes";
+    private static final String OUTPUT_LINES_METRIC = "cmd.output.lines";
+    private static final String TEMPLATE_TAG = "template";
+    private static final String ENGINE_TAG = "engine";
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("cmd.timeout.default", DEFAULT_TIMEOUT)
+            .withProperty("cmd.timeout.sh", SHORT_TIMEOUT)
+            .withProperty("cmd.output.memory.threshold.default", "1MB")
+            .withProperty("cmd.output.memory.threshold.seq", "1KB")
+            .withProperty("cmd.output.limit.default", "16MB")
+            .withProperty("cmd.output.limit.yes", "1MB");
+    private final CommandMetrics commandMetrics = new CommandMetrics(meterRegistry);
+    private final SimpleCmdExecutor executeImpl = new SimpleCmdExecutor(
+            new OutputReaderPool(READER_POOL_SIZE, READER_QUEUE_CAPACITY, POLL_INTERVAL, meterRegistry),
+            new CommandTimeoutPolicy(environment, commandMetrics), new CommandOutputPolicy(environment),
+            commandMetrics);
     private final boolean isWindows = System.getProperty("os.name")
             .toLowerCase(Locale.US)
             .startsWith("windows");
@@ -72,4 +122,268 @@ public class SimpleCmdExecutorTest {
                     executeImpl.execute(LINUX_INVALID_COMMAND));
         }
     }
+
+    @Test
+    public void shouldReuseReaderThreadsBetweenCommands() {
+        IntStream.range(0, COMMANDS_COUNT).forEach(i -> {
+            final CommandResult returnObject = isWindows ? executeImpl.execute(WINDOWS_SUCCESSFUL_COMMAND)
+                    : executeImpl.execute(LINUX_SUCCESSFUL_COMMAND);
+            Assertions.assertEquals(0, returnObject.getExitCode());
+        });
+
+        Assertions.assertTrue(meterRegistry.get(POOL_SIZE_METRIC).gauge().value() <= READER_POOL_SIZE);
+        Assertions.assertTrue(meterRegistry.get(COMPLETED_TASKS_METRIC).functionCounter().count()
+                >= 2 * COMMANDS_COUNT - READER_POOL_SIZE);
+    }
+
+    @Test
+    public void shouldTerminateProcessTreeOnTimeout() {
+        if (isWindows) {
+            return;
+        }
+        final Instant start = Instant.now();
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class, () ->
+                executeImpl.execute(LINUX_LONG_RUNNING_COMMAND));
+
+        Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT, exception.getHttpStatus());
+        Assertions.assertTrue(Duration.between(start, Instant.now()).toMillis() < MAX_TERMINATION_MILLIS);
+        Assertions.assertEquals(1, meterRegistry.get(TIMEOUTS_METRIC).tag("template", "sh").counter().count());
+    }
+
+    @Test
+    public void shouldNotWaitForOutputHeldOpenByGrandchildBeyondTimeout() {
+        if (isWindows) {
+            return;
+        }
+        final Instant start = Instant.now();
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class, () ->
+                executeImpl.execute(LINUX_DETACHED_OUTPUT_COMMAND));
+        final GridEngineException streamingException = Assertions.assertThrows(GridEngineException.class, () ->
+                executeImpl.executeStreaming(stdOut -> stdOut.readAllBytes().length, LINUX_DETACHED_OUTPUT_COMMAND));
+
+        Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT, exception.getHttpStatus());
+        Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT, streamingException.getHttpStatus());
+        Assertions.assertTrue(Duration.between(start, Instant.now()).toMillis() < MAX_TERMINATION_MILLIS);
+    }
+
+    @Test
+    public void shouldFailWhenRequestDeadlineHasExpired() {
+        CommandDeadline.set(Instant.now().minusMillis(1));
+        try {
+            final GridEngineException exception = Assertions.assertThrows(GridEngineException.class, () ->
+                    executeImpl.execute(LINUX_SUCCESSFUL_COMMAND));
+            Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT, exception.getHttpStatus());
+        } finally {
+            CommandDeadline.clear();
+        }
+    }
+
+    @Test
+    public void shouldExecuteCommandAsynchronously() throws Exception {
+        if (isWindows) {
+            return;
+        }
+        final CommandResult result = executeImpl.executeAsync(LINUX_MULTILINE_COMMAND)
+                .get(MAX_TERMINATION_MILLIS, TimeUnit.MILLISECONDS);
+
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertEquals(MULTILINE_COMMAND_LINES, result.getStdOut().size());
+        Assertions.assertEquals(EMPTY_LIST, result.getStdErr());
+    }
+
+    @Test
+    public void shouldFailAsyncExecutionOfInvalidCommand() {
+        final ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () ->
+                executeImpl.executeAsync(isWindows ? WINDOWS_INVALID_COMMAND : LINUX_INVALID_COMMAND).get());
+
+        Assertions.assertTrue(exception.getCause() instanceof GridEngineException);
+    }
+
+    @Test
+    public void shouldTerminateProcessTreeOnAsyncTimeout() {
+        if (isWindows) {
+            return;
+        }
+        final Instant start = Instant.now();
+        final ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () ->
+                executeImpl.executeAsync(LINUX_LONG_RUNNING_COMMAND).get());
+
+        Assertions.assertEquals(HttpStatus.GATEWAY_TIMEOUT,
+                ((GridEngineException) exception.getCause()).getHttpStatus());
+        Assertions.assertTrue(Duration.between(start, Instant.now()).toMillis() < MAX_TERMINATION_MILLIS);
+        Assertions.assertEquals(1, meterRegistry.get(TIMEOUTS_METRIC).tag("template", "sh").counter().count());
+    }
+
+    @Test
+    public void shouldDestroyProcessWhenAsyncExecutionIsCancelled() throws Exception {
+        if (isWindows) {
+            return;
+        }
+        final Instant start = Instant.now();
+        final CompletableFuture<CommandResult> execution = executeImpl.executeAsync(LINUX_SLEEP_COMMAND);
+
+        Assertions.assertTrue(execution.cancel(true));
+        while (isSleepRunning() && Duration.between(start, Instant.now()).toMillis() < MAX_TERMINATION_MILLIS) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+
+        Assertions.assertFalse(isSleepRunning());
+        Assertions.assertEquals(1, meterRegistry.get(DURATION_METRIC)
+                .tags("outcome", "cancelled").timer().count());
+    }
+
+    @Test
+    public void shouldStreamOutputToHandler() {
+        if (isWindows) {
+            return;
+        }
+        final StreamedCommandResult<Long> result = executeImpl.executeStreaming(
+                stdOut -> new BufferedReader(new InputStreamReader(stdOut)).lines().count(),
+                LINUX_MULTILINE_COMMAND);
+
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertEquals(MULTILINE_COMMAND_LINES, result.getOutput());
+        Assertions.assertEquals(EMPTY_LIST, result.getStdErr());
+    }
+
+    @Test
+    public void shouldStreamOutputToHandlerAsynchronously() throws Exception {
+        if (isWindows) {
+            return;
+        }
+        final StreamedCommandResult<Long> result = executeImpl.executeStreamingAsync(
+                stdOut -> new BufferedReader(new InputStreamReader(stdOut)).lines().count(),
+                LINUX_MULTILINE_COMMAND).get(MAX_TERMINATION_MILLIS, TimeUnit.MILLISECONDS);
+
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertEquals(MULTILINE_COMMAND_LINES, result.getOutput());
+        Assertions.assertEquals(EMPTY_LIST, result.getStdErr());
+    }
+
+    @Test
+    public void shouldIgnoreHandlerErrorsWhenAsyncCommandFails() throws Exception {
+        if (isWindows) {
+            return;
+        }
+        final StreamedCommandResult<Object> result = executeImpl.executeStreamingAsync(stdOut -> {
+            throw new IOException("Unexpected output");
+        }, LINUX_NOT_EXISTING_FUNCTION).get(MAX_TERMINATION_MILLIS, TimeUnit.MILLISECONDS);
+
+        Assertions.assertNotEquals(0, result.getExitCode());
+        Assertions.assertNull(result.getOutput());
+        Assertions.assertNotEquals(EMPTY_LIST, result.getStdErr());
+    }
+
+    @Test
+    public void shouldNotBlockProcessWhenHandlerStopsReading() {
+        if (isWindows) {
+            return;
+        }
+        final StreamedCommandResult<String> result = executeImpl.executeStreaming(
+                stdOut -> new BufferedReader(new InputStreamReader(stdOut)).readLine(),
+                LINUX_MULTILINE_COMMAND);
+
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertEquals("1", result.getOutput());
+    }
+
+    @Test
+    public void shouldIgnoreHandlerErrorsWhenCommandFails() {
+        if (isWindows) {
+            return;
+        }
+        final StreamedCommandResult<Object> result = executeImpl.executeStreaming(stdOut -> {
+            throw new IOException("Unexpected output");
+        }, LINUX_NOT_EXISTING_FUNCTION);
+
+        Assertions.assertNotEquals(0, result.getExitCode());
+        Assertions.assertNull(result.getOutput());
+        Assertions.assertNotEquals(EMPTY_LIST, result.getStdErr());
+    }
+
+    @Test
+    public void shouldSpillLargeOutputToDisk() {
+        if (isWindows) {
+            return;
+        }
+        final CommandResult result = executeImpl.execute(LINUX_MULTILINE_COMMAND);
+
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertTrue(((SpillableLineList) result.getStdOut()).isSpilled());
+        Assertions.assertEquals(MULTILINE_COMMAND_LINES, result.getStdOut().size());
+        Assertions.assertEquals("1", result.getStdOut().get(0));
+        Assertions.assertEquals(String.valueOf(MULTILINE_COMMAND_LINES),
+                result.getStdOut().get((int) MULTILINE_COMMAND_LINES - 1));
+        Assertions.assertEquals(MULTILINE_COMMAND_LINES, result.getStdOut().stream().distinct().count());
+    }
+
+    @Test
+    public void shouldAbortCommandExceedingOutputLimit() {
+        if (isWindows) {
+            return;
+        }
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class, () ->
+                executeImpl.execute(LINUX_ENDLESS_OUTPUT_COMMAND));
+
+        Assertions.assertEquals(HttpStatus.INSUFFICIENT_STORAGE, exception.getHttpStatus());
+    }
+
+    @Test
+    public void shouldRecordOutputVolumeAndExitCode() {
+        if (isWindows) {
+            return;
+        }
+        final long expectedBytes = IntStream.rangeClosed(1, (int) MULTILINE_COMMAND_LINES)
+                .mapToLong(number -> String.valueOf(number).length() + 1)
+                .sum();
+
+        executeImpl.execute(LINUX_MULTILINE_COMMAND);
+
+        Assertions.assertEquals(MULTILINE_COMMAND_LINES, meterRegistry.get(OUTPUT_LINES_METRIC)
+                .tags(TEMPLATE_TAG, "seq", "stream", "stdout").summary().totalAmount());
+        Assertions.assertEquals(expectedBytes, meterRegistry.get(OUTPUT_BYTES_METRIC)
+                .tags(TEMPLATE_TAG, "seq", "stream", "stdout").summary().totalAmount());
+        Assertions.assertEquals(0, meterRegistry.get(OUTPUT_LINES_METRIC)
+                .tags(TEMPLATE_TAG, "seq", "stream", "stderr").summary().totalAmount());
+        Assertions.assertEquals(1, meterRegistry.get(EXIT_CODES_METRIC)
+                .tags(TEMPLATE_TAG, "seq", "code", "0").counter().count());
+        Assertions.assertEquals(1, meterRegistry.get(DURATION_METRIC)
+                .tags(TEMPLATE_TAG, "seq", "outcome", "success").timer().count());
+        Assertions.assertEquals(0, meterRegistry.get(ACTIVE_METRIC).tags(TEMPLATE_TAG, "seq").gauge().value());
+    }
+
+    @Test
+    public void shouldTagMetricsWithCommandTemplate() throws ExecutionException, InterruptedException {
+        if (isWindows) {
+            return;
+        }
+        final String[] arguments = LINUX_NOT_EXISTING_FUNCTION.clone();
+        commandMetrics.registerTemplate(arguments, "qstat", EngineType.SGE);
+
+        executeImpl.executeAsync(arguments).get();
+
+        Assertions.assertEquals(1, meterRegistry.get(DURATION_METRIC)
+                .tags(TEMPLATE_TAG, "qstat", ENGINE_TAG, EngineType.SGE.name(), "outcome", "failure")
+                .timer().count());
+        Assertions.assertEquals(1, meterRegistry.get(EXIT_CODES_METRIC)
+                .tags(TEMPLATE_TAG, "qstat", ENGINE_TAG, EngineType.SGE.name()).counter().count());
+        Assertions.assertNotEquals(0, meterRegistry.get(OUTPUT_LINES_METRIC)
+                .tags(TEMPLATE_TAG, "qstat", "stream", "stderr").summary().totalAmount());
+    }
+
+    @Test
+    public void shouldRecordFailedSpawnAsError() {
+        Assertions.assertThrows(GridEngineException.class, () ->
+                executeImpl.execute(isWindows ? WINDOWS_INVALID_COMMAND : LINUX_INVALID_COMMAND));
+
+        Assertions.assertEquals(1, meterRegistry.get(DURATION_METRIC)
+                .tags("outcome", "error").timer().count());
+        Assertions.assertEquals(0, meterRegistry.get(ACTIVE_METRIC).gauge().value());
+    }
+
+    private static boolean isSleepRunning() {
+        return ProcessHandle.current().children()
+                .filter(ProcessHandle::isAlive)
+                .anyMatch(process -> process.info().command().map(command -> command.endsWith("sleep")).orElse(false));
+    }
 }
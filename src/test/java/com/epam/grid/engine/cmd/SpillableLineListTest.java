@@ -0,0 +1,144 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.cmd;
+
+import com.epam.grid.engine.exception.GridEngineException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+public class SpillableLineListTest {
+
+    private static final String COMMAND = "qacct -j";
+    private static final long MEMORY_THRESHOLD = 16;
+    private static final long MAX_SIZE = 1024 * 1024;
+    private static final int LINES = 2000;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void shouldMeasureSizesInEncodedBytes() {
+        final String line = "\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\u00e9\ud83d\ude00";
+        final SpillableLineList lines = new SpillableLineList(MEMORY_THRESHOLD, MAX_SIZE, tempDir, COMMAND);
+
+        lines.add(line);
+
+        Assertions.assertEquals(line.getBytes(StandardCharsets.UTF_8).length + 1, lines.getTotalSize());
+        Assertions.assertTrue(lines.isSpilled());
+        Assertions.assertEquals(line, lines.get(0));
+    }
+
+    @Test
+    public void shouldReadSpilledLinesByIndexInAnyOrder() {
+        final List<String> expected = expectedLines();
+        final SpillableLineList lines = spilledLines(expected);
+
+        Assertions.assertTrue(lines.isSpilled());
+        for (int i = LINES - 1; i >= 0; i--) {
+            Assertions.assertEquals(expected.get(i), lines.get(i));
+        }
+        Assertions.assertEquals(expected, new ArrayList<>(lines));
+        Assertions.assertEquals(expected.subList(LINES / 2, LINES / 2 + 10), lines.subList(LINES / 2, LINES / 2 + 10));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> lines.get(LINES));
+    }
+
+    @Test
+    public void shouldReadLinesAddedWhileIterating() {
+        final List<String> expected = expectedLines();
+        final SpillableLineList lines = spilledLines(expected.subList(0, LINES / 2));
+        final Iterator<String> iterator = lines.iterator();
+        final List<String> actual = new ArrayList<>();
+        for (int i = 0; i < LINES / 4; i++) {
+            actual.add(iterator.next());
+        }
+
+        lines.addAll(expected.subList(LINES / 2, LINES));
+        iterator.forEachRemaining(actual::add);
+
+        Assertions.assertEquals(expected, actual);
+        Assertions.assertEquals(expected, lines.stream().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldKeepSpillFileWhileIteratorIsReachable() {
+        final List<String> expected = expectedLines();
+        final Iterator<String> iterator = spilledLines(expected).iterator();
+        System.gc();
+
+        final List<String> actual = new ArrayList<>();
+        iterator.forEachRemaining(actual::add);
+
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldDeleteSpillFileWhenLimitIsExceeded() throws IOException {
+        final SpillableLineList lines = new SpillableLineList(MEMORY_THRESHOLD, MEMORY_THRESHOLD * 4, tempDir,
+                COMMAND);
+
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class, () ->
+                expectedLines().forEach(lines::add));
+
+        Assertions.assertEquals(HttpStatus.INSUFFICIENT_STORAGE, exception.getHttpStatus());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    public void shouldDeleteSpillFileWhenClosed() throws IOException {
+        final SpillableLineList lines = spilledLines(expectedLines());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Assertions.assertEquals(1, files.count());
+        }
+
+        lines.close();
+
+        try (Stream<Path> files = Files.list(tempDir)) {
+            Assertions.assertEquals(0, files.count());
+        }
+        Assertions.assertThrows(UncheckedIOException.class, () -> lines.get(LINES - 1));
+    }
+
+    private SpillableLineList spilledLines(final List<String> content) {
+        final SpillableLineList lines = new SpillableLineList(MEMORY_THRESHOLD, MAX_SIZE, tempDir, COMMAND);
+        lines.addAll(content);
+        return lines;
+    }
+
+    private static List<String> expectedLines() {
+        return IntStream.range(0, LINES)
+                .mapToObj(i -> i % 3 == 0 ? "job \u2116" + i : "line " + i)
+                .collect(Collectors.toList());
+    }
+}
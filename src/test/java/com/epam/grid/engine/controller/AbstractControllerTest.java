@@ -28,9 +28,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public abstract class AbstractControllerTest {
@@ -42,7 +45,7 @@ public abstract class AbstractControllerTest {
     protected MockMvc mvc;
 
     public MvcResult performMvcRequest(final MockHttpServletRequestBuilder servletRequestBuilder) throws Exception {
-        return mvc.perform(servletRequestBuilder
+        return performAsync(servletRequestBuilder
                 .accept(EXPECTED_CONTENT_TYPE))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(EXPECTED_CONTENT_TYPE))
@@ -52,7 +55,7 @@ public abstract class AbstractControllerTest {
     public MvcResult performMvcResultWithContent(
             final MockHttpServletRequestBuilder servletRequestBuilder, final Object bodyObject
     ) throws Exception {
-        return mvc.perform(servletRequestBuilder
+        return performAsync(servletRequestBuilder
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(asJsonString(bodyObject))
                 .accept(MediaType.APPLICATION_JSON))
@@ -61,6 +64,13 @@ public abstract class AbstractControllerTest {
                 .andReturn();
     }
 
+    public ResultActions performAsync(final MockHttpServletRequestBuilder servletRequestBuilder) throws Exception {
+        final MvcResult asyncResult = mvc.perform(servletRequestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mvc.perform(asyncDispatch(asyncResult));
+    }
+
     public ObjectMapper createObjectMapper() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
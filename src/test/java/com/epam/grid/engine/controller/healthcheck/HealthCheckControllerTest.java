@@ -38,11 +38,11 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -68,11 +68,12 @@ public class HealthCheckControllerTest extends AbstractControllerTest {
                 .checkTime(LocalDateTime.now())
                 .build();
 
-        doReturn(expectedHealthCheckInfo).when(healthCheckProviderService).checkHealth();
+        doReturn(CompletableFuture.completedFuture(expectedHealthCheckInfo))
+                .when(healthCheckProviderService).checkHealthAsync();
 
         final MvcResult mvcResult = performMvcRequest(MockMvcRequestBuilders.get(URI));
 
-        verify(healthCheckProviderService).checkHealth();
+        verify(healthCheckProviderService).checkHealthAsync();
         final String actual = mvcResult.getResponse().getContentAsString();
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(expectedHealthCheckInfo));
     }
@@ -84,10 +85,10 @@ public class HealthCheckControllerTest extends AbstractControllerTest {
             final HttpStatus httpStatus,
             final int expectedStatus
     ) {
-        doThrow(new GridEngineException(httpStatus, "Grid engine is not reachable"))
-                .when(healthCheckProviderService).checkHealth();
+        doReturn(CompletableFuture.failedFuture(new GridEngineException(httpStatus, "Grid engine is not reachable")))
+                .when(healthCheckProviderService).checkHealthAsync();
 
-        mvc.perform(MockMvcRequestBuilders.get(URI)
+        performAsync(MockMvcRequestBuilders.get(URI)
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().is(expectedStatus))
@@ -31,6 +31,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -61,7 +62,8 @@ public class HostOperationControllerTest extends AbstractControllerTest {
         final List<Host> hostList = Collections.singletonList(expectedHost);
         final Listing<Host> hostListing = new Listing<>();
         hostListing.setElements(hostList);
-        Mockito.when(hostOperationProviderService.filter(null)).thenReturn(hostListing);
+        Mockito.when(hostOperationProviderService.filterAsync(null))
+                .thenReturn(CompletableFuture.completedFuture(hostListing));
 
         final String response = performMvcRequest(MockMvcRequestBuilders.post(URI))
                 .getResponse()
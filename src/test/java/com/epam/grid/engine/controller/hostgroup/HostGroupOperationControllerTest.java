@@ -30,6 +30,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -51,7 +52,8 @@ public class HostGroupOperationControllerTest extends AbstractControllerTest {
                 .hostGroupEntry(Collections.singletonList(HOST_GROUP_ENTRY))
                 .build();
         final List<HostGroup> expectedResult = Collections.singletonList(expectedHostGroup);
-        Mockito.when(hostGroupOperationProviderService.listHostGroups(null)).thenReturn(expectedResult);
+        Mockito.when(hostGroupOperationProviderService.listHostGroupsAsync(null))
+                .thenReturn(CompletableFuture.completedFuture(expectedResult));
         final String response = performMvcRequest(MockMvcRequestBuilders.post(URI))
                 .getResponse()
                 .getContentAsString();
@@ -64,7 +66,8 @@ public class HostGroupOperationControllerTest extends AbstractControllerTest {
                 .hostGroupEntry(Collections.singletonList(HOST_GROUP_NAME))
                 .hostGroupEntry(Collections.singletonList(HOST_GROUP_ENTRY))
                 .build();
-        Mockito.when(hostGroupOperationProviderService.getHostGroup(HOST_GROUP_NAME)).thenReturn(expectedHostGroup);
+        Mockito.when(hostGroupOperationProviderService.getHostGroupAsync(HOST_GROUP_NAME))
+                .thenReturn(CompletableFuture.completedFuture(expectedHostGroup));
         final String response = performMvcRequest(MockMvcRequestBuilders.get(URI_HOST_GROUP))
                 .getResponse()
                 .getContentAsString();
@@ -20,39 +20,45 @@
 package com.epam.grid.engine.controller.job;
 
 import com.epam.grid.engine.controller.AbstractControllerTest;
+import com.epam.grid.engine.entity.JobFilter;
 import com.epam.grid.engine.entity.Listing;
 import com.epam.grid.engine.entity.job.DeleteJobFilter;
 import com.epam.grid.engine.entity.job.DeletedJobInfo;
 import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobAwaitResult;
 import com.epam.grid.engine.entity.job.JobLogInfo;
 import com.epam.grid.engine.entity.job.JobOptions;
 import com.epam.grid.engine.entity.job.JobState;
 import com.epam.grid.engine.exception.GridEngineException;
 import com.epam.grid.engine.service.JobOperationProviderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.doReturn;
-import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(JobOperationController.class)
@@ -62,6 +68,8 @@ public class JobOperationControllerTest extends AbstractControllerTest {
     private static final String RUN_JOB_URI = URI + "/submit";
     private static final String GET_JOB_LOG_URI = URI + "/{job_id}/logs";
     private static final String GET_JOB_LOG_FILE_URI = GET_JOB_LOG_URI + "/file";
+    private static final String EVENTS_URI = URI + "/events";
+    private static final String AWAIT_URI = URI + "/{job_id}/await";
     private static final String SGEUSER = "sgeuser";
     private static final String EMPTY_STRING = "";
 
@@ -76,6 +84,9 @@ public class JobOperationControllerTest extends AbstractControllerTest {
     @MockBean
     private JobOperationProviderService jobOperationProviderService;
 
+    @Autowired
+    private ObjectMapper applicationObjectMapper;
+
     @Test
     public void shouldReturnJsonValueAndOkStatus() throws Exception {
         final Job expectedFirstJob = Job.builder()
@@ -101,11 +112,11 @@ public class JobOperationControllerTest extends AbstractControllerTest {
         final List<Job> jobList = Arrays.asList(expectedFirstJob, expectedSecondJob);
         final Listing<Job> expectedResult = new Listing<>();
         expectedResult.setElements(jobList);
-        doReturn(expectedResult).when(jobOperationProviderService).filter(null);
+        doReturn(CompletableFuture.completedFuture(expectedResult)).when(jobOperationProviderService).filterAsync(null);
 
         final MvcResult mvcResult = performMvcRequest(MockMvcRequestBuilders.post(URI));
 
-        verify(jobOperationProviderService).filter(null);
+        verify(jobOperationProviderService).filterAsync(null);
         final String actual = mvcResult.getResponse().getContentAsString();
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(expectedResult));
     }
@@ -122,12 +133,13 @@ public class JobOperationControllerTest extends AbstractControllerTest {
                 .user(SGEUSER)
                 .build();
 
-        doReturn(expectedDeletedJobInfo).when(jobOperationProviderService).deleteJob(deleteJobFilter);
+        doReturn(CompletableFuture.completedFuture(expectedDeletedJobInfo))
+                .when(jobOperationProviderService).deleteJobAsync(deleteJobFilter);
 
         final MvcResult mvcResult =
                 performMvcResultWithContent(MockMvcRequestBuilders.delete(URI), deleteJobFilter);
 
-        verify(jobOperationProviderService).deleteJob(deleteJobFilter);
+        verify(jobOperationProviderService).deleteJobAsync(deleteJobFilter);
         final String actual = mvcResult.getResponse().getContentAsString();
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(expectedDeletedJobInfo));
     }
@@ -138,10 +150,10 @@ public class JobOperationControllerTest extends AbstractControllerTest {
             final HttpStatus httpStatus,
             final DeleteJobFilter deleteJobFilter) throws Exception {
 
-        doThrow(new GridEngineException(httpStatus, "job with specified id not found"))
-                .when(jobOperationProviderService).deleteJob(deleteJobFilter);
+        doReturn(CompletableFuture.failedFuture(new GridEngineException(httpStatus, "job with specified id not found")))
+                .when(jobOperationProviderService).deleteJobAsync(deleteJobFilter);
 
-        mvc.perform(MockMvcRequestBuilders.delete(URI)
+        performAsync(MockMvcRequestBuilders.delete(URI)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(deleteJobFilter))
                         .accept(MediaType.APPLICATION_JSON))
@@ -185,11 +197,12 @@ public class JobOperationControllerTest extends AbstractControllerTest {
                         .build())
                 .build();
 
-        doReturn(expectedJob).when(jobOperationProviderService).runJob(runningRequest);
+        doReturn(CompletableFuture.completedFuture(expectedJob))
+                .when(jobOperationProviderService).runJobAsync(runningRequest);
 
         final MvcResult mvcResult = performMvcResultWithContent(
                 MockMvcRequestBuilders.post(RUN_JOB_URI), runningRequest);
-        verify(jobOperationProviderService).runJob(runningRequest);
+        verify(jobOperationProviderService).runJobAsync(runningRequest);
 
         final String actual = mvcResult.getResponse().getContentAsString();
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(expectedJob));
@@ -200,10 +213,11 @@ public class JobOperationControllerTest extends AbstractControllerTest {
     public void shouldReturnBadStatusesAndThrowsExceptionForRunning(
             final HttpStatus httpStatus,
             final JobOptions runningRequest) throws Exception {
-        doThrow(new GridEngineException(httpStatus, "Something went wrong when running a new job."))
-                .when(jobOperationProviderService).runJob(runningRequest);
+        doReturn(CompletableFuture.failedFuture(
+                new GridEngineException(httpStatus, "Something went wrong when running a new job.")))
+                .when(jobOperationProviderService).runJobAsync(runningRequest);
 
-        mvc.perform(MockMvcRequestBuilders.post(RUN_JOB_URI)
+        performAsync(MockMvcRequestBuilders.post(RUN_JOB_URI)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(runningRequest))
                         .accept(MediaType.APPLICATION_JSON))
@@ -233,8 +247,8 @@ public class JobOperationControllerTest extends AbstractControllerTest {
                 .bytes(45)
                 .build();
 
-        doReturn(expectedInfo).when(jobOperationProviderService)
-                .getJobLogInfo(SOME_JOB_ID, SOME_LOG_TYPE, Integer.parseInt(NUMBER_OF_LINES),
+        doReturn(CompletableFuture.completedFuture(expectedInfo)).when(jobOperationProviderService)
+                .getJobLogInfoAsync(SOME_JOB_ID, SOME_LOG_TYPE, Integer.parseInt(NUMBER_OF_LINES),
                         Boolean.parseBoolean(FROM_HEAD_VALUE));
 
         final MvcResult mvcResult = performMvcRequest(
@@ -243,7 +257,7 @@ public class JobOperationControllerTest extends AbstractControllerTest {
                         .queryParam("lines", NUMBER_OF_LINES)
                         .queryParam("fromHead", FROM_HEAD_VALUE));
         verify(jobOperationProviderService)
-                .getJobLogInfo(SOME_JOB_ID, SOME_LOG_TYPE, Integer.parseInt(NUMBER_OF_LINES),
+                .getJobLogInfoAsync(SOME_JOB_ID, SOME_LOG_TYPE, Integer.parseInt(NUMBER_OF_LINES),
                         Boolean.parseBoolean(FROM_HEAD_VALUE));
 
         final String actual = mvcResult.getResponse().getContentAsString();
@@ -254,12 +268,13 @@ public class JobOperationControllerTest extends AbstractControllerTest {
     @MethodSource("provideBadCasesForGettingJobLogInfo")
     public void shouldReturnBadStatusesAndThrowsExceptionForGettingJobLogInfo(
             final HttpStatus httpStatus) throws Exception {
-        doThrow(new GridEngineException(httpStatus, "Something went wrong when getting a log info."))
+        doReturn(CompletableFuture.failedFuture(
+                new GridEngineException(httpStatus, "Something went wrong when getting a log info.")))
                 .when(jobOperationProviderService)
-                .getJobLogInfo(SOME_JOB_ID, SOME_LOG_TYPE, Integer.parseInt(NUMBER_OF_LINES),
+                .getJobLogInfoAsync(SOME_JOB_ID, SOME_LOG_TYPE, Integer.parseInt(NUMBER_OF_LINES),
                         Boolean.parseBoolean(FROM_HEAD_VALUE));
 
-        mvc.perform(MockMvcRequestBuilders.get(GET_JOB_LOG_URI, SOME_JOB_ID)
+        performAsync(MockMvcRequestBuilders.get(GET_JOB_LOG_URI, SOME_JOB_ID)
                         .queryParam("type", SOME_LOG_TYPE.name())
                         .queryParam("lines", NUMBER_OF_LINES)
                         .queryParam("fromHead", FROM_HEAD_VALUE))
@@ -296,4 +311,60 @@ public class JobOperationControllerTest extends AbstractControllerTest {
         final String result = mvcResult.getResponse().getContentAsString();
         assertEquals(TEST_DATA_STRING, result);
     }
+
+    @Test
+    public void shouldSubscribeToJobEvents() throws Exception {
+        final JobFilter expectedFilter = JobFilter.builder()
+                .owners(List.of(SGEUSER))
+                .build();
+        doReturn(new SseEmitter()).when(jobOperationProviderService).subscribeToEvents(expectedFilter, 5L);
+
+        mvc.perform(MockMvcRequestBuilders.get(EVENTS_URI)
+                        .queryParam("owners", SGEUSER)
+                        .header("Last-Event-ID", "5")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(jobOperationProviderService).subscribeToEvents(expectedFilter, 5L);
+    }
+
+    @Test
+    public void shouldAwaitJobState() throws Exception {
+        final JobAwaitResult expectedResult = JobAwaitResult.builder()
+                .outcome(JobAwaitResult.Outcome.REACHED)
+                .job(Job.builder()
+                        .id(SOME_JOB_ID)
+                        .state(JobState.builder().category(JobState.Category.RUNNING).build())
+                        .build())
+                .build();
+        doReturn(CompletableFuture.completedFuture(expectedResult)).when(jobOperationProviderService)
+                .awaitJobAsync(SOME_JOB_ID, JobState.Category.RUNNING, "90s");
+
+        final MvcResult mvcResult = performMvcRequest(MockMvcRequestBuilders.get(AWAIT_URI, SOME_JOB_ID)
+                .queryParam("state", JobState.Category.RUNNING.name())
+                .queryParam("timeout", "90s"));
+
+        verify(jobOperationProviderService).awaitJobAsync(SOME_JOB_ID, JobState.Category.RUNNING, "90s");
+        assertThat(mvcResult.getResponse().getContentAsString())
+                .isEqualToIgnoringWhitespace(applicationObjectMapper.writeValueAsString(expectedResult));
+    }
+
+    @Test
+    public void shouldAwaitJobFinishByDefault() throws Exception {
+        final JobAwaitResult expectedResult = JobAwaitResult.builder()
+                .outcome(JobAwaitResult.Outcome.REACHED)
+                .job(Job.builder()
+                        .id(SOME_JOB_ID)
+                        .state(JobState.builder().category(JobState.Category.RUNNING).build())
+                        .build())
+                .build();
+        doReturn(CompletableFuture.completedFuture(expectedResult)).when(jobOperationProviderService)
+                .awaitJobAsync(SOME_JOB_ID, JobState.Category.FINISHED, null);
+
+        final MvcResult mvcResult = performMvcRequest(MockMvcRequestBuilders.get(AWAIT_URI, SOME_JOB_ID));
+
+        verify(jobOperationProviderService).awaitJobAsync(SOME_JOB_ID, JobState.Category.FINISHED, null);
+        assertThat(mvcResult.getResponse().getContentAsString())
+                .isEqualToIgnoringWhitespace(applicationObjectMapper.writeValueAsString(expectedResult));
+    }
 }
@@ -37,6 +37,7 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
@@ -61,7 +62,8 @@ public class PeOperationControllerTest extends AbstractControllerTest {
         final ParallelEnv expectedPe = buildPe();
 
         final List<ParallelEnv> peList = List.of(expectedPe);
-        Mockito.when(parallelEnvOperationProviderService.filterParallelEnvs(null)).thenReturn(peList);
+        Mockito.when(parallelEnvOperationProviderService.filterParallelEnvsAsync(null))
+                .thenReturn(CompletableFuture.completedFuture(peList));
 
         final String response = performMvcRequest(MockMvcRequestBuilders.post(POST_URI))
                 .getResponse()
@@ -74,8 +76,8 @@ public class PeOperationControllerTest extends AbstractControllerTest {
     public void shouldReturnGetStatusAndValue() throws Exception {
         final ParallelEnv expectedPe = buildPe();
 
-        Mockito.when(parallelEnvOperationProviderService.getParallelEnv(MAKE))
-                .thenReturn(expectedPe);
+        Mockito.when(parallelEnvOperationProviderService.getParallelEnvAsync(MAKE))
+                .thenReturn(CompletableFuture.completedFuture(expectedPe));
 
         final String response = performMvcRequest(MockMvcRequestBuilders.get(GET_OR_DELETE_URI, MAKE)
                 .contentType(MediaType.APPLICATION_JSON))
@@ -112,14 +114,15 @@ public class PeOperationControllerTest extends AbstractControllerTest {
     public void shouldReturnJsonAndOkStatusForDeletion() throws Exception {
         final ParallelEnv deletedParallelEnv = buildParallelEnv();
 
-        doReturn(deletedParallelEnv).when(parallelEnvOperationProviderService).deleteParallelEnv(TEST_PE_NAME);
+        doReturn(CompletableFuture.completedFuture(deletedParallelEnv))
+                .when(parallelEnvOperationProviderService).deleteParallelEnvAsync(TEST_PE_NAME);
 
         final MvcResult mvcResult =
                 performMvcRequest(MockMvcRequestBuilders
                         .delete(GET_OR_DELETE_URI, TEST_PE_NAME)
                         .contentType(MediaType.APPLICATION_JSON));
 
-        verify(parallelEnvOperationProviderService).deleteParallelEnv(TEST_PE_NAME);
+        verify(parallelEnvOperationProviderService).deleteParallelEnvAsync(TEST_PE_NAME);
         final String actual = mvcResult.getResponse().getContentAsString();
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(deletedParallelEnv));
     }
@@ -136,10 +139,11 @@ public class PeOperationControllerTest extends AbstractControllerTest {
                 .slots(expectedPe.getSlots())
                 .build();
 
-        doReturn(expectedPe).when(parallelEnvOperationProviderService).registerParallelEnv(registrationRequest);
+        doReturn(CompletableFuture.completedFuture(expectedPe))
+                .when(parallelEnvOperationProviderService).registerParallelEnvAsync(registrationRequest);
         final MvcResult mvcResult = performMvcResultWithContent(MockMvcRequestBuilders
                 .post(REGISTRATION_URI), registrationRequest);
-        verify(parallelEnvOperationProviderService).registerParallelEnv(registrationRequest);
+        verify(parallelEnvOperationProviderService).registerParallelEnvAsync(registrationRequest);
         final String actual = mvcResult.getResponse().getContentAsString();
 
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(expectedPe));
@@ -37,11 +37,11 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.doThrow;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(QueueOperationController.class)
@@ -74,9 +74,10 @@ public class QueueOperationControllerTest extends AbstractControllerTest {
                 .name("main")
                 .build();
         final List<Queue> expectedQueues = List.of(expectedQueue1, expectedQueue2);
-        doReturn(expectedQueues).when(queueOperationProviderService).listQueues();
+        doReturn(CompletableFuture.completedFuture(expectedQueues))
+                .when(queueOperationProviderService).listQueuesAsync();
         final MvcResult mvcResult = performMvcRequest(MockMvcRequestBuilders.get(URI1));
-        verify(queueOperationProviderService).listQueues();
+        verify(queueOperationProviderService).listQueuesAsync();
         final String actual = mvcResult.getResponse().getContentAsString();
 
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(expectedQueues));
@@ -99,7 +100,8 @@ public class QueueOperationControllerTest extends AbstractControllerTest {
                 .tmpDir("/tmp")
                 .build();
         final List<Queue> expectedResult = List.of(expectedQueue);
-        Mockito.when(queueOperationProviderService.listQueues(null)).thenReturn(expectedResult);
+        Mockito.when(queueOperationProviderService.listQueuesAsync(null))
+                .thenReturn(CompletableFuture.completedFuture(expectedResult));
         final String response = performMvcRequest(MockMvcRequestBuilders.post(URI2))
                 .getResponse()
                 .getContentAsString();
@@ -111,14 +113,15 @@ public class QueueOperationControllerTest extends AbstractControllerTest {
     public void shouldReturnJsonValueAndOkStatusForDeletion() throws Exception {
         final Queue deletedQueue = buildQueue();
 
-        doReturn(deletedQueue).when(queueOperationProviderService).deleteQueue(TEST_QUEUE_NAME);
+        doReturn(CompletableFuture.completedFuture(deletedQueue))
+                .when(queueOperationProviderService).deleteQueueAsync(TEST_QUEUE_NAME);
 
         final MvcResult mvcResult =
                 performMvcRequest(MockMvcRequestBuilders
                         .delete(URI3, TEST_QUEUE_NAME)
                         .contentType(MediaType.APPLICATION_JSON));
 
-        verify(queueOperationProviderService).deleteQueue(TEST_QUEUE_NAME);
+        verify(queueOperationProviderService).deleteQueueAsync(TEST_QUEUE_NAME);
         final String actual = mvcResult.getResponse().getContentAsString();
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(deletedQueue));
     }
@@ -141,9 +144,10 @@ public class QueueOperationControllerTest extends AbstractControllerTest {
                 .hostList(expectedQueue.getHostList())
                 .build();
 
-        doReturn(expectedQueue).when(queueOperationProviderService).registerQueue(registrationRequest);
+        doReturn(CompletableFuture.completedFuture(expectedQueue))
+                .when(queueOperationProviderService).registerQueueAsync(registrationRequest);
         final MvcResult mvcResult = performMvcResultWithContent(MockMvcRequestBuilders.post(URI1), registrationRequest);
-        verify(queueOperationProviderService).registerQueue(registrationRequest);
+        verify(queueOperationProviderService).registerQueueAsync(registrationRequest);
         final String actual = mvcResult.getResponse().getContentAsString();
 
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(expectedQueue));
@@ -155,10 +159,11 @@ public class QueueOperationControllerTest extends AbstractControllerTest {
         final QueueVO registrationRequest = QueueVO.builder()
                 .name(WRONG_NAME)
                 .build();
-        doThrow(new GridEngineException(HttpStatus.NOT_FOUND, "Grid engine failed queue registration"))
-                .when(queueOperationProviderService).registerQueue(registrationRequest);
+        doReturn(CompletableFuture.failedFuture(
+                new GridEngineException(HttpStatus.NOT_FOUND, "Grid engine failed queue registration")))
+                .when(queueOperationProviderService).registerQueueAsync(registrationRequest);
         final int responseStatus = 404;
-        mvc.perform(MockMvcRequestBuilders.post(URI1)
+        performAsync(MockMvcRequestBuilders.post(URI1)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(registrationRequest))
                         .accept(MediaType.APPLICATION_JSON))
@@ -182,9 +187,10 @@ public class QueueOperationControllerTest extends AbstractControllerTest {
                 .allowedUserGroups(USER_LIST_DEFAULT)
                 .build();
 
-        doReturn(modifiedQueue).when(queueOperationProviderService).updateQueue(updateRequest);
+        doReturn(CompletableFuture.completedFuture(modifiedQueue))
+                .when(queueOperationProviderService).updateQueueAsync(updateRequest);
         final MvcResult mvcResult = performMvcResultWithContent(MockMvcRequestBuilders.put(URI1), updateRequest);
-        verify(queueOperationProviderService).updateQueue(updateRequest);
+        verify(queueOperationProviderService).updateQueueAsync(updateRequest);
         final String actual = mvcResult.getResponse().getContentAsString();
 
         assertThat(actual).isEqualToIgnoringWhitespace(objectMapper.writeValueAsString(modifiedQueue));
@@ -196,10 +202,11 @@ public class QueueOperationControllerTest extends AbstractControllerTest {
         final QueueVO updateRequest = QueueVO.builder()
                 .name(WRONG_NAME)
                 .build();
-        doThrow(new GridEngineException(HttpStatus.NOT_FOUND, "Grid engine failed queue update"))
-                .when(queueOperationProviderService).updateQueue(updateRequest);
+        doReturn(CompletableFuture.failedFuture(
+                new GridEngineException(HttpStatus.NOT_FOUND, "Grid engine failed queue update")))
+                .when(queueOperationProviderService).updateQueueAsync(updateRequest);
         final int responseStatus = 404;
-        mvc.perform(MockMvcRequestBuilders.put(URI1)
+        performAsync(MockMvcRequestBuilders.put(URI1)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(asJsonString(updateRequest))
                         .accept(MediaType.APPLICATION_JSON))
@@ -29,6 +29,8 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.util.concurrent.CompletableFuture;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
@@ -44,11 +46,12 @@ public class UsageOperationControllerTest extends AbstractControllerTest {
     @Test
     public void shouldReturnJsonValueAndOkStatus() throws Exception {
         final UsageReport expectedUsageReport = getUsageReport();
-        doReturn(expectedUsageReport).when(usageOperationProviderService).getUsageReport(new UsageReportFilter());
+        doReturn(CompletableFuture.completedFuture(expectedUsageReport))
+                .when(usageOperationProviderService).getUsageReportAsync(new UsageReportFilter());
 
         final MvcResult mvcResult = performMvcResultWithContent(MockMvcRequestBuilders.post(URI),
                 new UsageReportFilter());
-        verify(usageOperationProviderService).getUsageReport(new UsageReportFilter());
+        verify(usageOperationProviderService).getUsageReportAsync(new UsageReportFilter());
         final String actual = mvcResult.getResponse().getContentAsString();
         final String current = removeNulls(objectMapper.writeValueAsString(expectedUsageReport));
         assertThat(actual).isEqualToIgnoringWhitespace(current);
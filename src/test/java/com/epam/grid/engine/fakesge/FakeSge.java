@@ -0,0 +1,73 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.fakesge;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The entry point of the fake SGE command-line tools, the scripts of the {@code fake-sge/bin} test resource
+ * directory call it as {@code FakeSge <command> <arguments>}. It sleeps for the configured latency,
+ * prints the output of the command and exits with the exit code of the command.
+ *
+ * @see FakeSgeSettings
+ */
+public final class FakeSge {
+
+    private FakeSge() {
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Usage: FakeSge <qstat|qhost|qconf|qacct|qsub|qdel|qping> [arguments]");
+            System.exit(2);
+        }
+        final FakeSgeSettings settings = FakeSgeSettings.fromEnvironment(System.getenv());
+        Thread.sleep(getDelay(settings).toMillis());
+        final PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8), 1 << 16));
+        final PrintWriter err = new PrintWriter(new OutputStreamWriter(
+                new FileOutputStream(FileDescriptor.err), StandardCharsets.UTF_8));
+        final List<String> arguments = Arrays.asList(args).subList(1, args.length);
+        final int exitCode = new FakeSgeCommands(new FakeSgeCluster(settings)).run(args[0], arguments, out, err);
+        out.flush();
+        err.flush();
+        System.exit(exitCode);
+    }
+
+    private static Duration getDelay(final FakeSgeSettings settings) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        Duration delay = settings.getLatency();
+        if (!settings.getJitter().isZero()) {
+            delay = delay.plusMillis(random.nextLong(settings.getJitter().toMillis() + 1));
+        }
+        if (random.nextDouble() < settings.getStallProbability()) {
+            delay = delay.plus(settings.getStall());
+        }
+        return delay;
+    }
+}
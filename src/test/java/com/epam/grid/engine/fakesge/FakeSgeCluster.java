@@ -0,0 +1,397 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.fakesge;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * The model of a fake SGE cluster. The hosts, queues, jobs and accounting records are generated on demand
+ * from the seed and the index of an entity, so a cluster of any size is produced without being kept in memory
+ * and the same settings always produce the same cluster. The jobs submitted and deleted by the fake
+ * {@code qsub} and {@code qdel} commands are kept in the state directory and shared by all the processes.
+ */
+public class FakeSgeCluster {
+
+    static final String RUNNING = "r";
+    static final String PENDING = "qw";
+    static final String SUSPENDED = "s";
+    static final List<String> PARALLEL_ENVS = List.of("make", "smp", "mpi");
+
+    private static final String NEXT_JOB_ID_FILE = "next-job-id";
+    private static final String SUBMITTED_JOBS_FILE = "submitted-jobs";
+    private static final String DELETED_JOBS_FILE = "deleted-jobs";
+    private static final String LOCK_FILE = "lock";
+    private static final String FIELD_DELIMITER = "\t";
+    private static final List<String> JOB_NAMES = List.of("align.sh", "sort.sh", "index.sh", "simple.sh", "qc.sh");
+    private static final List<String> ARCHITECTURES = List.of("lx-amd64", "lx-amd64", "lx-arm64");
+    private static final int MAX_JOB_AGE_MINUTES = 7 * 24 * 60;
+    private static final int MAX_ACCOUNTING_AGE_MINUTES = 90 * 24 * 60;
+
+    private final FakeSgeSettings settings;
+    private final LocalDateTime origin;
+
+    public FakeSgeCluster(final FakeSgeSettings settings) {
+        this.settings = settings;
+        this.origin = LocalDateTime.now().with(LocalTime.MIDNIGHT);
+    }
+
+    public FakeSgeSettings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Returns the generated jobs and the jobs submitted by {@code qsub} except the deleted ones.
+     *
+     * @return The jobs ordered by their identifiers.
+     */
+    public Stream<Job> getJobs() {
+        final Set<Long> deleted = new HashSet<>(readState(DELETED_JOBS_FILE).stream()
+                .map(Long::valueOf)
+                .collect(Collectors.toList()));
+        return Stream.concat(IntStream.range(0, settings.getJobs()).mapToObj(this::generateJob),
+                        readState(SUBMITTED_JOBS_FILE).stream().map(this::parseSubmittedJob))
+                .filter(job -> !deleted.contains(job.getId()));
+    }
+
+    public List<Host> getHosts() {
+        return IntStream.range(0, settings.getHosts())
+                .mapToObj(this::generateHost)
+                .collect(Collectors.toList());
+    }
+
+    public List<HostGroup> getHostGroups() {
+        final int groups = Math.max(1, Math.min(settings.getHostGroups(), settings.getHosts()));
+        return IntStream.range(0, groups)
+                .mapToObj(index -> HostGroup.builder()
+                        .name(hostGroupName(index))
+                        .hosts(IntStream.range(0, settings.getHosts())
+                                .filter(host -> host % groups == index)
+                                .mapToObj(FakeSgeCluster::hostName)
+                                .collect(Collectors.toList()))
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    public List<Queue> getQueues() {
+        final List<HostGroup> hostGroups = getHostGroups();
+        return IntStream.range(0, Math.max(1, settings.getQueues()))
+                .mapToObj(index -> {
+                    final SplittableRandom random = random("queue", index);
+                    return Queue.builder()
+                            .name(queueName(index))
+                            .hostGroup(hostGroups.get(index % hostGroups.size()))
+                            .sequenceNumber(index)
+                            .slots(1 + random.nextInt(64))
+                            .parallelEnvs(PARALLEL_ENVS.subList(0, 1 + random.nextInt(PARALLEL_ENVS.size())))
+                            .build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the accounting records of the finished jobs, the records are numbered after the generated jobs.
+     *
+     * @return The accounting records ordered by their job identifiers.
+     */
+    public Stream<AccountingRecord> getAccountingRecords() {
+        return IntStream.range(0, settings.getAccountingRecords()).mapToObj(this::generateAccountingRecord);
+    }
+
+    public List<String> getUsers() {
+        return IntStream.range(0, Math.max(1, settings.getUsers()))
+                .mapToObj(FakeSgeCluster::userName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Registers a new job in the state directory.
+     *
+     * @param name  The name of the job.
+     * @param owner The owner of the job.
+     * @return The identifier of the submitted job.
+     */
+    public long submitJob(final String name, final String owner) {
+        return withStateLock(() -> {
+            final long id = readState(NEXT_JOB_ID_FILE).stream()
+                    .findFirst()
+                    .map(Long::valueOf)
+                    .orElse((long) settings.getJobs() + settings.getAccountingRecords() + 1);
+            writeState(NEXT_JOB_ID_FILE, List.of(String.valueOf(id + 1)), false);
+            writeState(SUBMITTED_JOBS_FILE, List.of(String.join(FIELD_DELIMITER, String.valueOf(id), name, owner,
+                    LocalDateTime.now().withNano(0).toString())), true);
+            return id;
+        });
+    }
+
+    /**
+     * Marks the jobs as deleted in the state directory.
+     *
+     * @param ids The identifiers of the jobs.
+     */
+    public void deleteJobs(final List<Long> ids) {
+        withStateLock(() -> {
+            writeState(DELETED_JOBS_FILE, ids.stream().map(String::valueOf).collect(Collectors.toList()), true);
+            return null;
+        });
+    }
+
+    private Job generateJob(final int index) {
+        final SplittableRandom random = random("job", index);
+        final int stateRoll = random.nextInt(10);
+        final String state = stateRoll < 6 ? RUNNING : stateRoll < 9 ? PENDING : SUSPENDED;
+        final boolean pending = PENDING.equals(state);
+        final String queue = queueName(random.nextInt(Math.max(1, settings.getQueues())));
+        final String host = hostName(random.nextInt(Math.max(1, settings.getHosts())));
+        return Job.builder()
+                .id(settings.getAccountingRecords() + index + 1L)
+                .name(JOB_NAMES.get(random.nextInt(JOB_NAMES.size())))
+                .owner(userName(random.nextInt(Math.max(1, settings.getUsers()))))
+                .state(state)
+                .priority(random.nextInt(100_000) / 100_000.0)
+                .time(origin.minusMinutes(random.nextInt(MAX_JOB_AGE_MINUTES)).minusSeconds(random.nextInt(60)))
+                .queueInstance(pending ? "" : queue + "@" + host)
+                .slots(1 << random.nextInt(4))
+                .build();
+    }
+
+    private Job parseSubmittedJob(final String line) {
+        final String[] fields = line.split(FIELD_DELIMITER);
+        return Job.builder()
+                .id(Long.parseLong(fields[0]))
+                .name(fields[1])
+                .owner(fields[2])
+                .state(PENDING)
+                .priority(0)
+                .time(LocalDateTime.parse(fields[3]))
+                .queueInstance("")
+                .slots(1)
+                .build();
+    }
+
+    private Host generateHost(final int index) {
+        final SplittableRandom random = random("host", index);
+        final int sockets = 1 + random.nextInt(2);
+        final int cores = sockets * (4 << random.nextInt(3));
+        final int threads = cores * (1 + random.nextInt(2));
+        final double memTotal = 8 << random.nextInt(5);
+        return Host.builder()
+                .name(hostName(index))
+                .architecture(ARCHITECTURES.get(random.nextInt(ARCHITECTURES.size())))
+                .processors(threads)
+                .sockets(sockets)
+                .cores(cores)
+                .threads(threads)
+                .load(random.nextDouble() * threads)
+                .memTotal(memTotal)
+                .memUsed(random.nextDouble() * memTotal)
+                .swapTotal(memTotal / 4)
+                .swapUsed(random.nextDouble() * memTotal / 16)
+                .build();
+    }
+
+    private AccountingRecord generateAccountingRecord(final int index) {
+        final SplittableRandom random = random("accounting", index);
+        final int wallClock = 1 + random.nextInt(4 * 60 * 60);
+        final double userTime = random.nextInt(wallClock * 1000) / 1000.0;
+        final double systemTime = random.nextInt(Math.max(1, wallClock * 100)) / 1000.0;
+        final LocalDateTime endTime = origin.minusMinutes(random.nextInt(MAX_ACCOUNTING_AGE_MINUTES));
+        final LocalDateTime startTime = endTime.minusSeconds(wallClock);
+        final int pe = random.nextInt(PARALLEL_ENVS.size() + 1);
+        return AccountingRecord.builder()
+                .jobId(index + 1L)
+                .jobName(JOB_NAMES.get(random.nextInt(JOB_NAMES.size())))
+                .owner(userName(random.nextInt(Math.max(1, settings.getUsers()))))
+                .queue(queueName(random.nextInt(Math.max(1, settings.getQueues()))))
+                .host(hostName(random.nextInt(Math.max(1, settings.getHosts()))))
+                .parallelEnv(pe == PARALLEL_ENVS.size() ? null : PARALLEL_ENVS.get(pe))
+                .slots(1 << random.nextInt(4))
+                .submissionTime(startTime.minusSeconds(random.nextInt(600)))
+                .startTime(startTime)
+                .endTime(endTime)
+                .exitStatus(random.nextInt(20) == 0 ? 1 : 0)
+                .wallClock(wallClock)
+                .userTime(userTime)
+                .systemTime(systemTime)
+                .memory(random.nextInt(10_000_000) / 1000.0)
+                .ioData(random.nextInt(1_000_000) / 1000.0)
+                .ioWaiting(random.nextInt(1000) / 1000.0)
+                .build();
+    }
+
+    private SplittableRandom random(final String kind, final int index) {
+        return new SplittableRandom(settings.getSeed() * 31 + kind.hashCode() * 1_000_003L + index);
+    }
+
+    private <T> T withStateLock(final Supplier<T> action) {
+        try {
+            Files.createDirectories(settings.getStateDir());
+            try (FileChannel channel = FileChannel.open(settings.getStateDir().resolve(LOCK_FILE),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                final FileLock lock = channel.lock();
+                try {
+                    return action.get();
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<String> readState(final String file) {
+        final Path path = settings.getStateDir().resolve(file);
+        if (!Files.exists(path)) {
+            return Collections.emptyList();
+        }
+        try {
+            return Files.readAllLines(path, StandardCharsets.UTF_8).stream()
+                    .filter(line -> !line.isEmpty())
+                    .collect(Collectors.toCollection(ArrayList::new));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeState(final String file, final List<String> lines, final boolean append) {
+        try {
+            Files.write(settings.getStateDir().resolve(file), lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String hostName(final int index) {
+        return String.format("node-%05d", index);
+    }
+
+    private static String hostGroupName(final int index) {
+        return index == 0 ? "@allhosts" : "@group" + index;
+    }
+
+    private static String queueName(final int index) {
+        return index == 0 ? "all.q" : "queue" + index + ".q";
+    }
+
+    /**
+     * Builds a user name without digits, e.g. {@code usera}, {@code userb} or {@code userba}, since
+     * the identifiers of deleted jobs are parsed as all the numbers of the {@code qdel} output.
+     */
+    private static String userName(final int index) {
+        final StringBuilder suffix = new StringBuilder();
+        int remainder = index;
+        do {
+            suffix.insert(0, (char) ('a' + remainder % 26));
+            remainder /= 26;
+        } while (remainder > 0);
+        return "user" + suffix;
+    }
+
+    @Value
+    @Builder
+    public static class Job {
+        long id;
+        String name;
+        String owner;
+        String state;
+        double priority;
+        LocalDateTime time;
+        String queueInstance;
+        int slots;
+    }
+
+    @Value
+    @Builder
+    public static class Host {
+        String name;
+        String architecture;
+        int processors;
+        int sockets;
+        int cores;
+        int threads;
+        double load;
+        double memTotal;
+        double memUsed;
+        double swapTotal;
+        double swapUsed;
+    }
+
+    @Value
+    @Builder
+    public static class HostGroup {
+        String name;
+        List<String> hosts;
+    }
+
+    @Value
+    @Builder
+    public static class Queue {
+        String name;
+        HostGroup hostGroup;
+        int sequenceNumber;
+        int slots;
+        List<String> parallelEnvs;
+    }
+
+    @Value
+    @Builder
+    public static class AccountingRecord {
+        long jobId;
+        String jobName;
+        String owner;
+        String queue;
+        String host;
+        String parallelEnv;
+        int slots;
+        LocalDateTime submissionTime;
+        LocalDateTime startTime;
+        LocalDateTime endTime;
+        int exitStatus;
+        int wallClock;
+        double userTime;
+        double systemTime;
+        double memory;
+        double ioData;
+        double ioWaiting;
+    }
+}
@@ -0,0 +1,564 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.fakesge;
+
+import com.epam.grid.engine.fakesge.FakeSgeCluster.AccountingRecord;
+import com.epam.grid.engine.fakesge.FakeSgeCluster.Host;
+import com.epam.grid.engine.fakesge.FakeSgeCluster.HostGroup;
+import com.epam.grid.engine.fakesge.FakeSgeCluster.Job;
+import com.epam.grid.engine.fakesge.FakeSgeCluster.Queue;
+
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Renders the output of the SGE commands for a {@link FakeSgeCluster} in the formats the SGE providers parse.
+ * Only the options used by the command templates of the application are supported, the configuration
+ * changing options of {@code qconf} are rejected.
+ */
+public class FakeSgeCommands {
+
+    private static final String QSTAT_SCHEMA =
+            "http://arc.liv.ac.uk/repos/darcs/sge/source/dist/util/resources/schemas/qstat/qstat.xsd";
+    private static final String QHOST_SCHEMA =
+            "http://arc.liv.ac.uk/repos/darcs/sge/source/dist/util/resources/schemas/qhost/qhost.xsd";
+    private static final String JOB_DELIMITER = "=".repeat(62);
+    private static final String USAGE_DELIMITER = "=".repeat(100);
+    private static final String TOTAL_SYSTEM_USAGE = "Total System Usage";
+    private static final List<String> USAGE_HEADERS =
+            List.of("WALLCLOCK", "UTIME", "STIME", "CPU", "MEMORY", "IO", "IOW");
+    private static final double KILOBYTES_IN_GIGABYTE = 1_000_000;
+    private static final DateTimeFormatter ACCOUNTING_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss yyyy", Locale.US);
+    private static final DateTimeFormatter QACCT_FILTER_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMddHHmm.ss");
+    private static final DateTimeFormatter QPING_CHECK_TIME_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss:");
+    private static final DateTimeFormatter QPING_START_TIME_FORMAT = DateTimeFormatter.ofPattern("MM/dd/yyyy HH:mm:ss");
+    private static final Set<String> QSUB_FLAGS = Set.of("-V", "-cwd", "-terse");
+    private static final Set<String> QSUB_TWO_VALUE_OPTIONS = Set.of("-pe");
+    private static final Map<String, String> QSTAT_STATES = Map.of(
+            "p", FakeSgeCluster.PENDING,
+            "r", FakeSgeCluster.RUNNING,
+            "s", FakeSgeCluster.SUSPENDED);
+
+    private final FakeSgeCluster cluster;
+    private final Map<String, Command> commands;
+
+    public FakeSgeCommands(final FakeSgeCluster cluster) {
+        this.cluster = cluster;
+        this.commands = Map.of(
+                "qstat", this::qstat,
+                "qhost", this::qhost,
+                "qconf", this::qconf,
+                "qacct", this::qacct,
+                "qsub", this::qsub,
+                "qdel", this::qdel,
+                "qping", this::qping);
+    }
+
+    /**
+     * Runs a fake SGE command.
+     *
+     * @param command   The name of the command, e.g. {@code qstat}.
+     * @param arguments The arguments of the command.
+     * @param out       The standard output of the command.
+     * @param err       The standard error of the command.
+     * @return The exit code of the command.
+     */
+    public int run(final String command, final List<String> arguments, final PrintWriter out, final PrintWriter err) {
+        final Command action = commands.get(command);
+        if (action == null) {
+            err.println(command + ": command not found");
+            return 127;
+        }
+        return action.run(arguments, out, err);
+    }
+
+    private int qstat(final List<String> arguments, final PrintWriter out, final PrintWriter err) {
+        final Options options = Options.parse(arguments, Collections.emptyMap());
+        final Set<String> owners = Set.copyOf(options.getValues("-u"));
+        final Set<String> states = options.getValues("-s").stream()
+                .flatMap(value -> value.chars().mapToObj(state -> String.valueOf((char) state)))
+                .map(state -> QSTAT_STATES.getOrDefault(state, state))
+                .collect(Collectors.toSet());
+        final Map<Boolean, List<Job>> jobs = cluster.getJobs()
+                .filter(job -> owners.isEmpty() || owners.contains("*") || owners.contains(job.getOwner()))
+                .filter(job -> states.isEmpty() || states.contains(job.getState()))
+                .collect(Collectors.partitioningBy(job -> FakeSgeCluster.PENDING.equals(job.getState())));
+        out.println("<?xml version='1.0'?>");
+        out.println("<job_info  xmlns:xsd=\"" + QSTAT_SCHEMA + "\">");
+        out.println("  <queue_info>");
+        jobs.get(false).forEach(job -> printJob(job, "running", "JAT_start_time", out));
+        out.println("  </queue_info>");
+        out.println("  <job_info>");
+        jobs.get(true).forEach(job -> printJob(job, "pending", "JB_submission_time", out));
+        out.println("  </job_info>");
+        out.println("</job_info>");
+        return 0;
+    }
+
+    private void printJob(final Job job, final String listState, final String timeElement, final PrintWriter out) {
+        out.println("    <job_list state=\"" + listState + "\">");
+        printElement(out, "JB_job_number", String.valueOf(job.getId()));
+        printElement(out, "JAT_prio", String.format(Locale.ROOT, "%.5f", job.getPriority()));
+        printElement(out, "JB_name", job.getName());
+        printElement(out, "JB_owner", job.getOwner());
+        printElement(out, "state", job.getState());
+        printElement(out, timeElement, job.getTime().toString());
+        printElement(out, "queue_name", job.getQueueInstance());
+        printElement(out, "slots", String.valueOf(job.getSlots()));
+        out.println("    </job_list>");
+    }
+
+    private void printElement(final PrintWriter out, final String name, final String value) {
+        out.println("      <" + name + ">" + value + "</" + name + ">");
+    }
+
+    private int qhost(final List<String> arguments, final PrintWriter out, final PrintWriter err) {
+        final Set<String> hosts = Set.copyOf(Options.parse(arguments, Collections.emptyMap()).getValues("-h"));
+        out.println("<?xml version='1.0'?>");
+        out.println("<qhost xmlns:xsd=\"" + QHOST_SCHEMA + "\">");
+        if (hosts.isEmpty()) {
+            printHost(out, "global", Collections.nCopies(10, "-"));
+        }
+        cluster.getHosts().stream()
+                .filter(host -> hosts.isEmpty() || hosts.contains(host.getName()))
+                .forEach(host -> printHost(out, host.getName(), List.of(
+                        host.getArchitecture(),
+                        String.valueOf(host.getProcessors()),
+                        String.valueOf(host.getSockets()),
+                        String.valueOf(host.getCores()),
+                        String.valueOf(host.getThreads()),
+                        String.format(Locale.ROOT, "%.2f", host.getLoad()),
+                        String.format(Locale.ROOT, "%.1fG", host.getMemTotal()),
+                        String.format(Locale.ROOT, "%.1fG", host.getMemUsed()),
+                        String.format(Locale.ROOT, "%.1fG", host.getSwapTotal()),
+                        String.format(Locale.ROOT, "%.1fM", host.getSwapUsed() * 1024))));
+        out.println("</qhost>");
+        return 0;
+    }
+
+    private void printHost(final PrintWriter out, final String name, final List<String> values) {
+        final List<String> properties = List.of("arch_string", "num_proc", "m_socket", "m_core", "m_thread",
+                "load_avg", "mem_total", "mem_used", "swap_total", "swap_used");
+        out.println(" <host name='" + name + "'>");
+        for (int i = 0; i < properties.size(); i++) {
+            out.println("   <hostvalue name='" + properties.get(i) + "'>" + values.get(i) + "</hostvalue>");
+        }
+        out.println(" </host>");
+    }
+
+    private int qconf(final List<String> arguments, final PrintWriter out, final PrintWriter err) {
+        final Options options = Options.parse(arguments, Collections.emptyMap());
+        if (options.has("-shgrpl")) {
+            cluster.getHostGroups().forEach(hostGroup -> out.println(hostGroup.getName()));
+            return 0;
+        }
+        if (options.has("-shgrp")) {
+            return printEntities(options.getValues("-shgrp"), cluster.getHostGroups(), HostGroup::getName,
+                    this::printHostGroup, "host group", out, err);
+        }
+        if (options.has("-sql")) {
+            cluster.getQueues().forEach(queue -> out.println(queue.getName()));
+            return 0;
+        }
+        if (options.has("-sq")) {
+            return printEntities(options.getValues("-sq"), cluster.getQueues(), Queue::getName,
+                    this::printQueue, "cluster queue", out, err);
+        }
+        if (options.has("-spl")) {
+            FakeSgeCluster.PARALLEL_ENVS.forEach(out::println);
+            return 0;
+        }
+        if (options.has("-sp")) {
+            return printEntities(options.getValues("-sp"), FakeSgeCluster.PARALLEL_ENVS, Function.identity(),
+                    this::printParallelEnv, "parallel environment", out, err);
+        }
+        err.println("qconf: the fake SGE cluster does not support the options " + arguments);
+        return 1;
+    }
+
+    private <T> int printEntities(final List<String> names, final List<T> entities,
+                                  final Function<T, String> nameGetter, final Printer<T> printer,
+                                  final String entityType, final PrintWriter out, final PrintWriter err) {
+        final Map<String, T> byName = entities.stream()
+                .collect(Collectors.toMap(nameGetter, Function.identity()));
+        int exitCode = 0;
+        for (final String name : names) {
+            final T entity = byName.get(name);
+            if (entity == null) {
+                err.println(name + " is not known as " + entityType);
+                exitCode = 1;
+            } else {
+                printer.print(entity, out);
+            }
+        }
+        return exitCode;
+    }
+
+    private void printHostGroup(final HostGroup hostGroup, final PrintWriter out) {
+        out.println("group_name " + hostGroup.getName());
+        out.println("hostlist " + (hostGroup.getHosts().isEmpty() ? "NONE" : String.join(" ", hostGroup.getHosts())));
+    }
+
+    private void printQueue(final Queue queue, final PrintWriter out) {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("qname", queue.getName());
+        fields.put("hostlist", queue.getHostGroup().getName());
+        fields.put("seq_no", String.valueOf(queue.getSequenceNumber()));
+        fields.put("load_thresholds", "np_load_avg=1.75");
+        fields.put("suspend_thresholds", "NONE");
+        fields.put("nsuspend", "1");
+        fields.put("suspend_interval", "00:05:00");
+        fields.put("priority", "0");
+        fields.put("min_cpu_interval", "00:05:00");
+        fields.put("processors", "UNDEFINED");
+        fields.put("qtype", "BATCH INTERACTIVE");
+        fields.put("ckpt_list", "NONE");
+        fields.put("pe_list", String.join(" ", queue.getParallelEnvs()));
+        fields.put("rerun", "FALSE");
+        fields.put("slots", String.valueOf(queue.getSlots()));
+        fields.put("tmpdir", "/tmp");
+        fields.put("shell", "/bin/sh");
+        List.of("prolog", "epilog").forEach(field -> fields.put(field, "NONE"));
+        fields.put("shell_start_mode", "posix_compliant");
+        List.of("starter_method", "suspend_method", "resume_method", "terminate_method")
+                .forEach(field -> fields.put(field, "NONE"));
+        fields.put("notify", "00:00:60");
+        List.of("owner_list", "user_lists", "xuser_lists", "subordinate_list", "complex_values", "projects",
+                "xprojects", "calendar").forEach(field -> fields.put(field, "NONE"));
+        fields.put("initial_state", "default");
+        List.of("rt", "cpu", "fsize", "data", "stack", "core", "rss", "vmem").forEach(limit -> {
+            fields.put("s_" + limit, "INFINITY");
+            fields.put("h_" + limit, "INFINITY");
+        });
+        printFields(fields, out);
+    }
+
+    private void printParallelEnv(final String name, final PrintWriter out) {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("pe_name", name);
+        fields.put("slots", "999");
+        List.of("user_lists", "xuser_lists", "start_proc_args", "stop_proc_args")
+                .forEach(field -> fields.put(field, "NONE"));
+        fields.put("allocation_rule", "smp".equals(name) ? "$pe_slots" : "$round_robin");
+        fields.put("control_slaves", "TRUE");
+        fields.put("job_is_first_task", "FALSE");
+        fields.put("urgency_slots", "min");
+        fields.put("accounting_summary", "TRUE");
+        fields.put("qsort_args", "NONE");
+        printFields(fields, out);
+    }
+
+    private void printFields(final Map<String, String> fields, final PrintWriter out) {
+        fields.forEach((name, value) -> out.println(String.format("%-21s %s", name, value)));
+    }
+
+    private int qacct(final List<String> arguments, final PrintWriter out, final PrintWriter err) {
+        final Options options = Options.parse(arguments, Collections.emptyMap());
+        final LocalDateTime now = LocalDateTime.now();
+        final List<Predicate<AccountingRecord>> filters = new ArrayList<>();
+        options.getValue("-o").ifPresent(owner -> filters.add(record -> owner.equals(record.getOwner())));
+        options.getValue("-q").ifPresent(queue -> filters.add(record -> queue.equals(record.getQueue())));
+        options.getValue("-pe").ifPresent(pe -> filters.add(record -> pe.equals(record.getParallelEnv())));
+        options.getValue("-d").map(Long::parseLong).map(now::minusDays)
+                .ifPresent(from -> filters.add(record -> !record.getEndTime().isBefore(from)));
+        options.getValue("-b").map(time -> LocalDateTime.parse(time, QACCT_FILTER_TIME_FORMAT))
+                .ifPresent(from -> filters.add(record -> !record.getStartTime().isBefore(from)));
+        options.getValue("-e").map(time -> LocalDateTime.parse(time, QACCT_FILTER_TIME_FORMAT))
+                .ifPresent(to -> filters.add(record -> !record.getStartTime().isAfter(to)));
+        if (options.has("-j")) {
+            options.getValue("-j").ifPresent(job -> filters.add(
+                    record -> job.equals(String.valueOf(record.getJobId())) || job.equals(record.getJobName())));
+            final List<AccountingRecord> records = cluster.getAccountingRecords()
+                    .filter(filters.stream().reduce(record -> true, Predicate::and))
+                    .collect(Collectors.toList());
+            if (records.isEmpty()) {
+                err.println("error: job id " + options.getValue("-j").orElse("") + " not found");
+                return 1;
+            }
+            records.forEach(record -> printAccountingRecord(record, out));
+            out.println(TOTAL_SYSTEM_USAGE);
+            printUsage(Collections.emptyList(), List.of(new Usage(records)), out);
+            return 0;
+        }
+        final List<String> groupHeaders = new ArrayList<>();
+        final List<Function<AccountingRecord, String>> groupKeys = new ArrayList<>();
+        if (options.has("-q")) {
+            groupHeaders.addAll(List.of("HOST", "CLUSTER", "QUEUE"));
+            groupKeys.add(record -> record.getHost() + "  " + record.getQueue());
+        }
+        if (options.has("-o")) {
+            groupHeaders.add("OWNER");
+            groupKeys.add(AccountingRecord::getOwner);
+        }
+        if (options.has("-pe")) {
+            groupHeaders.add("PARALLELENV");
+            groupKeys.add(record -> Optional.ofNullable(record.getParallelEnv()).orElse("NONE"));
+        }
+        final Map<String, List<AccountingRecord>> groups = cluster.getAccountingRecords()
+                .filter(filters.stream().reduce(record -> true, Predicate::and))
+                .collect(Collectors.groupingBy(
+                        record -> groupKeys.stream().map(key -> key.apply(record)).collect(Collectors.joining("  ")),
+                        LinkedHashMap::new, Collectors.toList()));
+        if (groupHeaders.isEmpty()) {
+            out.println(TOTAL_SYSTEM_USAGE);
+            printUsage(groupHeaders, List.of(new Usage(groups.values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toList()))), out);
+            return 0;
+        }
+        printUsage(groupHeaders, groups.entrySet().stream()
+                .map(group -> new Usage(group.getKey(), group.getValue()))
+                .collect(Collectors.toList()), out);
+        return 0;
+    }
+
+    private void printAccountingRecord(final AccountingRecord record, final PrintWriter out) {
+        final Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("qname", record.getQueue());
+        fields.put("hostname", record.getHost());
+        fields.put("group", record.getOwner());
+        fields.put("owner", record.getOwner());
+        fields.put("project", "NONE");
+        fields.put("department", "defaultdepartment");
+        fields.put("jobname", record.getJobName());
+        fields.put("jobnumber", String.valueOf(record.getJobId()));
+        fields.put("taskid", "undefined");
+        fields.put("account", "sge");
+        fields.put("priority", "0");
+        fields.put("qsub_time", ACCOUNTING_TIME_FORMAT.format(record.getSubmissionTime()));
+        fields.put("start_time", ACCOUNTING_TIME_FORMAT.format(record.getStartTime()));
+        fields.put("end_time", ACCOUNTING_TIME_FORMAT.format(record.getEndTime()));
+        fields.put("granted_pe", Optional.ofNullable(record.getParallelEnv()).orElse("NONE"));
+        fields.put("slots", String.valueOf(record.getSlots()));
+        fields.put("failed", "0");
+        fields.put("exit_status", String.valueOf(record.getExitStatus()));
+        fields.put("ru_wallclock", record.getWallClock() + "s");
+        fields.put("ru_utime", formatDecimal(record.getUserTime()) + "s");
+        fields.put("ru_stime", formatDecimal(record.getSystemTime()) + "s");
+        fields.put("ru_maxrss", "7.020KB");
+        List.of("ru_ixrss", "ru_ismrss", "ru_idrss", "ru_isrss").forEach(field -> fields.put(field, "0.000B"));
+        fields.put("ru_minflt", "5859");
+        fields.put("ru_majflt", "0");
+        fields.put("ru_nswap", "0");
+        fields.put("ru_inblock", "0");
+        fields.put("ru_oublock", "16");
+        fields.put("ru_msgsnd", "0");
+        fields.put("ru_msgrcv", "0");
+        fields.put("ru_nsignals", "0");
+        fields.put("ru_nvcsw", "160");
+        fields.put("ru_nivcsw", "8");
+        fields.put("cpu", formatDecimal(record.getUserTime() + record.getSystemTime()) + "s");
+        fields.put("mem", formatDecimal(record.getMemory()) + "KBs");
+        fields.put("io", formatDecimal(record.getIoData()) + "KB");
+        fields.put("iow", formatDecimal(record.getIoWaiting()) + "s");
+        fields.put("maxvmem", "3.176MB");
+        fields.put("arid", "undefined");
+        fields.put("ar_sub_time", "undefined");
+        fields.put("category", "-U arusers");
+        out.println(JOB_DELIMITER);
+        fields.forEach((name, value) -> out.println(String.format("%-12s %s", name, value)));
+    }
+
+    private void printUsage(final List<String> groupHeaders, final List<Usage> usages, final PrintWriter out) {
+        final String header = USAGE_HEADERS.stream()
+                .map(name -> String.format("%13s", name))
+                .collect(Collectors.joining());
+        out.println(String.join("  ", groupHeaders) + (groupHeaders.isEmpty() ? "" : "  ") + header);
+        out.println(USAGE_DELIMITER);
+        usages.forEach(usage -> out.println(usage.getGroup() + (usage.getGroup().isEmpty() ? "" : "  ")
+                + String.format("%13d", (long) usage.getValues()[0])
+                + Arrays.stream(usage.getValues(), 1, USAGE_HEADERS.size())
+                .mapToObj(value -> String.format(Locale.ROOT, "%13.3f", value))
+                .collect(Collectors.joining())));
+    }
+
+    private static String formatDecimal(final double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private int qsub(final List<String> arguments, final PrintWriter out, final PrintWriter err) {
+        String name = null;
+        String command = null;
+        for (int i = 0; i < arguments.size() && command == null; i++) {
+            final String argument = arguments.get(i);
+            if (QSUB_FLAGS.contains(argument)) {
+                continue;
+            }
+            if ("-N".equals(argument) && i + 1 < arguments.size()) {
+                name = arguments.get(++i);
+            } else if (QSUB_TWO_VALUE_OPTIONS.contains(argument)) {
+                i += 2;
+            } else if (argument.startsWith("-")) {
+                i++;
+            } else {
+                command = argument;
+            }
+        }
+        if (command == null) {
+            err.println("Unable to read script file because of error: no script file specified");
+            return 1;
+        }
+        final String jobName = Optional.ofNullable(name)
+                .orElse(command.substring(command.lastIndexOf('/') + 1));
+        final long id = cluster.submitJob(jobName, System.getProperty("user.name"));
+        out.println("Your job " + id + " (\"" + jobName + "\") has been submitted");
+        return 0;
+    }
+
+    private int qdel(final List<String> arguments, final PrintWriter out, final PrintWriter err) {
+        final Options options = Options.parse(arguments, Map.of("-f", 0, "-u", 1));
+        final Optional<String> user = options.getValue("-u");
+        final Set<String> ids = Set.copyOf(options.getPositional());
+        final List<Job> jobs = cluster.getJobs()
+                .filter(job -> user.map(job.getOwner()::equals).orElse(true))
+                .filter(job -> ids.isEmpty() || ids.contains(String.valueOf(job.getId())))
+                .collect(Collectors.toList());
+        if (jobs.isEmpty()) {
+            out.println(ids.isEmpty()
+                    ? "denied: user \"" + user.orElse("") + "\" has no jobs"
+                    : "denied: job \"" + String.join(",", ids) + "\" does not exist");
+            return 1;
+        }
+        cluster.deleteJobs(jobs.stream().map(Job::getId).collect(Collectors.toList()));
+        jobs.forEach(job -> out.println(job.getOwner() + " has deleted job " + job.getId()));
+        return 0;
+    }
+
+    private int qping(final List<String> arguments, final PrintWriter out, final PrintWriter err) {
+        final LocalDateTime now = LocalDateTime.now();
+        final LocalDateTime startTime = now.toLocalDate().atStartOfDay();
+        final long runTime = Duration.between(startTime, now).getSeconds();
+        out.println(QPING_CHECK_TIME_FORMAT.format(now));
+        out.println("SIRM version:             0.1");
+        out.println("SIRM message id:          1");
+        out.println("start time:               " + QPING_START_TIME_FORMAT.format(startTime)
+                + " (" + startTime.atZone(ZoneId.systemDefault()).toEpochSecond() + ")");
+        out.println("run time [s]:             " + runTime);
+        out.println("messages in read buffer:  0");
+        out.println("messages in write buffer: 0");
+        out.println("nr. of connected clients: 4");
+        out.println("status:                   0");
+        out.println("info:                     MAIN: R (" + runTime + ".00) | signaler000: R (" + runTime
+                + ".00) | event_master000: R (0.10) | timer000: R (0.50) | worker000: R (0.20) | OK");
+        out.println("Monitor:                  disabled");
+        return 0;
+    }
+
+    /**
+     * The options of a command, an option takes the fixed number of values if it has the arity,
+     * otherwise all the values up to the next option.
+     */
+    private static final class Options {
+
+        private final Map<String, List<String>> values = new LinkedHashMap<>();
+        private final List<String> positional = new ArrayList<>();
+
+        static Options parse(final List<String> arguments, final Map<String, Integer> arities) {
+            final Options options = new Options();
+            List<String> current = options.positional;
+            int remaining = -1;
+            for (final String argument : arguments) {
+                if (argument.startsWith("-") && argument.length() > 1) {
+                    current = options.values.computeIfAbsent(argument, key -> new ArrayList<>());
+                    remaining = arities.getOrDefault(argument, -1);
+                } else if (remaining == 0) {
+                    options.positional.add(argument);
+                } else {
+                    current.add(argument);
+                    remaining--;
+                }
+            }
+            return options;
+        }
+
+        boolean has(final String option) {
+            return values.containsKey(option);
+        }
+
+        List<String> getValues(final String option) {
+            return values.getOrDefault(option, Collections.emptyList());
+        }
+
+        Optional<String> getValue(final String option) {
+            return getValues(option).stream().findFirst();
+        }
+
+        List<String> getPositional() {
+            return positional;
+        }
+    }
+
+    private static final class Usage {
+
+        private final String group;
+        private final double[] values;
+
+        Usage(final List<AccountingRecord> records) {
+            this("", records);
+        }
+
+        Usage(final String group, final List<AccountingRecord> records) {
+            this.group = group;
+            this.values = new double[USAGE_HEADERS.size()];
+            for (final AccountingRecord record : records) {
+                values[0] += record.getWallClock();
+                values[1] += record.getUserTime();
+                values[2] += record.getSystemTime();
+                values[3] += record.getUserTime() + record.getSystemTime();
+                values[4] += record.getMemory() / KILOBYTES_IN_GIGABYTE;
+                values[5] += record.getIoData() / KILOBYTES_IN_GIGABYTE;
+                values[6] += record.getIoWaiting();
+            }
+        }
+
+        String getGroup() {
+            return group;
+        }
+
+        double[] getValues() {
+            return values;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Command {
+        int run(List<String> arguments, PrintWriter out, PrintWriter err);
+    }
+
+    @FunctionalInterface
+    private interface Printer<T> {
+        void print(T entity, PrintWriter out);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.fakesge;
+
+import com.epam.grid.engine.entity.CommandResult;
+import com.epam.grid.engine.entity.healthcheck.GridEngineStatus;
+import com.epam.grid.engine.entity.host.sge.SgeHostListing;
+import com.epam.grid.engine.entity.job.sge.SgeQueueListing;
+import com.epam.grid.engine.entity.usage.UsageReport;
+import com.epam.grid.engine.provider.utils.JaxbUtils;
+import com.epam.grid.engine.provider.utils.sge.healthcheck.QpingCommandParser;
+import com.epam.grid.engine.provider.utils.sge.usage.SgeJobAccountingDataParser;
+import com.epam.grid.engine.provider.utils.sge.usage.SgeSummaryFilteredAccountingDataParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+class FakeSgeCommandsTest {
+
+    private static final int JOBS = 200;
+    private static final int HOSTS = 20;
+    private static final int ACCOUNTING_RECORDS = 300;
+
+    @TempDir
+    Path stateDir;
+
+    @Test
+    public void shouldRenderQstatOutputParsedByJaxb() {
+        final CommandResult result = run("qstat", "-xml");
+
+        final SgeQueueListing listing = JaxbUtils.unmarshall(String.join("\n", result.getStdOut()),
+                SgeQueueListing.class);
+        Assertions.assertEquals(0, result.getExitCode());
+        Assertions.assertEquals(JOBS, size(listing.getSgeQueues()) + size(listing.getSgeJobs()));
+    }
+
+    @Test
+    public void shouldFilterQstatOutputByOwnerAndState() {
+        final FakeSgeCluster cluster = new FakeSgeCluster(settings());
+        final String owner = cluster.getUsers().get(0);
+        final long expected = cluster.getJobs()
+                .filter(job -> owner.equals(job.getOwner()) && FakeSgeCluster.PENDING.equals(job.getState()))
+                .count();
+
+        final SgeQueueListing listing = JaxbUtils.unmarshall(String.join("\n",
+                run("qstat", "-u", owner, "-s", "p", "-xml").getStdOut()), SgeQueueListing.class);
+
+        Assertions.assertEquals(expected, size(listing.getSgeQueues()) + size(listing.getSgeJobs()));
+    }
+
+    @Test
+    public void shouldRenderQhostOutputParsedByJaxb() {
+        final SgeHostListing listing = JaxbUtils.unmarshall(String.join("\n", run("qhost", "-xml").getStdOut()),
+                SgeHostListing.class);
+
+        Assertions.assertEquals(HOSTS + 1, listing.getSgeHost().size());
+    }
+
+    @Test
+    public void shouldRenderQacctOutputParsedByAccountingParsers() {
+        final UsageReport total = new SgeSummaryFilteredAccountingDataParser()
+                .parseAccountingDataFromStdOut(run("qacct", "-d", "365").getStdOut());
+        final UsageReport job = new SgeJobAccountingDataParser()
+                .parseAccountingDataFromStdOut(run("qacct", "-j", "1").getStdOut());
+
+        Assertions.assertTrue(total.getWallClock() > 0);
+        Assertions.assertTrue(job.getWallClock() > 0);
+        Assertions.assertTrue(total.getWallClock() >= job.getWallClock());
+    }
+
+    @Test
+    public void shouldRenderQpingOutputParsedByQpingParser() {
+        Assertions.assertEquals(GridEngineStatus.OK, QpingCommandParser.parseQpingResult(
+                run("qping", "-info", "localhost", "6444", "qmaster", "1")).getStatusInfo().getStatus());
+    }
+
+    @Test
+    public void shouldKeepSubmittedAndDeletedJobsInStateDirectory() {
+        final CommandResult submitted = run("qsub", "-N", "fake", "-cwd", "simple.sh");
+        final String id = submitted.getStdOut().get(0).split(" ")[2];
+        Assertions.assertTrue(new FakeSgeCluster(settings()).getJobs()
+                .anyMatch(job -> id.equals(String.valueOf(job.getId())) && "fake".equals(job.getName())));
+
+        Assertions.assertEquals(0, run("qdel", id).getExitCode());
+        Assertions.assertTrue(new FakeSgeCluster(settings()).getJobs()
+                .noneMatch(job -> id.equals(String.valueOf(job.getId()))));
+        Assertions.assertEquals(1, run("qdel", id).getExitCode());
+    }
+
+    @Test
+    public void shouldRejectUnsupportedCommands() {
+        Assertions.assertEquals(127, run("qmod", "-d").getExitCode());
+        Assertions.assertEquals(1, run("qconf", "-aq").getExitCode());
+    }
+
+    private CommandResult run(final String command, final String... arguments) {
+        final StringWriter out = new StringWriter();
+        final StringWriter err = new StringWriter();
+        final int exitCode = new FakeSgeCommands(new FakeSgeCluster(settings()))
+                .run(command, Arrays.asList(arguments), new PrintWriter(out), new PrintWriter(err));
+        return new CommandResult(lines(out), exitCode, lines(err));
+    }
+
+    private FakeSgeSettings settings() {
+        return FakeSgeSettings.defaults().toBuilder()
+                .jobs(JOBS)
+                .hosts(HOSTS)
+                .accountingRecords(ACCOUNTING_RECORDS)
+                .stateDir(stateDir)
+                .build();
+    }
+
+    private static List<String> lines(final StringWriter writer) {
+        return writer.toString().isEmpty() ? List.of() : Arrays.asList(writer.toString().split("\\R"));
+    }
+
+    private static int size(final List<?> list) {
+        return list == null ? 0 : list.size();
+    }
+}
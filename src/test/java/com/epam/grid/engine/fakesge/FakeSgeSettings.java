@@ -0,0 +1,159 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.fakesge;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The scale and latency knobs of the fake SGE cluster. Every knob is read from the {@code FAKE_SGE_<KNOB>}
+ * environment variable, e.g. {@code FAKE_SGE_JOBS=50000}, the durations are specified as {@code 250ms},
+ * {@code 3s} or {@code 1m}.
+ */
+@Value
+@Builder(toBuilder = true)
+public class FakeSgeSettings {
+
+    private static final String PREFIX = "FAKE_SGE_";
+    private static final Pattern DURATION_PATTERN = Pattern.compile("(\\d+)(ms|s|m)");
+
+    /**
+     * The seed of the generated cluster, the same seed and counts produce the same cluster.
+     */
+    long seed;
+
+    int jobs;
+
+    int hosts;
+
+    int queues;
+
+    int hostGroups;
+
+    int users;
+
+    int accountingRecords;
+
+    /**
+     * The delay of every command.
+     */
+    Duration latency;
+
+    /**
+     * The upper bound of the random delay added to the latency.
+     */
+    Duration jitter;
+
+    /**
+     * The probability of a command to stall, like qmaster does occasionally.
+     */
+    double stallProbability;
+
+    Duration stall;
+
+    /**
+     * The directory with the jobs submitted and deleted by {@code qsub} and {@code qdel}.
+     */
+    Path stateDir;
+
+    /**
+     * Reads the knobs from the environment variables, the missing ones have the default values.
+     *
+     * @param environment The environment variables.
+     * @return The settings.
+     */
+    public static FakeSgeSettings fromEnvironment(final Map<String, String> environment) {
+        final FakeSgeSettings defaults = defaults();
+        return FakeSgeSettings.builder()
+                .seed(getLong(environment, "seed").orElse(defaults.getSeed()))
+                .jobs(getLong(environment, "jobs").map(Math::toIntExact).orElse(defaults.getJobs()))
+                .hosts(getLong(environment, "hosts").map(Math::toIntExact).orElse(defaults.getHosts()))
+                .queues(getLong(environment, "queues").map(Math::toIntExact).orElse(defaults.getQueues()))
+                .hostGroups(getLong(environment, "host_groups").map(Math::toIntExact).orElse(defaults.getHostGroups()))
+                .users(getLong(environment, "users").map(Math::toIntExact).orElse(defaults.getUsers()))
+                .accountingRecords(getLong(environment, "accounting_records").map(Math::toIntExact)
+                        .orElse(defaults.getAccountingRecords()))
+                .latency(getDuration(environment, "latency").orElse(defaults.getLatency()))
+                .jitter(getDuration(environment, "jitter").orElse(defaults.getJitter()))
+                .stallProbability(get(environment, "stall_probability").map(Double::parseDouble)
+                        .orElse(defaults.getStallProbability()))
+                .stall(getDuration(environment, "stall").orElse(defaults.getStall()))
+                .stateDir(get(environment, "state_dir").map(Paths::get).orElse(defaults.getStateDir()))
+                .build();
+    }
+
+    /**
+     * Creates the settings of a small cluster without latency.
+     *
+     * @return The default settings.
+     */
+    public static FakeSgeSettings defaults() {
+        return FakeSgeSettings.builder()
+                .seed(1)
+                .jobs(1000)
+                .hosts(100)
+                .queues(10)
+                .hostGroups(10)
+                .users(50)
+                .accountingRecords(10_000)
+                .latency(Duration.ZERO)
+                .jitter(Duration.ZERO)
+                .stallProbability(0)
+                .stall(Duration.ofSeconds(3))
+                .stateDir(Paths.get(System.getProperty("java.io.tmpdir"), "fake-sge"))
+                .build();
+    }
+
+    private static Optional<String> get(final Map<String, String> environment, final String knob) {
+        return Optional.ofNullable(environment.get(PREFIX + knob.toUpperCase(Locale.ROOT)))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty());
+    }
+
+    private static Optional<Long> getLong(final Map<String, String> environment, final String knob) {
+        return get(environment, knob).map(value -> Long.parseLong(value.replace("_", "")));
+    }
+
+    private static Optional<Duration> getDuration(final Map<String, String> environment, final String knob) {
+        return get(environment, knob).map(value -> {
+            final Matcher matcher = DURATION_PATTERN.matcher(value);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unsupported duration of " + PREFIX + knob + ": " + value);
+            }
+            final long amount = Long.parseLong(matcher.group(1));
+            switch (matcher.group(2)) {
+                case "ms":
+                    return Duration.ofMillis(amount);
+                case "s":
+                    return Duration.ofSeconds(amount);
+                default:
+                    return Duration.ofMinutes(amount);
+            }
+        });
+    }
+}
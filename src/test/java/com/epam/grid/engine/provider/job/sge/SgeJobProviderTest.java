@@ -20,15 +20,18 @@
 package com.epam.grid.engine.provider.job.sge;
 
 import com.epam.grid.engine.cmd.CmdExecutor;
+import com.epam.grid.engine.cmd.CommandOutputHandler;
 import com.epam.grid.engine.cmd.GridEngineCommandCompiler;
 import com.epam.grid.engine.cmd.SimpleCmdExecutor;
 import com.epam.grid.engine.entity.CommandResult;
 import com.epam.grid.engine.entity.EngineType;
 import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.JobSort;
 import com.epam.grid.engine.entity.Listing;
 import com.epam.grid.engine.entity.job.DeleteJobFilter;
 import com.epam.grid.engine.entity.job.DeletedJobInfo;
 import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobListing;
 import com.epam.grid.engine.entity.job.JobLogInfo;
 import com.epam.grid.engine.entity.job.JobOptions;
 import com.epam.grid.engine.entity.job.JobState;
@@ -54,6 +57,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -65,6 +69,7 @@ import static com.epam.grid.engine.provider.utils.sge.TestSgeConstants.RUNNING_S
 import static com.epam.grid.engine.provider.utils.sge.TestSgeConstants.SPACE;
 import static com.epam.grid.engine.provider.utils.sge.TestSgeConstants.SUSPENDED_STRING;
 import static com.epam.grid.engine.provider.utils.sge.TestSgeConstants.TYPE_XML;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 
 @SpringBootTest
@@ -307,6 +312,21 @@ public class SgeJobProviderTest {
         Assertions.assertEquals(runningJob, result.getElements().get(1));
     }
 
+    @Test
+    public void shouldStreamQstatOutputWhenFilteringJobsAsynchronously() throws Exception {
+        final CommandResult commandResult = CommandResult.builder()
+                .stdOut(Collections.singletonList(TWO_VALID_XML))
+                .stdErr(EMPTY_LIST)
+                .build();
+
+        mockCommandCompilation(QSTAT_COMMAND, commandResult, QSTAT_COMMAND, TYPE_XML);
+        final Listing<Job> result = sgeJobProvider.filterJobsAsync(new JobFilter()).get();
+
+        Assertions.assertEquals(sgeJobProvider.filterJobs(new JobFilter()), result);
+        Mockito.verify(mockCmdExecutor).executeStreamingAsync(Mockito.any(), Mockito.any());
+        Mockito.verify(mockCmdExecutor, Mockito.never()).executeAsync(Mockito.any());
+    }
+
     @Test
     public void shouldReturnCorrectOwnerFiltration() {
         final Job runningJob = runningJobTemplate();
@@ -391,6 +411,83 @@ public class SgeJobProviderTest {
         Assertions.assertEquals(runningJob, result.getElements().get(0));
     }
 
+    @Test
+    public void shouldFilterByQueuesCategoriesAndRanges() {
+        final CommandResult commandResult = CommandResult.builder()
+                .stdOut(Collections.singletonList(VALID_XML))
+                .stdErr(EMPTY_LIST)
+                .build();
+        mockCommandCompilation(QSTAT_COMMAND, commandResult, QSTAT_COMMAND, TYPE_XML);
+
+        Assertions.assertEquals(List.of(8), filterJobIds(JobFilter.builder()
+                .queues(List.of("main"))
+                .build()));
+        Assertions.assertEquals(List.of(2), filterJobIds(JobFilter.builder()
+                .categories(List.of(JobState.Category.PENDING))
+                .build()));
+        Assertions.assertEquals(List.of(2, 9), filterJobIds(JobFilter.builder()
+                .submittedTo(LocalDateTime.parse("2021-07-01T00:00:00"))
+                .build()));
+        Assertions.assertEquals(List.of(8), filterJobIds(JobFilter.builder()
+                .minPriority(0.5)
+                .ids(List.of(2, 8))
+                .build()));
+        Assertions.assertEquals(List.of(9), filterJobIds(JobFilter.builder()
+                .submittedFrom(LocalDateTime.parse("2021-06-30T17:27:30"))
+                .maxPriority(0.0)
+                .categories(List.of(JobState.Category.SUSPENDED, JobState.Category.RUNNING))
+                .build()));
+    }
+
+    @Test
+    public void shouldPageJobsByCursor() {
+        final CommandResult commandResult = CommandResult.builder()
+                .stdOut(Collections.singletonList(VALID_XML))
+                .stdErr(EMPTY_LIST)
+                .build();
+        mockCommandCompilation(QSTAT_COMMAND, commandResult, QSTAT_COMMAND, TYPE_XML);
+        final JobFilter jobFilter = JobFilter.builder()
+                .limit(2)
+                .sort(List.of(JobSort.builder()
+                        .field(JobSort.Field.PRIORITY)
+                        .descending(true)
+                        .build()))
+                .build();
+
+        final JobListing firstPage = (JobListing) sgeJobProvider.filterJobs(jobFilter);
+        jobFilter.setCursor(firstPage.getNextCursor());
+        final JobListing secondPage = (JobListing) sgeJobProvider.filterJobs(jobFilter);
+
+        Assertions.assertEquals(List.of(8, 2), firstPage.getElements().stream()
+                .map(Job::getId)
+                .collect(Collectors.toList()));
+        Assertions.assertNotNull(firstPage.getNextCursor());
+        Assertions.assertEquals(List.of(9), secondPage.getElements().stream()
+                .map(Job::getId)
+                .collect(Collectors.toList()));
+        Assertions.assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void shouldFailWithCursorOfAnotherSortOrder() {
+        final CommandResult commandResult = CommandResult.builder()
+                .stdOut(Collections.singletonList(VALID_XML))
+                .stdErr(EMPTY_LIST)
+                .build();
+        mockCommandCompilation(QSTAT_COMMAND, commandResult, QSTAT_COMMAND, TYPE_XML);
+        final JobFilter jobFilter = JobFilter.builder()
+                .limit(1)
+                .build();
+        jobFilter.setCursor(((JobListing) sgeJobProvider.filterJobs(jobFilter)).getNextCursor());
+        jobFilter.setSort(List.of(JobSort.builder()
+                .field(JobSort.Field.OWNER)
+                .build()));
+
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class,
+                () -> sgeJobProvider.filterJobs(jobFilter));
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, exception.getHttpStatus());
+    }
+
     @Test
     public void shouldFailWithException() {
         final JobFilter jobFilter = new JobFilter();
@@ -676,6 +773,11 @@ public class SgeJobProviderTest {
                 Mockito.matches(command),
                 Mockito.any());
         doReturn(commandResult).when(mockCmdExecutor).execute(compiledArray);
+        doAnswer(invocation -> invocation.<CommandOutputHandler<?>>getArgument(0).handleBuffered(commandResult))
+                .when(mockCmdExecutor).executeStreaming(Mockito.any(), Mockito.any());
+        doAnswer(invocation -> CompletableFuture.completedFuture(
+                invocation.<CommandOutputHandler<?>>getArgument(0).handleBuffered(commandResult)))
+                .when(mockCmdExecutor).executeStreamingAsync(Mockito.any(), Mockito.any());
     }
 
     @ParameterizedTest
@@ -842,4 +944,10 @@ public class SgeJobProviderTest {
                 Arguments.of(1, 1, INFO_COMMAND_RESULT_STDOUT, HttpStatus.NOT_FOUND),
                 Arguments.of(0, 0, Collections.singletonList(LOG_FILE_NAME), HttpStatus.INTERNAL_SERVER_ERROR));
     }
+
+    private List<Integer> filterJobIds(final JobFilter jobFilter) {
+        return sgeJobProvider.filterJobs(jobFilter).getElements().stream()
+                .map(Job::getId)
+                .collect(Collectors.toList());
+    }
 }
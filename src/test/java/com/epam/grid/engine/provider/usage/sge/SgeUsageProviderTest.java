@@ -31,6 +31,8 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 import static com.epam.grid.engine.provider.utils.sge.TestSgeConstants.EMPTY_LIST;
 import static com.epam.grid.engine.provider.utils.sge.TestSgeConstants.SINGLETON_LIST_WITH_STANDARD_WARN;
@@ -77,4 +79,30 @@ public class SgeUsageProviderTest {
                 () -> sgeUsageProvider.getUsageReport(new UsageReportFilter()));
         Assertions.assertNotNull(thrown.getMessage());
     }
+
+    @Test
+    public void shouldReturnUsageReportAsynchronously() throws Exception {
+        final CommandResult commandResult = new CommandResult();
+        commandResult.setStdOut(SGE_REPORT_VALID_OUTPUT);
+        commandResult.setStdErr(EMPTY_LIST);
+
+        doReturn(CompletableFuture.completedFuture(commandResult)).when(mockCmdExecutor).executeAsync(QACCT_COMMAND);
+
+        final UsageReport result = sgeUsageProvider.getUsageReportAsync(new UsageReportFilter()).get();
+        Assertions.assertEquals(expectedUsageReport, result);
+    }
+
+    @Test
+    public void shouldFailAsynchronouslyWithException() {
+        final CommandResult commandResult = new CommandResult();
+        commandResult.setExitCode(1);
+        commandResult.setStdOut(EMPTY_LIST);
+        commandResult.setStdErr(EMPTY_LIST);
+
+        doReturn(CompletableFuture.completedFuture(commandResult)).when(mockCmdExecutor).executeAsync(QACCT_COMMAND);
+
+        final ExecutionException thrown = Assertions.assertThrows(ExecutionException.class,
+                () -> sgeUsageProvider.getUsageReportAsync(new UsageReportFilter()).get());
+        Assertions.assertTrue(thrown.getCause() instanceof GridEngineException);
+    }
 }
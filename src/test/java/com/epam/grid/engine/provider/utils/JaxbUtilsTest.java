@@ -0,0 +1,68 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.provider.utils;
+
+import com.epam.grid.engine.entity.job.sge.SgeJob;
+import com.epam.grid.engine.entity.job.sge.SgeQueueListing;
+import com.epam.grid.engine.exception.GridEngineException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class JaxbUtilsTest {
+
+    private static final String QSTAT_XML = "<?xml version='1.0'?><job_info><queue_info/><job_info>"
+            + "<job_list state=\"pending\"><JB_job_number>7</JB_job_number><JB_name>test</JB_name>"
+            + "<JB_owner>sgeuser</JB_owner><state>qw</state></job_list></job_info></job_info>";
+    private static final String INVALID_XML = "<job_info><job_info>";
+
+    @Test
+    public void shouldUnmarshallTextAndStreamTheSameWay() {
+        final SgeQueueListing fromText = JaxbUtils.unmarshall(QSTAT_XML, SgeQueueListing.class);
+        final SgeQueueListing fromStream = JaxbUtils.unmarshall(toStream(QSTAT_XML), SgeQueueListing.class);
+
+        assertEquals(1, fromText.getSgeJobs().size());
+        final SgeJob job = fromText.getSgeJobs().get(0);
+        assertEquals(7, job.getId());
+        assertEquals("sgeuser", job.getOwner());
+        assertEquals(fromText, fromStream);
+        assertEquals(fromText, JaxbUtils.unmarshall(QSTAT_XML, SgeQueueListing.class));
+    }
+
+    @Test
+    public void shouldFailOnInvalidXml() {
+        final GridEngineException textException = assertThrows(GridEngineException.class,
+                () -> JaxbUtils.unmarshall(INVALID_XML, SgeQueueListing.class));
+        final GridEngineException streamException = assertThrows(GridEngineException.class,
+                () -> JaxbUtils.unmarshall(toStream(INVALID_XML), SgeQueueListing.class));
+
+        assertEquals(HttpStatus.NOT_FOUND, textException.getHttpStatus());
+        assertEquals(HttpStatus.NOT_FOUND, streamException.getHttpStatus());
+    }
+
+    private static ByteArrayInputStream toStream(final String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
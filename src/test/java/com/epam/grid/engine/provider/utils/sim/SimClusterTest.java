@@ -0,0 +1,172 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.provider.utils.sim;
+
+import com.epam.grid.engine.TestClock;
+import com.epam.grid.engine.entity.job.DeletedJobInfo;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobOptions;
+import com.epam.grid.engine.entity.job.JobState;
+import com.epam.grid.engine.exception.GridEngineException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class SimClusterTest {
+
+    private static final Duration JOB_DURATION = Duration.ofMinutes(10);
+    private static final Duration SCHEDULING_INTERVAL = Duration.ofSeconds(1);
+    private static final int HOSTS = 2;
+    private static final int SLOTS_PER_HOST = 4;
+    private static final String SUBMIT_USER = "submitter";
+
+    private static final SimClusterSettings SETTINGS = SimClusterSettings.builder()
+            .seed(1)
+            .hosts(HOSTS)
+            .slotsPerHost(SLOTS_PER_HOST)
+            .memoryPerHost(1024)
+            .queues(1)
+            .users(3)
+            .jobs(0)
+            .accountingRecords(0)
+            .minJobDuration(JOB_DURATION)
+            .maxJobDuration(JOB_DURATION)
+            .schedulingInterval(SCHEDULING_INTERVAL)
+            .submitUser(SUBMIT_USER)
+            .build();
+
+    private final TestClock clock = new TestClock();
+
+    @Test
+    public void shouldStartPendingJobsUpToClusterCapacity() {
+        final SimCluster cluster = new SimCluster(SETTINGS, clock);
+        submitJobs(cluster, HOSTS * SLOTS_PER_HOST + 2);
+
+        Assertions.assertEquals(HOSTS * SLOTS_PER_HOST + 2, countJobs(cluster, JobState.Category.PENDING));
+
+        clock.advance(SCHEDULING_INTERVAL);
+
+        Assertions.assertEquals(HOSTS * SLOTS_PER_HOST, countJobs(cluster, JobState.Category.RUNNING));
+        Assertions.assertEquals(2, countJobs(cluster, JobState.Category.PENDING));
+        Assertions.assertTrue(cluster.getHosts().stream().allMatch(host -> host.getLoad() == 1.0));
+    }
+
+    @Test
+    public void shouldFinishJobsIntoAccountingAndStartPendingOnes() {
+        final SimCluster cluster = new SimCluster(SETTINGS, clock);
+        submitJobs(cluster, HOSTS * SLOTS_PER_HOST + 2);
+        clock.advance(SCHEDULING_INTERVAL);
+
+        clock.advance(JOB_DURATION);
+
+        Assertions.assertEquals(2, countJobs(cluster, JobState.Category.RUNNING));
+        Assertions.assertEquals(0, countJobs(cluster, JobState.Category.PENDING));
+        final List<SimAccountingRecord> records = cluster.getAccountingRecords(record -> true);
+        Assertions.assertEquals(HOSTS * SLOTS_PER_HOST, records.size());
+        Assertions.assertTrue(records.stream().allMatch(record -> record.getOwner().equals(SUBMIT_USER)
+                && record.getWallClock() == JOB_DURATION.getSeconds()
+                && record.getCpuTime() > 0));
+    }
+
+    @Test
+    public void shouldReplaySchedulerPassesMissedWhileNotPolled() {
+        final SimCluster cluster = new SimCluster(SETTINGS, clock);
+        submitJobs(cluster, HOSTS * SLOTS_PER_HOST * 3);
+
+        clock.advance(SCHEDULING_INTERVAL.plus(JOB_DURATION.multipliedBy(3)));
+
+        Assertions.assertEquals(0, cluster.getJobs(job -> true).size());
+        final List<SimAccountingRecord> records = cluster.getAccountingRecords(record -> true);
+        Assertions.assertEquals(HOSTS * SLOTS_PER_HOST * 3, records.size());
+        Assertions.assertEquals(clock.instant(), records.stream()
+                .map(SimAccountingRecord::getEndTime)
+                .max(Comparator.naturalOrder())
+                .orElseThrow());
+    }
+
+    @Test
+    public void shouldStartJobsInPriorityOrder() {
+        final SimCluster cluster = new SimCluster(SETTINGS.toBuilder().hosts(1).slotsPerHost(1).build(), clock);
+        final Job low = cluster.submitJob(jobOptions(-100));
+        final Job high = cluster.submitJob(jobOptions(100));
+
+        clock.advance(SCHEDULING_INTERVAL);
+
+        Assertions.assertEquals(List.of(high.getId()), cluster.getJobs(job ->
+                job.getCategory() == JobState.Category.RUNNING).stream()
+                .map(Job::getId)
+                .collect(Collectors.toList()));
+        Assertions.assertEquals(List.of(low.getId()), cluster.getJobs(job ->
+                job.getCategory() == JobState.Category.PENDING).stream()
+                .map(Job::getId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldDeleteRunningJobAndReleaseItsSlots() {
+        final SimCluster cluster = new SimCluster(SETTINGS, clock);
+        final Job job = cluster.submitJob(jobOptions(0));
+        clock.advance(SCHEDULING_INTERVAL);
+
+        final DeletedJobInfo deleted = cluster.deleteJobs((long) job.getId(), null);
+
+        Assertions.assertEquals(List.of((long) job.getId()), deleted.getId());
+        Assertions.assertTrue(cluster.getJobs(simJob -> true).isEmpty());
+        Assertions.assertEquals(1, cluster.getAccountingRecords(record -> record.getJobId() == job.getId()).size());
+        Assertions.assertTrue(cluster.getHosts().stream().allMatch(host -> host.getLoad() == 0.0));
+        Assertions.assertThrows(GridEngineException.class, () -> cluster.deleteJobs((long) job.getId(), null));
+    }
+
+    @Test
+    public void shouldGenerateSameClusterForSameSeed() {
+        final SimClusterSettings settings = SETTINGS.toBuilder()
+                .jobs(100)
+                .accountingRecords(100)
+                .maxJobDuration(JOB_DURATION.multipliedBy(2))
+                .build();
+
+        final SimCluster first = new SimCluster(settings, clock);
+        final SimCluster second = new SimCluster(settings, clock);
+
+        Assertions.assertEquals(first.getJobs(job -> true), second.getJobs(job -> true));
+        Assertions.assertEquals(first.getAccountingRecords(record -> true),
+                second.getAccountingRecords(record -> true));
+    }
+
+    private static void submitJobs(final SimCluster cluster, final int count) {
+        for (int index = 0; index < count; index++) {
+            cluster.submitJob(jobOptions(0));
+        }
+    }
+
+    private static long countJobs(final SimCluster cluster, final JobState.Category category) {
+        return cluster.getJobs(job -> job.getCategory() == category).size();
+    }
+
+    private static JobOptions jobOptions(final int priority) {
+        return JobOptions.builder()
+                .command("sleep")
+                .priority(priority)
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.service;
+
+import com.epam.grid.engine.TestClock;
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobEvent;
+import com.epam.grid.engine.entity.job.JobState;
+import com.epam.grid.engine.exception.GridEngineException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+
+public class JobEventServiceTest {
+
+    private static final String OWNER = "owner";
+    private static final String OTHER_OWNER = "other";
+    private static final String RESET = "reset";
+    private static final String HEARTBEAT = "heartbeat";
+
+    private final TestClock clock = new TestClock();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private final List<Runnable> pendingDispatches = new ArrayList<>();
+
+    @Test
+    public void shouldStreamJobChanges() {
+        final JobEventService eventService = eventService(true, 10, 10, Runnable::run);
+        final RecordingEmitter emitter = subscribe(eventService, null, null);
+
+        eventService.onSnapshot(null, snapshot(1, job(1, OWNER, "qw"), job(2, OWNER, "r")));
+        eventService.onSnapshot(snapshot(1, job(1, OWNER, "qw"), job(2, OWNER, "r")),
+                snapshot(2, job(1, OWNER, "r"), job(3, OWNER, "qw"), job(3, OWNER, "qw")));
+
+        Assertions.assertEquals(List.of("1:state-changed:1", "2:submitted:3", "3:disappeared:2"), emitter.events);
+        Assertions.assertEquals(1, eventService.getSubscriberCount());
+    }
+
+    @Test
+    public void shouldSendOnlyMatchingEvents() {
+        final JobEventService eventService = eventService(true, 10, 10, Runnable::run);
+        final RecordingEmitter emitter = subscribe(eventService, List.of(OTHER_OWNER), null);
+
+        eventService.onSnapshot(null, snapshot(1));
+        eventService.onSnapshot(snapshot(1), snapshot(2, job(1, OWNER, "qw"), job(2, OTHER_OWNER, "qw")));
+
+        Assertions.assertEquals(List.of("2:submitted:2"), emitter.events);
+    }
+
+    @Test
+    public void shouldReplayEventsFollowingLastEventId() {
+        final JobEventService eventService = eventService(true, 10, 10, Runnable::run);
+        eventService.onSnapshot(null, snapshot(1));
+        eventService.onSnapshot(snapshot(1), snapshot(2, job(1, OWNER, "qw"), job(2, OWNER, "qw")));
+
+        final RecordingEmitter emitter = subscribe(eventService, null, 1L);
+
+        Assertions.assertEquals(List.of("2:submitted:2"), emitter.events);
+    }
+
+    @Test
+    public void shouldResetIfEventsAreNoLongerAvailable() {
+        final JobEventService eventService = eventService(true, 1, 10, Runnable::run);
+        eventService.onSnapshot(null, snapshot(1));
+        eventService.onSnapshot(snapshot(1), snapshot(2, job(1, OWNER, "qw"), job(2, OWNER, "qw")));
+
+        Assertions.assertEquals(List.of(RESET), subscribe(eventService, null, 0L).events);
+        Assertions.assertEquals(List.of(RESET), subscribe(eventService, null, 5L).events);
+    }
+
+    @Test
+    public void shouldDisconnectSlowSubscriber() {
+        final JobEventService eventService = eventService(true, 10, 1, pendingDispatches::add);
+        final RecordingEmitter emitter = subscribe(eventService, null, null);
+        eventService.onSnapshot(null, snapshot(1));
+
+        eventService.onSnapshot(snapshot(1), snapshot(2, job(1, OWNER, "qw"), job(2, OWNER, "qw")));
+
+        Assertions.assertEquals(0, eventService.getSubscriberCount());
+        pendingDispatches.forEach(Runnable::run);
+        Assertions.assertEquals(List.of(), emitter.events);
+    }
+
+    @Test
+    public void shouldSendHeartbeatToIdleSubscriber() {
+        final JobEventService eventService = eventService(true, 10, 10, Runnable::run);
+        final RecordingEmitter emitter = subscribe(eventService, null, null);
+
+        eventService.onSnapshot(null, snapshot(1));
+        clock.advance(Duration.ofSeconds(30));
+        eventService.onSnapshot(snapshot(1), snapshot(2));
+
+        Assertions.assertEquals(List.of(HEARTBEAT), emitter.events);
+    }
+
+    @Test
+    public void shouldFailIfSnapshotIsDisabled() {
+        final JobEventService eventService = eventService(false, 10, 10, Runnable::run);
+
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class,
+                () -> eventService.subscribe(new JobFilter(), null));
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+    }
+
+    private JobEventService eventService(final boolean enabled, final int replayCapacity, final int queueCapacity,
+                                         final Executor dispatcher) {
+        final MockEnvironment environment = new MockEnvironment()
+                .withProperty("job.snapshot.enabled", String.valueOf(enabled))
+                .withProperty("job.events.replay.capacity", String.valueOf(replayCapacity))
+                .withProperty("job.events.subscriber.queue.capacity", String.valueOf(queueCapacity))
+                .withProperty("job.events.heartbeat.interval", "30s");
+        return new JobEventService(environment, clock, dispatcher, () -> {
+            final RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        });
+    }
+
+    private RecordingEmitter subscribe(final JobEventService eventService, final List<String> owners,
+                                       final Long lastEventId) {
+        eventService.subscribe(JobFilter.builder().owners(owners).build(), lastEventId);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private JobSnapshot snapshot(final long version, final Job... jobs) {
+        return new JobSnapshot(version, clock.instant(), List.of(jobs));
+    }
+
+    private static Job job(final int id, final String owner, final String stateCode) {
+        return Job.builder()
+                .id(id)
+                .owner(owner)
+                .state(JobState.builder()
+                        .stateCode(stateCode)
+                        .build())
+                .build();
+    }
+
+    /**
+     * The emitter recording the events as {@code id:name:job id}, the resets and the heartbeats.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void send(final SseEventBuilder builder) {
+            final StringBuilder text = new StringBuilder();
+            JobEvent jobEvent = null;
+            for (final ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                if (data.getData() instanceof JobEvent) {
+                    jobEvent = (JobEvent) data.getData();
+                } else {
+                    text.append(data.getData());
+                }
+            }
+            if (jobEvent != null) {
+                final String name = jobEvent.getType().name().toLowerCase(Locale.ROOT).replace('_', '-');
+                events.add(String.format("%d:%s:%d", jobEvent.getId(), name, jobEvent.getJob().getId()));
+            } else if (text.toString().contains("event:" + RESET)) {
+                events.add(RESET);
+            } else if (text.toString().contains(":" + HEARTBEAT)) {
+                events.add(HEARTBEAT);
+            }
+        }
+    }
+}
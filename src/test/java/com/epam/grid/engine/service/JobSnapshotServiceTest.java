@@ -0,0 +1,270 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.service;
+
+import com.epam.grid.engine.TestClock;
+import com.epam.grid.engine.entity.EngineType;
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.JobSort;
+import com.epam.grid.engine.entity.Listing;
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobListing;
+import com.epam.grid.engine.entity.job.JobState;
+import com.epam.grid.engine.provider.job.JobProvider;
+import com.epam.grid.engine.utils.JobFilterUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class JobSnapshotServiceTest {
+
+    private static final Duration MAX_STALENESS = Duration.ofSeconds(30);
+    private static final String OWNER = "owner";
+    private static final String OTHER_OWNER = "other";
+    private static final List<String> ALL_OWNERS = List.of(JobFilterUtils.ALL_OWNERS);
+    private static final JobFilter ALL_OWNERS_FILTER = JobFilter.builder()
+            .owners(ALL_OWNERS)
+            .build();
+
+    private final TestClock clock = new TestClock();
+    private final JobProvider jobProvider = mock(JobProvider.class);
+    private JobSnapshotService snapshotService;
+
+    @BeforeEach
+    public void setUp() {
+        doReturn(EngineType.SGE).when(jobProvider).getProviderType();
+        doReturn(new Listing<>(List.of(
+                job(1, "first", OWNER, "r"),
+                job(2, "second", OWNER, "qw"),
+                job(3, "third", OTHER_OWNER, "hqw"),
+                job(4, "fourth", OTHER_OWNER, "S"))))
+                .when(jobProvider).listAllJobs();
+        snapshotService = new JobSnapshotService(environment(true), new SimpleMeterRegistry(), clock);
+        snapshotService.setProviders(List.of(jobProvider));
+    }
+
+    @Test
+    public void shouldAnswerFromSnapshot() {
+        snapshotService.refresh();
+        clock.advance(Duration.ofSeconds(2));
+
+        final Listing<Job> listing = snapshotService.filter(JobFilter.builder()
+                .owners(List.of(OWNER))
+                .build())
+                .orElseThrow();
+
+        Assertions.assertEquals(List.of(1, 2), ids(listing));
+        Assertions.assertEquals(1L, ((JobListing) listing).getSnapshotVersion());
+        Assertions.assertEquals(2000L, ((JobListing) listing).getSnapshotAgeMillis());
+    }
+
+    @Test
+    public void shouldFilterByIdsNamesAndStates() {
+        snapshotService.refresh();
+
+        Assertions.assertEquals(List.of(1, 3), ids(snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .ids(List.of(1))
+                .names(List.of("third"))
+                .build()).orElseThrow()));
+        Assertions.assertEquals(List.of(2, 3), ids(snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .state("pending")
+                .build()).orElseThrow()));
+        Assertions.assertEquals(List.of(1), ids(snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .state("running")
+                .build()).orElseThrow()));
+        Assertions.assertEquals(List.of(4), ids(snapshotService.filter(JobFilter.builder()
+                .state("suspended")
+                .owners(List.of("*"))
+                .build()).orElseThrow()));
+    }
+
+    @Test
+    public void shouldFilterByQueuesCategoriesAndRangesFromSnapshot() {
+        doReturn(new Listing<>(List.of(
+                indexedJob(1, "main@host1", JobState.Category.RUNNING, 0.5, "2021-06-30T10:00:00"),
+                indexedJob(2, "main@host2", JobState.Category.RUNNING, 0.7, "2021-07-01T10:00:00"),
+                indexedJob(3, "short@host1", JobState.Category.SUSPENDED, 0.7, "2021-07-02T10:00:00"),
+                indexedJob(4, null, JobState.Category.PENDING, 0.0, null))))
+                .when(jobProvider).listAllJobs();
+        snapshotService.refresh();
+
+        Assertions.assertEquals(List.of(1, 2), ids(snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .queues(List.of("main"))
+                .build()).orElseThrow()));
+        Assertions.assertEquals(List.of(1, 3), ids(snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .queues(List.of("main@host1", "short"))
+                .build()).orElseThrow()));
+        Assertions.assertEquals(List.of(2, 3), ids(snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .minPriority(0.6)
+                .maxPriority(0.7)
+                .build()).orElseThrow()));
+        Assertions.assertEquals(List.of(2), ids(snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .submittedFrom(LocalDateTime.parse("2021-07-01T10:00:00"))
+                .categories(List.of(JobState.Category.RUNNING, JobState.Category.PENDING))
+                .build()).orElseThrow()));
+        Assertions.assertEquals(List.of(), ids(snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .queues(List.of("main"))
+                .ids(List.of(3, 4))
+                .build()).orElseThrow()));
+    }
+
+    @Test
+    public void shouldContinuePagingAfterRefresh() {
+        snapshotService.refresh();
+        final JobFilter jobFilter = JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .limit(2)
+                .sort(List.of(JobSort.builder()
+                        .field(JobSort.Field.OWNER)
+                        .build()))
+                .build();
+        final JobListing firstPage = (JobListing) snapshotService.filter(jobFilter).orElseThrow();
+        doReturn(new Listing<>(List.of(
+                job(0, "zeroth", OTHER_OWNER, "qw"),
+                job(1, "first", OWNER, "r"),
+                job(2, "second", OWNER, "r"),
+                job(5, "fifth", OWNER, "qw"))))
+                .when(jobProvider).listAllJobs();
+        snapshotService.refresh();
+
+        jobFilter.setCursor(firstPage.getNextCursor());
+        final JobListing secondPage = (JobListing) snapshotService.filter(jobFilter).orElseThrow();
+
+        Assertions.assertEquals(List.of(3, 4), ids(firstPage));
+        Assertions.assertEquals(List.of(1, 2), ids(secondPage));
+        Assertions.assertEquals(2L, secondPage.getSnapshotVersion());
+        Assertions.assertNotNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    public void shouldReadFromGridEngineIfSnapshotCantAnswer() {
+        Assertions.assertEquals(Optional.empty(), snapshotService.filter(ALL_OWNERS_FILTER));
+
+        snapshotService.refresh();
+
+        Assertions.assertEquals(Optional.empty(), snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .fresh(true)
+                .build()));
+        Assertions.assertEquals(Optional.empty(), snapshotService.filter(JobFilter.builder()
+                .owners(ALL_OWNERS)
+                .state("zombie")
+                .build()));
+        clock.advance(MAX_STALENESS.plusMillis(1));
+        Assertions.assertEquals(Optional.empty(), snapshotService.filter(ALL_OWNERS_FILTER));
+    }
+
+    @Test
+    public void shouldReadJobsOfServiceUserFromGridEngine() {
+        snapshotService.refresh();
+
+        Assertions.assertEquals(Optional.empty(), snapshotService.filter(null));
+        Assertions.assertEquals(Optional.empty(), snapshotService.filter(JobFilter.builder()
+                .build()));
+        Assertions.assertEquals(Optional.empty(), snapshotService.filter(JobFilter.builder()
+                .owners(List.of())
+                .state("running")
+                .build()));
+        Assertions.assertEquals(List.of(1, 2), ids(snapshotService.filter(JobFilter.builder()
+                .owners(List.of(OWNER))
+                .build()).orElseThrow()));
+    }
+
+    @Test
+    public void shouldKeepSnapshotIfRefreshFails() {
+        snapshotService.refresh();
+        doThrow(new IllegalStateException("qmaster is down")).when(jobProvider).listAllJobs();
+
+        snapshotService.refresh();
+
+        Assertions.assertEquals(1L, snapshotService.getSnapshot().orElseThrow().getVersion());
+        Assertions.assertEquals(4, snapshotService.filter(ALL_OWNERS_FILTER).orElseThrow().getElements().size());
+    }
+
+    @Test
+    public void shouldNotAnswerIfDisabled() {
+        final JobSnapshotService disabledService =
+                new JobSnapshotService(environment(false), new SimpleMeterRegistry(), clock);
+        disabledService.setProviders(List.of(jobProvider));
+        disabledService.refresh();
+
+        Assertions.assertEquals(Optional.empty(), disabledService.filter(null));
+    }
+
+    private static MockEnvironment environment(final boolean enabled) {
+        return new MockEnvironment()
+                .withProperty("job.snapshot.enabled", String.valueOf(enabled))
+                .withProperty("job.snapshot.refresh.interval", "5s")
+                .withProperty("job.snapshot.max.staleness", MAX_STALENESS.toString())
+                .withProperty("grid.engine.type", EngineType.SGE.name());
+    }
+
+    private static Job job(final int id, final String name, final String owner, final String stateCode) {
+        return Job.builder()
+                .id(id)
+                .name(name)
+                .owner(owner)
+                .state(JobState.builder()
+                        .stateCode(stateCode)
+                        .build())
+                .build();
+    }
+
+    private static Job indexedJob(final int id, final String queueName, final JobState.Category category,
+                                  final double priority, final String submissionTime) {
+        return Job.builder()
+                .id(id)
+                .owner(OWNER)
+                .queueName(queueName)
+                .priority(priority)
+                .submissionTime(submissionTime == null ? null : LocalDateTime.parse(submissionTime))
+                .state(JobState.builder()
+                        .category(category)
+                        .stateCode("r")
+                        .build())
+                .build();
+    }
+
+    private static List<Integer> ids(final Listing<Job> listing) {
+        return listing.getElements().stream()
+                .map(Job::getId)
+                .collect(Collectors.toList());
+    }
+}
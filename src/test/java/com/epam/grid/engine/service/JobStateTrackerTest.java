@@ -0,0 +1,193 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+package com.epam.grid.engine.service;
+
+import com.epam.grid.engine.entity.job.Job;
+import com.epam.grid.engine.entity.job.JobAwaitResult;
+import com.epam.grid.engine.entity.job.JobState;
+import com.epam.grid.engine.exception.GridEngineException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+
+public class JobStateTrackerTest {
+
+    private static final int JOB_ID = 7;
+    private static final int OTHER_JOB_ID = 8;
+
+    private final JobStateTracker tracker = tracker(true);
+
+    @AfterEach
+    public void tearDown() {
+        tracker.stop();
+    }
+
+    @Test
+    public void shouldCompleteIfJobIsAlreadyInState() {
+        tracker.onSnapshot(null, snapshot(1, job(JOB_ID, JobState.Category.RUNNING)));
+
+        final JobAwaitResult result = tracker.await(JOB_ID, JobState.Category.RUNNING, null).getNow(null);
+
+        Assertions.assertNotNull(result);
+        Assertions.assertEquals(JobAwaitResult.Outcome.REACHED, result.getOutcome());
+        Assertions.assertEquals(0, tracker.getWaiterCount());
+    }
+
+    @Test
+    public void shouldCompleteWhenJobReachesState() {
+        tracker.onSnapshot(null, snapshot(1, job(JOB_ID, JobState.Category.PENDING)));
+        final CompletableFuture<JobAwaitResult> future = tracker.await(JOB_ID, JobState.Category.RUNNING, null);
+        Assertions.assertFalse(future.isDone());
+        Assertions.assertEquals(1, tracker.getWaiterCount());
+
+        tracker.onSnapshot(snapshot(1), snapshot(2, job(OTHER_JOB_ID, JobState.Category.RUNNING),
+                job(JOB_ID, JobState.Category.RUNNING)));
+
+        final JobAwaitResult result = future.getNow(null);
+        Assertions.assertEquals(JobAwaitResult.Outcome.REACHED, result.getOutcome());
+        Assertions.assertEquals(JOB_ID, result.getJob().getId());
+        Assertions.assertEquals(0, tracker.getWaiterCount());
+    }
+
+    @Test
+    public void shouldCompleteWhenSeenJobDisappears() {
+        tracker.onSnapshot(null, snapshot(1, job(JOB_ID, JobState.Category.PENDING)));
+        final CompletableFuture<JobAwaitResult> future = tracker.await(JOB_ID, JobState.Category.RUNNING, null);
+
+        tracker.onSnapshot(snapshot(1), snapshot(2));
+
+        final JobAwaitResult result = future.getNow(null);
+        Assertions.assertEquals(JobAwaitResult.Outcome.DISAPPEARED, result.getOutcome());
+        Assertions.assertEquals(JobState.Category.PENDING, result.getJob().getState().getCategory());
+    }
+
+    @Test
+    public void shouldReachFinishedStateWhenSeenJobLeavesSnapshot() {
+        tracker.onSnapshot(null, snapshot(1, job(JOB_ID, JobState.Category.RUNNING)));
+        final CompletableFuture<JobAwaitResult> future = tracker.await(JOB_ID, JobState.Category.FINISHED, null);
+
+        tracker.onSnapshot(snapshot(1), snapshot(2));
+
+        final JobAwaitResult result = future.getNow(null);
+        Assertions.assertEquals(JobAwaitResult.Outcome.REACHED, result.getOutcome());
+        Assertions.assertEquals(JobState.Category.RUNNING, result.getJob().getState().getCategory());
+        Assertions.assertEquals(0, tracker.getWaiterCount());
+    }
+
+    @Test
+    public void shouldWaitForSnapshotTakenAfterRegistrationBeforeDisappearing() {
+        tracker.onSnapshot(null, snapshot(1));
+        final CompletableFuture<JobAwaitResult> future = tracker.await(JOB_ID, JobState.Category.FINISHED, null);
+
+        tracker.onSnapshot(snapshot(1), snapshot(2));
+        Assertions.assertFalse(future.isDone());
+        tracker.onSnapshot(snapshot(2), snapshot(3));
+
+        final JobAwaitResult result = future.getNow(null);
+        Assertions.assertEquals(JobAwaitResult.Outcome.DISAPPEARED, result.getOutcome());
+        Assertions.assertNull(result.getJob());
+    }
+
+    @Test
+    public void shouldTimeOut() {
+        final ScheduledExecutorService timer = Mockito.mock(ScheduledExecutorService.class);
+        final ScheduledFuture<?> timeoutTask = Mockito.mock(ScheduledFuture.class);
+        Mockito.doReturn(timeoutTask).when(timer).schedule(any(Runnable.class), anyLong(), any());
+        final JobStateTracker timedTracker = new JobStateTracker(environment(true), new SimpleMeterRegistry(),
+                timer);
+        timedTracker.onSnapshot(null, snapshot(1, job(JOB_ID, JobState.Category.PENDING)));
+
+        final CompletableFuture<JobAwaitResult> future = timedTracker.await(JOB_ID, JobState.Category.RUNNING,
+                "50ms");
+        final ArgumentCaptor<Runnable> timeOut = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(timer).schedule(timeOut.capture(), eq(50L), eq(TimeUnit.MILLISECONDS));
+        Assertions.assertFalse(future.isDone());
+        timeOut.getValue().run();
+
+        final JobAwaitResult result = future.getNow(null);
+        Assertions.assertEquals(JobAwaitResult.Outcome.TIMED_OUT, result.getOutcome());
+        Assertions.assertEquals(JobState.Category.PENDING, result.getJob().getState().getCategory());
+        Assertions.assertEquals(0, timedTracker.getWaiterCount());
+        Mockito.verify(timeoutTask).cancel(false);
+    }
+
+    @Test
+    public void shouldFailIfTimeoutIsInvalid() {
+        assertFailure(HttpStatus.BAD_REQUEST, tracker, "soon");
+        assertFailure(HttpStatus.BAD_REQUEST, tracker, "0s");
+        assertFailure(HttpStatus.BAD_REQUEST, tracker, "11m");
+    }
+
+    @Test
+    public void shouldFailIfSnapshotIsDisabled() {
+        final JobStateTracker disabledTracker = tracker(false);
+        try {
+            assertFailure(HttpStatus.SERVICE_UNAVAILABLE, disabledTracker, null);
+        } finally {
+            disabledTracker.stop();
+        }
+    }
+
+    private static void assertFailure(final HttpStatus expectedStatus, final JobStateTracker tracker,
+                                      final String timeout) {
+        final GridEngineException exception = Assertions.assertThrows(GridEngineException.class,
+                () -> tracker.await(JOB_ID, JobState.Category.FINISHED, timeout));
+        Assertions.assertEquals(expectedStatus, exception.getHttpStatus());
+    }
+
+    private static JobStateTracker tracker(final boolean enabled) {
+        return new JobStateTracker(environment(enabled), new SimpleMeterRegistry());
+    }
+
+    private static MockEnvironment environment(final boolean enabled) {
+        return new MockEnvironment()
+                .withProperty("job.snapshot.enabled", String.valueOf(enabled))
+                .withProperty("job.await.default.timeout", "5m")
+                .withProperty("job.await.max.timeout", "10m");
+    }
+
+    private static JobSnapshot snapshot(final long version, final Job... jobs) {
+        return new JobSnapshot(version, Instant.now(), List.of(jobs));
+    }
+
+    private static Job job(final int id, final JobState.Category category) {
+        return Job.builder()
+                .id(id)
+                .state(JobState.builder()
+                        .category(category)
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ *
+ *  * Copyright 2022 EPAM Systems, Inc. (https://www.epam.com/)
+ *  *
+ *  * Licensed under the Apache License, Version 2.0 (the "License");
+ *  * you may not use this file except in compliance with the License.
+ *  * You may obtain a copy of the License at
+ *  *
+ *  *     http://www.apache.org/licenses/LICENSE-2.0
+ *  *
+ *  * Unless required by applicable law or agreed to in writing, software
+ *  * distributed under the License is distributed on an "AS IS" BASIS,
+ *  * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  * See the License for the specific language governing permissions and
+ *  * limitations under the License.
+ *
+ *
+ */
+
+package com.epam.grid.engine.utils;
+
+import com.epam.grid.engine.entity.JobFilter;
+import com.epam.grid.engine.entity.JobSort;
+import com.epam.grid.engine.utils.JobPagingUtils.JobKey;
+import com.epam.grid.engine.utils.JobPagingUtils.Page;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+public class JobPagingUtilsTest {
+
+    private static final String OWNER = "owner";
+    private static final LocalDateTime SUBMISSION_TIME = LocalDateTime.of(2022, 1, 1, 10, 0);
+    private static final double PRIORITY = 0.5;
+    private static final String TASK_SEPARATOR = ".";
+
+    @Test
+    public void shouldPageTasksOfArrayJobSharingId() {
+        final List<String> tasks = List.of("5.1", "5.2", "5.3", "7.1");
+
+        final List<List<String>> pages = readAllPages(tasks, JobFilter.builder().limit(2).build(),
+                JobPagingUtilsTest::toTaskKey);
+
+        Assertions.assertEquals(List.of(List.of("5.1", "5.2"), List.of("5.3", "7.1")), pages);
+    }
+
+    @Test
+    public void shouldStartNextPageAfterSkippedTasksWhenPageEndsInsideArrayJob() {
+        final List<String> tasks = List.of("3.1", "5.1", "5.2", "5.3", "5.4");
+
+        final List<List<String>> pages = readAllPages(tasks, JobFilter.builder().limit(2).build(),
+                JobPagingUtilsTest::toTaskKey);
+
+        Assertions.assertEquals(List.of(List.of("3.1", "5.1"), List.of("5.2", "5.3"), List.of("5.4")), pages);
+    }
+
+    @Test
+    public void shouldRoundTripCursorWithoutOwnerAndSubmissionTime() {
+        final JobKey ownedSubmitted = new JobKey(1, PRIORITY, OWNER, SUBMISSION_TIME);
+        final JobKey ownerless = new JobKey(2, PRIORITY, null, SUBMISSION_TIME);
+        final JobKey unsubmitted = new JobKey(3, PRIORITY, OWNER, null);
+        final JobKey ownerlessUnsubmitted = new JobKey(4, PRIORITY, null, null);
+        final JobFilter jobFilter = JobFilter.builder()
+                .limit(1)
+                .sort(List.of(sortBy(JobSort.Field.OWNER), sortBy(JobSort.Field.SUBMISSION_TIME)))
+                .build();
+
+        final List<List<JobKey>> pages = readAllPages(
+                List.of(ownerlessUnsubmitted, unsubmitted, ownerless, ownedSubmitted), jobFilter,
+                Function.identity());
+
+        Assertions.assertEquals(List.of(List.of(ownedSubmitted), List.of(unsubmitted), List.of(ownerless),
+                List.of(ownerlessUnsubmitted)), pages);
+    }
+
+    private static <T> List<List<T>> readAllPages(final List<T> jobs, final JobFilter jobFilter,
+                                                  final Function<T, JobKey> keyExtractor) {
+        final List<List<T>> pages = new ArrayList<>();
+        Page<T> page = JobPagingUtils.page(jobs, jobFilter, keyExtractor);
+        pages.add(page.getElements());
+        while (page.getNextCursor() != null) {
+            jobFilter.setCursor(page.getNextCursor());
+            page = JobPagingUtils.page(jobs, jobFilter, keyExtractor);
+            pages.add(page.getElements());
+        }
+        return pages;
+    }
+
+    private static JobKey toTaskKey(final String task) {
+        final int id = Integer.parseInt(task.substring(0, task.indexOf(TASK_SEPARATOR)));
+        return new JobKey(id, PRIORITY, OWNER, SUBMISSION_TIME);
+    }
+
+    private static JobSort sortBy(final JobSort.Field field) {
+        return JobSort.builder()
+                .field(field)
+                .build();
+    }
+}